@@ -0,0 +1,143 @@
+package org.example.benchmarks;
+
+import org.example.conferenceservice.ConferenceServiceApplication;
+import org.example.conferenceservice.dto.ConferenceFilterDTO;
+import org.example.conferenceservice.dto.ConferenceSummaryDTO;
+import org.example.conferenceservice.dto.PageResponseDTO;
+import org.example.conferenceservice.entity.Conference;
+import org.example.conferenceservice.model.Keynote;
+import org.example.conferenceservice.model.KeynoteChanges;
+import org.example.conferenceservice.repository.ConferenceRepository;
+import org.example.conferenceservice.service.IConferenceService;
+import org.example.conferenceservice.web.KeynoteClient;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * IConferenceServiceImpl.getConferences de bout en bout (Specification, page, comptage, nombre de reviews,
+ * enrichissement des keynotes) sur H2 en mémoire, keynote-service remplacé par un client local sans réseau.
+ * Avec le cache des keynotes désactivé, chaque page passe par le client, le circuit breaker et le bulkhead.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx1g")
+@State(Scope.Benchmark)
+public class ConferenceServiceBenchmark {
+
+    private static final int CONFERENCES = 10_000;
+    private static final int REVIEWS_PER_CONFERENCE = 3;
+
+    @Param({"20", "100"})
+    private int pageSize;
+
+    @Param({"true", "false"})
+    private boolean keynoteCache;
+
+    private ConfigurableApplicationContext context;
+    private IConferenceService conferenceService;
+    private ConferenceFilterDTO filter;
+    private int pages;
+    private int page;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // conference-benchmark.properties remplace l'application.properties embarqué dans le jar du service
+        context = new SpringApplicationBuilder(ConferenceServiceApplication.class, StubKeynoteClientConfiguration.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.config.name=conference-benchmark",
+                        "--keynote.cache.max-size=" + (keynoteCache ? 10_000 : 0));
+        seed(context.getBean(ConferenceRepository.class));
+        conferenceService = context.getBean(IConferenceService.class);
+        filter = new ConferenceFilterDTO();
+        pages = CONFERENCES / pageSize;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    // Parcourt les pages successivement pour ne pas mesurer une seule page chaude du cache H2
+    @Benchmark
+    public PageResponseDTO<ConferenceSummaryDTO> getConferences() {
+        page = (page + 1) % pages;
+        return conferenceService.getConferences(filter, PageRequest.of(page, pageSize, Sort.by("id")));
+    }
+
+    private static void seed(ConferenceRepository conferenceRepository) {
+        List<Conference> batch = new ArrayList<>();
+        for (long id = 1; id <= CONFERENCES; id++) {
+            Conference conference = Fixtures.conference(id, REVIEWS_PER_CONFERENCE);
+            conference.setId(null);
+            conference.getReviews().forEach(review -> review.setId(null));
+            batch.add(conference);
+            if (batch.size() == 1_000) {
+                conferenceRepository.saveAll(batch);
+                batch.clear();
+            }
+        }
+        conferenceRepository.saveAll(batch);
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    static class StubKeynoteClientConfiguration {
+
+        // Le client Feign est déclaré primary : on le rétrograde pour que le client local soit injecté
+        @Bean
+        static BeanFactoryPostProcessor demoteFeignKeynoteClient() {
+            return beanFactory -> beanFactory.getBeanDefinition(KeynoteClient.class.getName()).setPrimary(false);
+        }
+
+        @Bean
+        @Primary
+        KeynoteClient stubKeynoteClient() {
+            return new KeynoteClient() {
+                @Override
+                public Keynote getKeynoteById(Long id) {
+                    return Fixtures.keynote(id);
+                }
+
+                @Override
+                public List<Keynote> getKeynotesByIds(List<Long> ids) {
+                    return ids.stream().map(Fixtures::keynote).toList();
+                }
+
+                // Flux de changements vide : la copie locale des keynotes est désactivée pour ce benchmark
+                @Override
+                public KeynoteChanges getKeynoteChanges(long after, int limit) {
+                    KeynoteChanges changes = new KeynoteChanges();
+                    changes.setAfter(after);
+                    changes.setEvents(List.of());
+                    changes.setLastPosition(after);
+                    return changes;
+                }
+            };
+        }
+    }
+}
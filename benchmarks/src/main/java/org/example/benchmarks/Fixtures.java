@@ -0,0 +1,112 @@
+package org.example.benchmarks;
+
+import org.example.conferenceservice.dto.ConferenceRequestDTO;
+import org.example.conferenceservice.dto.ConferenceResponseDTO;
+import org.example.conferenceservice.dto.ReviewRequestDTO;
+import org.example.conferenceservice.dto.ReviewResponseDTO;
+import org.example.conferenceservice.entity.Conference;
+import org.example.conferenceservice.entity.Review;
+import org.example.conferenceservice.entity.TypeConference;
+import org.example.conferenceservice.mapper.ConferenceMapper;
+import org.example.conferenceservice.mapper.ReviewMapper;
+import org.example.conferenceservice.model.Keynote;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Jeux de données des benchmarks : mêmes formes que celles produites par conference-service,
+ * construites une fois par essai pour ne mesurer que l'opération ciblée.
+ */
+final class Fixtures {
+
+    private static final Date DATE = new Date(1_700_000_000_000L);
+
+    private Fixtures() {
+    }
+
+    static ConferenceMapper conferenceMapper() {
+        ConferenceMapper conferenceMapper = new ConferenceMapper();
+        inject(conferenceMapper, "reviewMapper", new ReviewMapper());
+        return conferenceMapper;
+    }
+
+    static Conference conference(long id, int reviews) {
+        Conference conference = Conference.builder()
+                .id(id)
+                .titre("Conference " + id)
+                .type(TypeConference.Academic)
+                .date(DATE)
+                .duree(90.0)
+                .nombreInscrits(120)
+                .score(4.2)
+                .keynoteId(id % 50)
+                .reviews(new ArrayList<>())
+                .build();
+        for (int r = 0; r < reviews; r++) {
+            conference.addReview(Review.builder().id(id * 1_000 + r).date(DATE).commentaire("Review " + r + " of conference " + id).build());
+        }
+        return conference;
+    }
+
+    static ConferenceRequestDTO conferenceRequest(long id, int reviews) {
+        return ConferenceRequestDTO.builder()
+                .titre("Conference " + id)
+                .type(TypeConference.Academic)
+                .date(DATE)
+                .duree(90.0)
+                .nombreInscrits(120)
+                .score(4.2)
+                .keynoteId(id % 50)
+                .reviews(IntStream.range(0, reviews)
+                        .mapToObj(r -> new ReviewRequestDTO(DATE, "Review " + r + " of conference " + id))
+                        .toList())
+                .build();
+    }
+
+    static List<ConferenceResponseDTO> conferenceResponses(int size, int reviews) {
+        List<ConferenceResponseDTO> conferences = new ArrayList<>(size);
+        for (long id = 1; id <= size; id++) {
+            long conferenceId = id;
+            conferences.add(ConferenceResponseDTO.builder()
+                    .id(conferenceId)
+                    .titre("Conference " + conferenceId)
+                    .type(TypeConference.Academic.toString())
+                    .date(DATE)
+                    .duree(90.0)
+                    .nombreInscrits(120)
+                    .score(4.2)
+                    .keynoteId(conferenceId % 50)
+                    .keynote(keynote(conferenceId % 50))
+                    .reviews(IntStream.range(0, reviews)
+                            .mapToObj(r -> new ReviewResponseDTO(conferenceId * 1_000 + r, DATE, "Review " + r + " of conference " + conferenceId))
+                            .toList())
+                    .build());
+        }
+        return conferences;
+    }
+
+    static Keynote keynote(long id) {
+        Keynote keynote = new Keynote();
+        keynote.setId(id);
+        keynote.setNom("Nom" + id);
+        keynote.setPrenom("Prenom" + id);
+        keynote.setEmail("keynote" + id + "@example.org");
+        keynote.setFonction("Speaker");
+        return keynote;
+    }
+
+    // Les mappers sont des beans à injection par champ : on câble la dépendance sans démarrer Spring
+    private static void inject(Object target, String fieldName, Object value) {
+        try {
+            Field field = target.getClass().getDeclaredField(fieldName);
+            field.setAccessible(true);
+            field.set(target, value);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot inject " + fieldName + " into " + target.getClass().getSimpleName(), e);
+        }
+    }
+}
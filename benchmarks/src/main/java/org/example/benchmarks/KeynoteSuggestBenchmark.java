@@ -0,0 +1,148 @@
+package org.example.benchmarks;
+
+import jakarta.persistence.EntityManager;
+import org.example.keynoteservice.KeynoteServiceApplication;
+import org.example.keynoteservice.dto.KeynoteResponseDTO;
+import org.example.keynoteservice.entity.Keynote;
+import org.example.keynoteservice.service.IKeynoteService;
+import org.example.keynoteservice.service.KeynoteSuggestions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GET /api/keynotes/suggest à 100 000 et 1 000 000 keynotes sur H2 en mémoire :
+ * <ul>
+ *   <li>{@code index} : préfixe cherché dans KeynotePrefixIndex seul ;</li>
+ *   <li>{@code suggest} : IKeynoteService.suggestKeynotes, index puis lecture des keynotes par clé primaire ;</li>
+ *   <li>{@code like} : la requête qu'il remplace, {@code lower(champ) like 'préfixe%'} sur les quatre champs, triée
+ *   comme l'index ; sans index utilisable, chaque appel parcourt la table.</li>
+ * </ul>
+ * Les préfixes (2 à 4 lettres de noms, prénoms et fonctions générés) tournent d'un appel à l'autre.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@State(Scope.Benchmark)
+public class KeynoteSuggestBenchmark {
+
+    private static final int LIMIT = 10;
+    private static final String[] SYLLABLES = {"ba", "ber", "cha", "da", "du", "fa", "fon", "ga", "gi", "la", "le",
+            "lo", "ma", "mar", "mo", "na", "no", "pa", "pe", "ra", "ri", "ro", "sa", "se", "ta", "ti", "to", "va", "vi", "zo"};
+    private static final String[] PRENOMS = {"Jean", "Marie", "Éloïse", "Hélène", "Lucas", "Chloé", "Noé", "Inès",
+            "Mathis", "Zoé", "Hugo", "Léa", "Jérôme", "Anaïs", "Paul", "Camille", "Yasmine", "Karim", "Amélie", "Théo"};
+    private static final String[] FONCTIONS = {"Professeur", "Architecte Logiciel", "Lead Developer", "Chercheuse",
+            "CTO", "Consultant", "Data Scientist", "Ingénieure DevOps", "Product Manager", "Doctorant"};
+
+    @Param({"100000", "1000000"})
+    private int keynotes;
+
+    private ConfigurableApplicationContext context;
+    private KeynoteSuggestions keynoteSuggestions;
+    private IKeynoteService keynoteService;
+    private EntityManager entityManager;
+    private TransactionTemplate readTransaction;
+    private final List<String> prefixes = new ArrayList<>();
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // keynote-benchmark.properties remplace l'application.properties embarqué dans le jar du service
+        context = new SpringApplicationBuilder(KeynoteServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.config.name=keynote-benchmark");
+        seed(context.getBean(JdbcTemplate.class));
+        keynoteSuggestions = context.getBean(KeynoteSuggestions.class);
+        keynoteSuggestions.rebuild();
+        keynoteService = context.getBean(IKeynoteService.class);
+        entityManager = context.getBean(EntityManager.class);
+        readTransaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readTransaction.setReadOnly(true);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    private String prefix() {
+        next = (next + 1) % prefixes.size();
+        return prefixes.get(next);
+    }
+
+    @Benchmark
+    public List<Long> index() {
+        return keynoteSuggestions.suggest(prefix(), LIMIT);
+    }
+
+    @Benchmark
+    public List<KeynoteResponseDTO> suggest() {
+        return keynoteService.suggestKeynotes(prefix(), LIMIT);
+    }
+
+    @Benchmark
+    public List<Keynote> like() {
+        String pattern = prefix() + "%";
+        return readTransaction.execute(status -> entityManager.createQuery(
+                        "select k from Keynote k where lower(k.nom) like :pattern or lower(k.prenom) like :pattern" +
+                                " or lower(k.email) like :pattern or lower(k.fonction) like :pattern" +
+                                " order by k.nom, k.prenom, k.id", Keynote.class)
+                .setParameter("pattern", pattern)
+                .setMaxResults(LIMIT)
+                .getResultList());
+    }
+
+    // Insertion JDBC par lots : ids au-delà de ceux que la séquence a pu attribuer aux keynotes de démarrage
+    private void seed(JdbcTemplate jdbcTemplate) {
+        Random random = new Random(42);
+        List<Object[]> batch = new ArrayList<>();
+        for (long id = 1_000; id < 1_000 + keynotes; id++) {
+            String nom = name(random);
+            String prenom = PRENOMS[random.nextInt(PRENOMS.length)];
+            String fonction = FONCTIONS[random.nextInt(FONCTIONS.length)];
+            batch.add(new Object[]{id, nom, prenom, prenom.toLowerCase() + "." + nom.toLowerCase() + id + "@example.org", fonction, 0L});
+            if (prefixes.size() < 1_000 && id % 97 == 0) {
+                String word = (random.nextBoolean() ? nom : fonction).toLowerCase();
+                prefixes.add(word.substring(0, Math.min(word.length(), 2 + random.nextInt(3))));
+            }
+            if (batch.size() == 10_000) {
+                insert(jdbcTemplate, batch);
+                batch.clear();
+            }
+        }
+        insert(jdbcTemplate, batch);
+    }
+
+    private static void insert(JdbcTemplate jdbcTemplate, List<Object[]> batch) {
+        jdbcTemplate.batchUpdate("insert into keynote (id, nom, prenom, email, fonction, version) values (?, ?, ?, ?, ?, ?)", batch);
+    }
+
+    private static String name(Random random) {
+        StringBuilder name = new StringBuilder();
+        for (int i = 2 + random.nextInt(3); i > 0; i--) name.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+        return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    }
+}
@@ -0,0 +1,88 @@
+package org.example.benchmarks;
+
+import org.example.conferenceservice.dto.ConferenceRequestDTO;
+import org.example.conferenceservice.dto.ConferenceResponseDTO;
+import org.example.conferenceservice.dto.ReviewRequestDTO;
+import org.example.conferenceservice.dto.ReviewResponseDTO;
+import org.example.conferenceservice.entity.Conference;
+import org.example.conferenceservice.entity.Review;
+import org.example.conferenceservice.mapper.ConferenceMapper;
+import org.example.conferenceservice.mapper.ReviewMapper;
+import org.example.keynoteservice.dto.KeynoteResponseDTO;
+import org.example.keynoteservice.entity.Keynote;
+import org.example.keynoteservice.mapper.KeynoteMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coût par appel des mappers entité/DTO, selon le nombre de reviews portées par la conférence.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+
+    @Param({"0", "5", "50"})
+    private int reviews;
+
+    private ConferenceMapper conferenceMapper;
+    private ReviewMapper reviewMapper;
+    private KeynoteMapper keynoteMapper;
+    private Conference conference;
+    private ConferenceRequestDTO conferenceRequest;
+    private Review review;
+    private ReviewRequestDTO reviewRequest;
+    private Keynote keynote;
+
+    @Setup
+    public void setUp() {
+        conferenceMapper = Fixtures.conferenceMapper();
+        reviewMapper = new ReviewMapper();
+        keynoteMapper = new KeynoteMapper();
+        conference = Fixtures.conference(1L, reviews);
+        conferenceRequest = Fixtures.conferenceRequest(1L, reviews);
+        review = Review.builder().id(1L).date(new Date()).commentaire("Good Conference").build();
+        reviewRequest = new ReviewRequestDTO(new Date(), "Good Conference");
+        keynote = Keynote.builder().id(1L).nom("Nom").prenom("Prenom").email("keynote@example.org").fonction("Speaker").build();
+    }
+
+    @Benchmark
+    public ConferenceResponseDTO conferenceToDTO() {
+        return conferenceMapper.toDTO(conference);
+    }
+
+    @Benchmark
+    public Conference conferenceToEntity() {
+        return conferenceMapper.toEntity(conferenceRequest);
+    }
+
+    @Benchmark
+    public ReviewResponseDTO reviewToDto() {
+        return reviewMapper.toDto(review);
+    }
+
+    @Benchmark
+    public Review reviewToEntity() {
+        return reviewMapper.toEntity(reviewRequest);
+    }
+
+    @Benchmark
+    public KeynoteResponseDTO keynoteToResponseDTO() {
+        return keynoteMapper.toKeynoteResponseDTO(keynote);
+    }
+}
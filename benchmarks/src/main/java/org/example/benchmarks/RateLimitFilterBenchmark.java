@@ -0,0 +1,110 @@
+package org.example.benchmarks;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.gatewayservice.ratelimit.RateLimitFilter;
+import org.example.gatewayservice.ratelimit.RateLimitProperties;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Surcoût de RateLimitFilter par requête du gateway (objectif : moins de 50 µs) : choix de la route,
+ * résolution du client (utilisateur JWT ou IP) et prise d'un jeton, devant une chaîne qui ne fait rien.
+ * Les limites sont assez hautes pour que toutes les requêtes passent ; clients fixe le nombre de seaux parcourus.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RateLimitFilterBenchmark {
+
+    private static final GatewayFilterChain NO_OP_CHAIN = exchange -> Mono.empty();
+
+    @Param({"1", "10000"})
+    private int clients;
+
+    @Param({"true", "false"})
+    private boolean authenticated;
+
+    private RateLimitFilter filter;
+    private ServerWebExchange[] exchanges;
+    private ServerWebExchange unlimited;
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int next;
+    }
+
+    @Setup
+    public void setUp() {
+        // Mêmes motifs que l'application.properties du gateway
+        filter = new RateLimitFilter(new RateLimitProperties(16, 100_000, List.of(
+                new RateLimitProperties.Route("mcp", "/*/{endpoint:mcp|sse}/**", 1e9, 1_000_000_000),
+                new RateLimitProperties.Route("conference-service", "/conference-service/**", 1e9, 1_000_000_000),
+                new RateLimitProperties.Route("keynote-service", "/keynote-service/**", 1e9, 1_000_000_000))),
+                new SimpleMeterRegistry());
+        exchanges = new ServerWebExchange[clients];
+        for (int client = 0; client < clients; client++) {
+            exchanges[client] = exchange("/keynote-service/api/keynotes/" + client, client);
+        }
+        unlimited = exchange("/discovery/api/unknown", 0);
+    }
+
+    private ServerWebExchange exchange(String path, int client) {
+        MockServerHttpRequest request = MockServerHttpRequest.get(path)
+                .remoteAddress(new InetSocketAddress("10.0." + (client >> 8 & 0xff) + "." + (client & 0xff), 40_000))
+                .build();
+        MockServerWebExchange.Builder exchange = MockServerWebExchange.builder(request);
+        if (authenticated) {
+            Jwt jwt = Jwt.withTokenValue("token").header("alg", "RS256").subject("user-" + client).build();
+            exchange.principal(new JwtAuthenticationToken(jwt, List.of(), "user-" + client));
+        }
+        return exchange.build();
+    }
+
+    @Benchmark
+    public Void filter(Cursor cursor) {
+        return filter.filter(next(cursor), NO_OP_CHAIN).block();
+    }
+
+    // Huit threads sur les mêmes seaux : contention entre segments (à lire sur une machine d'au moins 8 cœurs,
+    // sinon le score par thread inclut l'attente de l'ordonnanceur)
+    @Benchmark
+    @Threads(8)
+    public Void filterContended(Cursor cursor) {
+        return filter.filter(next(cursor), NO_OP_CHAIN).block();
+    }
+
+    // Chemin hors des routes limitées : coût du seul parcours des motifs
+    @Benchmark
+    public Void unlimitedPath() {
+        return filter.filter(unlimited, NO_OP_CHAIN).block();
+    }
+
+    private ServerWebExchange next(Cursor cursor) {
+        cursor.next = (cursor.next + 1) % clients;
+        return exchanges[cursor.next];
+    }
+}
@@ -51,7 +51,7 @@ const ConferenceDetail = () => {
         commentaire: newReview,
       };
       
-      await conferenceService.updateReviews(conference.id, [review]);
+      await conferenceService.addReview(conference.id, review);
       toast({ title: "Succès", description: "Commentaire ajouté" });
       setNewReview("");
       loadConference();
@@ -1,11 +1,38 @@
 import apiClient from '@/lib/api';
-import { Conference, ConferenceRequest, ReviewRequest } from '@/types/conference.types';
+import { Conference, ConferenceStat, ConferenceStats, Page, PageParams, ConferenceRequest, Review, ReviewRequest, SearchResult } from '@/types/conference.types';
 
 const BASE_PATH = '/conference-service/api/conferences';
 
 export const conferenceService = {
+  getPage: async (params: PageParams = {}): Promise<Page<Conference>> => {
+    const response = await apiClient.get<Page<Conference>>(BASE_PATH, { params });
+    return response.data;
+  },
+
+  // Parcourt toutes les pages par curseur (afterId) : chaque page coûte autant que la première
   getAll: async (): Promise<Conference[]> => {
-    const response = await apiClient.get<Conference[]>(BASE_PATH);
+    const all: Conference[] = [];
+    let params: PageParams = { size: 100 };
+    for (;;) {
+      const page = await conferenceService.getPage(params);
+      all.push(...page.content);
+      if (!page.hasNext || page.nextAfterId == null) return all;
+      params = { size: 100, afterId: page.nextAfterId };
+    }
+  },
+
+  getStats: async (): Promise<ConferenceStats> => {
+    const response = await apiClient.get<ConferenceStats>(`${BASE_PATH}/stats`);
+    return response.data;
+  },
+
+  getKeynoteStats: async (keynoteId: number): Promise<ConferenceStat> => {
+    const response = await apiClient.get<ConferenceStat>(`${BASE_PATH}/stats/keynotes/${keynoteId}`);
+    return response.data;
+  },
+
+  search: async (q: string, limit?: number): Promise<SearchResult> => {
+    const response = await apiClient.get<SearchResult>(`${BASE_PATH}/search`, { params: { q, limit } });
     return response.data;
   },
 
@@ -34,6 +61,16 @@ export const conferenceService = {
     await apiClient.patch(`${BASE_PATH}/${id}/reviews`, reviews);
   },
 
+  addReview: async (id: number, review: ReviewRequest): Promise<Review> => {
+    const response = await apiClient.post<Review>(`${BASE_PATH}/${id}/reviews`, review);
+    return response.data;
+  },
+
+  getReviews: async (id: number, params: PageParams = {}): Promise<Page<Review>> => {
+    const response = await apiClient.get<Page<Review>>(`${BASE_PATH}/${id}/reviews`, { params });
+    return response.data;
+  },
+
   deleteReview: async (conferenceId: number, reviewId: number): Promise<void> => {
     await apiClient.delete(`${BASE_PATH}/${conferenceId}/reviews/${reviewId}`);
   },
@@ -1,11 +1,29 @@
 import apiClient from '@/lib/api';
-import { Keynote, KeynoteRequest } from '@/types/conference.types';
+import { Keynote, Page, PageParams, KeynoteRequest } from '@/types/conference.types';
 
 const BASE_PATH = '/keynote-service/api/keynotes';
 
 export const keynoteService = {
+  getPage: async (params: PageParams = {}): Promise<Page<Keynote>> => {
+    const response = await apiClient.get<Page<Keynote>>(BASE_PATH, { params });
+    return response.data;
+  },
+
+  // Parcourt toutes les pages par curseur (afterId) : chaque page coûte autant que la première
   getAll: async (): Promise<Keynote[]> => {
-    const response = await apiClient.get<Keynote[]>(BASE_PATH);
+    const all: Keynote[] = [];
+    let params: PageParams = { size: 100 };
+    for (;;) {
+      const page = await keynoteService.getPage(params);
+      all.push(...page.content);
+      if (!page.hasNext || page.nextAfterId == null) return all;
+      params = { size: 100, afterId: page.nextAfterId };
+    }
+  },
+
+  // Autocomplétion côté serveur (nom, prénom, fonction, email), sans charger toutes les keynotes
+  suggest: async (prefix: string, limit = 10): Promise<Keynote[]> => {
+    const response = await apiClient.get<Keynote[]>(`${BASE_PATH}/suggest`, { params: { prefix, limit } });
     return response.data;
   },
 
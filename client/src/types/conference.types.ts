@@ -20,9 +20,11 @@ export interface Conference {
   duree: number;
   nombreInscrits: number;
   score: number;
-  reviews: Review[];
+  reviews?: Review[];
+  reviewCount?: number;
   keynoteId: number;
   keynote?: Keynote;
+  keynoteDegraded?: boolean;
 }
 
 export interface ConferenceRequest {
@@ -47,3 +49,55 @@ export interface KeynoteRequest {
   email: string;
   fonction: string;
 }
+
+export interface Page<T> {
+  content: T[];
+  page?: number;
+  size: number;
+  totalElements?: number;
+  totalPages?: number;
+  hasNext: boolean;
+  nextAfterId?: number | null;
+  nextAfterDate?: string | null;
+}
+
+export interface PageParams {
+  page?: number;
+  size?: number;
+  sort?: string;
+  afterId?: number;
+  afterDate?: string;
+}
+
+export interface ConferenceStat {
+  conferences: number;
+  registrations: number;
+  reviews: number;
+  scored: number;
+  averageScore: number | null;
+}
+
+// Agrégats précalculés par conference-service : à préférer au parcours de toutes les conférences
+export interface ConferenceStats {
+  total: ConferenceStat;
+  byType: Record<string, ConferenceStat>;
+  byKeynote: Record<string, ConferenceStat>;
+  byMonth: Record<string, ConferenceStat>;
+}
+
+// Résultat de GET /api/conferences/search : highlight contient le texte trouvé entouré de <b>
+export interface SearchHit {
+  type: 'conference' | 'review';
+  conferenceId: number;
+  reviewId: number | null;
+  titre: string | null;
+  highlight: string | null;
+  score: number;
+}
+
+export interface SearchResult {
+  query: string;
+  total: number;
+  hits: SearchHit[];
+  tookMillis: number;
+}
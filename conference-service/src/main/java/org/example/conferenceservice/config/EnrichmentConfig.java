@@ -0,0 +1,25 @@
+package org.example.conferenceservice.config;
+
+import io.micrometer.context.ContextExecutorService;
+import io.micrometer.context.ContextSnapshotFactory;
+import org.example.conferenceservice.service.KeynoteSnapshotProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Configuration
+@EnableConfigurationProperties(KeynoteSnapshotProperties.class)
+public class EnrichmentConfig {
+    // Un thread virtuel par appel à keynote-service : attendre le réseau n'immobilise aucun thread plateforme.
+    // Chaque tâche reprend le contexte du thread qui la soumet, pour que les spans Feign des lots parallèles
+    // restent rattachés à la trace de la requête.
+    @Bean(destroyMethod = "close")
+    public ExecutorService keynoteEnrichmentExecutor() {
+        return ContextExecutorService.wrap(
+                Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("keynote-enrichment-", 0).factory()),
+                ContextSnapshotFactory.builder().build()::captureAll);
+    }
+}
@@ -0,0 +1,24 @@
+package org.example.conferenceservice.config;
+
+import org.example.conferenceservice.outbox.ChangeBroker;
+import org.example.conferenceservice.outbox.InProcessChangeBroker;
+import org.example.conferenceservice.outbox.OutboxProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Outbox des changements : courtier en mémoire par défaut, remplacé par le bean ChangeBroker d'une autre
+ * implémentation quand outbox.broker vaut autre chose que in-process.
+ */
+@Configuration
+@EnableConfigurationProperties(OutboxProperties.class)
+public class OutboxConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "outbox.broker", havingValue = "in-process", matchIfMissing = true)
+    public ChangeBroker changeBroker() {
+        return new InProcessChangeBroker();
+    }
+}
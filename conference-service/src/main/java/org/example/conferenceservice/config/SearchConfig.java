@@ -0,0 +1,22 @@
+package org.example.conferenceservice.config;
+
+import org.example.conferenceservice.search.ConferenceIndex;
+import org.example.conferenceservice.search.SearchProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+
+/**
+ * Index plein texte des conférences : sur disque si search.index-path est défini, en mémoire sinon.
+ */
+@Configuration
+@EnableConfigurationProperties(SearchProperties.class)
+public class SearchConfig {
+
+    @Bean(destroyMethod = "close")
+    public ConferenceIndex conferenceIndex(SearchProperties properties) throws IOException {
+        return new ConferenceIndex(properties.indexPath(), properties.commitInterval());
+    }
+}
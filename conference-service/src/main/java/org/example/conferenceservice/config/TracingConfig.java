@@ -0,0 +1,24 @@
+package org.example.conferenceservice.config;
+
+import org.example.conferenceservice.tracing.FileSpanExporter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Export local des traces (tracing.file.path) : ajouté aux exportateurs de Spring Boot,
+ * il fonctionne avec ou sans export OTLP (management.otlp.tracing.endpoint).
+ */
+@Configuration
+public class TracingConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "tracing.file.path")
+    public FileSpanExporter fileSpanExporter(@Value("${tracing.file.path}") Path file) throws IOException {
+        return new FileSpanExporter(file);
+    }
+}
@@ -0,0 +1,25 @@
+package org.example.conferenceservice.config;
+
+import org.example.conferenceservice.web.VerifiedPrincipalFilter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Identité transmise par le gateway, désactivée par défaut : sans elle, un appelant direct n'aurait qu'à poser
+ * X-Authenticated-User pour se faire passer pour n'importe qui. Le profil "gateway" (verified-principal.enabled=true)
+ * l'active quand le service n'est joignable qu'à travers le gateway.
+ */
+@Configuration
+@ConditionalOnProperty(name = "verified-principal.enabled", havingValue = "true")
+public class VerifiedPrincipalConfig {
+
+    @Bean
+    public FilterRegistrationBean<VerifiedPrincipalFilter> verifiedPrincipalFilter() {
+        FilterRegistrationBean<VerifiedPrincipalFilter> registration = new FilterRegistrationBean<>(new VerifiedPrincipalFilter());
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+}
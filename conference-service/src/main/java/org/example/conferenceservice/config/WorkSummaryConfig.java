@@ -0,0 +1,32 @@
+package org.example.conferenceservice.config;
+
+import org.example.conferenceservice.metrics.SqlStatementCounter;
+import org.example.conferenceservice.metrics.WorkSummaryFilter;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Mode debug (work-summary.enabled=true) : en-tête X-Work-Summary sur chaque réponse,
+ * avec le nombre de requêtes SQL comptées par Hibernate.
+ */
+@Configuration
+@ConditionalOnProperty(name = "work-summary.enabled", havingValue = "true")
+public class WorkSummaryConfig {
+
+    @Bean
+    public FilterRegistrationBean<WorkSummaryFilter> workSummaryFilter() {
+        FilterRegistrationBean<WorkSummaryFilter> registration = new FilterRegistrationBean<>(new WorkSummaryFilter());
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementCounter() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlStatementCounter());
+    }
+}
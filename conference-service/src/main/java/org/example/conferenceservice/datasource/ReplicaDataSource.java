@@ -0,0 +1,178 @@
+package org.example.conferenceservice.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Connexions des transactions read-only : réplicas disponibles à tour de rôle, primaire en dernier recours.
+ * <ul>
+ *   <li>un réplica est écarté tant que son retard (lagQuery) dépasse maxLag, que la mesure échoue,
+ *   ou qu'il vient de refuser une connexion ; il revient à la mesure suivante qui le trouve à jour ;</li>
+ *   <li>la mesure tourne toutes les checkInterval sur un thread dédié, jamais sur le chemin d'une requête.</li>
+ * </ul>
+ * Métriques : datasource.reads (target = nom du réplica ou primary, reason), datasource.replica.lag (secondes)
+ * et datasource.replica.available par réplica ; les pools exposent hikaricp.connections.* (pool).
+ */
+public class ReplicaDataSource extends AbstractDataSource implements AutoCloseable {
+
+    public static final String PRIMARY = "primary";
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaDataSource.class);
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final String lagQuery;
+    private final double maxLagSeconds;
+    private final AtomicInteger cursor = new AtomicInteger();
+    private final Counter primaryFallbacks;
+    private final Counter primaryFailovers;
+    private final ScheduledExecutorService checker;
+
+    private static final class Replica {
+        private final String name;
+        private final HikariDataSource pool;
+        // pool instrumenté (traces JDBC) qui sert les lectures ; la mesure du retard passe par le pool nu
+        private final DataSource connections;
+        private final Counter reads;
+        private volatile boolean available;
+        private volatile double lagSeconds = Double.NaN;
+
+        private Replica(String name, HikariDataSource pool, DataSource connections, Counter reads) {
+            this.name = name;
+            this.pool = pool;
+            this.connections = connections;
+            this.reads = reads;
+        }
+    }
+
+    public ReplicaDataSource(DataSource primary, List<HikariDataSource> pools, Function<HikariDataSource, DataSource> instrument,
+                             String lagQuery, Duration maxLag, Duration checkInterval, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.lagQuery = lagQuery == null || lagQuery.isBlank() ? null : lagQuery;
+        this.maxLagSeconds = maxLag.toMillis() / 1000d;
+        this.replicas = pools.stream()
+                .map(pool -> new Replica(pool.getPoolName(), pool, instrument.apply(pool),
+                        meterRegistry.counter("datasource.reads", "target", pool.getPoolName(), "reason", "replica")))
+                .toList();
+        for (Replica replica : replicas) {
+            Gauge.builder("datasource.replica.lag", replica, r -> r.lagSeconds)
+                    .description("Retard de réplication mesuré, en secondes")
+                    .tag("replica", replica.name)
+                    .baseUnit("seconds")
+                    .register(meterRegistry);
+            Gauge.builder("datasource.replica.available", replica, r -> r.available ? 1 : 0)
+                    .description("1 si le réplica reçoit les lectures, 0 s'il est écarté")
+                    .tag("replica", replica.name)
+                    .register(meterRegistry);
+        }
+        this.primaryFallbacks = meterRegistry.counter("datasource.reads", "target", PRIMARY, "reason", "no-replica");
+        this.primaryFailovers = meterRegistry.counter("datasource.reads", "target", PRIMARY, "reason", "replica-error");
+        this.checker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-lag-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Première mesure tout de suite mais hors du démarrage : d'ici là, les lectures passent par le primaire
+        checker.scheduleWithFixedDelay(this::checkReplicas, 0, checkInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return route(replica -> true, DataSource::getConnection);
+    }
+
+    /**
+     * Les pools des réplicas sont ouverts avec les identifiants de datasource.replicas.instances : ils ne servent
+     * que les demandes faites avec ces mêmes identifiants. Pour d'autres, la demande est transmise au primaire.
+     */
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return route(replica -> Objects.equals(replica.pool.getUsername(), username)
+                        && Objects.equals(Objects.toString(replica.pool.getPassword(), ""), Objects.toString(password, "")),
+                dataSource -> dataSource.getConnection(username, password));
+    }
+
+    @FunctionalInterface
+    private interface PrimaryConnection {
+        Connection open(DataSource primary) throws SQLException;
+    }
+
+    private Connection route(Predicate<Replica> eligible, PrimaryConnection fromPrimary) throws SQLException {
+        int size = replicas.size();
+        int start = Math.floorMod(cursor.getAndIncrement(), Math.max(1, size));
+        boolean failed = false;
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (!replica.available || !eligible.test(replica)) continue;
+            try {
+                Connection connection = replica.connections.getConnection();
+                replica.reads.increment();
+                return connection;
+            } catch (SQLException e) {
+                // Écarté jusqu'à la prochaine mesure réussie ; on essaie le réplica suivant, puis le primaire
+                replica.available = false;
+                failed = true;
+                log.warn("Replica {} unavailable, routing reads elsewhere: {}", replica.name, e.getMessage());
+            }
+        }
+        (failed ? primaryFailovers : primaryFallbacks).increment();
+        return fromPrimary.open(primary);
+    }
+
+    /**
+     * Mesure le retard de chaque réplica et met à jour ceux qui reçoivent les lectures ; appelée toutes les
+     * checkInterval, ou directement pour ne pas attendre la prochaine mesure.
+     */
+    public synchronized void checkReplicas() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.pool.getConnection()) {
+                double lag = lagQuery == null ? 0 : lag(connection);
+                replica.lagSeconds = lag;
+                boolean available = lag <= maxLagSeconds;
+                if (replica.available && !available) {
+                    log.warn("Replica {} lags {}s behind the primary, routing its reads elsewhere", replica.name, lag);
+                }
+                replica.available = available;
+            } catch (SQLException | RuntimeException e) {
+                replica.lagSeconds = Double.NaN;
+                replica.available = false;
+                log.warn("Cannot check replica {}: {}", replica.name, e.getMessage());
+            }
+        }
+    }
+
+    private double lag(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery(lagQuery)) {
+            if (!result.next()) throw new SQLException("Lag query returned no row: " + lagQuery);
+            double lag = result.getDouble(1);
+            return result.wasNull() ? 0 : lag;
+        }
+    }
+
+    @Override
+    public void close() {
+        checker.shutdownNow();
+        replicas.forEach(replica -> replica.pool.close());
+    }
+}
@@ -0,0 +1,35 @@
+package org.example.conferenceservice.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * DataSource de l'application en mode réplicas : la connexion physique n'est ouverte qu'au premier ordre SQL,
+ * quand on sait si la transaction est read-only. Read-only : {@link ReplicaDataSource} ; sinon : le primaire.
+ * Rien ne doit l'envelopper en demandant la connexion physique dès getConnection (getMetaData du proxy de traces JDBC) :
+ * l'instrumentation se pose sur chaque pool, et ce bean est exclu de jdbc.excluded-data-source-bean-names.
+ */
+public class RoutingDataSource extends LazyConnectionDataSourceProxy implements AutoCloseable {
+
+    private final HikariDataSource primary;
+    private final ReplicaDataSource replicas;
+
+    public RoutingDataSource(HikariDataSource primary, DataSource primaryConnections, ReplicaDataSource replicas) {
+        super(primaryConnections);
+        this.primary = primary;
+        this.replicas = replicas;
+        setReadOnlyDataSource(replicas);
+    }
+
+    public ReplicaDataSource replicas() {
+        return replicas;
+    }
+
+    @Override
+    public void close() {
+        replicas.close();
+        primary.close();
+    }
+}
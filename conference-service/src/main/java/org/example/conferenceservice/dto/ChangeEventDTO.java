@@ -0,0 +1,32 @@
+package org.example.conferenceservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.example.conferenceservice.entity.ChangeType;
+import org.example.conferenceservice.entity.OutboxEvent;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ChangeEventDTO {
+    private Long position;
+    // conference ou review
+    private String aggregate;
+    private Long aggregateId;
+    private ChangeType type;
+    private Instant occurredAt;
+    // JSON tel qu'écrit dans l'outbox, renvoyé sans être relu
+    @JsonRawValue
+    private String payload;
+
+    public static ChangeEventDTO of(OutboxEvent event) {
+        return new ChangeEventDTO(event.getPosition(), event.getAggregate(), event.getAggregateId(), event.getType(),
+                event.getOccurredAt(), event.getPayload());
+    }
+}
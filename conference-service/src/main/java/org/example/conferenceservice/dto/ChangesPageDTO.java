@@ -0,0 +1,22 @@
+package org.example.conferenceservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ChangesPageDTO {
+    // Vrai si le curseur demandé n'est plus lisible (événements purgés, base réinitialisée) : le consommateur
+    // doit se resynchroniser sur les listes complètes, la page repart de after
+    private boolean reset;
+    private long after;
+    private List<ChangeEventDTO> events;
+    // Curseur de la page suivante
+    private long lastPosition;
+}
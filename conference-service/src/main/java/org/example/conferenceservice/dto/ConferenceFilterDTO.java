@@ -0,0 +1,21 @@
+package org.example.conferenceservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.example.conferenceservice.entity.TypeConference;
+
+import java.util.Date;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ConferenceFilterDTO {
+    private TypeConference type;
+    private Date dateFrom;
+    private Date dateTo;
+    private Double minScore;
+    private Double maxScore;
+}
@@ -1,6 +1,6 @@
 package org.example.conferenceservice.dto;
 
-
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -25,4 +25,12 @@ public class ConferenceResponseDTO {
     private List<ReviewResponseDTO> reviews ;
     private Long keynoteId;
     private Keynote keynote;
+    private Long version;
+    // Vrai si keynote-service était indisponible : keynote est alors nulle ou servie depuis le cache
+    private boolean keynoteDegraded;
+    // Âge en secondes de la copie locale dont vient keynote, null si elle vient de keynote-service ou du cache.
+    // Hors du corps, protégé par un ETag fort : envoyé dans l'en-tête X-Keynote-Snapshot-Age, et par ligne dans l'export.
+    // Absent des réponses des outils MCP, sérialisées sans en-têtes ni réglage par le serveur MCP : leur description le signale
+    @JsonIgnore
+    private Long keynoteSnapshotAgeSeconds;
 }
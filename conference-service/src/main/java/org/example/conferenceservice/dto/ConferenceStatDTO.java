@@ -0,0 +1,19 @@
+package org.example.conferenceservice.dto;
+
+import lombok.*;
+
+/**
+ * Agrégats d'un bucket de conférences. averageScore est null si aucune conférence du bucket n'est notée.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+public class ConferenceStatDTO {
+    private long conferences;
+    private long registrations;
+    private long reviews;
+    private long scored;
+    private Double averageScore;
+}
@@ -0,0 +1,21 @@
+package org.example.conferenceservice.dto;
+
+import lombok.*;
+import org.example.conferenceservice.entity.TypeConference;
+
+import java.util.Map;
+
+/**
+ * Statistiques des conférences : total, par type, par keynote et par mois (yyyy-MM) de la date.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+public class ConferenceStatsDTO {
+    private ConferenceStatDTO total;
+    private Map<TypeConference, ConferenceStatDTO> byType;
+    private Map<Long, ConferenceStatDTO> byKeynote;
+    private Map<String, ConferenceStatDTO> byMonth;
+}
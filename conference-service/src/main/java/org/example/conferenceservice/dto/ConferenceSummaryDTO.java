@@ -0,0 +1,37 @@
+package org.example.conferenceservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.example.conferenceservice.model.Keynote;
+
+import java.util.Date;
+
+/**
+ * Vue liste d'une conférence : sans les reviews, seulement leur nombre.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ConferenceSummaryDTO {
+    private Long id;
+    private String titre;
+    private String type;
+    private Date date;
+    private Double duree;
+    private int nombreInscrits;
+    private Double score;
+    private long reviewCount;
+    private Long keynoteId;
+    private Keynote keynote;
+    // Vrai si keynote-service était indisponible : keynote est alors nulle ou servie depuis le cache
+    private boolean keynoteDegraded;
+    // Âge en secondes de la copie locale dont vient keynote, null si elle vient de keynote-service ou du cache.
+    // Hors du corps, protégé par un ETag fort : envoyé dans l'en-tête X-Keynote-Snapshot-Age, et par ligne dans l'export.
+    // Absent des réponses des outils MCP, sérialisées sans en-têtes ni réglage par le serveur MCP : leur description le signale
+    @JsonIgnore
+    private Long keynoteSnapshotAgeSeconds;
+}
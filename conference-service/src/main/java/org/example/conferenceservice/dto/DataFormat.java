@@ -0,0 +1,8 @@
+package org.example.conferenceservice.dto;
+
+/**
+ * Formats ligne à ligne acceptés par l'export et l'import de conférences.
+ */
+public enum DataFormat {
+    NDJSON, CSV
+}
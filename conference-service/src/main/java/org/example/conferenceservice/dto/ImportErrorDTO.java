@@ -0,0 +1,16 @@
+package org.example.conferenceservice.dto;
+
+import lombok.*;
+
+/**
+ * Enregistrement rejeté par un import, repéré par son rang (à partir de 1, hors en-tête CSV).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+public class ImportErrorDTO {
+    private long record;
+    private String message;
+}
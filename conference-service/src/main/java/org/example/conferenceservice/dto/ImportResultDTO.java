@@ -0,0 +1,32 @@
+package org.example.conferenceservice.dto;
+
+import lombok.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bilan d'un import : enregistrements acceptés et rejetés, nombre de lots commités et débit.
+ * Seules les MAX_REPORTED_ERRORS premières erreurs sont détaillées, pour que le bilan reste borné.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+public class ImportResultDTO {
+    public static final int MAX_REPORTED_ERRORS = 100;
+
+    private long accepted;
+    private long rejected;
+    private int chunks;
+    private long durationMillis;
+    private double rowsPerSecond;
+    @Builder.Default
+    private List<ImportErrorDTO> errors = new ArrayList<>();
+
+    public void reject(long record, String message) {
+        rejected++;
+        if (errors.size() < MAX_REPORTED_ERRORS) errors.add(new ImportErrorDTO(record, message));
+    }
+}
@@ -0,0 +1,28 @@
+package org.example.conferenceservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Page de résultats. En pagination par offset, page/totalElements/totalPages sont renseignés ;
+ * en pagination par clé (afterId/afterDate), ils restent nuls et seul le curseur suivant est fourni.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PageResponseDTO<T> {
+    private List<T> content;
+    private Integer page;
+    private int size;
+    private Long totalElements;
+    private Integer totalPages;
+    private boolean hasNext;
+    private Long nextAfterId;
+    private Date nextAfterDate;
+}
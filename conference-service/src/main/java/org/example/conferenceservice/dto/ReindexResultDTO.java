@@ -0,0 +1,18 @@
+package org.example.conferenceservice.dto;
+
+import lombok.*;
+
+/**
+ * Bilan d'une réindexation : conférences et reviews indexées, threads utilisés et durée.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+public class ReindexResultDTO {
+    private long conferences;
+    private long reviews;
+    private int threads;
+    private long durationMillis;
+}
@@ -0,0 +1,21 @@
+package org.example.conferenceservice.dto;
+
+import lombok.*;
+
+/**
+ * Résultat d'une recherche : une conférence trouvée par son titre (type conference) ou une review trouvée
+ * par son commentaire (type review). highlight reprend le texte trouvé, termes correspondants entre &lt;b&gt; et &lt;/b&gt;.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+public class SearchHitDTO {
+    private String type;
+    private Long conferenceId;
+    private Long reviewId;
+    private String titre;
+    private String highlight;
+    private float score;
+}
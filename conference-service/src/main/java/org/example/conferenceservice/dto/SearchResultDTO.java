@@ -0,0 +1,20 @@
+package org.example.conferenceservice.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Page de résultats d'une recherche plein texte, du plus pertinent au moins pertinent.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+public class SearchResultDTO {
+    private String query;
+    private long total;
+    private List<SearchHitDTO> hits;
+    private long tookMillis;
+}
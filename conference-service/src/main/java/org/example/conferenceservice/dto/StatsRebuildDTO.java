@@ -0,0 +1,17 @@
+package org.example.conferenceservice.dto;
+
+import lombok.*;
+
+/**
+ * Bilan d'un recalcul des statistiques : conférences parcourues, buckets écrits et durée.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+public class StatsRebuildDTO {
+    private long conferences;
+    private int buckets;
+    private long durationMillis;
+}
@@ -0,0 +1,25 @@
+package org.example.conferenceservice.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Position atteinte dans le flux de changements d'un autre service. generation augmente à chaque modification
+ * des données qui en sont tirées : elle entre dans les ETags des réponses qui les intègrent.
+ */
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@ToString
+@Table(name = "change_feed_cursor")
+public class ChangeFeedCursor {
+    @Id
+    private String feed;
+    private long position;
+    private long generation;
+    private Instant updatedAt;
+}
@@ -0,0 +1,5 @@
+package org.example.conferenceservice.entity;
+
+public enum ChangeType {
+    CREATED, UPDATED, DELETED
+}
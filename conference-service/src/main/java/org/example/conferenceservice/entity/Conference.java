@@ -14,8 +14,11 @@ import java.util.List;
 @NoArgsConstructor
 @Builder
 @ToString
+@Table(indexes = @Index(name = "idx_conference_date_id", columnList = "date, id"))
 public class Conference {
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "conference_seq")
+    @SequenceGenerator(name = "conference_seq", sequenceName = "conference_seq", allocationSize = 50)
     private Long id;
     private String titre;
     private TypeConference type;
@@ -23,9 +26,14 @@ public class Conference {
     private Double duree;
     private int nombreInscrits;
     private Double score;
-    @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true, mappedBy = "conference",fetch = FetchType.EAGER)
+    @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true, mappedBy = "conference",fetch = FetchType.LAZY)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private List<Review> reviews = new ArrayList<>();
     private Long keynoteId;
+    // Incrémentée à chaque modification de la conférence ou de ses reviews : source des ETags
+    @Version
+    private Long version;
     @Transient
     private Keynote keynote;
 
@@ -0,0 +1,29 @@
+package org.example.conferenceservice.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Agrégats d'un bucket (TOTAL, un type, une keynote ou un mois), tenus à jour par les écritures de conférences
+ * et de reviews. La moyenne des scores est scoreSum / scored : seules les conférences notées y entrent.
+ */
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@ToString
+@Table(name = "conference_stat", indexes = @Index(name = "idx_conference_stat_dimension", columnList = "dimension"))
+public class ConferenceStat {
+    // dimension:bucket, par exemple TYPE:Academic, KEYNOTE:12, MONTH:2025-03
+    @Id
+    private String id;
+    @Enumerated(EnumType.STRING)
+    private StatDimension dimension;
+    private String bucket;
+    private long conferences;
+    private long registrations;
+    private double scoreSum;
+    private long scored;
+    private long reviews;
+}
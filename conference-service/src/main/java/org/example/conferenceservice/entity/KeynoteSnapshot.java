@@ -0,0 +1,68 @@
+package org.example.conferenceservice.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.example.conferenceservice.model.Keynote;
+
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * Copie locale d'une keynote de keynote-service, tenue à jour par KeynoteSnapshots depuis son flux de changements.
+ * version est celle de la keynote dans keynote-service ; syncedAt la dernière fois que cette copie a été confirmée
+ * (changement appliqué ou réconciliation).
+ */
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@ToString
+@Table(name = "keynote_snapshot")
+public class KeynoteSnapshot {
+    @Id
+    private Long id;
+    private String nom;
+    private String prenom;
+    private String email;
+    private String fonction;
+    private Long version;
+    private Instant syncedAt;
+
+    public static KeynoteSnapshot of(Keynote keynote, Instant syncedAt) {
+        KeynoteSnapshot snapshot = new KeynoteSnapshot();
+        snapshot.setId(keynote.getId());
+        snapshot.refresh(keynote, syncedAt);
+        return snapshot;
+    }
+
+    // Vrai si la copie a changé ; une version plus ancienne que la copie (réponse en retard) est ignorée
+    public boolean refresh(Keynote keynote, Instant syncedAt) {
+        boolean older = version != null && keynote.getVersion() != null && keynote.getVersion() < version;
+        if (older) return false;
+        boolean changed = !Objects.equals(version, keynote.getVersion())
+                || !Objects.equals(nom, keynote.getNom())
+                || !Objects.equals(prenom, keynote.getPrenom())
+                || !Objects.equals(email, keynote.getEmail())
+                || !Objects.equals(fonction, keynote.getFonction());
+        this.nom = keynote.getNom();
+        this.prenom = keynote.getPrenom();
+        this.email = keynote.getEmail();
+        this.fonction = keynote.getFonction();
+        this.version = keynote.getVersion();
+        this.syncedAt = syncedAt;
+        return changed;
+    }
+
+    public Keynote toKeynote() {
+        Keynote keynote = new Keynote();
+        keynote.setId(id);
+        keynote.setNom(nom);
+        keynote.setPrenom(prenom);
+        keynote.setEmail(email);
+        keynote.setFonction(fonction);
+        keynote.setVersion(version);
+        keynote.setSyncedAt(syncedAt);
+        return keynote;
+    }
+}
@@ -12,13 +12,19 @@ import java.util.Date;
 @AllArgsConstructor
 @Builder
 @ToString
+@Table(indexes = @Index(name = "idx_review_conference_id", columnList = "conference_id"))
 public class Review {
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "review_seq")
+    @SequenceGenerator(name = "review_seq", sequenceName = "review_seq", allocationSize = 50)
     private Long id;
     private Date date;
     private String commentaire;
-    @ManyToOne()
+    @Version
+    private Long version;
+    @ManyToOne(fetch = FetchType.LAZY)
     @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private Conference conference;
 }
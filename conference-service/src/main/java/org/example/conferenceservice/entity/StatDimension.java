@@ -0,0 +1,18 @@
+package org.example.conferenceservice.entity;
+
+/**
+ * Axes des agrégats de {@link ConferenceStat} : TOTAL (bucket {@link #ALL}, réparti sur des lignes numérotées),
+ * type de conférence, keynote et mois (yyyy-MM, UTC) de la date.
+ */
+public enum StatDimension {
+    TOTAL,
+    TYPE,
+    KEYNOTE,
+    MONTH;
+
+    public static final String ALL = "all";
+
+    public String id(String bucket) {
+        return name() + ":" + bucket;
+    }
+}
@@ -2,10 +2,16 @@ package org.example.conferenceservice.mapper;
 
 import org.example.conferenceservice.dto.ConferenceRequestDTO;
 import org.example.conferenceservice.dto.ConferenceResponseDTO;
+import org.example.conferenceservice.dto.ConferenceSummaryDTO;
 import org.example.conferenceservice.entity.Conference;
+import org.example.conferenceservice.model.Keynote;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+
 @Service
 public class ConferenceMapper {
     @Autowired
@@ -24,9 +30,33 @@ public class ConferenceMapper {
         if(conference.getReviews() != null)
             conferenceResponseDTO.setReviews(conference.getReviews().stream().map(reviewMapper::toDto).toList());
         conferenceResponseDTO.setKeynote(conference.getKeynote());
+        conferenceResponseDTO.setKeynoteSnapshotAgeSeconds(snapshotAgeSeconds(conference.getKeynote()));
+        conferenceResponseDTO.setVersion(conference.getVersion());
         return conferenceResponseDTO;
     }
 
+    public ConferenceSummaryDTO toSummaryDTO(Conference conference, long reviewCount) {
+        return ConferenceSummaryDTO.builder()
+                .id(conference.getId())
+                .titre(conference.getTitre())
+                .type(conference.getType().toString())
+                .date(conference.getDate())
+                .duree(conference.getDuree())
+                .nombreInscrits(conference.getNombreInscrits())
+                .score(conference.getScore())
+                .reviewCount(reviewCount)
+                .keynoteId(conference.getKeynoteId())
+                .keynote(conference.getKeynote())
+                .keynoteSnapshotAgeSeconds(snapshotAgeSeconds(conference.getKeynote()))
+                .build();
+    }
+
+    // Temps écoulé depuis la dernière confirmation de la copie locale de la keynote
+    private static Long snapshotAgeSeconds(Keynote keynote) {
+        if (keynote == null || keynote.getSyncedAt() == null) return null;
+        return Math.max(0, Duration.between(keynote.getSyncedAt(), Instant.now()).toSeconds());
+    }
+
     public Conference toEntity(ConferenceRequestDTO conferenceRequestDTO) {
         Conference conference = new Conference();
         conference.setType(conferenceRequestDTO.getType());
@@ -36,8 +66,9 @@ public class ConferenceMapper {
         conference.setTitre(conferenceRequestDTO.getTitre());
         conference.setNombreInscrits(conferenceRequestDTO.getNombreInscrits());
         conference.setKeynoteId(conferenceRequestDTO.getKeynoteId());
+        conference.setReviews(new ArrayList<>());
         if(conferenceRequestDTO.getReviews() != null)
-            conference.setReviews(conferenceRequestDTO.getReviews().stream().map(reviewMapper::toEntity).toList());
+            conferenceRequestDTO.getReviews().stream().map(reviewMapper::toEntity).forEach(conference::addReview);
         return conference;
     }
 }
@@ -1,28 +1,41 @@
 package org.example.conferenceservice.mcp;
 
+import org.example.conferenceservice.dto.ConferenceFilterDTO;
 import org.example.conferenceservice.dto.ConferenceRequestDTO;
 import org.example.conferenceservice.dto.ConferenceResponseDTO;
+import org.example.conferenceservice.dto.ConferenceSummaryDTO;
+import org.example.conferenceservice.dto.PageResponseDTO;
+import org.example.conferenceservice.dto.SearchResultDTO;
+import org.example.conferenceservice.service.ConferenceSearch;
 import org.example.conferenceservice.service.IConferenceService;
 import org.springaicommunity.mcp.annotation.McpTool;
 import org.springframework.ai.tool.annotation.Tool;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Component;
 
-import java.util.List;
 
 @Component
 public class ConferenceTools {
 
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+
     private IConferenceService conferenceService;
+    private ConferenceSearch conferenceSearch;
 
-    public ConferenceTools(IConferenceService conferenceService) {
+    public ConferenceTools(IConferenceService conferenceService, ConferenceSearch conferenceSearch) {
         this.conferenceService = conferenceService;
+        this.conferenceSearch = conferenceSearch;
     }
 
 
     @McpTool( description = """
-                    Récupère la liste de tous les conférences enregistrés.
-                    Input: Aucun paramètre
-                    Output: Liste de ConferenceResponseDto [
+                    Récupère une page de conférences enregistrées, triées par identifiant.
+                    Input: Integer page (numéro de page à partir de 0, 0 par défaut),
+                           Integer size (taille de page, 20 par défaut, 100 au maximum)
+                    Output: PageResponseDTO {
+                        content : Liste de ConferenceSummaryDTO [
                         {
                               id : number,
                               titre : string,
@@ -34,11 +47,7 @@ public class ConferenceTools {
                               duree : number,
                               nombreInscrits : number,
                               score : number,
-                              reviews : List<ReviewResponseDTO> {
-                                id: number,
-                                date: date,
-                                commentaire : string
-                              },
+                              reviewCount : number,
                               keynoteId : number,
                               keynote : Keynote{
                               id : number,
@@ -46,13 +55,22 @@ public class ConferenceTools {
                               prenom : string,
                               email : string,
                               fonction : string
-                              }
+                              } (peut venir de la copie locale des keynotes, en retard d'au plus quelques secondes ;
+                                 l'âge de cette copie n'est pas renvoyé)
                         },
                         ...
-                    ]
+                        ],
+                        page : number,
+                        size : number,
+                        totalElements : number,
+                        totalPages : number,
+                        hasNext : boolean
+                    }
                     """)
-    public List<ConferenceResponseDTO> getAllConferences(){
-        return conferenceService.getConferences();
+    public PageResponseDTO<ConferenceSummaryDTO> getAllConferences(Integer page, Integer size){
+        int pageNumber = page == null ? 0 : Math.max(page, 0);
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        return conferenceService.getConferences(new ConferenceFilterDTO(), PageRequest.of(pageNumber, pageSize, Sort.by("id")));
     }
     @McpTool(description = """
             Recupere la conference via son identifiant conferenceId.
@@ -80,13 +98,39 @@ public class ConferenceTools {
                               prenom : string,
                               email : string,
                               fonction : string
-                              }
+                              } (peut venir de la copie locale des keynotes, en retard d'au plus quelques secondes ;
+                                 l'âge de cette copie n'est pas renvoyé)
                         }
             """)
     public ConferenceResponseDTO getConferenceBy(long conferenceId){
         return conferenceService.getConferenceById(conferenceId);
     }
 
+    @McpTool(description = """
+            Recherche des conférences par mots du titre et des reviews par mots du commentaire,
+            sans tenir compte des accents, par préfixe ou malgré une faute de frappe ; résultats du plus pertinent au moins pertinent.
+            Input: String query (mots recherchés), Integer limit (nombre de résultats, 20 par défaut, 100 au maximum)
+            Output: SearchResultDTO {
+                        query : string,
+                        total : number,
+                        hits : Liste de SearchHitDTO [
+                        {
+                              type : string (conference ou review),
+                              conferenceId : number,
+                              reviewId : number (reviews seulement),
+                              titre : string,
+                              highlight : string (texte trouvé, termes correspondants entre <b> et </b>),
+                              score : number
+                        },
+                        ...
+                        ],
+                        tookMillis : number
+                    }
+            """)
+    public SearchResultDTO searchConferences(String query, Integer limit){
+        return conferenceSearch.search(query, limit);
+    }
+
     @McpTool(description = """
             crée une conference.
             Input: ConferenceRequestDTO {
@@ -128,7 +172,7 @@ public class ConferenceTools {
             Output: Aucun
             """)
     public void updateConference(long conferenceId, ConferenceRequestDTO conferenceRequestDTO){
-        conferenceService.updateConference(conferenceId, conferenceRequestDTO);
+        conferenceService.updateConference(conferenceId, conferenceRequestDTO, null);
     }
 
     @McpTool(description = """
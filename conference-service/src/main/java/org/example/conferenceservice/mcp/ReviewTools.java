@@ -1,10 +1,13 @@
 package org.example.conferenceservice.mcp;
 
+import org.example.conferenceservice.dto.PageResponseDTO;
 import org.example.conferenceservice.dto.ReviewRequestDTO;
 import org.example.conferenceservice.dto.ReviewResponseDTO;
 import org.example.conferenceservice.service.IConferenceService;
 import org.springaicommunity.mcp.annotation.McpTool;
 import org.springframework.ai.tool.annotation.Tool;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
@@ -12,6 +15,9 @@ import java.util.List;
 @Component
 public class ReviewTools {
 
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+
     private IConferenceService conferenceService;
 
     public ReviewTools(IConferenceService conferenceService) {
@@ -19,19 +25,46 @@ public class ReviewTools {
     }
 
     @McpTool(description = """
-            Récupère toutes les reviews d'une conférence via son identifiant conferenceId.
-            Input: long conferenceId
-            Output: Liste de ReviewResponseDTO [
+            Récupère une page de reviews d'une conférence via son identifiant conferenceId.
+            Input: long conferenceId,
+                   Integer page (numéro de page à partir de 0, 0 par défaut),
+                   Integer size (taille de page, 20 par défaut, 100 au maximum)
+            Output: PageResponseDTO {
+                content: Liste de ReviewResponseDTO [
                 {
                     id: number,
                     date: date,
                     commentaire: string
                 },
                 ...
-            ]
+                ],
+                page: number,
+                size: number,
+                totalElements: number,
+                totalPages: number,
+                hasNext: boolean
+            }
+            """)
+    public PageResponseDTO<ReviewResponseDTO> getReviewsByConference(long conferenceId, Integer page, Integer size) {
+        int pageNumber = page == null ? 0 : Math.max(page, 0);
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        return conferenceService.getReviews(conferenceId, PageRequest.of(pageNumber, pageSize, Sort.by("id")));
+    }
+
+    @McpTool(description = """
+            Ajoute une review à une conférence existante via son identifiant conferenceId.
+            Input: long conferenceId, ReviewRequestDTO {
+                    date: date,
+                    commentaire: string
+                }
+            Output: ReviewResponseDTO {
+                    id: number,
+                    date: date,
+                    commentaire: string
+                }
             """)
-    public List<ReviewResponseDTO> getReviewsByConference(long conferenceId) {
-        return conferenceService.getConferenceById(conferenceId).getReviews();
+    public ReviewResponseDTO addReviewToConference(long conferenceId, ReviewRequestDTO review) {
+        return conferenceService.addReview(conferenceId, review);
     }
 
     @McpTool(description = """
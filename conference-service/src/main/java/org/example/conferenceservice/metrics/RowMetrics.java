@@ -0,0 +1,35 @@
+package org.example.conferenceservice.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Lignes chargées par requête, par opération et par entité (métrique rows.loaded) : une page qui se met
+ * à matérialiser des reviews ou des keynotes en trop se voit sur la distribution, pas seulement sur la latence.
+ */
+@Component
+public class RowMetrics {
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, DistributionSummary> summaries = new ConcurrentHashMap<>();
+
+    public RowMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public void record(String operation, String entity, long rows) {
+        summaries.computeIfAbsent(operation + '/' + entity, key -> DistributionSummary.builder("rows.loaded")
+                        .description("Lignes chargées par requête")
+                        .baseUnit("rows")
+                        .tag("operation", operation)
+                        .tag("entity", entity)
+                        .publishPercentileHistogram()
+                        .register(meterRegistry))
+                .record(rows);
+        WorkSummary.recordRows(rows);
+    }
+}
@@ -0,0 +1,16 @@
+package org.example.conferenceservice.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Compte chaque requête SQL préparée par Hibernate dans le {@link WorkSummary} de la requête en cours.
+ * Un batch JDBC compte pour une requête.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        WorkSummary.recordSqlStatement();
+        return sql;
+    }
+}
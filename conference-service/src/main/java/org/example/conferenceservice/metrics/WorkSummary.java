@@ -0,0 +1,63 @@
+package org.example.conferenceservice.metrics;
+
+/**
+ * Travail effectué par la requête HTTP en cours : requêtes SQL préparées, appels Feign et lignes chargées.
+ * Tenu dans un ThreadLocal du thread de la requête, seulement quand work-summary.enabled est vrai ;
+ * sinon les enregistrements sont sans effet. Le travail fait sur d'autres threads (lots Feign parallèles,
+ * export en streaming) est compté par le thread qui le déclenche, ou pas du tout.
+ */
+public final class WorkSummary {
+
+    public static final String HEADER = "X-Work-Summary";
+
+    private static final ThreadLocal<WorkSummary> CURRENT = new ThreadLocal<>();
+
+    private long sqlStatements;
+    private long feignCalls;
+    private long rows;
+
+    private WorkSummary() {
+    }
+
+    static WorkSummary start() {
+        WorkSummary summary = new WorkSummary();
+        CURRENT.set(summary);
+        return summary;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    public static void recordSqlStatement() {
+        WorkSummary summary = CURRENT.get();
+        if (summary != null) summary.sqlStatements++;
+    }
+
+    public static void recordFeignCalls(int calls) {
+        WorkSummary summary = CURRENT.get();
+        if (summary != null) summary.feignCalls += calls;
+    }
+
+    public static void recordRows(long count) {
+        WorkSummary summary = CURRENT.get();
+        if (summary != null) summary.rows += count;
+    }
+
+    public long getSqlStatements() {
+        return sqlStatements;
+    }
+
+    public long getFeignCalls() {
+        return feignCalls;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    @Override
+    public String toString() {
+        return "sql=" + sqlStatements + ", feign=" + feignCalls + ", rows=" + rows;
+    }
+}
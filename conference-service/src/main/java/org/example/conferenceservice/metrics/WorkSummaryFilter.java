@@ -0,0 +1,80 @@
+package org.example.conferenceservice.metrics;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+
+/**
+ * Ajoute l'en-tête X-Work-Summary (sql=…, feign=…, rows=…) à chaque réponse.
+ * L'en-tête est posé juste avant l'écriture du corps, quand le service a fini son travail,
+ * ou à la fin de la requête pour les réponses sans corps.
+ */
+public class WorkSummaryFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        SummaryHeaderResponse wrapped = new SummaryHeaderResponse(response, WorkSummary.start());
+        try {
+            chain.doFilter(request, wrapped);
+            wrapped.writeHeader();
+        } finally {
+            WorkSummary.end();
+        }
+    }
+
+    private static final class SummaryHeaderResponse extends HttpServletResponseWrapper {
+
+        private final WorkSummary summary;
+        private boolean written;
+
+        SummaryHeaderResponse(HttpServletResponse response, WorkSummary summary) {
+            super(response);
+            this.summary = summary;
+        }
+
+        void writeHeader() {
+            if (!written && !isCommitted()) {
+                written = true;
+                setHeader(WorkSummary.HEADER, summary.toString());
+            }
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeHeader();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeHeader();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeHeader();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            writeHeader();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            writeHeader();
+            super.sendError(sc, msg);
+        }
+    }
+}
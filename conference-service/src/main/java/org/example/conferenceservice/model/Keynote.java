@@ -1,7 +1,10 @@
 package org.example.conferenceservice.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Data;
 
+import java.time.Instant;
+
 @Data
 public class Keynote {
     private Long id;
@@ -9,4 +12,9 @@ public class Keynote {
     private String prenom;
     private String email;
     private String fonction;
+    private Long version;
+    // Renseignée pour une keynote lue dans keynote_snapshot : dernière confirmation de la copie locale.
+    // Jamais sérialisée : les DTO de conférence en exposent l'âge (keynoteSnapshotAgeSeconds)
+    @JsonIgnore
+    private Instant syncedAt;
 }
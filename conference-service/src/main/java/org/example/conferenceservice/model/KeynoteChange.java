@@ -0,0 +1,16 @@
+package org.example.conferenceservice.model;
+
+import lombok.Data;
+
+import java.time.Instant;
+
+// Événement du flux /api/changes de keynote-service ; payload ne porte que l'id pour une suppression
+@Data
+public class KeynoteChange {
+    private Long position;
+    private String aggregate;
+    private Long aggregateId;
+    private String type;
+    private Instant occurredAt;
+    private Keynote payload;
+}
@@ -0,0 +1,14 @@
+package org.example.conferenceservice.model;
+
+import lombok.Data;
+
+import java.util.List;
+
+// Page de /api/changes/page de keynote-service ; reset signale un curseur qui n'y est plus lisible
+@Data
+public class KeynoteChanges {
+    private boolean reset;
+    private long after;
+    private List<KeynoteChange> events;
+    private long lastPosition;
+}
@@ -0,0 +1,27 @@
+package org.example.conferenceservice.outbox;
+
+import org.example.conferenceservice.dto.ChangeEventDTO;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Diffusion des événements publiés par OutboxRelay. Par défaut en mémoire ({@link InProcessChangeBroker}) ;
+ * un autre courtier (Kafka, RabbitMQ…) se branche en déclarant son bean ChangeBroker avec outbox.broker=&lt;nom&gt;.
+ */
+public interface ChangeBroker {
+
+    /**
+     * Lots publiés dans l'ordre des positions. Une exception fait republier le lot au passage suivant du relais :
+     * la livraison est au moins une fois, les consommateurs dédoublonnent par position.
+     */
+    void publish(List<ChangeEventDTO> events);
+
+    // L'écouteur est appelé sur le thread du relais : il ne doit pas bloquer
+    Subscription subscribe(Consumer<List<ChangeEventDTO>> listener);
+
+    interface Subscription extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,35 @@
+package org.example.conferenceservice.outbox;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.conferenceservice.dto.ChangeEventDTO;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Courtier en mémoire : les abonnés de cette instance (flux SSE, tests) reçoivent chaque lot publié.
+ * Un abonné en erreur n'empêche pas la livraison aux autres.
+ */
+@Slf4j
+public class InProcessChangeBroker implements ChangeBroker {
+
+    private final List<Consumer<List<ChangeEventDTO>>> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(List<ChangeEventDTO> events) {
+        for (Consumer<List<ChangeEventDTO>> listener : listeners) {
+            try {
+                listener.accept(events);
+            } catch (RuntimeException e) {
+                log.warn("Change listener failed: {}", e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public Subscription subscribe(Consumer<List<ChangeEventDTO>> listener) {
+        listeners.add(listener);
+        return () -> listeners.remove(listener);
+    }
+}
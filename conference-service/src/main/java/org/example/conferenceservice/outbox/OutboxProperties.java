@@ -0,0 +1,29 @@
+package org.example.conferenceservice.outbox;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Outbox des changements et flux /api/changes (outbox.*).
+ *
+ * @param relayEnabled     relais démarré avec l'application ; désactivé, les événements restent en table non publiés
+ * @param pollInterval     fréquence à laquelle le relais cherche des événements, en plus du réveil après chaque commit
+ * @param batchSize        événements numérotés et publiés par lot, et taille maximale d'une page de /api/changes
+ * @param retention        durée pendant laquelle un événement publié reste lisible depuis un curseur
+ * @param broker           diffuseur des événements publiés : in-process, ou le nom d'un autre bean ChangeBroker
+ * @param streamTimeout    durée d'une connexion SSE, après laquelle le client se reconnecte avec Last-Event-ID
+ * @param heartbeat        intervalle des commentaires keep-alive envoyés sur un flux SSE inactif
+ * @param subscriberBuffer événements en attente d'envoi par client SSE ; au-delà, le client est relu depuis la table
+ */
+@ConfigurationProperties("outbox")
+public record OutboxProperties(@DefaultValue("true") boolean relayEnabled,
+                               @DefaultValue("1s") Duration pollInterval,
+                               @DefaultValue("500") int batchSize,
+                               @DefaultValue("7d") Duration retention,
+                               @DefaultValue("in-process") String broker,
+                               @DefaultValue("30m") Duration streamTimeout,
+                               @DefaultValue("15s") Duration heartbeat,
+                               @DefaultValue("1000") int subscriberBuffer) {
+}
@@ -0,0 +1,20 @@
+package org.example.conferenceservice.repository;
+
+import jakarta.persistence.LockModeType;
+import org.example.conferenceservice.entity.ChangeFeedCursor;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface ChangeFeedCursorRepository extends JpaRepository<ChangeFeedCursor, String> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select c from ChangeFeedCursor c where c.feed = :feed")
+    Optional<ChangeFeedCursor> lockByFeed(@Param("feed") String feed);
+
+    @Query("select c.generation from ChangeFeedCursor c where c.feed = :feed")
+    Optional<Long> findGenerationByFeed(@Param("feed") String feed);
+}
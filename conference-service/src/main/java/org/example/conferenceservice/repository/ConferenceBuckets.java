@@ -0,0 +1,15 @@
+package org.example.conferenceservice.repository;
+
+import org.example.conferenceservice.entity.TypeConference;
+
+import java.util.Date;
+
+/**
+ * Projection des champs d'une conférence qui déterminent ses buckets de statistiques.
+ */
+public interface ConferenceBuckets {
+    Long getId();
+    TypeConference getType();
+    Long getKeynoteId();
+    Date getDate();
+}
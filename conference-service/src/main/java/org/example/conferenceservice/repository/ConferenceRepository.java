@@ -1,8 +1,67 @@
 package org.example.conferenceservice.repository;
 
+import jakarta.persistence.QueryHint;
 import org.example.conferenceservice.entity.Conference;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface ConferenceRepository extends JpaRepository<Conference, Long> {
+
+public interface ConferenceRepository extends JpaRepository<Conference, Long>, JpaSpecificationExecutor<Conference> {
+    int EXPORT_FETCH_SIZE = 500;
+
+    // Conférence et reviews en une seule requête (left join) pour la vue détail
+    @EntityGraph(attributePaths = "reviews")
+    Optional<Conference> findWithReviewsById(Long id);
+
+    // Parcours curseur de toute la table pour l'export : à consommer dans une transaction et à fermer
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select c from Conference c order by c.id")
+    Stream<Conference> streamAll();
+
+    // Parcours curseur pour le recalcul des statistiques : une ligne par conférence, reviews comptées par l'index
+    // idx_review_conference_id, sans charger d'entité
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE))
+    @Query("select c.type as type, c.keynoteId as keynoteId, c.date as date, c.nombreInscrits as nombreInscrits, " +
+            "c.score as score, (select count(r) from Review r where r.conference = c) as reviewCount from Conference c")
+    Stream<ConferenceStatRow> streamStatRows();
+
+    // Conférences et reviews d'une plage d'identifiants, pour l'index de recherche
+    @EntityGraph(attributePaths = "reviews")
+    List<Conference> findByIdBetween(Long from, Long to);
+
+    @EntityGraph(attributePaths = "reviews")
+    List<Conference> findByIdIn(Collection<Long> ids);
+
+    @Query("select min(c.id) from Conference c")
+    Long findMinId();
+
+    @Query("select max(c.id) from Conference c")
+    Long findMaxId();
+
+    @Query("select c.id as id, c.type as type, c.keynoteId as keynoteId, c.date as date from Conference c where c.id in :ids")
+    List<ConferenceBuckets> findBucketsByIds(@Param("ids") Collection<Long> ids);
+
+    @Query("select c.version as version, c.keynoteId as keynoteId, s.version as keynoteSnapshotVersion " +
+            "from Conference c left join KeynoteSnapshot s on s.id = c.keynoteId where c.id = :id")
+    Optional<ConferenceVersion> findVersionById(@Param("id") Long id);
+
+    // Les reviews font partie de la représentation d'une conférence : les modifier incrémente sa version,
+    // sans charger la conférence
+    @Modifying
+    @Query("update Conference c set c.version = c.version + 1 where c.id = :id")
+    int incrementVersion(@Param("id") Long id);
 }
@@ -0,0 +1,50 @@
+package org.example.conferenceservice.repository;
+
+import org.example.conferenceservice.dto.ConferenceFilterDTO;
+import org.example.conferenceservice.entity.Conference;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Date;
+
+public final class ConferenceSpecifications {
+
+    private ConferenceSpecifications() {
+    }
+
+    public static Specification<Conference> matching(ConferenceFilterDTO filter) {
+        Specification<Conference> spec = Specification.unrestricted();
+        if (filter == null) return spec;
+        if (filter.getType() != null)
+            spec = spec.and((root, query, cb) -> cb.equal(root.get("type"), filter.getType()));
+        if (filter.getDateFrom() != null)
+            spec = spec.and((root, query, cb) -> cb.greaterThanOrEqualTo(root.get("date"), filter.getDateFrom()));
+        if (filter.getDateTo() != null)
+            spec = spec.and((root, query, cb) -> cb.lessThanOrEqualTo(root.get("date"), filter.getDateTo()));
+        if (filter.getMinScore() != null)
+            spec = spec.and((root, query, cb) -> cb.greaterThanOrEqualTo(root.get("score"), filter.getMinScore()));
+        if (filter.getMaxScore() != null)
+            spec = spec.and((root, query, cb) -> cb.lessThanOrEqualTo(root.get("score"), filter.getMaxScore()));
+        return spec;
+    }
+
+    // Condition de reprise "après id", pour un tri par id
+    public static Specification<Conference> seekAfter(Long afterId, Sort.Direction direction) {
+        return (root, query, cb) -> direction.isAscending()
+                ? cb.greaterThan(root.get("id"), afterId)
+                : cb.lessThan(root.get("id"), afterId);
+    }
+
+    // Condition de reprise "après (date, id)" : avec l'index (date, id), la page N coûte autant que la première.
+    // Les conférences sans date n'ont pas de place dans cet ordre : elles sont exclues explicitement
+    public static Specification<Conference> seekAfter(Date afterDate, Long afterId, Sort.Direction direction) {
+        boolean asc = direction.isAscending();
+        return (root, query, cb) -> cb.and(
+                cb.isNotNull(root.get("date")),
+                cb.or(
+                        asc ? cb.greaterThan(root.get("date"), afterDate) : cb.lessThan(root.get("date"), afterDate),
+                        cb.and(
+                                cb.equal(root.get("date"), afterDate),
+                                asc ? cb.greaterThan(root.get("id"), afterId) : cb.lessThan(root.get("id"), afterId))));
+    }
+}
@@ -0,0 +1,41 @@
+package org.example.conferenceservice.repository;
+
+import jakarta.persistence.LockModeType;
+import org.example.conferenceservice.entity.ConferenceStat;
+import org.example.conferenceservice.entity.StatDimension;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface ConferenceStatRepository extends JpaRepository<ConferenceStat, String> {
+
+    List<ConferenceStat> findByDimension(StatDimension dimension);
+
+    List<ConferenceStat> findByDimensionNotAndConferencesNot(StatDimension dimension, long conferences);
+
+    // Même variation pour tous les buckets donnés : une seule requête, quel que soit leur nombre
+    @Modifying
+    @Query("update ConferenceStat s set s.conferences = s.conferences + :conferences, " +
+            "s.registrations = s.registrations + :registrations, s.scoreSum = s.scoreSum + :scoreSum, " +
+            "s.scored = s.scored + :scored, s.reviews = s.reviews + :reviews where s.id in :ids")
+    int increment(@Param("ids") Collection<String> ids, @Param("conferences") long conferences,
+                  @Param("registrations") long registrations, @Param("scoreSum") double scoreSum,
+                  @Param("scored") long scored, @Param("reviews") long reviews);
+
+    @Query("select s.id from ConferenceStat s where s.id in :ids")
+    List<String> findExistingIds(@Param("ids") Collection<String> ids);
+
+    // Verrous pris dans l'ordre des identifiants : deux transactions ne peuvent pas s'attendre mutuellement
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from ConferenceStat s where s.id in :ids order by s.id")
+    List<ConferenceStat> lockByIds(@Param("ids") Collection<String> ids);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from ConferenceStat s order by s.id")
+    List<ConferenceStat> lockAll();
+}
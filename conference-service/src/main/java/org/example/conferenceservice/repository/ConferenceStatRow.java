@@ -0,0 +1,17 @@
+package org.example.conferenceservice.repository;
+
+import org.example.conferenceservice.entity.TypeConference;
+
+import java.util.Date;
+
+/**
+ * Projection d'une conférence pour le recalcul des statistiques : buckets, valeurs agrégées et nombre de reviews.
+ */
+public interface ConferenceStatRow {
+    TypeConference getType();
+    Long getKeynoteId();
+    Date getDate();
+    int getNombreInscrits();
+    Double getScore();
+    long getReviewCount();
+}
@@ -0,0 +1,11 @@
+package org.example.conferenceservice.repository;
+
+/**
+ * Projection de la version d'une conférence et de sa keynote, pour calculer son ETag sans la charger.
+ */
+public interface ConferenceVersion {
+    Long getVersion();
+    Long getKeynoteId();
+    // Version de la copie locale de la keynote, null sans copie
+    Long getKeynoteSnapshotVersion();
+}
@@ -0,0 +1,20 @@
+package org.example.conferenceservice.repository;
+
+import org.example.conferenceservice.entity.KeynoteSnapshot;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface KeynoteSnapshotRepository extends JpaRepository<KeynoteSnapshot, Long> {
+
+    @Query("select s.id from KeynoteSnapshot s where s.id > :after order by s.id")
+    List<Long> findIdsAfter(@Param("after") long after, Limit limit);
+
+    // Keynotes référencées par une conférence mais pas encore copiées (créées avant le premier abonnement au flux)
+    @Query("select distinct c.keynoteId from Conference c where c.keynoteId > :after " +
+            "and not exists (select s from KeynoteSnapshot s where s.id = c.keynoteId) order by c.keynoteId")
+    List<Long> findMissingKeynoteIdsAfter(@Param("after") long after, Limit limit);
+}
@@ -0,0 +1,38 @@
+package org.example.conferenceservice.repository;
+
+import org.example.conferenceservice.entity.OutboxEvent;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // Événements validés que le relais n'a pas encore numérotés
+    List<OutboxEvent> findByPositionIsNullOrderByIdAsc(Limit limit);
+
+    List<OutboxEvent> findByPositionIsNotNullAndPublishedAtIsNullOrderByPositionAsc(Limit limit);
+
+    List<OutboxEvent> findByPositionGreaterThanOrderByPositionAsc(long after, Limit limit);
+
+    @Query("select coalesce(max(e.position), 0) from OutboxEvent e")
+    long findMaxPosition();
+
+    @Query("select min(e.position) from OutboxEvent e")
+    Long findMinPosition();
+
+    @Modifying
+    @Query("update OutboxEvent e set e.publishedAt = :publishedAt where e.id in :ids")
+    int markPublished(@Param("ids") Collection<Long> ids, @Param("publishedAt") Instant publishedAt);
+
+    // Le dernier événement est toujours gardé : la numérotation reprend après lui, jamais depuis 1
+    @Modifying
+    @Query("delete from OutboxEvent e where e.publishedAt < :before " +
+            "and e.position < (select max(o.position) from OutboxEvent o)")
+    int deletePublishedBefore(@Param("before") Instant before);
+}
@@ -0,0 +1,9 @@
+package org.example.conferenceservice.repository;
+
+/**
+ * Projection du nombre de reviews par conférence.
+ */
+public interface ReviewCount {
+    Long getConferenceId();
+    long getReviewCount();
+}
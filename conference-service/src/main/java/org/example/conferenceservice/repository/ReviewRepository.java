@@ -1,7 +1,29 @@
 package org.example.conferenceservice.repository;
 
 import org.example.conferenceservice.entity.Review;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
 
 public interface ReviewRepository extends JpaRepository<Review, Long> {
+    Page<Review> findByConferenceId(Long conferenceId, Pageable pageable);
+
+    @Modifying
+    @Query("delete from Review r where r.id = :reviewId and r.conference.id = :conferenceId")
+    int deleteByIdAndConferenceId(@Param("reviewId") Long reviewId, @Param("conferenceId") Long conferenceId);
+
+    @Query("select r.conference.id as conferenceId, count(r) as reviewCount from Review r " +
+            "where r.conference.id in :conferenceIds group by r.conference.id")
+    List<ReviewCount> countByConferenceIds(@Param("conferenceIds") Collection<Long> conferenceIds);
+
+    // Reviews à réindexer une à une : une ligne par review, sans charger les autres reviews de la conférence
+    @Query("select r.id as id, c.id as conferenceId, c.titre as conferenceTitre, r.commentaire as commentaire " +
+            "from Review r join r.conference c where r.id in :ids")
+    List<ReviewSearchRow> findSearchRowsByIds(@Param("ids") Collection<Long> ids);
 }
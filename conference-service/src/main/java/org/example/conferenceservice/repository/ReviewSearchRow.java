@@ -0,0 +1,11 @@
+package org.example.conferenceservice.repository;
+
+/**
+ * Projection d'une review pour son document de recherche : commentaire et titre de sa conférence.
+ */
+public interface ReviewSearchRow {
+    Long getId();
+    Long getConferenceId();
+    String getConferenceTitre();
+    String getCommentaire();
+}
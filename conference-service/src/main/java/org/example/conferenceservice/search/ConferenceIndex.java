@@ -0,0 +1,339 @@
+package org.example.conferenceservice.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.LowerCaseFilter;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.fr.FrenchAnalyzer;
+import org.apache.lucene.analysis.miscellaneous.ASCIIFoldingFilter;
+import org.apache.lucene.analysis.standard.StandardTokenizer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.analysis.util.ElisionFilter;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.FuzzyQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.uhighlight.UnifiedHighlighter;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.example.conferenceservice.dto.SearchHitDTO;
+import org.example.conferenceservice.dto.SearchResultDTO;
+import org.example.conferenceservice.entity.Conference;
+import org.example.conferenceservice.entity.Review;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Index Lucene des titres de conférences et des commentaires de reviews.
+ * <ul>
+ *   <li>un document par conférence (titre) et un par review (commentaire), tous portant conferenceId : une conférence
+ *   et ses reviews sont remplacées d'un bloc ({@link #update}), sans doublon possible ; une review seule est
+ *   remplacée ou supprimée par son identifiant ({@link #updateReview}, {@link #deleteReviews}) ;</li>
+ *   <li>analyse sans racinisation : élisions (l', d'…), minuscules et accents retirés, « reactive » trouve
+ *   « Réactive » et « helioglyphe » trouve « l'Hélioglyphe » ;</li>
+ *   <li>chaque mot de la requête doit apparaître, à l'identique (le mieux classé), comme préfixe ou à une ou deux
+ *   fautes près ; le titre pèse deux fois plus qu'un commentaire, puis BM25 ;</li>
+ *   <li>les modifications sont visibles à la recherche après {@link #refresh()} et écrites sur disque toutes les
+ *   commitInterval, puis à la fermeture.</li>
+ * </ul>
+ */
+@Slf4j
+public class ConferenceIndex implements AutoCloseable {
+
+    static final String KIND = "kind";
+    static final String CONFERENCE_ID = "conferenceId";
+    static final String REVIEW_ID = "reviewId";
+    // Identifiant de review indexé (non stocké) : une review est remplacée ou supprimée seule
+    static final String REVIEW_KEY = "reviewKey";
+    static final String TITRE = "titre";
+    static final String CONFERENCE_TITRE = "conferenceTitre";
+    static final String COMMENTAIRE = "commentaire";
+    static final String CONFERENCE = "conference";
+    static final String REVIEW = "review";
+
+    private static final String[] HIGHLIGHTED = {TITRE, COMMENTAIRE};
+    // Format des documents, enregistré avec chaque commit : un index sur disque d'un format antérieur est reconstruit
+    private static final String FORMAT = "format";
+    private static final String CURRENT_FORMAT = "1";
+
+    private final Directory directory;
+    private final Analyzer analyzer = new Analyzer() {
+        @Override
+        protected TokenStreamComponents createComponents(String fieldName) {
+            StandardTokenizer tokenizer = new StandardTokenizer();
+            TokenStream elided = new ElisionFilter(tokenizer, FrenchAnalyzer.DEFAULT_ARTICLES);
+            return new TokenStreamComponents(tokenizer, new ASCIIFoldingFilter(new LowerCaseFilter(elided)));
+        }
+    };
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+    private final ScheduledExecutorService committer;
+    private final String openedFormat;
+
+    public ConferenceIndex(String indexPath, Duration commitInterval) throws IOException {
+        this.directory = indexPath == null || indexPath.isBlank()
+                ? new ByteBuffersDirectory()
+                : FSDirectory.open(Path.of(indexPath));
+        this.writer = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+        String format = null;
+        Iterable<Map.Entry<String, String>> commitData = writer.getLiveCommitData();
+        if (commitData != null) {
+            for (Map.Entry<String, String> entry : commitData) if (FORMAT.equals(entry.getKey())) format = entry.getValue();
+        }
+        this.openedFormat = format;
+        writer.setLiveCommitData(Map.of(FORMAT, CURRENT_FORMAT).entrySet());
+        this.searcherManager = new SearcherManager(writer, null);
+        this.committer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "search-index-commit");
+            thread.setDaemon(true);
+            return thread;
+        });
+        committer.scheduleWithFixedDelay(this::commitQuietly, commitInterval.toMillis(), commitInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Remplace les documents de chaque conférence (titre et reviews, à charger avant l'appel).
+     * @return nombre de reviews indexées
+     */
+    public long update(Collection<Conference> conferences) {
+        long reviews = 0;
+        try {
+            for (Conference conference : conferences) {
+                List<Document> documents = new ArrayList<>(conference.getReviews().size() + 1);
+                documents.add(conferenceDocument(conference));
+                for (Review review : conference.getReviews()) {
+                    documents.add(reviewDocument(conference.getId(), conference.getTitre(), review.getId(), review.getCommentaire()));
+                }
+                writer.updateDocuments(conferenceTerm(conference.getId()), documents);
+                reviews += conference.getReviews().size();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return reviews;
+    }
+
+    /**
+     * Remplace le document d'une seule review, sans toucher à sa conférence ni aux autres reviews : le coût ne dépend
+     * pas du nombre de reviews de la conférence. conferenceTitre est le titre affiché avec la review.
+     */
+    public void updateReview(Long conferenceId, String conferenceTitre, Long reviewId, String commentaire) {
+        try {
+            writer.updateDocument(reviewTerm(reviewId), reviewDocument(conferenceId, conferenceTitre, reviewId, commentaire));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void deleteReviews(Collection<Long> reviewIds) {
+        try {
+            for (Long reviewId : reviewIds) {
+                writer.deleteDocuments(reviewTerm(reviewId));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void delete(Collection<Long> conferenceIds) {
+        try {
+            for (Long conferenceId : conferenceIds) {
+                writer.deleteDocuments(conferenceTerm(conferenceId));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Invisible aux recherches jusqu'au prochain refresh : l'ancien index reste servi pendant une réindexation
+    public void deleteAll() {
+        try {
+            writer.deleteAll();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void refresh() {
+        try {
+            searcherManager.maybeRefreshBlocking();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void commit() {
+        try {
+            writer.commit();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void commitQuietly() {
+        try {
+            if (writer.hasUncommittedChanges()) writer.commit();
+        } catch (IOException | RuntimeException e) {
+            log.warn("Cannot commit the search index: {}", e.getMessage());
+        }
+    }
+
+    public boolean isEmpty() {
+        return writer.getDocStats().numDocs == 0;
+    }
+
+    // Vide, ou ouvert sur des documents d'un format antérieur (sans REVIEW_KEY) : à reconstruire
+    public boolean needsRebuild() {
+        return isEmpty() || !CURRENT_FORMAT.equals(openedFormat);
+    }
+
+    private static Term conferenceTerm(Long conferenceId) {
+        return new Term(CONFERENCE_ID, conferenceId.toString());
+    }
+
+    private static Term reviewTerm(Long reviewId) {
+        return new Term(REVIEW_KEY, reviewId.toString());
+    }
+
+    private static Document conferenceDocument(Conference conference) {
+        Document document = new Document();
+        document.add(new StringField(KIND, CONFERENCE, Field.Store.YES));
+        document.add(new StringField(CONFERENCE_ID, conference.getId().toString(), Field.Store.YES));
+        if (conference.getTitre() != null) document.add(new TextField(TITRE, conference.getTitre(), Field.Store.YES));
+        return document;
+    }
+
+    // Titre conservé sous un autre nom, non indexé, pour l'affichage : une review n'est pas trouvée par le titre
+    // de sa conférence (Lucene impose les mêmes options d'indexation à un champ dans tous les documents)
+    private static Document reviewDocument(Long conferenceId, String conferenceTitre, Long reviewId, String commentaire) {
+        Document document = new Document();
+        document.add(new StringField(KIND, REVIEW, Field.Store.YES));
+        document.add(new StringField(CONFERENCE_ID, conferenceId.toString(), Field.Store.YES));
+        document.add(new StringField(REVIEW_KEY, reviewId.toString(), Field.Store.NO));
+        document.add(new StoredField(REVIEW_ID, reviewId));
+        if (conferenceTitre != null) document.add(new StoredField(CONFERENCE_TITRE, conferenceTitre));
+        if (commentaire != null) document.add(new TextField(COMMENTAIRE, commentaire, Field.Store.YES));
+        return document;
+    }
+
+    public SearchResultDTO search(String text, int limit) {
+        long start = System.nanoTime();
+        Query query = query(text);
+        List<SearchHitDTO> hits = new ArrayList<>();
+        long total = 0;
+        if (query != null) {
+            try {
+                IndexSearcher searcher = searcherManager.acquire();
+                try {
+                    TopDocs topDocs = searcher.search(query, limit);
+                    total = topDocs.totalHits.value();
+                    Map<String, String[]> highlights = UnifiedHighlighter.builder(searcher, analyzer).build()
+                            .highlightFields(HIGHLIGHTED, query, topDocs);
+                    StoredFields storedFields = searcher.storedFields();
+                    for (int i = 0; i < topDocs.scoreDocs.length; i++) {
+                        ScoreDoc scoreDoc = topDocs.scoreDocs[i];
+                        Document document = storedFields.document(scoreDoc.doc);
+                        boolean review = REVIEW.equals(document.get(KIND));
+                        Number reviewId = review ? document.getField(REVIEW_ID).numericValue() : null;
+                        hits.add(SearchHitDTO.builder()
+                                .type(document.get(KIND))
+                                .conferenceId(Long.valueOf(document.get(CONFERENCE_ID)))
+                                .reviewId(reviewId == null ? null : reviewId.longValue())
+                                .titre(document.get(review ? CONFERENCE_TITRE : TITRE))
+                                .highlight(highlights.get(review ? COMMENTAIRE : TITRE)[i])
+                                .score(scoreDoc.score)
+                                .build());
+                    }
+                } finally {
+                    searcherManager.release(searcher);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return SearchResultDTO.builder()
+                .query(text)
+                .total(total)
+                .hits(hits)
+                .tookMillis((System.nanoTime() - start) / 1_000_000)
+                .build();
+    }
+
+    // Chaque mot analysé doit correspondre, dans le titre ou un commentaire ; null si la requête n'a aucun mot
+    Query query(String text) {
+        if (text == null) return null;
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+        boolean empty = true;
+        for (String word : words(text)) {
+            BooleanQuery.Builder alternatives = new BooleanQuery.Builder();
+            addWord(alternatives, TITRE, word, 2f);
+            addWord(alternatives, COMMENTAIRE, word, 1f);
+            query.add(alternatives.build(), BooleanClause.Occur.MUST);
+            empty = false;
+        }
+        return empty ? null : query.build();
+    }
+
+    private static void addWord(BooleanQuery.Builder alternatives, String field, String word, float boost) {
+        Term term = new Term(field, word);
+        alternatives.add(new BoostQuery(new TermQuery(term), boost * 3), BooleanClause.Occur.SHOULD);
+        if (word.length() >= 2) {
+            alternatives.add(new BoostQuery(new PrefixQuery(term), boost * 1.5f), BooleanClause.Occur.SHOULD);
+        }
+        // Distance d'édition selon la longueur, comme le « AUTO » habituel : aucune faute tolérée sous 3 lettres
+        int maxEdits = word.length() >= 6 ? 2 : word.length() >= 3 ? 1 : 0;
+        if (maxEdits > 0) {
+            alternatives.add(new BoostQuery(new FuzzyQuery(term, maxEdits, 1), boost), BooleanClause.Occur.SHOULD);
+        }
+    }
+
+    private List<String> words(String text) {
+        List<String> words = new ArrayList<>();
+        try (TokenStream tokens = analyzer.tokenStream(TITRE, text)) {
+            CharTermAttribute term = tokens.addAttribute(CharTermAttribute.class);
+            tokens.reset();
+            while (tokens.incrementToken()) words.add(term.toString());
+            tokens.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return words;
+    }
+
+    @Override
+    public void close() throws IOException {
+        committer.shutdownNow();
+        searcherManager.close();
+        writer.close();
+        directory.close();
+        analyzer.close();
+    }
+}
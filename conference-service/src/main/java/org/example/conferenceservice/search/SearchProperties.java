@@ -0,0 +1,23 @@
+package org.example.conferenceservice.search;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Index plein texte des conférences (search.*).
+ *
+ * @param indexPath        répertoire de l'index Lucene ; vide, l'index est en mémoire et reconstruit à chaque démarrage
+ * @param commitInterval   fréquence à laquelle les modifications de l'index sont rendues durables sur disque
+ * @param reindexThreads   threads qui chargent et indexent les conférences pendant une réindexation
+ * @param reindexBatchSize plage d'identifiants chargée en une requête par chaque thread de réindexation
+ * @param maxResults       nombre maximal de résultats d'une recherche
+ */
+@ConfigurationProperties("search")
+public record SearchProperties(String indexPath,
+                               @DefaultValue("10s") Duration commitInterval,
+                               @DefaultValue("4") int reindexThreads,
+                               @DefaultValue("500") int reindexBatchSize,
+                               @DefaultValue("100") int maxResults) {
+}
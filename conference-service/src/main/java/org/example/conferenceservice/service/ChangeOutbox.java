@@ -0,0 +1,205 @@
+package org.example.conferenceservice.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.example.conferenceservice.dto.ChangeEventDTO;
+import org.example.conferenceservice.dto.ChangesPageDTO;
+import org.example.conferenceservice.entity.ChangeType;
+import org.example.conferenceservice.entity.Conference;
+import org.example.conferenceservice.entity.OutboxEvent;
+import org.example.conferenceservice.entity.Review;
+import org.example.conferenceservice.entity.TypeConference;
+import org.example.conferenceservice.outbox.OutboxRelay;
+import org.example.conferenceservice.repository.OutboxEventRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Outbox des changements de conférences et de reviews (table outbox_event) : un événement par conférence ou review
+ * créée, modifiée ou supprimée, reviews créées ou supprimées avec leur conférence comprises.
+ * <ul>
+ *   <li>une transaction note ses changements ; juste avant son commit, ils sont écrits dans l'outbox par la même
+ *   transaction : un changement est publié si et seulement si l'écriture est validée ;</li>
+ *   <li>plusieurs changements d'un même agrégat dans une transaction n'en font qu'un (création puis modification :
+ *   création ; création puis suppression : rien), avec l'état de l'agrégat au commit ;</li>
+ *   <li>après le commit, OutboxRelay est réveillé pour numéroter et publier les nouveaux événements.</li>
+ * </ul>
+ */
+@Service
+public class ChangeOutbox {
+
+    public static final String CONFERENCE = "conference";
+    public static final String REVIEW = "review";
+
+    @Autowired
+    OutboxEventRepository outboxEventRepository;
+    @Autowired
+    OutboxRelay outboxRelay;
+    @Autowired
+    ObjectMapper objectMapper;
+    @PersistenceContext
+    EntityManager entityManager;
+
+    // État publié d'une conférence, sans ses reviews (qui ont leurs propres événements)
+    record ConferencePayload(Long id, String titre, TypeConference type, Date date, Double duree, int nombreInscrits,
+                             Double score, Long keynoteId, Long version) {
+        static ConferencePayload of(Conference conference) {
+            return new ConferencePayload(conference.getId(), conference.getTitre(), conference.getType(),
+                    conference.getDate(), conference.getDuree(), conference.getNombreInscrits(), conference.getScore(),
+                    conference.getKeynoteId(), conference.getVersion());
+        }
+    }
+
+    record ReviewPayload(Long id, Long conferenceId, Date date, String commentaire) {
+    }
+
+    // Identifiant et payload lus au commit, après le flush : identifiants des nouvelles reviews et versions
+    // sont alors définitifs
+    private record Change(String aggregate, Supplier<Long> aggregateId, ChangeType type, Supplier<Object> payload,
+                          Instant occurredAt) {
+        Change mergedWith(Change next) {
+            if (type == ChangeType.CREATED && next.type == ChangeType.DELETED) return null;
+            if (type == ChangeType.CREATED) return new Change(aggregate, aggregateId, type, next.payload, next.occurredAt);
+            return next;
+        }
+    }
+
+    // Une conférence créée avec ses reviews : un événement pour chacune
+    public void created(Conference conference) {
+        record(CONFERENCE, conference.getId(), ChangeType.CREATED, () -> ConferencePayload.of(conference));
+        if (conference.getReviews() != null) conference.getReviews().forEach(review -> reviewAdded(conference.getId(), review));
+    }
+
+    public void created(Collection<Conference> conferences) {
+        conferences.forEach(this::created);
+    }
+
+    public void updated(Conference conference) {
+        record(CONFERENCE, conference.getId(), ChangeType.UPDATED, () -> ConferencePayload.of(conference));
+    }
+
+    // Reviews remplacées par PUT ou PATCH : les anciennes supprimées, les nouvelles (sans identifiant avant le flush) créées
+    public void reviewsReplaced(Conference conference, Collection<Long> removedReviewIds) {
+        removedReviewIds.forEach(reviewId -> reviewDeleted(conference.getId(), reviewId));
+        conference.getReviews().forEach(review -> reviewAdded(conference.getId(), review));
+    }
+
+    // Suppression en cascade des reviews comprise
+    public void deleted(Conference conference) {
+        ConferencePayload payload = ConferencePayload.of(conference);
+        conference.getReviews().forEach(review -> reviewDeleted(conference.getId(), review.getId()));
+        record(CONFERENCE, conference.getId(), ChangeType.DELETED, () -> payload);
+    }
+
+    public void reviewAdded(Long conferenceId, Review review) {
+        Supplier<Object> payload = () -> new ReviewPayload(review.getId(), conferenceId, review.getDate(), review.getCommentaire());
+        if (review.getId() != null) {
+            record(REVIEW, review.getId(), ChangeType.CREATED, payload);
+        } else {
+            pending().put(new Object(), new Change(REVIEW, review::getId, ChangeType.CREATED, payload, Instant.now()));
+        }
+    }
+
+    public void reviewDeleted(Long conferenceId, Long reviewId) {
+        record(REVIEW, reviewId, ChangeType.DELETED, () -> new ReviewPayload(reviewId, conferenceId, null, null));
+    }
+
+    private void record(String aggregate, Long aggregateId, ChangeType type, Supplier<Object> payload) {
+        Change change = new Change(aggregate, () -> aggregateId, type, payload, Instant.now());
+        pending().merge(aggregate + ":" + aggregateId, change, Change::mergedWith);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<Object, Change> pending() {
+        Map<Object, Change> pending = (Map<Object, Change>) TransactionSynchronizationManager.getResource(this);
+        if (pending != null) return pending;
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Changes must be recorded inside the writing transaction");
+        }
+        Map<Object, Change> created = new LinkedHashMap<>();
+        TransactionSynchronizationManager.bindResource(this, created);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                write(created.values());
+            }
+
+            @Override
+            public void afterCommit() {
+                if (!created.isEmpty()) outboxRelay.wakeUp();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(ChangeOutbox.this);
+            }
+        });
+        return created;
+    }
+
+    private void write(Collection<Change> changes) {
+        if (changes.isEmpty()) return;
+        entityManager.flush();
+        outboxEventRepository.saveAll(changes.stream()
+                .map(change -> OutboxEvent.builder()
+                        .aggregate(change.aggregate())
+                        .aggregateId(change.aggregateId().get())
+                        .type(change.type())
+                        .payload(json(change.payload().get()))
+                        .occurredAt(change.occurredAt())
+                        .build())
+                .toList());
+    }
+
+    private String json(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize change payload", e);
+        }
+    }
+
+    /**
+     * Événements numérotés après la position after, au plus limit, publiés ou sur le point de l'être. Si after n'est
+     * plus lisible (purgé, ou au-delà de la dernière position après une réinitialisation de la base), la page le
+     * signale et repart de la plus ancienne position disponible.
+     * Lu sur la base principale : un réplica en retard ferait sauter au client les événements entre sa relecture
+     * et le flux en direct.
+     */
+    @Transactional
+    public ChangesPageDTO changesAfter(long after, int limit) {
+        long last = outboxEventRepository.findMaxPosition();
+        Long first = outboxEventRepository.findMinPosition();
+        boolean reset = after > last || first != null && after < first - 1;
+        long from = !reset ? after : after > last ? 0 : first - 1;
+        List<ChangeEventDTO> events = outboxEventRepository
+                .findByPositionGreaterThanOrderByPositionAsc(from, Limit.of(limit)).stream()
+                .map(ChangeEventDTO::of)
+                .toList();
+        return ChangesPageDTO.builder()
+                .reset(reset)
+                .after(from)
+                .events(events)
+                .lastPosition(events.isEmpty() ? from : events.get(events.size() - 1).getPosition())
+                .build();
+    }
+
+    @Transactional
+    public long lastPosition() {
+        return outboxEventRepository.findMaxPosition();
+    }
+}
@@ -0,0 +1,19 @@
+package org.example.conferenceservice.service;
+
+import lombok.Value;
+import org.example.conferenceservice.dto.PageResponseDTO;
+
+/**
+ * Page de conférences et ETag agrégé lus dans la même transaction (liste conditionnelle, If-None-Match).
+ * page est nulle quand le client a déjà cet ETag (304) ; etag est nul quand une écriture validée pendant la lecture
+ * empêche de savoir quel état la page décrit.
+ */
+@Value
+public class ConditionalPage<T> {
+    String etag;
+    PageResponseDTO<T> page;
+
+    public boolean isNotModified() {
+        return page == null;
+    }
+}
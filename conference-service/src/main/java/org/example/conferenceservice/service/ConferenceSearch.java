@@ -0,0 +1,241 @@
+package org.example.conferenceservice.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.conferenceservice.dto.ReindexResultDTO;
+import org.example.conferenceservice.dto.SearchResultDTO;
+import org.example.conferenceservice.entity.Conference;
+import org.example.conferenceservice.entity.Review;
+import org.example.conferenceservice.repository.ConferenceRepository;
+import org.example.conferenceservice.repository.ReviewRepository;
+import org.example.conferenceservice.repository.ReviewSearchRow;
+import org.example.conferenceservice.search.ConferenceIndex;
+import org.example.conferenceservice.search.SearchProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Recherche plein texte des conférences et des reviews, tenue à jour par les écritures de IConferenceServiceImpl.
+ * <ul>
+ *   <li>une transaction note les conférences qu'elle modifie ; après son commit, elles sont relues en base
+ *   (état validé, reviews comprises) et remplacées dans l'index, puis visibles à la recherche ;</li>
+ *   <li>une review ajoutée ou supprimée seule ne fait relire et remplacer que son document, quel que soit le nombre
+ *   de reviews de sa conférence ;</li>
+ *   <li>un échec d'indexation est journalisé sans remettre en cause l'écriture : {@link #reindex()} le rattrape ;</li>
+ *   <li>{@link #reindex()} reconstruit tout l'index, plages d'identifiants chargées et indexées en parallèle ;
+ *   les recherches restent servies par l'index précédent jusqu'à la fin, et les conférences modifiées pendant
+ *   la réindexation sont réindexées à nouveau avant de publier le résultat.</li>
+ * </ul>
+ */
+@Slf4j
+@Service
+public class ConferenceSearch {
+
+    @Autowired
+    ConferenceIndex conferenceIndex;
+    @Autowired
+    ConferenceRepository conferenceRepository;
+    @Autowired
+    ReviewRepository reviewRepository;
+    @Autowired
+    SearchProperties searchProperties;
+
+    private TransactionTemplate readTransaction;
+    private final AtomicBoolean reindexing = new AtomicBoolean();
+    // Conférences modifiées pendant une réindexation, relues à la fin
+    private final Set<Long> changedDuringReindex = ConcurrentHashMap.newKeySet();
+
+    // Appelé aussi depuis afterCommit, où la transaction terminée est encore liée au thread : transaction séparée
+    @Autowired
+    void setTransactionManager(PlatformTransactionManager transactionManager) {
+        readTransaction = new TransactionTemplate(transactionManager);
+        readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        readTransaction.setReadOnly(true);
+    }
+
+    public SearchResultDTO search(String query, Integer limit) {
+        int max = searchProperties.maxResults();
+        return conferenceIndex.search(query, limit == null ? Math.min(20, max) : Math.min(Math.max(limit, 1), max));
+    }
+
+    public void changed(Long conferenceId) {
+        pending().conferences.add(conferenceId);
+    }
+
+    public void changed(Collection<Conference> conferences) {
+        Pending pending = pending();
+        conferences.forEach(conference -> pending.conferences.add(conference.getId()));
+    }
+
+    // Review ajoutée ou modifiée : seul son document est remplacé, la conférence et ses autres reviews ne sont pas relues
+    public void reviewChanged(Long conferenceId, Review review) {
+        Pending pending = pending();
+        pending.reviews.add(review);
+        pending.reviewConferences.add(conferenceId);
+    }
+
+    public void reviewDeleted(Long conferenceId, Long reviewId) {
+        Pending pending = pending();
+        pending.deletedReviews.add(reviewId);
+        pending.reviewConferences.add(conferenceId);
+    }
+
+    // Écritures d'une transaction : conférences à réindexer entières, reviews à remplacer ou supprimer une à une
+    private static final class Pending {
+        final Set<Long> conferences = new HashSet<>();
+        final List<Review> reviews = new ArrayList<>();
+        final Set<Long> deletedReviews = new HashSet<>();
+        final Set<Long> reviewConferences = new HashSet<>();
+    }
+
+    private Pending pending() {
+        Pending pending = (Pending) TransactionSynchronizationManager.getResource(this);
+        if (pending != null) return pending;
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Search index changes must be recorded inside the writing transaction");
+        }
+        Pending created = new Pending();
+        TransactionSynchronizationManager.bindResource(this, created);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                try {
+                    index(created);
+                } catch (RuntimeException e) {
+                    log.warn("Cannot index conferences {} and reviews of {}, search results stay stale until the next reindex: {}",
+                            created.conferences, created.reviewConferences, e.getMessage());
+                }
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(ConferenceSearch.this);
+            }
+        });
+        return created;
+    }
+
+    private void index(Pending pending) {
+        // Pendant une réindexation, une plage chargée avant ce commit pourrait écraser une review indexée seule :
+        // ses conférences sont relues entières à la fin
+        if (reindexing.get()) pending.conferences.addAll(pending.reviewConferences);
+        else indexReviews(pending);
+        index(pending.conferences);
+        // Pendant une réindexation, l'index partiel n'est pas publié : la fin de la réindexation s'en charge
+        if (!reindexing.get()) conferenceIndex.refresh();
+    }
+
+    // Une ligne par review touchée (avec le titre de sa conférence) : coût indépendant du nombre de reviews
+    private void indexReviews(Pending pending) {
+        Set<Long> reviewIds = new HashSet<>(pending.deletedReviews);
+        pending.reviews.forEach(review -> reviewIds.add(review.getId()));
+        if (reviewIds.isEmpty()) return;
+        List<ReviewSearchRow> rows = readTransaction.execute(status -> reviewRepository.findSearchRowsByIds(reviewIds));
+        for (ReviewSearchRow row : rows) {
+            reviewIds.remove(row.getId());
+            // Conférence réindexée entière par la même transaction
+            if (pending.conferences.contains(row.getConferenceId())) continue;
+            conferenceIndex.updateReview(row.getConferenceId(), row.getConferenceTitre(), row.getId(), row.getCommentaire());
+        }
+        conferenceIndex.deleteReviews(reviewIds);
+    }
+
+    private void index(Collection<Long> conferenceIds) {
+        if (conferenceIds.isEmpty()) return;
+        if (reindexing.get()) changedDuringReindex.addAll(conferenceIds);
+        List<Conference> conferences = readTransaction.execute(status -> {
+            List<Conference> loaded = conferenceRepository.findByIdIn(conferenceIds);
+            loaded.forEach(conference -> conference.getReviews().size());
+            return loaded;
+        });
+        Set<Long> deleted = new HashSet<>(conferenceIds);
+        conferences.forEach(conference -> deleted.remove(conference.getId()));
+        conferenceIndex.update(conferences);
+        conferenceIndex.delete(deleted);
+    }
+
+    /**
+     * Reconstruit l'index depuis la base : plages de search.reindex-batch-size identifiants réparties
+     * sur search.reindex-threads threads, chacun chargeant conférences et reviews en une requête par plage.
+     */
+    public ReindexResultDTO reindex() {
+        if (!reindexing.compareAndSet(false, true)) throw new IllegalStateException("Reindex already running");
+        long start = System.nanoTime();
+        int threads = Math.max(1, searchProperties.reindexThreads());
+        try {
+            changedDuringReindex.clear();
+            conferenceIndex.deleteAll();
+            AtomicLong conferences = new AtomicLong();
+            AtomicLong reviews = new AtomicLong();
+            Long min = conferenceRepository.findMinId();
+            Long max = conferenceRepository.findMaxId();
+            if (min != null) {
+                long batch = Math.max(1, searchProperties.reindexBatchSize());
+                List<Future<?>> ranges = new ArrayList<>();
+                try (ExecutorService workers = Executors.newFixedThreadPool(threads)) {
+                    for (long from = min; from <= max; from += batch) {
+                        long lower = from;
+                        long upper = Math.min(max, from + batch - 1);
+                        ranges.add(workers.submit(() -> {
+                            List<Conference> loaded = readTransaction.execute(status -> {
+                                List<Conference> range = conferenceRepository.findByIdBetween(lower, upper);
+                                range.forEach(conference -> conference.getReviews().size());
+                                return range;
+                            });
+                            reviews.addAndGet(conferenceIndex.update(loaded));
+                            conferences.addAndGet(loaded.size());
+                        }));
+                    }
+                    for (Future<?> range : ranges) range.get();
+                }
+            }
+            // Modifiées après le chargement de leur plage : relues une fois la réindexation terminée
+            Set<Long> changed = new HashSet<>(changedDuringReindex);
+            reindexing.set(false);
+            index(changed);
+            conferenceIndex.refresh();
+            conferenceIndex.commit();
+            return ReindexResultDTO.builder()
+                    .conferences(conferences.get())
+                    .reviews(reviews.get())
+                    .threads(threads)
+                    .durationMillis((System.nanoTime() - start) / 1_000_000)
+                    .build();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Reindex interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Reindex failed: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            reindexing.set(false);
+        }
+    }
+
+    // Index en mémoire, répertoire neuf ou d'un format antérieur : construit au démarrage, après les jeux de données initiaux
+    @EventListener(ApplicationReadyEvent.class)
+    public void reindexIfEmpty() {
+        if (!conferenceIndex.needsRebuild()) return;
+        ReindexResultDTO result = reindex();
+        log.info("Search index built: {} conferences, {} reviews in {} ms",
+                result.getConferences(), result.getReviews(), result.getDurationMillis());
+    }
+}
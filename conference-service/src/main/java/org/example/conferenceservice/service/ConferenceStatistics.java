@@ -0,0 +1,383 @@
+package org.example.conferenceservice.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.example.conferenceservice.dto.ConferenceStatDTO;
+import org.example.conferenceservice.dto.ConferenceStatsDTO;
+import org.example.conferenceservice.dto.StatsRebuildDTO;
+import org.example.conferenceservice.entity.Conference;
+import org.example.conferenceservice.entity.ConferenceStat;
+import org.example.conferenceservice.entity.StatDimension;
+import org.example.conferenceservice.entity.TypeConference;
+import org.example.conferenceservice.repository.ConferenceBuckets;
+import org.example.conferenceservice.repository.ConferenceRepository;
+import org.example.conferenceservice.repository.ConferenceStatRepository;
+import org.example.conferenceservice.repository.ConferenceStatRow;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Statistiques des conférences tenues à jour à chaque écriture (table conference_stat) : nombre de conférences,
+ * inscrits, scores et reviews, au total, par type, par keynote et par mois de la date. Lire un bucket coûte une ligne,
+ * quel que soit le nombre de conférences.
+ * <ul>
+ *   <li>les écritures d'une transaction cumulent leurs variations en mémoire ; elles sont appliquées juste avant
+ *   le commit, une requête UPDATE par groupe de buckets de même variation, et rien n'est écrit si elles s'annulent
+ *   (titre modifié, par exemple) ;</li>
+ *   <li>le total est réparti sur {@link #TOTAL_STRIPES} lignes additionnées à la lecture, chaque transaction en
+ *   prenant une au hasard : deux écritures sur des conférences sans bucket commun ne s'attendent pas ;</li>
+ *   <li>les lignes d'une transaction sont verrouillées par une seule requête, dans l'ordre des identifiants, ce qui
+ *   exclut les interblocages ; un bucket absent est d'abord créé à zéro dans sa propre transaction ;</li>
+ *   <li>{@link #rebuild()} recalcule tout en un passage curseur sur les tables, en tenant le verrou de toutes les lignes :
+ *   une écriture concurrente applique sa variation après le recalcul, sur des valeurs qui ne la comptent pas encore.</li>
+ * </ul>
+ */
+@Slf4j
+@Service
+public class ConferenceStatistics {
+
+    // Bucket logique du total, écrit sur l'une des lignes TOTAL:0 à TOTAL:(TOTAL_STRIPES - 1)
+    static final String TOTAL_ID = StatDimension.TOTAL.id(StatDimension.ALL);
+    static final int TOTAL_STRIPES = 16;
+    private static final List<String> TOTAL_STRIPE_IDS = IntStream.range(0, TOTAL_STRIPES)
+            .mapToObj(stripe -> StatDimension.TOTAL.id(Integer.toString(stripe))).toList();
+
+    @Autowired
+    ConferenceStatRepository statRepository;
+    @Autowired
+    ConferenceRepository conferenceRepository;
+    @Autowired
+    TransactionTemplate transactionTemplate;
+    @PersistenceContext
+    EntityManager entityManager;
+
+    private TransactionTemplate creation;
+
+    // Buckets créés dans leur propre transaction, validée avant que l'écriture n'en verrouille aucun
+    @Autowired
+    void setTransactionManager(PlatformTransactionManager transactionManager) {
+        creation = new TransactionTemplate(transactionManager);
+        creation.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Ce qu'une conférence apporte aux buckets de son type, de sa keynote et du mois de sa date.
+     */
+    public record Contribution(TypeConference type, Long keynoteId, Date date, int registrations, Double score, long reviews) {
+
+        public static Contribution of(Conference conference) {
+            return of(conference, conference.getReviews() == null ? 0 : conference.getReviews().size());
+        }
+
+        public static Contribution of(Conference conference, long reviews) {
+            return new Contribution(conference.getType(), conference.getKeynoteId(), conference.getDate(),
+                    conference.getNombreInscrits(), conference.getScore(), reviews);
+        }
+
+        public Contribution withReviews(long reviews) {
+            return new Contribution(type, keynoteId, date, registrations, score, reviews);
+        }
+
+        public boolean sameBuckets(Contribution other) {
+            return buckets().equals(other.buckets());
+        }
+
+        List<String> buckets() {
+            return ConferenceStatistics.buckets(type, keynoteId, date);
+        }
+    }
+
+    private static List<String> buckets(TypeConference type, Long keynoteId, Date date) {
+        List<String> buckets = new ArrayList<>(4);
+        buckets.add(TOTAL_ID);
+        if (type != null) buckets.add(StatDimension.TYPE.id(type.name()));
+        if (keynoteId != null) buckets.add(StatDimension.KEYNOTE.id(keynoteId.toString()));
+        if (date != null) buckets.add(StatDimension.MONTH.id(month(date)));
+        return buckets;
+    }
+
+    // Mois UTC ; getTime() plutôt que toInstant() : Hibernate peut rendre un java.sql.Date
+    private static String month(Date date) {
+        return YearMonth.from(Instant.ofEpochMilli(date.getTime()).atZone(ZoneOffset.UTC)).toString();
+    }
+
+    // Variation d'un bucket, cumulée sur la transaction
+    private static final class Delta {
+        private long conferences;
+        private long registrations;
+        private double scoreSum;
+        private long scored;
+        private long reviews;
+
+        private void add(Contribution contribution, int sign) {
+            conferences += sign;
+            registrations += (long) sign * contribution.registrations();
+            if (contribution.score() != null) {
+                scoreSum += sign * contribution.score();
+                scored += sign;
+            }
+            reviews += sign * contribution.reviews();
+        }
+
+        private Change change() {
+            return new Change(conferences, registrations, scoreSum, scored, reviews);
+        }
+    }
+
+    // Valeur d'une variation : les buckets qui reçoivent la même sont mis à jour par une seule requête
+    private record Change(long conferences, long registrations, double scoreSum, long scored, long reviews) {
+        private boolean isZero() {
+            return conferences == 0 && registrations == 0 && scoreSum == 0 && scored == 0 && reviews == 0;
+        }
+    }
+
+    private static final class Pending {
+        private final String totalStripe = TOTAL_STRIPE_IDS.get(ThreadLocalRandom.current().nextInt(TOTAL_STRIPES));
+        private final Map<String, Delta> buckets = new HashMap<>();
+        // Reviews ajoutées ou supprimées sans charger leur conférence : buckets résolus au commit, en une requête
+        private final Map<Long, Long> reviews = new HashMap<>();
+    }
+
+    private static void add(Map<String, Delta> buckets, Contribution contribution, int sign) {
+        for (String bucket : contribution.buckets()) {
+            buckets.computeIfAbsent(bucket, id -> new Delta()).add(contribution, sign);
+        }
+    }
+
+    public void added(Conference conference) {
+        add(pending().buckets, Contribution.of(conference), 1);
+    }
+
+    public void added(List<Conference> conferences) {
+        Map<String, Delta> buckets = pending().buckets;
+        conferences.forEach(conference -> add(buckets, Contribution.of(conference), 1));
+    }
+
+    public void removed(Conference conference) {
+        add(pending().buckets, Contribution.of(conference), -1);
+    }
+
+    public void replaced(Contribution before, Contribution after) {
+        Map<String, Delta> buckets = pending().buckets;
+        add(buckets, before, -1);
+        add(buckets, after, 1);
+    }
+
+    public void reviewsChanged(Long conferenceId, long reviews) {
+        pending().reviews.merge(conferenceId, reviews, Long::sum);
+    }
+
+    private Pending pending() {
+        Pending pending = (Pending) TransactionSynchronizationManager.getResource(this);
+        if (pending != null) return pending;
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Conference statistics must be updated inside the writing transaction");
+        }
+        Pending created = new Pending();
+        TransactionSynchronizationManager.bindResource(this, created);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                apply(created);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(ConferenceStatistics.this);
+            }
+        });
+        return created;
+    }
+
+    private void apply(Pending pending) {
+        if (!pending.reviews.isEmpty()) {
+            for (ConferenceBuckets conference : conferenceRepository.findBucketsByIds(pending.reviews.keySet())) {
+                long reviews = pending.reviews.get(conference.getId());
+                for (String bucket : buckets(conference.getType(), conference.getKeynoteId(), conference.getDate())) {
+                    pending.buckets.computeIfAbsent(bucket, id -> new Delta()).reviews += reviews;
+                }
+            }
+        }
+        Delta total = pending.buckets.remove(TOTAL_ID);
+        if (total != null) pending.buckets.put(pending.totalStripe, total);
+        Map<Change, List<String>> groups = new LinkedHashMap<>();
+        new TreeMap<>(pending.buckets).forEach((bucket, delta) -> {
+            Change change = delta.change();
+            if (!change.isZero()) groups.computeIfAbsent(change, c -> new ArrayList<>()).add(bucket);
+        });
+        if (groups.isEmpty()) return;
+        List<String> buckets = groups.values().stream().flatMap(List::stream).sorted().toList();
+        createMissing(buckets);
+        // Une requête UPDATE verrouille ses lignes dans l'ordre de l'index ; plusieurs doivent les verrouiller d'abord
+        if (groups.size() > 1) statRepository.lockByIds(buckets);
+        groups.forEach(this::increment);
+    }
+
+    private void increment(Change change, List<String> buckets) {
+        int updated = statRepository.increment(buckets, change.conferences(), change.registrations(),
+                change.scoreSum(), change.scored(), change.reviews());
+        if (updated != buckets.size()) throw new IllegalStateException("Conference statistics buckets " + buckets + " not found");
+    }
+
+    // Premier passage dans ces buckets : lignes à zéro créées et validées à part, une création concurrente l'emporte
+    private void createMissing(Collection<String> buckets) {
+        List<String> missing = missing(buckets);
+        while (!missing.isEmpty()) {
+            List<String> created = missing;
+            try {
+                creation.executeWithoutResult(status -> missing(created).forEach(bucket -> entityManager.persist(stat(bucket))));
+            } catch (DataIntegrityViolationException e) {
+                log.debug("Conference statistics buckets {} created concurrently", created);
+            }
+            missing = missing(created);
+        }
+    }
+
+    private List<String> missing(Collection<String> buckets) {
+        Set<String> existing = new HashSet<>(statRepository.findExistingIds(buckets));
+        return buckets.stream().filter(bucket -> !existing.contains(bucket)).toList();
+    }
+
+    private static ConferenceStat stat(String bucket) {
+        int separator = bucket.indexOf(':');
+        return ConferenceStat.builder()
+                .id(bucket)
+                .dimension(StatDimension.valueOf(bucket.substring(0, separator)))
+                .bucket(bucket.substring(separator + 1))
+                .build();
+    }
+
+    @Transactional(readOnly = true)
+    public ConferenceStatsDTO getStats() {
+        ConferenceStatsDTO stats = ConferenceStatsDTO.builder()
+                .total(ConferenceStatDTO.builder().build())
+                .byType(new TreeMap<>())
+                .byKeynote(new TreeMap<>())
+                .byMonth(new TreeMap<>())
+                .build();
+        ConferenceStat total = stat(TOTAL_ID);
+        statRepository.findAllById(TOTAL_STRIPE_IDS).forEach(stripe -> {
+            total.setConferences(total.getConferences() + stripe.getConferences());
+            total.setRegistrations(total.getRegistrations() + stripe.getRegistrations());
+            total.setScoreSum(total.getScoreSum() + stripe.getScoreSum());
+            total.setScored(total.getScored() + stripe.getScored());
+            total.setReviews(total.getReviews() + stripe.getReviews());
+        });
+        stats.setTotal(toDTO(total));
+        // Un bucket vidé par les suppressions reste en table, à zéro
+        for (ConferenceStat stat : statRepository.findByDimensionNotAndConferencesNot(StatDimension.TOTAL, 0)) {
+            ConferenceStatDTO dto = toDTO(stat);
+            switch (stat.getDimension()) {
+                case TYPE -> stats.getByType().put(TypeConference.valueOf(stat.getBucket()), dto);
+                case KEYNOTE -> stats.getByKeynote().put(Long.valueOf(stat.getBucket()), dto);
+                case MONTH -> stats.getByMonth().put(stat.getBucket(), dto);
+                case TOTAL -> { }
+            }
+        }
+        return stats;
+    }
+
+    @Transactional(readOnly = true)
+    public ConferenceStatDTO getKeynoteStats(Long keynoteId) {
+        return statRepository.findById(StatDimension.KEYNOTE.id(keynoteId.toString()))
+                .map(ConferenceStatistics::toDTO)
+                .orElseGet(() -> ConferenceStatDTO.builder().build());
+    }
+
+    private static ConferenceStatDTO toDTO(ConferenceStat stat) {
+        return ConferenceStatDTO.builder()
+                .conferences(stat.getConferences())
+                .registrations(stat.getRegistrations())
+                .reviews(stat.getReviews())
+                .scored(stat.getScored())
+                .averageScore(stat.getScored() > 0 ? stat.getScoreSum() / stat.getScored() : null)
+                .build();
+    }
+
+    /**
+     * Recalcule toutes les statistiques depuis les tables conference et review, en un passage curseur :
+     * la mémoire utilisée dépend du nombre de buckets, pas du nombre de conférences.
+     * Un premier passage crée les lignes des buckets absents, pour que le second les verrouille toutes d'emblée.
+     */
+    public StatsRebuildDTO rebuild() {
+        long start = System.nanoTime();
+        Set<String> buckets = new TreeSet<>(TOTAL_STRIPE_IDS);
+        buckets.addAll(transactionTemplate.execute(status -> compute().buckets().keySet()));
+        createMissing(buckets);
+        return transactionTemplate.execute(status -> {
+            // Lignes existantes modifiées sur place : une écriture qui attend leur verrou retrouve ses lignes
+            Map<String, ConferenceStat> stats = new HashMap<>();
+            statRepository.lockAll().forEach(stat -> stats.put(stat.getId(), stat));
+            Computed computed = compute();
+            stats.forEach((bucket, stat) -> {
+                Delta delta = computed.buckets().getOrDefault(bucket, new Delta());
+                stat.setConferences(delta.conferences);
+                stat.setRegistrations(delta.registrations);
+                stat.setScoreSum(delta.scoreSum);
+                stat.setScored(delta.scored);
+                stat.setReviews(delta.reviews);
+            });
+            return StatsRebuildDTO.builder()
+                    .conferences(computed.conferences())
+                    .buckets(computed.buckets().size())
+                    .durationMillis((System.nanoTime() - start) / 1_000_000)
+                    .build();
+        });
+    }
+
+    private record Computed(Map<String, Delta> buckets, long conferences) {
+    }
+
+    // Total recalculé sur la première ligne, les autres remises à zéro
+    private Computed compute() {
+        Map<String, Delta> buckets = new HashMap<>();
+        buckets.put(TOTAL_ID, new Delta());
+        long conferences = 0;
+        try (Stream<ConferenceStatRow> rows = conferenceRepository.streamStatRows()) {
+            for (ConferenceStatRow row : (Iterable<ConferenceStatRow>) rows::iterator) {
+                add(buckets, new Contribution(row.getType(), row.getKeynoteId(), row.getDate(),
+                        row.getNombreInscrits(), row.getScore(), row.getReviewCount()), 1);
+                conferences++;
+            }
+        }
+        buckets.put(TOTAL_STRIPE_IDS.get(0), buckets.remove(TOTAL_ID));
+        return new Computed(buckets, conferences);
+    }
+
+    // Premier démarrage sur une base sans statistiques (ou base en mémoire) : recalcul après les jeux de données initiaux
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfMissing() {
+        if (statRepository.existsById(TOTAL_STRIPE_IDS.get(0))) return;
+        StatsRebuildDTO result = rebuild();
+        log.info("Conference statistics rebuilt: {} conferences, {} buckets in {} ms",
+                result.getConferences(), result.getBuckets(), result.getDurationMillis());
+    }
+}
@@ -1,18 +1,40 @@
 package org.example.conferenceservice.service;
 
+import org.example.conferenceservice.dto.BulkResultDTO;
+import org.example.conferenceservice.dto.ConferenceFilterDTO;
 import org.example.conferenceservice.dto.ConferenceRequestDTO;
 import org.example.conferenceservice.dto.ConferenceResponseDTO;
+import org.example.conferenceservice.dto.ConferenceSummaryDTO;
+import org.example.conferenceservice.dto.DataFormat;
+import org.example.conferenceservice.dto.ImportResultDTO;
+import org.example.conferenceservice.dto.PageResponseDTO;
 import org.example.conferenceservice.dto.ReviewRequestDTO;
+import org.example.conferenceservice.dto.ReviewResponseDTO;
+import org.springframework.data.domain.Pageable;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Date;
+import java.util.Iterator;
 import java.util.List;
 
 public interface IConferenceService {
-    List<ConferenceResponseDTO> getConferences();
+    PageResponseDTO<ConferenceSummaryDTO> getConferences(ConferenceFilterDTO filter, Pageable pageable);
+    PageResponseDTO<ConferenceSummaryDTO> getConferencesAfter(ConferenceFilterDTO filter, Long afterId, Date afterDate, Pageable pageable);
     ConferenceResponseDTO getConferenceById(Long id);
+    String getConferenceETag(Long id);
+    String getConferencesETag(ConferenceFilterDTO filter);
+    ConditionalPage<ConferenceSummaryDTO> getConferences(ConferenceFilterDTO filter, Long afterId, Date afterDate, Pageable pageable, String ifNoneMatch);
+    long exportConferences(DataFormat format, OutputStream out) throws IOException;
     void createConference(ConferenceRequestDTO conference);
-    void updateConference(Long id, ConferenceRequestDTO conference);
-    void patchConference(Long id, ConferenceRequestDTO conference);
+    BulkResultDTO createConferences(Iterator<ConferenceRequestDTO> conferences);
+    ImportResultDTO importConferences(DataFormat format, InputStream in) throws IOException;
+    void updateConference(Long id, ConferenceRequestDTO conference, Long expectedVersion);
+    void patchConference(Long id, ConferenceRequestDTO conference, Long expectedVersion);
     void patchConferenceReviews(Long id, List<ReviewRequestDTO> reviews);
+    ReviewResponseDTO addReview(Long conferenceId, ReviewRequestDTO review);
+    PageResponseDTO<ReviewResponseDTO> getReviews(Long conferenceId, Pageable pageable);
     void deleteReviewFromConference(Long conferenceId, Long reviewId);
     void deleteConference(Long id);
 }
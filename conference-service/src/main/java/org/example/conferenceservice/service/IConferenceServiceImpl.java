@@ -1,20 +1,73 @@
 package org.example.conferenceservice.service;
 
+import org.example.conferenceservice.dto.BulkResultDTO;
+import org.example.conferenceservice.dto.ConferenceFilterDTO;
 import org.example.conferenceservice.dto.ConferenceRequestDTO;
 import org.example.conferenceservice.dto.ConferenceResponseDTO;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.example.conferenceservice.dto.ConferenceSummaryDTO;
+import org.example.conferenceservice.dto.DataFormat;
+import org.example.conferenceservice.dto.ImportResultDTO;
+import org.example.conferenceservice.dto.PageResponseDTO;
 import org.example.conferenceservice.dto.ReviewRequestDTO;
+import org.example.conferenceservice.dto.ReviewResponseDTO;
+import org.example.conferenceservice.entity.ChangeFeedCursor;
 import org.example.conferenceservice.entity.Conference;
 import org.example.conferenceservice.entity.Review;
 import org.example.conferenceservice.mapper.ConferenceMapper;
 import org.example.conferenceservice.mapper.ReviewMapper;
+import org.example.conferenceservice.metrics.RowMetrics;
 import org.example.conferenceservice.model.Keynote;
 import org.example.conferenceservice.repository.ConferenceRepository;
-import org.example.conferenceservice.web.KeynoteClient;
+import org.example.conferenceservice.repository.ConferenceSpecifications;
+import org.example.conferenceservice.repository.ConferenceVersion;
+import org.example.conferenceservice.repository.ReviewCount;
+import org.example.conferenceservice.repository.ReviewRepository;
+import org.example.conferenceservice.web.ETags;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class IConferenceServiceImpl implements IConferenceService {
@@ -22,37 +75,426 @@ public class IConferenceServiceImpl implements IConferenceService {
     @Autowired
     ConferenceRepository conferenceRepository;
     @Autowired
-    KeynoteClient keynoteClient;
+    ReviewRepository reviewRepository;
+    @Autowired
+    KeynoteCache keynoteCache;
+    @Autowired
+    KeynoteSnapshots keynoteSnapshots;
     @Autowired
     ConferenceMapper conferenceMapper;
     @Autowired
     ReviewMapper reviewMapper;
+    @Autowired
+    TransactionTemplate transactionTemplate;
+    @Value("${bulk.chunk-size:1000}")
+    int bulkChunkSize;
+    @Autowired
+    ObjectMapper objectMapper;
+    @PersistenceContext
+    EntityManager entityManager;
+    @Autowired
+    RowMetrics rowMetrics;
+    @Autowired
+    ConferenceStatistics conferenceStatistics;
+    @Autowired
+    ConferenceSearch conferenceSearch;
+    @Autowired
+    ChangeOutbox changeOutbox;
+
+    private static final String CSV_HEADER = "id,titre,type,date,duree,nombreInscrits,score,reviewCount,keynoteId,keynoteNom,keynotePrenom,keynoteSnapshotAgeSeconds";
+    private static final CsvMapper CSV_MAPPER = CsvMapper.builder()
+            .enable(CsvParser.Feature.EMPTY_STRING_AS_NULL)
+            .build();
+
+    private record ImportRecord(long number, ConferenceRequestDTO conference) {
+    }
+
+    // L'export n'a ni ETag ni en-tête par ligne : l'âge de la copie locale de la keynote reste dans chaque ligne
+    private interface ExportedSummary {
+        @JsonIgnore(false)
+        @JsonProperty
+        Long getKeynoteSnapshotAgeSeconds();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageResponseDTO<ConferenceSummaryDTO> getConferences(ConferenceFilterDTO filter, Pageable pageable) {
+        Sort sort = withIdTieBreak(pageable.getSort());
+        Page<Conference> page = conferenceRepository.findAll(ConferenceSpecifications.matching(filter),
+                PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), sort));
+        List<Conference> conferences = page.getContent();
+        PageResponseDTO<ConferenceSummaryDTO> response = PageResponseDTO.<ConferenceSummaryDTO>builder()
+                .content(toSummaries("getConferences", conferences))
+                .page(page.getNumber())
+                .size(page.getSize())
+                .totalElements(page.getTotalElements())
+                .totalPages(page.getTotalPages())
+                .hasNext(page.hasNext())
+                .build();
+        if (page.hasNext()) setNextCursor(response, conferences, sort);
+        return response;
+    }
 
     @Override
-    public List<ConferenceResponseDTO> getConferences() {
-        List<Conference> conferences = conferenceRepository.findAll();
+    @Transactional(readOnly = true)
+    public PageResponseDTO<ConferenceSummaryDTO> getConferencesAfter(ConferenceFilterDTO filter, Long afterId, Date afterDate, Pageable pageable) {
+        Sort.Order order = keysetOrder(pageable.getSort());
+        boolean byDate = order.getProperty().equals("date");
+        // Un curseur sur id seul ne situe pas une ligne dans un tri par date : pages sautées ou répétées
+        if (byDate && afterDate == null) {
+            throw new IllegalArgumentException("Keyset pagination sorted by date needs both afterDate and afterId");
+        }
+        Sort sort = byDate
+                ? Sort.by(order.getDirection(), "date", "id")
+                : Sort.by(order.getDirection(), "id");
+        int size = pageable.getPageSize();
+        // Une ligne de plus que la page demandée pour savoir s'il existe une suite, sans requête de comptage
+        List<Conference> rows = conferenceRepository.findBy(
+                ConferenceSpecifications.matching(filter)
+                        .and(byDate
+                                ? ConferenceSpecifications.seekAfter(afterDate, afterId, order.getDirection())
+                                : ConferenceSpecifications.seekAfter(afterId, order.getDirection())),
+                query -> query.sortBy(sort).limit(size + 1).all());
+        boolean hasNext = rows.size() > size;
+        List<Conference> conferences = hasNext ? rows.subList(0, size) : rows;
+        PageResponseDTO<ConferenceSummaryDTO> response = PageResponseDTO.<ConferenceSummaryDTO>builder()
+                .content(toSummaries("getConferencesAfter", conferences))
+                .size(size)
+                .hasNext(hasNext)
+                .build();
+        if (hasNext) setNextCursor(response, conferences, sort);
+        return response;
+    }
+
+    // Un tri total (départagé par id) rend les pages stables et le curseur suivant exploitable
+    private Sort withIdTieBreak(Sort sort) {
+        if (sort.getOrderFor("id") != null) return sort;
+        Sort.Direction direction = sort.stream().findFirst().map(Sort.Order::getDirection).orElse(Sort.Direction.ASC);
+        return sort.and(Sort.by(direction, "id"));
+    }
+
+    // La pagination par clé n'accepte qu'un tri sur id ou date (départagé par id)
+    private Sort.Order keysetOrder(Sort sort) {
+        Sort.Order order = sort.stream().findFirst().orElse(Sort.Order.asc("id"));
+        if (!order.getProperty().equals("id") && !order.getProperty().equals("date")) {
+            throw new IllegalArgumentException("Keyset pagination only supports sorting by id or date");
+        }
+        return order;
+    }
+
+    private void setNextCursor(PageResponseDTO<ConferenceSummaryDTO> response, List<Conference> conferences, Sort sort) {
+        Sort.Order order = sort.stream().findFirst().orElse(null);
+        if (conferences.isEmpty() || order == null) return;
+        Conference last = conferences.get(conferences.size() - 1);
+        if (order.getProperty().equals("id")) {
+            response.setNextAfterId(last.getId());
+        } else if (order.getProperty().equals("date") && last.getDate() != null) {
+            // Sans date, la ligne ne peut servir de curseur : la suite se lit par numéro de page
+            response.setNextAfterId(last.getId());
+            response.setNextAfterDate(last.getDate());
+        }
+    }
+
+    // Une requête groupée pour le nombre de reviews de la page, sans charger les reviews elles-mêmes
+    private List<ConferenceSummaryDTO> toSummaries(String operation, List<Conference> conferences) {
+        boolean keynotesDegraded = resolveKeynotes(operation, conferences);
+        Map<Long, Long> reviewCounts = conferences.isEmpty() ? Map.of() : reviewRepository
+                .countByConferenceIds(conferences.stream().map(Conference::getId).toList())
+                .stream()
+                .collect(Collectors.toMap(ReviewCount::getConferenceId, ReviewCount::getReviewCount));
+        rowMetrics.record(operation, "conference", conferences.size());
+        rowMetrics.record(operation, "review_count", reviewCounts.size());
+        return conferences.stream()
+                .map(conference -> {
+                    ConferenceSummaryDTO summary = conferenceMapper.toSummaryDTO(conference, reviewCounts.getOrDefault(conference.getId(), 0L));
+                    summary.setKeynoteDegraded(keynotesDegraded && conference.getKeynoteId() != null
+                            && summary.getKeynoteSnapshotAgeSeconds() == null);
+                    return summary;
+                })
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Keynotes lues dans leur copie locale, en une requête par clé primaire ; keynote-service (via le cache)
+     * n'est appelé que pour celles qui n'ont pas encore de copie. Renvoie vrai s'il n'a pas pu répondre :
+     * ces keynotes-là restent alors à null.
+     */
+    private boolean resolveKeynotes(String operation, List<Conference> conferences) {
+        List<Long> keynoteIds = conferences.stream()
+                .map(Conference::getKeynoteId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        Map<Long, Keynote> snapshots = keynoteSnapshots.get(keynoteIds);
+        KeynoteLookup keynotes = keynoteCache.getAll(keynoteIds.stream()
+                .filter(keynoteId -> !snapshots.containsKey(keynoteId))
+                .toList());
+        rowMetrics.record(operation, "keynote_snapshot", snapshots.size());
+        rowMetrics.record(operation, "keynote", keynotes.getKeynotes().size());
         conferences.forEach(conference -> {
-            if(conference.getKeynoteId() != null) conference.setKeynote(keynoteClient.getKeynoteById(conference.getKeynoteId()));
+            Keynote snapshot = snapshots.get(conference.getKeynoteId());
+            conference.setKeynote(snapshot != null ? snapshot : keynotes.get(conference.getKeynoteId()));
         });
-        return conferences.stream().map(conferenceMapper::toDTO).collect(Collectors.toList());
+        return keynotes.isDegraded();
     }
 
+    /**
+     * Import NDJSON ou CSV (en-tête titre,type,date,duree,nombreInscrits,score,keynoteId) lu enregistrement par
+     * enregistrement : le corps n'est consommé qu'au rythme des commits, un lot de bulk.chunk-size à la fois.
+     * Un enregistrement illisible ou invalide est rejeté sans interrompre l'import ; seule une erreur de syntaxe,
+     * après laquelle le flux ne peut plus être resynchronisé, arrête la lecture.
+     */
     @Override
+    public ImportResultDTO importConferences(DataFormat format, InputStream in) throws IOException {
+        long start = System.nanoTime();
+        ImportResultDTO result = new ImportResultDTO();
+        ObjectReader reader = format == DataFormat.CSV
+                ? CSV_MAPPER.readerFor(ConferenceRequestDTO.class).with(CsvSchema.emptySchema().withHeader())
+                : objectMapper.readerFor(ConferenceRequestDTO.class);
+        try (MappingIterator<ConferenceRequestDTO> records = reader.readValues(in)) {
+            List<ImportRecord> chunk = new ArrayList<>(bulkChunkSize);
+            long number = 0;
+            while (true) {
+                number++;
+                try {
+                    if (!records.hasNextValue()) break;
+                    ConferenceRequestDTO conference = records.nextValue();
+                    String error = validate(conference);
+                    if (error == null) chunk.add(new ImportRecord(number, conference));
+                    else result.reject(number, error);
+                } catch (JsonParseException e) {
+                    result.reject(number, "Malformed record: " + e.getOriginalMessage());
+                    break;
+                } catch (JsonMappingException e) {
+                    result.reject(number, "Invalid record: " + e.getOriginalMessage());
+                }
+                if (chunk.size() == bulkChunkSize) {
+                    importChunk(chunk, result);
+                    chunk = new ArrayList<>(bulkChunkSize);
+                }
+            }
+            if (!chunk.isEmpty()) importChunk(chunk, result);
+        }
+        long elapsed = System.nanoTime() - start;
+        result.setDurationMillis(elapsed / 1_000_000);
+        result.setRowsPerSecond(elapsed > 0 ? (result.getAccepted() + result.getRejected()) / (elapsed / 1_000_000_000.0) : 0);
+        return result;
+    }
+
+    private String validate(ConferenceRequestDTO conference) {
+        if (conference.getTitre() == null || conference.getTitre().isBlank()) return "titre is required";
+        if (conference.getType() == null) return "type is required";
+        if (conference.getDate() == null) return "date is required";
+        if (conference.getDuree() != null && conference.getDuree() <= 0) return "duree must be positive";
+        if (conference.getNombreInscrits() < 0) return "nombreInscrits must not be negative";
+        if (conference.getScore() != null && conference.getScore() < 0) return "score must not be negative";
+        return null;
+    }
+
+    // Existence des keynotes vérifiée en un appel groupé par lot (via le cache), puis un commit par lot
+    private void importChunk(List<ImportRecord> chunk, ImportResultDTO result) {
+        KeynoteLookup keynotes = keynoteCache.getAll(chunk.stream()
+                .map(record -> record.conference().getKeynoteId())
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList());
+        List<Conference> accepted = new ArrayList<>(chunk.size());
+        for (ImportRecord record : chunk) {
+            Long keynoteId = record.conference().getKeynoteId();
+            if (keynoteId != null && keynotes.get(keynoteId) == null) {
+                result.reject(record.number(), keynotes.isDegraded()
+                        ? "keynote-service unavailable, keynoteId not verified: " + keynoteId
+                        : "Unknown keynoteId: " + keynoteId);
+            } else {
+                accepted.add(conferenceMapper.toEntity(record.conference()));
+            }
+        }
+        if (!accepted.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> {
+                conferenceRepository.saveAll(accepted);
+                conferenceStatistics.added(accepted);
+                conferenceSearch.changed(accepted);
+                changeOutbox.created(accepted);
+            });
+        }
+        result.setAccepted(result.getAccepted() + accepted.size());
+        result.setChunks(result.getChunks() + 1);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public ConferenceResponseDTO getConferenceById(Long id) {
-        Conference conference = conferenceRepository.findById(id).orElseThrow(() -> new RuntimeException("Conference not found"));
-        Keynote keynote = keynoteClient.getKeynoteById(conference.getKeynoteId());
-        conference.setKeynote(keynote);
-        return conferenceMapper.toDTO(conference);
+        Conference conference = conferenceRepository.findWithReviewsById(id).orElseThrow(() -> new RuntimeException("Conference not found"));
+        Map<Long, Keynote> snapshot = conference.getKeynoteId() == null
+                ? Map.of()
+                : keynoteSnapshots.get(List.of(conference.getKeynoteId()));
+        KeynoteLookup keynote = !snapshot.isEmpty()
+                ? new KeynoteLookup(snapshot, false)
+                : keynoteCache.get(conference.getKeynoteId());
+        conference.setKeynote(keynote.get(conference.getKeynoteId()));
+        ConferenceResponseDTO response = conferenceMapper.toDTO(conference);
+        rowMetrics.record("getConferenceById", "conference", 1);
+        rowMetrics.record("getConferenceById", "review", conference.getReviews().size());
+        rowMetrics.record("getConferenceById", snapshot.isEmpty() ? "keynote" : "keynote_snapshot", keynote.getKeynotes().size());
+        response.setKeynoteDegraded(keynote.isDegraded());
+        return response;
+    }
+
+    /**
+     * ETag courant d'une conférence, calculé sans la charger ni appeler keynote-service : version lue en base,
+     * version de la keynote lue dans sa copie locale (même requête), sinon dans le cache.
+     * Null si la conférence n'existe pas ou si sa keynote n'est ni copiée ni en cache.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public String getConferenceETag(Long id) {
+        ConferenceVersion current = conferenceRepository.findVersionById(id).orElse(null);
+        if (current == null) return null;
+        // Même ETag que la réponse, qui intègre alors la copie : sa version suit celle de la conférence
+        if (current.getKeynoteSnapshotVersion() != null) return ETags.of(current.getVersion(), current.getKeynoteSnapshotVersion());
+        Keynote keynote = keynoteCache.peek(current.getKeynoteId());
+        if (current.getKeynoteId() != null && keynote == null) return null;
+        return ETags.conference(current.getVersion(), current.getKeynoteId(), keynote);
+    }
+
+    /**
+     * ETag agrégé des conférences retenues par le filtre, en une requête : nombre, somme des versions et plus grand id
+     * (une modification augmente la somme, un ajout le plus grand id, une suppression diminue le nombre),
+     * complété par les générations des copies locales (lue par la même requête) et du cache des keynotes intégrées
+     * aux résumés.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public String getConferencesETag(ConferenceFilterDTO filter) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Conference> root = query.from(Conference.class);
+        Subquery<Long> snapshotGeneration = query.subquery(Long.class);
+        Root<ChangeFeedCursor> cursor = snapshotGeneration.from(ChangeFeedCursor.class);
+        snapshotGeneration.select(cursor.get("generation")).where(cb.equal(cursor.get("feed"), KeynoteSnapshots.FEED));
+        query.multiselect(
+                cb.count(root),
+                cb.coalesce(cb.sum(root.<Long>get("version")), 0L),
+                cb.coalesce(cb.max(root.<Long>get("id")), 0L),
+                cb.coalesce(snapshotGeneration, 0L));
+        Predicate where = ConferenceSpecifications.matching(filter).toPredicate(root, query, cb);
+        if (where != null) query.where(where);
+        Tuple aggregate = entityManager.createQuery(query).getSingleResult();
+        return ETags.of(aggregate.get(0), aggregate.get(1), aggregate.get(2), aggregate.get(3), keynoteCache.generation());
     }
 
+    /**
+     * Liste conditionnelle : ETag agrégé, puis page (par clé avec afterId), puis ETag relu, dans une seule transaction
+     * read-only, donc sur une même connexion (même base ou même réplica). Si le client a déjà l'ETag, la page n'est
+     * pas lue. Si l'ETag a changé pendant la lecture, la page part sans ETag : une revalidation ne pourra pas
+     * répondre 304 pour un corps qui ne correspond pas à l'ETag. Coût : une requête d'agrégat de plus par page lue.
+     */
     @Override
+    @Transactional(readOnly = true)
+    public ConditionalPage<ConferenceSummaryDTO> getConferences(ConferenceFilterDTO filter, Long afterId, Date afterDate,
+                                                                Pageable pageable, String ifNoneMatch) {
+        String etag = getConferencesETag(filter);
+        if (ETags.matches(ifNoneMatch, etag)) return new ConditionalPage<>(etag, null);
+        PageResponseDTO<ConferenceSummaryDTO> page = afterId != null
+                ? getConferencesAfter(filter, afterId, afterDate, pageable)
+                : getConferences(filter, pageable);
+        return new ConditionalPage<>(etag.equals(getConferencesETag(filter)) ? etag : null, page);
+    }
+
+    /**
+     * Écrit toutes les conférences en NDJSON ou CSV au fil d'un curseur : les lignes sont traitées par lots de
+     * EXPORT_FETCH_SIZE (keynotes et nombre de reviews résolus par lot), écrites, vidées vers le client,
+     * puis détachées du contexte de persistance. La mémoire utilisée ne dépend pas de la taille de la table.
+     * Chaque ligne porte keynoteSnapshotAgeSeconds, l'âge de la copie locale de sa keynote.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public long exportConferences(DataFormat format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        if (format == DataFormat.CSV) writer.write(CSV_HEADER + "\n");
+        ObjectWriter json = objectMapper.copy().addMixIn(ConferenceSummaryDTO.class, ExportedSummary.class).writer();
+        long exported = 0;
+        List<Conference> chunk = new ArrayList<>(ConferenceRepository.EXPORT_FETCH_SIZE);
+        try (Stream<Conference> conferences = conferenceRepository.streamAll()) {
+            Iterator<Conference> iterator = conferences.iterator();
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == ConferenceRepository.EXPORT_FETCH_SIZE || !iterator.hasNext()) {
+                    for (ConferenceSummaryDTO summary : toSummaries("exportConferences", chunk)) {
+                        writer.write(format == DataFormat.CSV ? toCsvLine(summary) : json.writeValueAsString(summary));
+                        writer.write('\n');
+                    }
+                    writer.flush();
+                    exported += chunk.size();
+                    chunk.clear();
+                    entityManager.clear();
+                }
+            }
+        }
+        return exported;
+    }
+
+    private String toCsvLine(ConferenceSummaryDTO summary) {
+        Keynote keynote = summary.getKeynote();
+        return Stream.of(summary.getId(), summary.getTitre(), summary.getType(),
+                        summary.getDate() == null ? null : summary.getDate().toInstant(),
+                        summary.getDuree(), summary.getNombreInscrits(), summary.getScore(), summary.getReviewCount(),
+                        summary.getKeynoteId(),
+                        keynote == null ? null : keynote.getNom(),
+                        keynote == null ? null : keynote.getPrenom(),
+                        summary.getKeynoteSnapshotAgeSeconds())
+                .map(IConferenceServiceImpl::csvField)
+                .collect(Collectors.joining(","));
+    }
+
+    private static String csvField(Object value) {
+        if (value == null) return "";
+        String text = value.toString();
+        if (text.contains(",") || text.contains("\"") || text.contains("\n") || text.contains("\r")) {
+            return "\"" + text.replace("\"", "\"\"") + "\"";
+        }
+        return text;
+    }
+
+    @Override
+    @Transactional
     public void createConference(ConferenceRequestDTO conference) {
-        conferenceRepository.save(conferenceMapper.toEntity(conference));
+        Conference saved = conferenceRepository.save(conferenceMapper.toEntity(conference));
+        conferenceStatistics.added(saved);
+        conferenceSearch.changed(saved.getId());
+        changeOutbox.created(saved);
+    }
+
+    @Override
+    public BulkResultDTO createConferences(Iterator<ConferenceRequestDTO> conferences) {
+        long start = System.nanoTime();
+        long created = 0;
+        int chunks = 0;
+        while (conferences.hasNext()) {
+            List<Conference> chunk = new ArrayList<>(bulkChunkSize);
+            while (conferences.hasNext() && chunk.size() < bulkChunkSize) {
+                chunk.add(conferenceMapper.toEntity(conferences.next()));
+            }
+            // Une transaction par lot : les INSERT (conférences puis reviews) partent par batch JDBC
+            // et le contexte de persistance est libéré à chaque commit
+            transactionTemplate.executeWithoutResult(status -> {
+                conferenceRepository.saveAll(chunk);
+                conferenceStatistics.added(chunk);
+                conferenceSearch.changed(chunk);
+                changeOutbox.created(chunk);
+            });
+            created += chunk.size();
+            chunks++;
+        }
+        return BulkResultDTO.of(created, chunks, System.nanoTime() - start);
     }
 
     @Override
-    public void updateConference(Long id, ConferenceRequestDTO conference) {
+    @Transactional
+    public void updateConference(Long id, ConferenceRequestDTO conference, Long expectedVersion) {
         Conference existingConference = conferenceRepository.findById(id).orElseThrow(() -> new RuntimeException("Conference not found"));
+        checkVersion(existingConference, expectedVersion);
+        ConferenceStatistics.Contribution before = ConferenceStatistics.Contribution.of(existingConference);
         existingConference.setTitre(conference.getTitre());
         existingConference.setDate(conference.getDate());
         existingConference.setKeynoteId(conference.getKeynoteId());
@@ -60,6 +502,7 @@ public class IConferenceServiceImpl implements IConferenceService {
         existingConference.setNombreInscrits(conference.getNombreInscrits());
         existingConference.setScore(conference.getScore());
         existingConference.setType(conference.getType());
+        List<Long> removedReviewIds = existingConference.getReviews().stream().map(Review::getId).toList();
         existingConference.getReviews().clear();
         if (conference.getReviews() != null) {
             conference.getReviews().stream().map(reviewMapper::toEntity).forEach(review -> {
@@ -67,12 +510,21 @@ public class IConferenceServiceImpl implements IConferenceService {
                 existingConference.getReviews().add(review);
             });
         }
+        conferenceStatistics.replaced(before, ConferenceStatistics.Contribution.of(existingConference));
+        conferenceSearch.changed(id);
+        changeOutbox.updated(existingConference);
+        changeOutbox.reviewsReplaced(existingConference, removedReviewIds);
         conferenceRepository.save(existingConference);
     }
 
-    public void patchConference(Long id, ConferenceRequestDTO updatedData) {
+    @Override
+    @Transactional
+    public void patchConference(Long id, ConferenceRequestDTO updatedData, Long expectedVersion) {
         Conference existing = conferenceRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Conference not found"));
+        checkVersion(existing, expectedVersion);
+        ConferenceStatistics.Contribution before = ConferenceStatistics.Contribution.of(existing, 0);
+        String titreBefore = existing.getTitre();
 
         // 🔹 Mise à jour partielle des champs simples (uniquement si non null)
         if (updatedData.getTitre() != null) existing.setTitre(updatedData.getTitre());
@@ -84,7 +536,13 @@ public class IConferenceServiceImpl implements IConferenceService {
         if (updatedData.getType() != null) existing.setType(updatedData.getType());
 
         // 🔹 Gestion partielle de la relation reviews
-        if (updatedData.getReviews() != null && !updatedData.getReviews().isEmpty()) {
+        boolean replaceReviews = updatedData.getReviews() != null && !updatedData.getReviews().isEmpty();
+        // Reviews comptées (et donc chargées) seulement si leur contribution change : remplacées ou changées de bucket
+        long reviews = replaceReviews || !before.sameBuckets(ConferenceStatistics.Contribution.of(existing, 0))
+                ? existing.getReviews().size() : 0;
+        before = before.withReviews(reviews);
+        List<Long> removedReviewIds = replaceReviews ? existing.getReviews().stream().map(Review::getId).toList() : List.of();
+        if (replaceReviews) {
             // Option 1 : remplacer tout (attention, comme dans PUT)
             existing.getReviews().clear();
             updatedData.getReviews().stream().map(reviewMapper::toEntity).forEach(review -> {
@@ -93,41 +551,93 @@ public class IConferenceServiceImpl implements IConferenceService {
             });
         }
 
+        conferenceStatistics.replaced(before, ConferenceStatistics.Contribution.of(existing,
+                replaceReviews ? existing.getReviews().size() : reviews));
+        // L'index ne contient que le titre et les reviews : les autres champs ne le touchent pas
+        if (replaceReviews || !Objects.equals(titreBefore, existing.getTitre())) conferenceSearch.changed(id);
+        changeOutbox.updated(existing);
+        if (replaceReviews) changeOutbox.reviewsReplaced(existing, removedReviewIds);
         conferenceRepository.save(existing);
     }
 
+    // If-Match : la modification ne s'applique qu'à la version que le client a lue
+    private void checkVersion(Conference conference, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(conference.getVersion())) {
+            throw new OptimisticLockingFailureException("Conference " + conference.getId() + " has changed");
+        }
+    }
+
     @Override
+    @Transactional
     public void patchConferenceReviews(Long id, List<ReviewRequestDTO> reviews) {
-        Conference existing = conferenceRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Conference not found"));
-
+        Conference conference = conferenceReference(id);
         if(reviews != null) {
-            reviews.stream().map(reviewMapper::toEntity).forEach(review -> {
-                review.setConference(existing);
-                existing.getReviews().add(review);
+            List<Review> saved = reviewRepository.saveAll(reviews.stream().map(reviewMapper::toEntity).peek(review -> review.setConference(conference)).toList());
+            conferenceStatistics.reviewsChanged(id, reviews.size());
+            saved.forEach(review -> {
+                conferenceSearch.reviewChanged(id, review);
+                changeOutbox.reviewAdded(id, review);
             });
         }
-
-        conferenceRepository.save(existing);
     }
 
     @Override
-    public void  deleteReviewFromConference(Long conferenceId, Long reviewId) {
-        Conference conference = conferenceRepository.findById(conferenceId)
-                .orElseThrow(() -> new RuntimeException("Conference not found"));
+    @Transactional
+    public ReviewResponseDTO addReview(Long conferenceId, ReviewRequestDTO review) {
+        Review entity = reviewMapper.toEntity(review);
+        entity.setConference(conferenceReference(conferenceId));
+        Review savedReview = reviewRepository.save(entity);
+        ReviewResponseDTO saved = reviewMapper.toDto(savedReview);
+        conferenceStatistics.reviewsChanged(conferenceId, 1);
+        conferenceSearch.reviewChanged(conferenceId, savedReview);
+        changeOutbox.reviewAdded(conferenceId, savedReview);
+        return saved;
+    }
 
-        Review reviewToDelete = conference.getReviews().stream()
-                .filter(review -> review.getId().equals(reviewId))
-                .findFirst()
-                .orElseThrow(() -> new RuntimeException("Review not found in this conference"));
+    @Override
+    @Transactional(readOnly = true)
+    public PageResponseDTO<ReviewResponseDTO> getReviews(Long conferenceId, Pageable pageable) {
+        if (!conferenceRepository.existsById(conferenceId)) throw new RuntimeException("Conference not found");
+        Page<Review> page = reviewRepository.findByConferenceId(conferenceId, pageable);
+        rowMetrics.record("getReviews", "review", page.getNumberOfElements());
+        return PageResponseDTO.<ReviewResponseDTO>builder()
+                .content(page.getContent().stream().map(reviewMapper::toDto).toList())
+                .page(page.getNumber())
+                .size(page.getSize())
+                .totalElements(page.getTotalElements())
+                .totalPages(page.getTotalPages())
+                .hasNext(page.hasNext())
+                .build();
+    }
 
-        conference.removeReview(reviewToDelete);
-        conferenceRepository.save(conference);
+    @Override
+    @Transactional
+    public void  deleteReviewFromConference(Long conferenceId, Long reviewId) {
+        if (reviewRepository.deleteByIdAndConferenceId(reviewId, conferenceId) == 0) {
+            throw new RuntimeException("Review not found in this conference");
+        }
+        conferenceRepository.incrementVersion(conferenceId);
+        conferenceStatistics.reviewsChanged(conferenceId, -1);
+        conferenceSearch.reviewDeleted(conferenceId, reviewId);
+        changeOutbox.reviewDeleted(conferenceId, reviewId);
     }
 
+    // Référence vers la conférence sans charger l'agrégat ni ses reviews : le coût d'un ajout ne dépend pas de leur nombre.
+    // L'incrément de version tient lieu de contrôle d'existence et change l'ETag de la conférence.
+    private Conference conferenceReference(Long conferenceId) {
+        if (conferenceRepository.incrementVersion(conferenceId) == 0) throw new RuntimeException("Conference not found");
+        return conferenceRepository.getReferenceById(conferenceId);
+    }
 
+    // Chargement de la conférence et de ses reviews comme avant (deleteById, cascade), pour retirer sa contribution
     @Override
+    @Transactional
     public void deleteConference(Long id) {
-        conferenceRepository.deleteById(id);
+        conferenceRepository.findById(id).ifPresent(conference -> {
+            conferenceStatistics.removed(conference);
+            conferenceSearch.changed(id);
+            changeOutbox.deleted(conference);
+            conferenceRepository.delete(conference);
+        });
     }
 }
@@ -0,0 +1,91 @@
+package org.example.conferenceservice.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.conferenceservice.metrics.WorkSummary;
+import org.example.conferenceservice.model.Keynote;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Micro-batching des lectures unitaires de keynotes absentes du cache : les ids demandés pendant
+ * {@code keynote.micro-batch.window} partent ensemble en un seul appel getKeynotesByIds.
+ * Le premier id ouvre la fenêtre ; un lot qui atteint maxBatch ids part sans attendre la fin de la fenêtre.
+ * La taille de chaque lot envoyé est enregistrée dans keynote.batch.size.
+ */
+class KeynoteBatcher {
+
+    private final int maxBatch;
+    private final Executor executor;
+    private final Executor delayedExecutor;
+    private final Function<List<Long>, Map<Long, Keynote>> fetch;
+    private final DistributionSummary batchSize;
+    // Lot en cours de constitution, protégé par this
+    private Batch current;
+
+    private static class Batch {
+        private final Map<Long, CompletableFuture<Keynote>> futures = new HashMap<>();
+        private boolean sent;
+    }
+
+    KeynoteBatcher(Duration window, int maxBatch, Executor executor,
+                   Function<List<Long>, Map<Long, Keynote>> fetch, MeterRegistry meterRegistry) {
+        this.maxBatch = maxBatch;
+        this.executor = executor;
+        this.delayedExecutor = CompletableFuture.delayedExecutor(window.toNanos(), TimeUnit.NANOSECONDS, executor);
+        this.fetch = fetch;
+        this.batchSize = DistributionSummary.builder("keynote.batch.size")
+                .description("Nombre de keynotes demandées par appel groupé (micro-batching)")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    // Une keynote introuvable complète le futur avec null, comme un 404 sur la lecture unitaire
+    CompletableFuture<Keynote> submit(Long keynoteId) {
+        Batch opened = null;
+        Batch full = null;
+        CompletableFuture<Keynote> future;
+        synchronized (this) {
+            if (current == null) current = opened = new Batch();
+            future = current.futures.computeIfAbsent(keynoteId, id -> new CompletableFuture<>());
+            if (current.futures.size() >= maxBatch) {
+                full = current;
+                current = null;
+            }
+        }
+        if (opened != null) {
+            // Attribué à la requête qui ouvre la fenêtre : les suivantes rejoignent son appel
+            WorkSummary.recordFeignCalls(1);
+            Batch batch = opened;
+            delayedExecutor.execute(() -> send(batch));
+        }
+        if (full != null) {
+            Batch batch = full;
+            executor.execute(() -> send(batch));
+        }
+        return future;
+    }
+
+    private void send(Batch batch) {
+        synchronized (this) {
+            if (batch.sent) return;
+            batch.sent = true;
+            if (current == batch) current = null;
+        }
+        List<Long> ids = List.copyOf(batch.futures.keySet());
+        batchSize.record(ids.size());
+        try {
+            Map<Long, Keynote> keynotes = fetch.apply(ids);
+            batch.futures.forEach((id, future) -> future.complete(keynotes.get(id)));
+        } catch (RuntimeException e) {
+            batch.futures.values().forEach(future -> future.completeExceptionally(e));
+        }
+    }
+}
@@ -0,0 +1,303 @@
+package org.example.conferenceservice.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCacheLoader;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import feign.FeignException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.example.conferenceservice.metrics.WorkSummary;
+import org.example.conferenceservice.model.Keynote;
+import org.example.conferenceservice.web.KeynoteClient;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Cache local des keynotes devant {@link KeynoteClient}.
+ * Borné en taille et en durée de vie ; les entrées lues après {@code keynote.cache.refresh-after}
+ * sont rechargées en arrière-plan, de sorte qu'une clé utilisée n'expire jamais.
+ * Les appels à keynote-service passent par le bulkhead et le circuit breaker "keynote-service" ;
+ * quand ils échouent, la lecture est marquée dégradée et ne renvoie que ce qui est en cache.
+ * Les lots d'ids manquants partent en parallèle sur des threads virtuels, au plus
+ * {@code keynote.enrichment.max-concurrency} à la fois, et doivent tous aboutir avant {@code keynote.enrichment.deadline}.
+ * Chaque appel est mesuré par le timer keynote.client.latency, étiqueté par opération et par issue.
+ * <p>
+ * Le cache garde les chargements en cours : une lecture concurrente d'une keynote déjà en route vers keynote-service
+ * attend ce chargement au lieu d'en lancer un autre (single-flight, compté par keynote.lookup.coalesced).
+ * Avec {@code keynote.micro-batch.window} > 0 (désactivé par défaut), les lectures unitaires manquantes de la fenêtre
+ * sont regroupées en un appel getKeynotesByIds (voir {@link KeynoteBatcher}) ; chacune attend alors la fin de la
+ * fenêtre, même sans autre lecture à regrouper. Les ids réellement chargés sont comptés par
+ * keynote.lookup.loads (mode single, batched ou bulk) : coalesced / (coalesced + loads) donne le taux de regroupement.
+ */
+@Slf4j
+@Service
+public class KeynoteCache {
+
+    static final String CACHE_NAME = "keynotes";
+    static final String KEYNOTE_SERVICE = "keynote-service";
+
+    // Issue d'un appel à keynote-service, étiquette "outcome" du timer keynote.client.latency
+    enum Outcome {
+        SUCCESS, NOT_FOUND, ERROR, CIRCUIT_OPEN, BULKHEAD_FULL;
+
+        String tag() {
+            return name().toLowerCase();
+        }
+
+        static Outcome of(RuntimeException e) {
+            if (e instanceof FeignException.NotFound) return NOT_FOUND;
+            if (e instanceof CallNotPermittedException) return CIRCUIT_OPEN;
+            if (e instanceof BulkheadFullException) return BULKHEAD_FULL;
+            return ERROR;
+        }
+    }
+
+    private final KeynoteClient keynoteClient;
+    private final int batchSize;
+    private final ExecutorService enrichmentExecutor;
+    private final int maxConcurrency;
+    private final Duration deadline;
+    private final AsyncLoadingCache<Long, Keynote> cache;
+    private final KeynoteBatcher batcher;
+    private final Counter coalesced;
+    private final Map<String, Counter> loads = new HashMap<>();
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final Map<Outcome, Timer> byIdLatency;
+    private final Map<Outcome, Timer> byIdsLatency;
+    // Change à chaque fois qu'une keynote quitte le cache ; l'époque aléatoire distingue les instances et les redémarrages
+    private final String epoch = Long.toHexString(ThreadLocalRandom.current().nextLong());
+    private final AtomicLong generation = new AtomicLong();
+
+    public KeynoteCache(KeynoteClient keynoteClient,
+                        MeterRegistry meterRegistry,
+                        CircuitBreakerRegistry circuitBreakerRegistry,
+                        BulkheadRegistry bulkheadRegistry,
+                        @Qualifier("keynoteEnrichmentExecutor") ExecutorService enrichmentExecutor,
+                        @Value("${keynote.cache.max-size:10000}") long maxSize,
+                        @Value("${keynote.cache.ttl:10m}") Duration ttl,
+                        @Value("${keynote.cache.refresh-after:5m}") Duration refreshAfter,
+                        @Value("${keynote.batch-size:100}") int batchSize,
+                        @Value("${keynote.enrichment.max-concurrency:8}") int maxConcurrency,
+                        @Value("${keynote.enrichment.deadline:3s}") Duration deadline,
+                        @Value("${keynote.micro-batch.window:0ms}") Duration batchWindow) {
+        this.keynoteClient = keynoteClient;
+        this.batchSize = batchSize;
+        this.enrichmentExecutor = enrichmentExecutor;
+        this.maxConcurrency = maxConcurrency;
+        this.deadline = deadline;
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker(KEYNOTE_SERVICE);
+        this.bulkhead = bulkheadRegistry.bulkhead(KEYNOTE_SERVICE);
+        this.byIdLatency = latencyTimers(meterRegistry, "byId");
+        this.byIdsLatency = latencyTimers(meterRegistry, "byIds");
+        this.coalesced = Counter.builder("keynote.lookup.coalesced")
+                .description("Lectures de keynotes servies par un chargement déjà en cours")
+                .register(meterRegistry);
+        for (String mode : List.of("single", "batched", "bulk")) {
+            loads.put(mode, Counter.builder("keynote.lookup.loads")
+                    .description("Keynotes chargées depuis keynote-service")
+                    .tag("mode", mode)
+                    .register(meterRegistry));
+        }
+        KeynoteLoader loader = new KeynoteLoader();
+        this.batcher = batchWindow.isZero() ? null
+                : new KeynoteBatcher(batchWindow, batchSize, enrichmentExecutor, loader::fetch, meterRegistry);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .refreshAfterWrite(refreshAfter)
+                .recordStats()
+                .executor(enrichmentExecutor)
+                .removalListener((Long keynoteId, Keynote keynote, RemovalCause cause) -> {
+                    if (cause != RemovalCause.EXPLICIT) generation.incrementAndGet();
+                })
+                .buildAsync(loader);
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    private static Map<Outcome, Timer> latencyTimers(MeterRegistry meterRegistry, String operation) {
+        Map<Outcome, Timer> timers = new EnumMap<>(Outcome.class);
+        for (Outcome outcome : Outcome.values()) {
+            timers.put(outcome, Timer.builder("keynote.client.latency")
+                    .description("Durée des appels à keynote-service")
+                    .tag("operation", operation)
+                    .tag("outcome", outcome.tag())
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+        return timers;
+    }
+
+    public KeynoteLookup get(Long keynoteId) {
+        if (keynoteId == null) return new KeynoteLookup(Map.of(), false);
+        countCoalesced(List.of(keynoteId));
+        try {
+            Keynote keynote = cache.get(keynoteId).join();
+            return new KeynoteLookup(keynote == null ? Map.of() : Map.of(keynoteId, keynote), false);
+        } catch (RuntimeException e) {
+            return degraded(List.of(keynoteId), e);
+        }
+    }
+
+    public KeynoteLookup getAll(Collection<Long> keynoteIds) {
+        if (keynoteIds.isEmpty()) return new KeynoteLookup(Map.of(), false);
+        countCoalesced(keynoteIds);
+        try {
+            return new KeynoteLookup(cache.getAll(keynoteIds).join(), false);
+        } catch (RuntimeException e) {
+            return degraded(keynoteIds, e);
+        }
+    }
+
+    // Un chargement en cours reste dans le cache jusqu'à sa fin : le lire ici, c'est le rejoindre
+    private void countCoalesced(Collection<Long> keynoteIds) {
+        for (Long keynoteId : keynoteIds) {
+            CompletableFuture<Keynote> current = cache.asMap().get(keynoteId);
+            if (current != null && !current.isDone()) coalesced.increment();
+        }
+    }
+
+    public void evict(Long keynoteId) {
+        cache.synchronous().invalidate(keynoteId);
+        // Incrémentée ici plutôt que par le removalListener, asynchrone : l'ETag change avant la fin de la lecture du flux
+        generation.incrementAndGet();
+    }
+
+    // Keynote déjà en cache, sans appel à keynote-service ni effet sur les statistiques du cache
+    public Keynote peek(Long keynoteId) {
+        CompletableFuture<Keynote> keynote = keynoteId == null ? null : cache.asMap().get(keynoteId);
+        return keynote != null && keynote.isDone() && !keynote.isCompletedExceptionally() ? keynote.join() : null;
+    }
+
+    /**
+     * Génération du contenu du cache, pour les ETags des réponses qui intègrent des keynotes : elle change dès
+     * qu'une keynote est invalidée, rafraîchie, expirée ou évincée, donc dès que ces réponses peuvent changer.
+     */
+    public String generation() {
+        return epoch + "-" + generation.get();
+    }
+
+    private KeynoteLookup degraded(Collection<Long> keynoteIds, RuntimeException e) {
+        log.warn("keynote-service unavailable, serving cached keynotes only: {}", e.toString());
+        return new KeynoteLookup(cache.synchronous().getAllPresent(keynoteIds), true);
+    }
+
+    // Le bulkhead borne les appels simultanés, le circuit coupe court tant que keynote-service échoue ;
+    // le délai maximal de chaque appel est celui du client Feign (connect-timeout / read-timeout)
+    private <T> T call(Map<Outcome, Timer> latency, Supplier<T> request) {
+        long start = System.nanoTime();
+        Outcome outcome = Outcome.SUCCESS;
+        try {
+            return CircuitBreaker.decorateSupplier(circuitBreaker, Bulkhead.decorateSupplier(bulkhead, request)).get();
+        } catch (RuntimeException e) {
+            outcome = Outcome.of(e);
+            throw e;
+        } finally {
+            latency.get(outcome).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private class KeynoteLoader implements AsyncCacheLoader<Long, Keynote> {
+
+        // Appelé sur le thread de la requête ; l'appel lui-même part sur l'executor (ou dans le prochain lot)
+        // pour ne pas bloquer le cache pendant l'aller-retour
+        @Override
+        public CompletableFuture<Keynote> asyncLoad(Long keynoteId, Executor executor) {
+            if (batcher != null) {
+                loads.get("batched").increment();
+                return batcher.submit(keynoteId);
+            }
+            loads.get("single").increment();
+            WorkSummary.recordFeignCalls(1);
+            return CompletableFuture.supplyAsync(() -> load(keynoteId), executor);
+        }
+
+        // Les futurs des ids demandés sont déjà dans le cache : le chargement groupé peut rester sur le thread appelant
+        @Override
+        public CompletableFuture<Map<Long, Keynote>> asyncLoadAll(Set<? extends Long> keynoteIds, Executor executor) {
+            loads.get("bulk").increment(keynoteIds.size());
+            try {
+                return CompletableFuture.completedFuture(loadAll(keynoteIds));
+            } catch (Exception e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+
+        private Keynote load(Long keynoteId) {
+            try {
+                return call(byIdLatency, () -> keynoteClient.getKeynoteById(keynoteId));
+            } catch (FeignException.NotFound e) {
+                return null;
+            }
+        }
+
+        // Les clés absentes du cache sont résolues par lots de batchSize ids, un appel Feign par lot.
+        // Plusieurs lots partent en parallèle ; si l'un échoue ou si l'échéance commune passe, les autres
+        // sont annulés et l'exception remonte à getAll, qui sert alors le cache en mode dégradé.
+        private Map<Long, Keynote> loadAll(Set<? extends Long> keynoteIds) throws Exception {
+            List<Long> ids = List.copyOf(keynoteIds);
+            // Compté ici, sur le thread de la requête : les lots partent ensuite sur d'autres threads
+            WorkSummary.recordFeignCalls((ids.size() + batchSize - 1) / batchSize);
+            if (ids.size() <= batchSize) return fetch(ids);
+            long deadlineNanos = System.nanoTime() + deadline.toNanos();
+            Semaphore permits = new Semaphore(maxConcurrency);
+            List<Future<Map<Long, Keynote>>> chunks = new ArrayList<>();
+            for (int from = 0; from < ids.size(); from += batchSize) {
+                List<Long> chunk = ids.subList(from, Math.min(from + batchSize, ids.size()));
+                chunks.add(enrichmentExecutor.submit(() -> {
+                    permits.acquire();
+                    try {
+                        return fetch(chunk);
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+            Map<Long, Keynote> keynotes = new HashMap<>();
+            try {
+                for (Future<Map<Long, Keynote>> chunk : chunks) {
+                    keynotes.putAll(chunk.get(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS));
+                }
+            } finally {
+                chunks.forEach(chunk -> chunk.cancel(true));
+            }
+            return keynotes;
+        }
+
+        private Map<Long, Keynote> fetch(List<Long> ids) {
+            Map<Long, Keynote> keynotes = new HashMap<>();
+            call(byIdsLatency, () -> keynoteClient.getKeynotesByIds(ids))
+                    .forEach(keynote -> keynotes.put(keynote.getId(), keynote));
+            return keynotes;
+        }
+    }
+}
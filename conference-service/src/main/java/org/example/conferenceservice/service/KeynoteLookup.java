@@ -0,0 +1,20 @@
+package org.example.conferenceservice.service;
+
+import lombok.Value;
+import org.example.conferenceservice.model.Keynote;
+
+import java.util.Map;
+
+/**
+ * Keynotes résolues par {@link KeynoteCache}. Quand degraded est vrai, keynote-service n'a pas répondu
+ * (circuit ouvert, bulkhead saturé, délai dépassé) et seules les keynotes encore en cache sont présentes.
+ */
+@Value
+public class KeynoteLookup {
+    Map<Long, Keynote> keynotes;
+    boolean degraded;
+
+    public Keynote get(Long keynoteId) {
+        return keynoteId == null ? null : keynotes.get(keynoteId);
+    }
+}
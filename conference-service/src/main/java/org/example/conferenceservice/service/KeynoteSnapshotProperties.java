@@ -0,0 +1,23 @@
+package org.example.conferenceservice.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Copie locale des keynotes, tenue à jour depuis le flux de changements de keynote-service (keynote.snapshots.*).
+ *
+ * @param syncEnabled       synchronisation démarrée avec l'application ; désactivée, les lectures se rabattent
+ *                          sur keynote-service pour toute keynote sans copie
+ * @param pollInterval      fréquence de lecture du flux /api/changes/page, donc retard maximal d'une keynote modifiée
+ * @param reconcileInterval fréquence de la réconciliation complète des copies avec keynote-service
+ * @param batchSize         événements lus par page du flux, et keynotes relues par appel pendant une réconciliation
+ *                          (100 au plus : limite de GET /api/keynotes?ids= dans keynote-service)
+ */
+@ConfigurationProperties("keynote.snapshots")
+public record KeynoteSnapshotProperties(@DefaultValue("true") boolean syncEnabled,
+                                        @DefaultValue("2s") Duration pollInterval,
+                                        @DefaultValue("10m") Duration reconcileInterval,
+                                        @DefaultValue("100") int batchSize) {
+}
@@ -0,0 +1,245 @@
+package org.example.conferenceservice.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.example.conferenceservice.entity.ChangeFeedCursor;
+import org.example.conferenceservice.entity.KeynoteSnapshot;
+import org.example.conferenceservice.model.Keynote;
+import org.example.conferenceservice.model.KeynoteChange;
+import org.example.conferenceservice.model.KeynoteChanges;
+import org.example.conferenceservice.repository.ChangeFeedCursorRepository;
+import org.example.conferenceservice.repository.KeynoteSnapshotRepository;
+import org.example.conferenceservice.web.KeynoteClient;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.LongFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Copie locale des keynotes (table keynote_snapshot), lue par les conférences sans appeler keynote-service.
+ * <ul>
+ *   <li>le flux /api/changes/page de keynote-service est lu depuis le curseur enregistré en base, toutes les
+ *   keynote.snapshots.poll-interval ; une copie n'est jamais remplacée par une version plus ancienne, et chaque
+ *   keynote du flux est retirée du cache KeynoteCache une fois la page appliquée ;</li>
+ *   <li>toutes les keynote.snapshots.reconcile-interval, au premier démarrage et quand le curseur n'est plus lisible
+ *   (reset), une réconciliation relit les keynotes copiées et celles que référencent des conférences sans copie ;</li>
+ *   <li>chaque écriture verrouille le curseur : plusieurs instances peuvent synchroniser la même base, une page
+ *   lue depuis un curseur qui a avancé entre-temps est abandonnée ;</li>
+ *   <li>la génération du curseur augmente à chaque copie modifiée : elle entre dans l'ETag des listes.</li>
+ * </ul>
+ */
+@Slf4j
+@Service
+public class KeynoteSnapshots implements DisposableBean {
+
+    static final String FEED = "keynote-service";
+    private static final String KEYNOTE = "keynote";
+    private static final String DELETED = "DELETED";
+
+    @Autowired
+    KeynoteClient keynoteClient;
+    @Autowired
+    KeynoteSnapshotRepository keynoteSnapshotRepository;
+    @Autowired
+    ChangeFeedCursorRepository changeFeedCursorRepository;
+    @Autowired
+    KeynoteSnapshotProperties properties;
+    @Autowired
+    KeynoteCache keynoteCache;
+    @PersistenceContext
+    EntityManager entityManager;
+
+    private TransactionTemplate transaction;
+    private Instant lastReconcile = Instant.EPOCH;
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "keynote-snapshots");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Exécuté sur son propre thread : transactions séparées, sur la base principale
+    @Autowired
+    void setTransactionManager(PlatformTransactionManager transactionManager) {
+        transaction = new TransactionTemplate(transactionManager);
+        transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!properties.syncEnabled()) return;
+        long interval = properties.pollInterval().toMillis();
+        executor.scheduleWithFixedDelay(this::syncQuietly, 0, interval, TimeUnit.MILLISECONDS);
+    }
+
+    private void syncQuietly() {
+        try {
+            poll();
+            if (Instant.now().isAfter(lastReconcile.plus(properties.reconcileInterval()))) reconcile();
+        } catch (RuntimeException e) {
+            log.warn("Cannot synchronize keynote snapshots, retrying in {}: {}", properties.pollInterval(), e.getMessage());
+        }
+    }
+
+    /**
+     * Applique les changements publiés par keynote-service depuis le curseur.
+     * @return nombre de copies créées, modifiées ou supprimées
+     */
+    public synchronized int poll() {
+        int batchSize = properties.batchSize();
+        int changed = 0;
+        while (true) {
+            ChangeFeedCursor cursor = transaction.execute(status -> changeFeedCursorRepository.findById(FEED).orElse(null));
+            if (cursor == null) {
+                // Premier démarrage : les keynotes antérieures au flux ne sont connues que par la réconciliation
+                transaction.executeWithoutResult(status -> cursor());
+                changed += reconcile();
+                continue;
+            }
+            long after = cursor.getPosition();
+            KeynoteChanges page = keynoteClient.getKeynoteChanges(after, batchSize);
+            List<KeynoteChange> events = page.getEvents() == null ? List.of() : page.getEvents();
+            if (!page.isReset() && events.isEmpty()) return changed;
+            if (page.isReset()) {
+                log.info("Keynote change feed cursor {} no longer readable, reconciling snapshots", after);
+                changed += reconcile();
+            }
+            Integer applied = transaction.execute(status -> apply(after, page.getLastPosition(), events));
+            // Curseur avancé par une autre instance : la page est relue depuis sa nouvelle position
+            if (applied == null) continue;
+            changed += applied;
+            // Après le commit : une lecture concurrente ne peut plus remettre en cache l'état d'avant la page
+            events.stream()
+                    .filter(event -> KEYNOTE.equals(event.getAggregate()))
+                    .forEach(event -> keynoteCache.evict(event.getAggregateId()));
+            if (events.size() < batchSize) return changed;
+        }
+    }
+
+    private Integer apply(long after, long lastPosition, List<KeynoteChange> events) {
+        ChangeFeedCursor cursor = cursor();
+        if (cursor.getPosition() != after) return null;
+        Instant now = Instant.now();
+        Map<Long, KeynoteSnapshot> snapshots = snapshots(events.stream().map(KeynoteChange::getAggregateId).toList());
+        int changed = 0;
+        for (KeynoteChange event : events) {
+            if (!KEYNOTE.equals(event.getAggregate())) continue;
+            Keynote keynote = DELETED.equals(event.getType()) ? null : event.getPayload();
+            if (store(snapshots, event.getAggregateId(), keynote, now, true)) changed++;
+        }
+        cursor.setPosition(lastPosition);
+        touch(cursor, changed, now);
+        return changed;
+    }
+
+    /**
+     * Relit chez keynote-service, par lots de keynote.snapshots.batch-size, les keynotes copiées puis celles que
+     * référencent des conférences sans en avoir de copie : les copies sont créées, mises à jour ou confirmées,
+     * et supprimées si la keynote n'existe plus. Rattrape un événement manqué et un flux purgé ou réinitialisé.
+     * @return nombre de copies créées, modifiées ou supprimées
+     */
+    public synchronized int reconcile() {
+        lastReconcile = Instant.now();
+        Limit limit = Limit.of(properties.batchSize());
+        int changed = sweep(after -> keynoteSnapshotRepository.findIdsAfter(after, limit));
+        changed += sweep(after -> keynoteSnapshotRepository.findMissingKeynoteIdsAfter(after, limit));
+        if (changed > 0) log.info("Keynote snapshots reconciled: {} created, updated or deleted", changed);
+        return changed;
+    }
+
+    private int sweep(LongFunction<List<Long>> nextIds) {
+        int changed = 0;
+        long after = 0;
+        while (true) {
+            long from = after;
+            List<Long> ids = transaction.execute(status -> nextIds.apply(from));
+            if (ids == null || ids.isEmpty()) return changed;
+            long position = transaction.execute(status -> cursor().getPosition());
+            Map<Long, Keynote> keynotes = keynoteClient.getKeynotesByIds(ids).stream()
+                    .collect(Collectors.toMap(Keynote::getId, Function.identity(), (first, second) -> first));
+            changed += transaction.execute(status -> {
+                ChangeFeedCursor cursor = cursor();
+                // Une keynote supprimée par un événement appliqué depuis la lecture ne doit pas être recréée
+                boolean create = cursor.getPosition() == position;
+                Instant now = Instant.now();
+                Map<Long, KeynoteSnapshot> snapshots = snapshots(ids);
+                int stored = 0;
+                for (Long id : ids) {
+                    if (store(snapshots, id, keynotes.get(id), now, create)) stored++;
+                }
+                touch(cursor, stored, now);
+                return stored;
+            });
+            after = ids.get(ids.size() - 1);
+        }
+    }
+
+    // Remplace la copie d'une keynote par son état (null : keynote supprimée) ; vrai si la copie a changé
+    private boolean store(Map<Long, KeynoteSnapshot> snapshots, Long id, Keynote keynote, Instant now, boolean create) {
+        KeynoteSnapshot snapshot = snapshots.get(id);
+        if (keynote == null) {
+            if (snapshot == null) return false;
+            keynoteSnapshotRepository.delete(snapshot);
+            snapshots.remove(id);
+            return true;
+        }
+        if (snapshot != null) return snapshot.refresh(keynote, now);
+        if (!create) return false;
+        snapshot = KeynoteSnapshot.of(keynote, now);
+        entityManager.persist(snapshot);
+        snapshots.put(id, snapshot);
+        return true;
+    }
+
+    private Map<Long, KeynoteSnapshot> snapshots(Collection<Long> ids) {
+        return keynoteSnapshotRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(KeynoteSnapshot::getId, Function.identity()));
+    }
+
+    // Curseur verrouillé jusqu'à la fin de la transaction, créé au premier appel
+    private ChangeFeedCursor cursor() {
+        return changeFeedCursorRepository.lockByFeed(FEED).orElseGet(() -> {
+            ChangeFeedCursor cursor = ChangeFeedCursor.builder().feed(FEED).updatedAt(Instant.now()).build();
+            entityManager.persist(cursor);
+            return cursor;
+        });
+    }
+
+    private static void touch(ChangeFeedCursor cursor, int changed, Instant now) {
+        if (changed > 0) cursor.setGeneration(cursor.getGeneration() + 1);
+        cursor.setUpdatedAt(now);
+    }
+
+    // Copies des keynotes demandées qui en ont une, en une requête ; à lire dans la transaction de l'appelant
+    public Map<Long, Keynote> get(Collection<Long> keynoteIds) {
+        if (keynoteIds.isEmpty()) return Map.of();
+        return keynoteSnapshotRepository.findAllById(keynoteIds).stream()
+                .collect(Collectors.toMap(KeynoteSnapshot::getId, KeynoteSnapshot::toKeynote));
+    }
+
+    // Génération des copies, pour les ETags des réponses qui les intègrent
+    public long generation() {
+        return changeFeedCursorRepository.findGenerationByFeed(FEED).orElse(0L);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
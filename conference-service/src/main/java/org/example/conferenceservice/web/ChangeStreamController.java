@@ -0,0 +1,121 @@
+package org.example.conferenceservice.web;
+
+import org.example.conferenceservice.dto.ChangeEventDTO;
+import org.example.conferenceservice.dto.ChangesPageDTO;
+import org.example.conferenceservice.outbox.ChangeBroker;
+import org.example.conferenceservice.outbox.OutboxProperties;
+import org.example.conferenceservice.service.ChangeOutbox;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Flux des changements de conférences et de reviews, à suivre depuis un curseur (la position du dernier
+ * événement reçu) plutôt que de relire les listes complètes.
+ */
+@RestController
+@RequestMapping("/api/changes")
+public class ChangeStreamController {
+    @Autowired
+    private ChangeOutbox changeOutbox;
+    @Autowired
+    private ChangeBroker changeBroker;
+    @Autowired
+    private OutboxProperties outboxProperties;
+
+    /**
+     * Flux SSE : événements « change » (id = position) après after, ou Last-Event-ID à la reconnexion ; sans curseur,
+     * seulement les changements à venir. Un événement « reset » signale un curseur qui n'est plus lisible.
+     */
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@RequestParam(required = false) Long after,
+                             @RequestHeader(name = "Last-Event-ID", required = false) Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(outboxProperties.streamTimeout().toMillis());
+        AtomicBoolean closed = new AtomicBoolean();
+        emitter.onCompletion(() -> closed.set(true));
+        emitter.onTimeout(() -> closed.set(true));
+        emitter.onError(error -> closed.set(true));
+        Long cursor = lastEventId != null ? lastEventId : after;
+        Thread.ofVirtual().name("changes-stream").start(() -> tail(emitter, closed, cursor));
+        return emitter;
+    }
+
+    // Page JSON des changements après after, pour les consommateurs qui interrogent plutôt que de suivre le flux
+    @GetMapping("/page")
+    public ChangesPageDTO page(@RequestParam(defaultValue = "0") long after,
+                               @RequestParam(required = false) Integer limit) {
+        int max = outboxProperties.batchSize();
+        return changeOutbox.changesAfter(after, limit == null ? max : Math.min(Math.max(limit, 1), max));
+    }
+
+    /**
+     * Abonnement au courtier d'abord, relecture de la table ensuite : un événement publié pendant la relecture est
+     * reçu par l'une ou l'autre, et les doublons sont écartés par position. Un client trop lent pour sa file
+     * est relu depuis la table au lieu d'être déconnecté.
+     */
+    private void tail(SseEmitter emitter, AtomicBoolean closed, Long after) {
+        BlockingQueue<ChangeEventDTO> live = new ArrayBlockingQueue<>(outboxProperties.subscriberBuffer());
+        AtomicBoolean overflow = new AtomicBoolean();
+        try (ChangeBroker.Subscription subscription = changeBroker.subscribe(events -> {
+            for (ChangeEventDTO event : events) {
+                if (!live.offer(event)) overflow.set(true);
+            }
+        })) {
+            long cursor = replay(emitter, after == null ? changeOutbox.lastPosition() : after);
+            while (!closed.get()) {
+                if (overflow.get()) {
+                    live.clear();
+                    overflow.set(false);
+                    cursor = replay(emitter, cursor);
+                }
+                ChangeEventDTO event = live.poll(outboxProperties.heartbeat().toMillis(), TimeUnit.MILLISECONDS);
+                if (event == null) {
+                    emitter.send(SseEmitter.event().comment("keep-alive"));
+                } else if (event.getPosition() > cursor) {
+                    send(emitter, event);
+                    cursor = event.getPosition();
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Client déconnecté ou flux expiré
+            emitter.complete();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            emitter.complete();
+        } catch (RuntimeException e) {
+            emitter.completeWithError(e);
+        }
+    }
+
+    private long replay(SseEmitter emitter, long after) throws IOException {
+        int batchSize = outboxProperties.batchSize();
+        long cursor = after;
+        while (true) {
+            ChangesPageDTO page = changeOutbox.changesAfter(cursor, batchSize);
+            if (page.isReset()) {
+                emitter.send(SseEmitter.event().name("reset").id(String.valueOf(page.getAfter())).data(page.getAfter()));
+            }
+            for (ChangeEventDTO event : page.getEvents()) send(emitter, event);
+            cursor = page.getLastPosition();
+            if (page.getEvents().size() < batchSize) return cursor;
+        }
+    }
+
+    private static void send(SseEmitter emitter, ChangeEventDTO event) throws IOException {
+        emitter.send(SseEmitter.event()
+                .id(String.valueOf(event.getPosition()))
+                .name("change")
+                .data(event, MediaType.APPLICATION_JSON));
+    }
+}
@@ -1,44 +1,201 @@
 package org.example.conferenceservice.web;
 
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.conferenceservice.dto.BulkResultDTO;
+import org.example.conferenceservice.dto.ConferenceFilterDTO;
 import org.example.conferenceservice.dto.ConferenceRequestDTO;
 import org.example.conferenceservice.dto.ConferenceResponseDTO;
+import org.example.conferenceservice.dto.ConferenceSummaryDTO;
+import org.example.conferenceservice.dto.DataFormat;
+import org.example.conferenceservice.dto.ImportResultDTO;
+import org.example.conferenceservice.dto.PageResponseDTO;
 import org.example.conferenceservice.dto.ReviewRequestDTO;
+import org.example.conferenceservice.dto.ReviewResponseDTO;
+import org.example.conferenceservice.entity.TypeConference;
+import jakarta.servlet.http.HttpServletRequest;
+import org.example.conferenceservice.service.ConditionalPage;
 import org.example.conferenceservice.service.IConferenceService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Date;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/conferences")
 public class ConferenceController {
+    private static final Set<String> SORTABLE_PROPERTIES = Set.of("id", "titre", "type", "date", "duree", "nombreInscrits", "score");
+    private static final Set<String> KEYSET_PROPERTIES = Set.of("id", "date");
+    private static final Set<String> REVIEW_SORTABLE_PROPERTIES = Set.of("id", "date");
+    // Âge en secondes de la copie locale des keynotes (la plus ancienne pour une page), hors du corps protégé par l'ETag
+    static final String SNAPSHOT_AGE = "X-Keynote-Snapshot-Age";
+
     @Autowired
     private IConferenceService conferenceService;
+    @Autowired
+    private ObjectMapper objectMapper;
 
+    /**
+     * Liste paginée (page, size, sort) et filtrée des conférences.
+     * Avec afterId (et afterDate si le tri porte sur date), la page est lue par clé à partir du curseur
+     * renvoyé par la page précédente : son coût ne dépend pas de la profondeur.
+     * Triée par date, la lecture par clé ne parcourt que les conférences datées.
+     * L'ETag agrégé des conférences filtrées est lu dans la même transaction que la page : si le client l'a déjà,
+     * 304 sans lire la page ; s'il a changé pendant la lecture, la page part sans ETag.
+     */
     @GetMapping()
-    public List<ConferenceResponseDTO> getConferences() {
-      return conferenceService.getConferences();
+    public ResponseEntity<PageResponseDTO<ConferenceSummaryDTO>> getConferences(
+            @RequestParam(required = false) TypeConference type,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) Date dateFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) Date dateTo,
+            @RequestParam(required = false) Double minScore,
+            @RequestParam(required = false) Double maxScore,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Date afterDate,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @PageableDefault(size = 20, sort = "id") Pageable pageable) {
+      ConferenceFilterDTO filter = ConferenceFilterDTO.builder()
+              .type(type)
+              .dateFrom(dateFrom)
+              .dateTo(dateTo)
+              .minScore(minScore)
+              .maxScore(maxScore)
+              .build();
+      validateSort(pageable.getSort(), afterId != null ? KEYSET_PROPERTIES : SORTABLE_PROPERTIES);
+      // Le curseur doit porter chaque clé du tri, sinon la reprise saute ou répète des lignes
+      if (afterId != null && afterDate == null && pageable.getSort().getOrderFor("date") != null) {
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Keyset cursor sorted by date needs afterDate");
+      }
+      ConditionalPage<ConferenceSummaryDTO> result = conferenceService.getConferences(filter, afterId, afterDate, pageable, ifNoneMatch);
+      if (result.isNotModified()) return notModified(result.getEtag());
+      PageResponseDTO<ConferenceSummaryDTO> page = result.getPage();
+      // Une page dégradée (keynotes manquantes) ne doit pas être revalidée plus tard comme si elle était complète
+      if (result.getEtag() == null || page.getContent().stream().anyMatch(ConferenceSummaryDTO::isKeynoteDegraded)) {
+        return ResponseEntity.ok(page);
+      }
+      ResponseEntity.BodyBuilder response = ResponseEntity.ok().eTag(result.getEtag());
+      page.getContent().stream()
+              .map(ConferenceSummaryDTO::getKeynoteSnapshotAgeSeconds)
+              .filter(Objects::nonNull)
+              .max(Long::compare)
+              .ifPresent(age -> response.header(SNAPSHOT_AGE, age.toString()));
+      return response.body(page);
+    }
+
+    private static <T> ResponseEntity<T> notModified(String etag) {
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+    }
+
+    private void validateSort(Sort sort, Set<String> allowed) {
+      for (Sort.Order order : sort) {
+        if (!allowed.contains(order.getProperty())) {
+          throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unsupported sort property: " + order.getProperty());
+        }
+      }
     }
+    /**
+     * Export de toutes les conférences (format=ndjson par défaut, ou csv), écrit au fil de la lecture en base.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportConferences(@RequestParam(defaultValue = "ndjson") String format) {
+      DataFormat exportFormat = switch (format.toLowerCase()) {
+        case "ndjson" -> DataFormat.NDJSON;
+        case "csv" -> DataFormat.CSV;
+        default -> throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unsupported export format: " + format);
+      };
+      MediaType contentType = exportFormat == DataFormat.CSV ? new MediaType("text", "csv") : MediaType.APPLICATION_NDJSON;
+      return ResponseEntity.ok()
+              .contentType(contentType)
+              .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=conferences." + format.toLowerCase())
+              .body(out -> conferenceService.exportConferences(exportFormat, out));
+    }
+    /**
+     * Détail d'une conférence avec ETag (version de la conférence et de sa keynote) ; l'âge de la copie locale
+     * de la keynote, qui change à chaque seconde, est envoyé dans l'en-tête X-Keynote-Snapshot-Age.
+     * Un If-None-Match à jour est vérifié sur la seule version en base et la keynote en cache :
+     * le 304 ne charge ni les reviews ni la keynote et n'exécute pas le mapper.
+     */
     @GetMapping("/{id}")
-    public ConferenceResponseDTO getConferenceById(@PathVariable Long id) {
-      return conferenceService.getConferenceById(id);
+    public ResponseEntity<ConferenceResponseDTO> getConferenceById(@PathVariable Long id,
+                                                                   @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+      String current = conferenceService.getConferenceETag(id);
+      if (ETags.matches(ifNoneMatch, current)) return notModified(current);
+      ConferenceResponseDTO conference = conferenceService.getConferenceById(id);
+      if (conference.isKeynoteDegraded()) return ResponseEntity.ok(conference);
+      ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+              .eTag(ETags.conference(conference.getVersion(), conference.getKeynoteId(), conference.getKeynote()));
+      if (conference.getKeynoteSnapshotAgeSeconds() != null) {
+        response.header(SNAPSHOT_AGE, conference.getKeynoteSnapshotAgeSeconds().toString());
+      }
+      return response.body(conference);
     }
     @PostMapping("create")
     public void createConference(@RequestBody ConferenceRequestDTO conference) {
       conferenceService.createConference(conference);
     }
+    /**
+     * Création en masse à partir d'un tableau JSON lu élément par élément :
+     * le corps n'est jamais chargé en entier et les conférences sont persistées par lots de bulk.chunk-size.
+     */
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public BulkResultDTO createConferences(InputStream body) throws IOException {
+      try (MappingIterator<ConferenceRequestDTO> conferences = objectMapper.readerFor(ConferenceRequestDTO.class).readValues(body)) {
+        return conferenceService.createConferences(conferences);
+      }
+    }
+    /**
+     * Import d'un catalogue NDJSON (application/x-ndjson) ou CSV (text/csv avec en-tête), lu au fil de l'eau
+     * et commité par lots ; renvoie le nombre d'enregistrements acceptés et rejetés.
+     */
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_NDJSON_VALUE, "text/csv"})
+    public ImportResultDTO importConferences(@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                             InputStream body) throws IOException {
+      DataFormat format = contentType.isCompatibleWith(MediaType.APPLICATION_NDJSON) ? DataFormat.NDJSON : DataFormat.CSV;
+      return conferenceService.importConferences(format, body);
+    }
+    /**
+     * Avec If-Match, la modification n'est appliquée que si la conférence est toujours dans la version lue (sinon 412).
+     */
     @PutMapping("/{id}")
-    public void updateConference(@PathVariable Long id, @RequestBody ConferenceRequestDTO conference) {
-      conferenceService.updateConference(id, conference);
+    public void updateConference(@PathVariable Long id, @RequestBody ConferenceRequestDTO conference,
+                                 @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+      conferenceService.updateConference(id, conference, ETags.expectedVersion(ifMatch));
     }
     @PatchMapping("{id}")
-    public void patchConference(@PathVariable Long id, @RequestBody ConferenceRequestDTO conference) {
-      conferenceService.patchConference(id, conference);
+    public void patchConference(@PathVariable Long id, @RequestBody ConferenceRequestDTO conference,
+                                @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+      conferenceService.patchConference(id, conference, ETags.expectedVersion(ifMatch));
     }
     @PatchMapping("/{id}/reviews")
     public void patchConferenceReviews(@PathVariable Long id, @RequestBody List<ReviewRequestDTO> reviews) {
         conferenceService.patchConferenceReviews(id, reviews);
     }
+    @PostMapping("/{id}/reviews")
+    public ReviewResponseDTO addReview(@PathVariable Long id, @RequestBody ReviewRequestDTO review) {
+        return conferenceService.addReview(id, review);
+    }
+    @GetMapping("/{id}/reviews")
+    public PageResponseDTO<ReviewResponseDTO> getReviews(@PathVariable Long id,
+                                                         @PageableDefault(size = 20, sort = "id") Pageable pageable) {
+        validateSort(pageable.getSort(), REVIEW_SORTABLE_PROPERTIES);
+        return conferenceService.getReviews(id, pageable);
+    }
     @DeleteMapping("/{conferenceId}/reviews/{reviewId}")
     public void deleteReviewFromConference(@PathVariable Long conferenceId, @PathVariable Long reviewId) {
       conferenceService.deleteReviewFromConference(conferenceId, reviewId);
@@ -47,4 +204,11 @@ public class ConferenceController {
     public void deleteConference(@PathVariable Long id) {
       conferenceService.deleteConference(id);
     }
+    // Version lue périmée (If-Match) : 412 ; modification concurrente détectée par @Version sans If-Match : 409
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Void> versionConflict(HttpServletRequest request) {
+      return ResponseEntity.status(request.getHeader(HttpHeaders.IF_MATCH) != null
+              ? HttpStatus.PRECONDITION_FAILED
+              : HttpStatus.CONFLICT).build();
+    }
 }
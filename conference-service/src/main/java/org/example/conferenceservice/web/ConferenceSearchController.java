@@ -0,0 +1,32 @@
+package org.example.conferenceservice.web;
+
+import org.example.conferenceservice.dto.ReindexResultDTO;
+import org.example.conferenceservice.dto.SearchResultDTO;
+import org.example.conferenceservice.service.ConferenceSearch;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Recherche plein texte dans les titres de conférences et les commentaires de reviews.
+ */
+@RestController
+@RequestMapping("/api/conferences/search")
+public class ConferenceSearchController {
+    @Autowired
+    private ConferenceSearch conferenceSearch;
+
+    @GetMapping
+    public SearchResultDTO search(@RequestParam String q, @RequestParam(required = false) Integer limit) {
+        return conferenceSearch.search(q, limit);
+    }
+
+    // Reconstruction complète de l'index depuis la base, en parallèle
+    @PostMapping("/reindex")
+    public ReindexResultDTO reindex() {
+        return conferenceSearch.reindex();
+    }
+}
@@ -0,0 +1,38 @@
+package org.example.conferenceservice.web;
+
+import org.example.conferenceservice.dto.ConferenceStatDTO;
+import org.example.conferenceservice.dto.ConferenceStatsDTO;
+import org.example.conferenceservice.dto.StatsRebuildDTO;
+import org.example.conferenceservice.service.ConferenceStatistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Statistiques des conférences lues dans les agrégats tenus à jour par les écritures, sans parcourir les conférences.
+ */
+@RestController
+@RequestMapping("/api/conferences/stats")
+public class ConferenceStatsController {
+    @Autowired
+    private ConferenceStatistics conferenceStatistics;
+
+    @GetMapping
+    public ConferenceStatsDTO getStats() {
+        return conferenceStatistics.getStats();
+    }
+
+    @GetMapping("/keynotes/{keynoteId}")
+    public ConferenceStatDTO getKeynoteStats(@PathVariable Long keynoteId) {
+        return conferenceStatistics.getKeynoteStats(keynoteId);
+    }
+
+    // Recalcul complet depuis les tables, après une écriture directe en base par exemple
+    @PostMapping("/rebuild")
+    public StatsRebuildDTO rebuild() {
+        return conferenceStatistics.rebuild();
+    }
+}
@@ -1,12 +1,22 @@
 package org.example.conferenceservice.web;
 
 import org.example.conferenceservice.model.Keynote;
+import org.example.conferenceservice.model.KeynoteChanges;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.util.List;
 
 @FeignClient(name = "keynote-service")
 public interface KeynoteClient {
     @GetMapping("/api/keynotes/{id}")
     public Keynote getKeynoteById(@PathVariable Long id);
+
+    @GetMapping("/api/keynotes")
+    public List<Keynote> getKeynotesByIds(@RequestParam("ids") List<Long> ids);
+
+    @GetMapping("/api/changes/page")
+    public KeynoteChanges getKeynoteChanges(@RequestParam("after") long after, @RequestParam("limit") int limit);
 }
@@ -0,0 +1,70 @@
+package org.example.conferenceservice.web;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.security.Principal;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Utilisateur vérifié par le gateway (X-Authenticated-User, X-Authenticated-Roles) exposé par
+ * getUserPrincipal(), getRemoteUser() et isUserInRole() : le service ne redécode pas le JWT.
+ * Le gateway retire ces en-têtes quand ils viennent d'un client ; ils ne sont fiables que si le service
+ * n'est joignable que par le réseau interne.
+ */
+public class VerifiedPrincipalFilter extends OncePerRequestFilter {
+
+    public static final String USER_HEADER = "X-Authenticated-User";
+    public static final String ROLES_HEADER = "X-Authenticated-Roles";
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String user = request.getHeader(USER_HEADER);
+        if (user == null || user.isBlank()) {
+            chain.doFilter(request, response);
+            return;
+        }
+        String roles = request.getHeader(ROLES_HEADER);
+        Set<String> authorities = roles == null ? Set.of() : Arrays.stream(roles.split(","))
+                .map(String::trim)
+                .filter(role -> !role.isEmpty())
+                .collect(Collectors.toSet());
+        chain.doFilter(new VerifiedPrincipalRequest(request, user, authorities), response);
+    }
+
+    private static final class VerifiedPrincipalRequest extends HttpServletRequestWrapper {
+
+        private final Principal principal;
+        private final Set<String> authorities;
+
+        VerifiedPrincipalRequest(HttpServletRequest request, String user, Set<String> authorities) {
+            super(request);
+            this.principal = () -> user;
+            this.authorities = authorities;
+        }
+
+        @Override
+        public Principal getUserPrincipal() {
+            return principal;
+        }
+
+        @Override
+        public String getRemoteUser() {
+            return principal.getName();
+        }
+
+        // Même convention que JwtAuthConverter : les rôles du realm arrivent préfixés par ROLE_
+        @Override
+        public boolean isUserInRole(String role) {
+            return authorities.contains(role) || authorities.contains("ROLE_" + role);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package org.example.conferenceservice;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compare la latence p50/p99 de GET /api/conferences sous 200 clients simultanés, requêtes Tomcat sur threads
+ * plateforme puis sur threads virtuels. keynote-service est simulé localement avec une latence fixe et le cache
+ * des keynotes est désactivé, pour que chaque requête attende réellement le réseau ; le bulkhead est élargi
+ * au nombre de clients pour mesurer le modèle de threads et non la limite de concurrence.
+ * Exclu du build par défaut : mvn test -Dgroups=benchmark -DexcludedGroups=
+ */
+@Tag("benchmark")
+@DisplayName("Benchmark de latence de GET /api/conferences")
+class ConferenceLatencyBenchmarkTest {
+
+    private static final int CLIENTS = 200;
+    private static final int REQUESTS_PER_CLIENT = 25;
+    private static final int WARMUP_REQUESTS = 500;
+    private static final long KEYNOTE_LATENCY_MILLIS = 20;
+
+    @Test
+    @DisplayName("Threads plateforme contre threads virtuels")
+    void compareThreadModels() throws Exception {
+        HttpServer keynoteService = startKeynoteStub();
+        try {
+            long[] platform = measure(keynoteService, false);
+            long[] virtual = measure(keynoteService, true);
+            System.out.printf("%nGET /api/conferences, %d clients x %d requêtes, keynote-service à %d ms%n",
+                    CLIENTS, REQUESTS_PER_CLIENT, KEYNOTE_LATENCY_MILLIS);
+            System.out.printf("%-20s %10s %10s %10s%n", "modèle", "p50 (ms)", "p99 (ms)", "max (ms)");
+            print("threads plateforme", platform);
+            print("threads virtuels", virtual);
+        } finally {
+            keynoteService.stop(0);
+        }
+    }
+
+    private long[] measure(HttpServer keynoteService, boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(ConferenceServiceApplication.class)
+                .properties(
+                        "server.port=0",
+                        "eureka.client.enabled=false",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "spring.jpa.open-in-view=false",
+                        "keynote.cache.max-size=0",
+                        "resilience4j.bulkhead.instances.keynote-service.max-concurrent-calls=" + CLIENTS,
+                        "spring.cloud.openfeign.client.config.keynote-service.url=http://localhost:" + keynoteService.getAddress().getPort())
+                .run();
+             ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient httpClient = HttpClient.newBuilder().executor(clients).build()) {
+            URI uri = URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api/conferences");
+            HttpRequest request = HttpRequest.newBuilder(uri).GET().build();
+            for (int i = 0; i < WARMUP_REQUESTS; i++) {
+                httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+            }
+            List<Future<long[]>> results = new ArrayList<>();
+            for (int c = 0; c < CLIENTS; c++) {
+                results.add(clients.submit(() -> {
+                    long[] latencies = new long[REQUESTS_PER_CLIENT];
+                    for (int i = 0; i < REQUESTS_PER_CLIENT; i++) {
+                        long start = System.nanoTime();
+                        HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                        latencies[i] = System.nanoTime() - start;
+                        assertEquals(200, response.statusCode());
+                    }
+                    return latencies;
+                }));
+            }
+            long[] all = new long[CLIENTS * REQUESTS_PER_CLIENT];
+            int offset = 0;
+            for (Future<long[]> result : results) {
+                long[] latencies = result.get();
+                System.arraycopy(latencies, 0, all, offset, latencies.length);
+                offset += latencies.length;
+            }
+            Arrays.sort(all);
+            return all;
+        }
+    }
+
+    private static void print(String model, long[] sortedNanos) {
+        System.out.printf("%-20s %10.1f %10.1f %10.1f%n", model,
+                percentile(sortedNanos, 0.50), percentile(sortedNanos, 0.99), sortedNanos[sortedNanos.length - 1] / 1e6);
+    }
+
+    private static double percentile(long[] sortedNanos, double percentile) {
+        return sortedNanos[(int) Math.ceil(percentile * sortedNanos.length) - 1] / 1e6;
+    }
+
+    // Faux keynote-service : répond à GET /api/keynotes?ids=... après KEYNOTE_LATENCY_MILLIS
+    private static HttpServer startKeynoteStub() throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        AtomicInteger served = new AtomicInteger();
+        server.createContext("/api/keynotes", exchange -> {
+            served.incrementAndGet();
+            try {
+                Thread.sleep(KEYNOTE_LATENCY_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            String query = exchange.getRequestURI().getQuery();
+            String ids = query == null ? "" : query.replace("ids=", "");
+            String body = Arrays.stream(ids.split(","))
+                    .filter(id -> !id.isBlank())
+                    .map(id -> "{\"id\":" + id + ",\"nom\":\"Stub\"}")
+                    .reduce((a, b) -> a + "," + b)
+                    .map(json -> "[" + json + "]")
+                    .orElse("[]");
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        });
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.start();
+        return server;
+    }
+}
@@ -0,0 +1,77 @@
+package org.example.conferenceservice.metrics;
+
+import org.example.conferenceservice.model.Keynote;
+import org.example.conferenceservice.web.KeynoteClient;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "eureka.client.enabled=false",
+        "work-summary.enabled=true",
+        "management.endpoints.web.exposure.include=prometheus",
+        "management.metrics.distribution.percentiles-histogram.http.server.requests=true",
+        "management.metrics.distribution.percentiles-histogram.spring.data.repository.invocations=true"
+})
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+@DisplayName("En-tête X-Work-Summary et métriques Prometheus")
+class WorkSummaryFilterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private KeynoteClient keynoteClient;
+
+    @Test
+    @DisplayName("Devrait résumer le travail de GET /api/conferences : ETag agrégé, page, comptage, copies des keynotes, nombre de reviews, ETag relu et un appel Feign groupé")
+    void getConferences_reportsWorkSummary() throws Exception {
+        // Arrange
+        when(keynoteClient.getKeynotesByIds(anyList())).thenReturn(List.of(keynote(1L), keynote(2L)));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/conferences").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(WorkSummary.HEADER, matchesPattern("sql=6, feign=1, rows=\\d+")));
+    }
+
+    @Test
+    @DisplayName("Devrait exposer timers, histogrammes et lignes chargées au format Prometheus")
+    void prometheus_exposesHotPathMetrics() throws Exception {
+        // Arrange
+        when(keynoteClient.getKeynotesByIds(anyList())).thenReturn(List.of(keynote(1L), keynote(2L)));
+        mockMvc.perform(get("/api/conferences")).andExpect(status().isOk());
+
+        // Act & Assert
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("http_server_requests_seconds_bucket")))
+                .andExpect(content().string(containsString("spring_data_repository_invocations_seconds_bucket")))
+                .andExpect(content().string(containsString("keynote_client_latency_seconds_bucket")))
+                .andExpect(content().string(containsString("rows_loaded_rows_bucket")));
+    }
+
+    private static Keynote keynote(long id) {
+        Keynote keynote = new Keynote();
+        keynote.setId(id);
+        keynote.setNom("Nom" + id);
+        return keynote;
+    }
+}
@@ -0,0 +1,211 @@
+package org.example.conferenceservice.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.conferenceservice.dto.ChangeEventDTO;
+import org.example.conferenceservice.dto.ChangesPageDTO;
+import org.example.conferenceservice.dto.ConferenceRequestDTO;
+import org.example.conferenceservice.dto.ReviewRequestDTO;
+import org.example.conferenceservice.entity.Conference;
+import org.example.conferenceservice.entity.TypeConference;
+import org.example.conferenceservice.outbox.ChangeBroker;
+import org.example.conferenceservice.outbox.OutboxRelay;
+import org.example.conferenceservice.repository.ConferenceRepository;
+import org.example.conferenceservice.repository.OutboxEventRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+/**
+ * Outbox, relais et flux /api/changes. Le relais automatique est désactivé : chaque test le déclenche lui-même
+ * et ne regarde que les événements postérieurs à la position de départ.
+ */
+@SpringBootTest(properties = {
+        "eureka.client.enabled=false",
+        "outbox.relay-enabled=false",
+        "outbox.stream-timeout=3s",
+        "outbox.heartbeat=200ms"
+})
+@AutoConfigureMockMvc
+@DisplayName("Outbox et flux des changements de conférences")
+class ChangeOutboxTest {
+
+    @Autowired
+    private IConferenceService conferenceService;
+
+    @Autowired
+    private ChangeOutbox changeOutbox;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private ChangeBroker changeBroker;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private ConferenceRepository conferenceRepository;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockitoBean
+    private KeynoteCache keynoteCache;
+
+    private final List<ChangeEventDTO> published = new CopyOnWriteArrayList<>();
+    private ChangeBroker.Subscription subscription;
+    private long start;
+
+    @BeforeEach
+    void setUp() {
+        outboxRelay.relay();
+        start = changeOutbox.lastPosition();
+        subscription = changeBroker.subscribe(published::addAll);
+    }
+
+    @AfterEach
+    void tearDown() {
+        subscription.close();
+    }
+
+    private Long create(String titre, String... commentaires) {
+        ConferenceRequestDTO request = new ConferenceRequestDTO();
+        request.setTitre(titre);
+        request.setType(TypeConference.Academic);
+        request.setDate(new Date());
+        request.setReviews(List.of(commentaires).stream().map(commentaire -> new ReviewRequestDTO(new Date(), commentaire)).toList());
+        conferenceService.createConference(request);
+        return conferenceRepository.findAll().stream()
+                .filter(conference -> titre.equals(conference.getTitre()))
+                .map(Conference::getId)
+                .findFirst().orElseThrow();
+    }
+
+    private static ConferenceRequestDTO titre(String titre) {
+        ConferenceRequestDTO patch = new ConferenceRequestDTO();
+        patch.setTitre(titre);
+        return patch;
+    }
+
+    @Test
+    @DisplayName("Devrait publier chaque écriture validée, avec son état au commit, sous des positions continues")
+    void writes_arePublishedInOrderWithContiguousPositions() throws Exception {
+        // Arrange
+        Long id = create("Outbox ordonnée", "Première review");
+
+        // Act
+        conferenceService.patchConference(id, titre("Outbox renommée"), null);
+        conferenceService.addReview(id, new ReviewRequestDTO(new Date(), "Deuxième review"));
+        conferenceService.deleteConference(id);
+        int relayed = outboxRelay.relay();
+
+        // Assert
+        assertEquals(7, relayed);
+        assertEquals(LongStream.rangeClosed(start + 1, start + 7).boxed().toList(),
+                published.stream().map(ChangeEventDTO::getPosition).toList());
+        assertEquals(List.of("conference:CREATED", "review:CREATED", "conference:UPDATED", "review:CREATED",
+                        "review:DELETED", "review:DELETED", "conference:DELETED"),
+                published.stream().map(event -> event.getAggregate() + ":" + event.getType()).toList());
+        JsonNode updated = objectMapper.readTree(published.get(2).getPayload());
+        assertEquals("Outbox renommée", updated.get("titre").asText());
+        assertEquals(1, updated.get("version").asLong());
+        assertEquals(id, objectMapper.readTree(published.get(3).getPayload()).get("conferenceId").asLong());
+        assertEquals(0, outboxRelay.relay());
+    }
+
+    @Test
+    @DisplayName("Devrait n'écrire aucun événement quand la transaction de l'écriture est annulée")
+    void rolledBackWrite_leavesNoEvent() {
+        // Arrange
+        Long id = create("Outbox annulée");
+        outboxRelay.relay();
+        long events = outboxEventRepository.count();
+
+        // Act
+        assertThrows(OptimisticLockingFailureException.class,
+                () -> conferenceService.patchConference(id, titre("Jamais écrit"), 42L));
+
+        // Assert
+        assertEquals(events, outboxEventRepository.count());
+        assertEquals(0, outboxRelay.relay());
+    }
+
+    @Test
+    @DisplayName("Devrait paginer depuis un curseur et signaler un curseur qui n'est plus lisible")
+    void changesAfter_pagesFromCursorAndDetectsReset() {
+        // Arrange
+        create("Outbox paginée A");
+        create("Outbox paginée B");
+        create("Outbox paginée C");
+        outboxRelay.relay();
+
+        // Act
+        ChangesPageDTO first = changeOutbox.changesAfter(start, 2);
+        ChangesPageDTO second = changeOutbox.changesAfter(first.getLastPosition(), 2);
+        ChangesPageDTO ahead = changeOutbox.changesAfter(start + 1_000, 2);
+
+        // Assert
+        assertFalse(first.isReset());
+        assertEquals(List.of(start + 1, start + 2), first.getEvents().stream().map(ChangeEventDTO::getPosition).toList());
+        assertEquals(List.of(start + 3), second.getEvents().stream().map(ChangeEventDTO::getPosition).toList());
+        assertTrue(ahead.isReset());
+        assertEquals(0, ahead.getAfter());
+    }
+
+    @Test
+    @DisplayName("Devrait relire depuis Last-Event-ID puis suivre les nouveaux changements sur le flux SSE")
+    void stream_replaysFromCursorThenTails() throws Exception {
+        // Arrange
+        create("Flux déjà publié");
+        outboxRelay.relay();
+
+        // Act
+        MvcResult result = mockMvc.perform(get("/api/changes").header("Last-Event-ID", start))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        awaitContent(result, "id:" + (start + 1));
+        create("Flux en direct");
+        outboxRelay.relay();
+        String content = awaitContent(result, "id:" + (start + 2));
+
+        // Assert
+        assertTrue(content.contains("event:change"), content);
+        assertTrue(content.contains("Flux déjà publié"), content);
+        assertTrue(content.contains("Flux en direct"), content);
+        assertEquals(1, content.split("id:" + (start + 1) + "\n", -1).length - 1, content);
+    }
+
+    private static String awaitContent(MvcResult result, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 2_000;
+        String content = result.getResponse().getContentAsString(StandardCharsets.UTF_8);
+        while (!content.contains(expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            content = result.getResponse().getContentAsString(StandardCharsets.UTF_8);
+        }
+        assertTrue(content.contains(expected), content);
+        return content;
+    }
+}
@@ -0,0 +1,192 @@
+package org.example.conferenceservice.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.example.conferenceservice.dto.ConferenceRequestDTO;
+import org.example.conferenceservice.dto.ReindexResultDTO;
+import org.example.conferenceservice.dto.ReviewRequestDTO;
+import org.example.conferenceservice.dto.ReviewResponseDTO;
+import org.example.conferenceservice.dto.SearchHitDTO;
+import org.example.conferenceservice.dto.SearchResultDTO;
+import org.example.conferenceservice.entity.Conference;
+import org.example.conferenceservice.entity.Review;
+import org.example.conferenceservice.entity.TypeConference;
+import org.example.conferenceservice.repository.ConferenceRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Recherche plein texte sur un index en mémoire (search.index-path vide), alimenté par les écritures du service.
+ * Chaque test utilise ses propres mots, absents des autres données.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "eureka.client.enabled=false",
+        "search.reindex-threads=3",
+        "search.reindex-batch-size=2"
+})
+@DisplayName("Recherche plein texte des conférences")
+class ConferenceSearchTest {
+
+    @Autowired
+    private IConferenceService conferenceService;
+
+    @Autowired
+    private ConferenceSearch conferenceSearch;
+
+    @Autowired
+    private ConferenceRepository conferenceRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockitoBean
+    private KeynoteCache keynoteCache;
+
+    private Long create(String titre, String... commentaires) {
+        ConferenceRequestDTO request = new ConferenceRequestDTO();
+        request.setTitre(titre);
+        request.setType(TypeConference.Academic);
+        request.setDate(new Date());
+        request.setReviews(List.of(commentaires).stream().map(commentaire -> new ReviewRequestDTO(new Date(), commentaire)).toList());
+        conferenceService.createConference(request);
+        return conferenceRepository.findAll().stream()
+                .filter(conference -> titre.equals(conference.getTitre()))
+                .map(Conference::getId)
+                .findFirst().orElseThrow();
+    }
+
+    @Test
+    @DisplayName("Devrait trouver une conférence par son titre, sans accents, et surligner le terme")
+    void search_findsConferenceByTitle() {
+        // Arrange
+        Long id = create("Architecture Réactive des Zéphyrs", "Très clair");
+
+        // Act
+        SearchResultDTO result = conferenceSearch.search("reactive zephyrs", null);
+
+        // Assert
+        assertEquals(1, result.getTotal());
+        SearchHitDTO hit = result.getHits().get(0);
+        assertEquals("conference", hit.getType());
+        assertEquals(id, hit.getConferenceId());
+        assertTrue(hit.getHighlight().contains("<b>Réactive</b>"), hit.getHighlight());
+    }
+
+    @Test
+    @DisplayName("Devrait trouver une review par préfixe et malgré une faute de frappe")
+    void search_findsReviewsByPrefixAndFuzzy() {
+        // Arrange
+        Long id = create("Conférence sur les orchestrateurs", "Démonstration de Quarkonium très convaincante");
+
+        // Act
+        SearchResultDTO prefix = conferenceSearch.search("quarko", null);
+        SearchResultDTO fuzzy = conferenceSearch.search("quarkonuim", null);
+
+        // Assert
+        assertEquals(1, prefix.getTotal());
+        assertEquals("review", prefix.getHits().get(0).getType());
+        assertEquals(id, prefix.getHits().get(0).getConferenceId());
+        assertNotNull(prefix.getHits().get(0).getReviewId());
+        assertEquals("Conférence sur les orchestrateurs", prefix.getHits().get(0).getTitre());
+        assertEquals(1, fuzzy.getTotal());
+    }
+
+    @Test
+    @DisplayName("Devrait classer la correspondance exacte du titre avant une correspondance approchée")
+    void search_ranksExactTitleFirst() {
+        // Arrange
+        Long exact = create("Introduction au Vortexil");
+        Long approximate = create("Atelier", "On y parle de Vortexal");
+
+        // Act
+        SearchResultDTO result = conferenceSearch.search("vortexil", null);
+
+        // Assert
+        assertEquals(2, result.getTotal());
+        assertEquals(exact, result.getHits().get(0).getConferenceId());
+        assertEquals(approximate, result.getHits().get(1).getConferenceId());
+        assertTrue(result.getHits().get(0).getScore() > result.getHits().get(1).getScore());
+    }
+
+    @Test
+    @DisplayName("Devrait suivre les modifications, ajouts et suppressions de reviews et de conférences")
+    void writes_keepIndexInSync() {
+        // Arrange
+        Long id = create("Nebulaxe avancé");
+        ConferenceRequestDTO patch = new ConferenceRequestDTO();
+        patch.setTitre("Stratolithe avancé");
+
+        // Act
+        conferenceService.patchConference(id, patch, null);
+        conferenceService.addReview(id, new ReviewRequestDTO(new Date(), "Parle de Cryptoflore"));
+
+        // Assert
+        assertEquals(0, conferenceSearch.search("nebulaxe", null).getTotal());
+        assertEquals(1, conferenceSearch.search("stratolithe", null).getTotal());
+        assertEquals(1, conferenceSearch.search("cryptoflore", null).getTotal());
+
+        // Act
+        conferenceService.deleteConference(id);
+
+        // Assert
+        assertEquals(0, conferenceSearch.search("stratolithe", null).getTotal());
+        assertEquals(0, conferenceSearch.search("cryptoflore", null).getTotal());
+    }
+
+    @Test
+    @DisplayName("Devrait indexer une review ajoutée ou supprimée seule, sans relire sa conférence ni ses autres reviews")
+    void reviewWrites_indexOnlyTheReview() {
+        // Arrange
+        Long id = create("Orbitrane comparée", "Première sur l'orbitrane", "Seconde sur l'orbitrane");
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // Act
+        ReviewResponseDTO review = conferenceService.addReview(id, new ReviewRequestDTO(new Date(), "Parle de Sélénide"));
+
+        // Assert
+        // L'outbox publie sur son propre thread : seules les conférences et reviews sont comptées
+        assertEquals(0, statistics.getEntityStatistics(Conference.class.getName()).getLoadCount());
+        assertEquals(0, statistics.getEntityStatistics(Review.class.getName()).getLoadCount());
+        assertEquals(0, statistics.getCollectionFetchCount());
+        SearchResultDTO added = conferenceSearch.search("selenide", null);
+        assertEquals(1, added.getTotal());
+        assertEquals(review.getId(), added.getHits().get(0).getReviewId());
+        assertEquals("Orbitrane comparée", added.getHits().get(0).getTitre());
+
+        // Act
+        conferenceService.deleteReviewFromConference(id, review.getId());
+
+        // Assert
+        assertEquals(0, conferenceSearch.search("selenide", null).getTotal());
+        assertEquals(3, conferenceSearch.search("orbitrane", null).getTotal());
+    }
+
+    @Test
+    @DisplayName("Devrait reconstruire en parallèle l'index de toutes les conférences et reviews")
+    void reindex_rebuildsFromRepository() {
+        // Arrange
+        Long id = create("Hélioglyphe appliqué", "Sur l'Hélioglyphe", "Encore l'hélioglyphe");
+        long conferences = conferenceRepository.count();
+
+        // Act
+        ReindexResultDTO result = conferenceSearch.reindex();
+
+        // Assert
+        assertEquals(conferences, result.getConferences());
+        assertEquals(3, result.getThreads());
+        SearchResultDTO search = conferenceSearch.search("helioglyphe", null);
+        assertEquals(3, search.getTotal());
+        assertTrue(search.getHits().stream().allMatch(hit -> hit.getConferenceId().equals(id)));
+    }
+}
@@ -0,0 +1,195 @@
+package org.example.conferenceservice.service;
+
+import org.example.conferenceservice.dto.ConferenceRequestDTO;
+import org.example.conferenceservice.dto.ConferenceStatDTO;
+import org.example.conferenceservice.dto.ConferenceStatsDTO;
+import org.example.conferenceservice.dto.ReviewRequestDTO;
+import org.example.conferenceservice.dto.StatsRebuildDTO;
+import org.example.conferenceservice.entity.Conference;
+import org.example.conferenceservice.entity.TypeConference;
+import org.example.conferenceservice.repository.ConferenceRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Statistiques tenues à jour par les écritures de IConferenceServiceImpl : chaque test part d'un recalcul
+ * (d'autres tests écrivent directement par le repository) et compare le résultat incrémental à un nouveau recalcul.
+ * Keynotes propres à chaque test, pour des buckets que personne d'autre ne touche.
+ */
+@SpringBootTest(properties = "eureka.client.enabled=false")
+@DisplayName("Statistiques incrémentales des conférences")
+class ConferenceStatisticsTest {
+
+    private static final Date MARCH = Date.from(Instant.parse("2031-03-10T10:00:00Z"));
+    private static final Date APRIL = Date.from(Instant.parse("2031-04-20T10:00:00Z"));
+
+    @Autowired
+    private IConferenceService conferenceService;
+
+    @Autowired
+    private ConferenceStatistics conferenceStatistics;
+
+    @Autowired
+    private ConferenceRepository conferenceRepository;
+
+    @MockitoBean
+    private KeynoteCache keynoteCache;
+
+    @BeforeEach
+    void setUp() {
+        conferenceStatistics.rebuild();
+    }
+
+    private ConferenceRequestDTO request(String titre, TypeConference type, Date date, long keynoteId, int inscrits, Double score, int reviews) {
+        ConferenceRequestDTO request = new ConferenceRequestDTO();
+        request.setTitre(titre);
+        request.setType(type);
+        request.setDate(date);
+        request.setKeynoteId(keynoteId);
+        request.setNombreInscrits(inscrits);
+        request.setScore(score);
+        request.setReviews(IntStream.range(0, reviews)
+                .mapToObj(i -> new ReviewRequestDTO(new Date(), "Review " + i)).toList());
+        return request;
+    }
+
+    private Long idOf(String titre) {
+        return conferenceRepository.findAll().stream()
+                .filter(conference -> conference.getTitre().equals(titre))
+                .map(Conference::getId)
+                .findFirst().orElseThrow();
+    }
+
+    @Test
+    @DisplayName("Devrait agréger créations et reviews par keynote, type et mois")
+    void create_andReviews_updateBuckets() {
+        // Arrange
+        ConferenceStatsDTO before = conferenceStatistics.getStats();
+
+        // Act
+        conferenceService.createConference(request("Stats A", TypeConference.Academic, MARCH, 9101L, 100, 4.0, 2));
+        conferenceService.createConference(request("Stats B", TypeConference.Academic, MARCH, 9101L, 50, null, 0));
+        conferenceService.addReview(idOf("Stats B"), new ReviewRequestDTO(new Date(), "Nouvelle"));
+
+        // Assert
+        ConferenceStatDTO keynote = conferenceStatistics.getKeynoteStats(9101L);
+        assertEquals(2, keynote.getConferences());
+        assertEquals(150, keynote.getRegistrations());
+        assertEquals(3, keynote.getReviews());
+        assertEquals(1, keynote.getScored());
+        assertEquals(4.0, keynote.getAverageScore());
+        ConferenceStatsDTO after = conferenceStatistics.getStats();
+        assertEquals(before.getTotal().getConferences() + 2, after.getTotal().getConferences());
+        assertEquals(2, after.getByMonth().get("2031-03").getConferences());
+        assertEquals(keynote, after.getByKeynote().get(9101L));
+    }
+
+    @Test
+    @DisplayName("Devrait déplacer la contribution d'une conférence modifiée et la retirer à la suppression")
+    void updatePatchDelete_moveContribution() {
+        // Arrange
+        conferenceService.createConference(request("Stats C", TypeConference.Academic, MARCH, 9201L, 10, 2.0, 1));
+        Long id = idOf("Stats C");
+
+        // Act
+        conferenceService.updateConference(id, request("Stats C", TypeConference.commercial, APRIL, 9202L, 30, 5.0, 3), null);
+        ConferenceRequestDTO patch = new ConferenceRequestDTO();
+        patch.setKeynoteId(9203L);
+        conferenceService.patchConference(id, patch, null);
+        conferenceService.deleteReviewFromConference(id, conferenceService.getReviews(id,
+                PageRequest.of(0, 1)).getContent().get(0).getId());
+
+        // Assert
+        assertEquals(0, conferenceStatistics.getKeynoteStats(9201L).getConferences());
+        assertEquals(0, conferenceStatistics.getKeynoteStats(9202L).getConferences());
+        ConferenceStatDTO moved = conferenceStatistics.getKeynoteStats(9203L);
+        assertEquals(1, moved.getConferences());
+        assertEquals(30, moved.getRegistrations());
+        assertEquals(2, moved.getReviews());
+        assertEquals(5.0, moved.getAverageScore());
+
+        // Act
+        conferenceService.deleteConference(id);
+
+        // Assert
+        assertEquals(0, conferenceStatistics.getKeynoteStats(9203L).getConferences());
+        assertEquals(0, conferenceStatistics.getKeynoteStats(9203L).getReviews());
+    }
+
+    @Test
+    @DisplayName("Devrait compter les écritures concurrentes qui créent les mêmes buckets, sans interblocage")
+    void concurrentWrites_createBucketsOnce() throws Exception {
+        // Arrange : mois et type partagés, jamais vus, et une keynote par thread
+        Date may = Date.from(Instant.parse("2032-05-05T10:00:00Z"));
+        ConferenceStatsDTO before = conferenceStatistics.getStats();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // Act
+        List<Future<?>> writes = IntStream.range(0, 8).<Future<?>>mapToObj(thread -> executor.submit(() -> {
+            for (int i = 0; i < 5; i++) {
+                conferenceService.createConference(request("Stats F" + thread + "-" + i, TypeConference.Academic, may,
+                        9400L + thread, 1, null, 1));
+            }
+        })).toList();
+        for (Future<?> write : writes) write.get(30, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        // Assert
+        ConferenceStatsDTO after = conferenceStatistics.getStats();
+        assertEquals(before.getTotal().getConferences() + 40, after.getTotal().getConferences());
+        assertEquals(40, after.getByMonth().get("2032-05").getConferences());
+        assertEquals(40, after.getByMonth().get("2032-05").getReviews());
+        assertEquals(5, after.getByKeynote().get(9407L).getConferences());
+        conferenceStatistics.rebuild();
+        ConferenceStatsDTO rebuilt = conferenceStatistics.getStats();
+        assertEquals(rebuilt.getTotal().getConferences(), after.getTotal().getConferences());
+        assertEquals(rebuilt.getTotal().getReviews(), after.getTotal().getReviews());
+        assertEquals(rebuilt.getByMonth(), after.getByMonth());
+        assertEquals(rebuilt.getByKeynote(), after.getByKeynote());
+    }
+
+    @Test
+    @DisplayName("Devrait obtenir par les écritures les mêmes statistiques qu'un recalcul complet")
+    void incrementalStats_matchRebuild() {
+        // Arrange
+        conferenceService.createConferences(List.of(
+                request("Stats D", TypeConference.Academic, MARCH, 9301L, 5, 3.0, 1),
+                request("Stats E", TypeConference.commercial, APRIL, 9302L, 7, null, 2)).iterator());
+        Long id = idOf("Stats D");
+        conferenceService.patchConferenceReviews(id, List.of(new ReviewRequestDTO(new Date(), "Encore")));
+        ConferenceRequestDTO patch = new ConferenceRequestDTO();
+        patch.setType(TypeConference.commercial);
+        patch.setScore(1.0);
+        conferenceService.patchConference(id, patch, null);
+
+        // Act
+        ConferenceStatsDTO incremental = conferenceStatistics.getStats();
+        StatsRebuildDTO rebuild = conferenceStatistics.rebuild();
+
+        // Assert
+        assertEquals(conferenceRepository.count(), rebuild.getConferences());
+        ConferenceStatsDTO rebuilt = conferenceStatistics.getStats();
+        assertEquals(rebuilt.getTotal().getConferences(), incremental.getTotal().getConferences());
+        assertEquals(rebuilt.getTotal().getReviews(), incremental.getTotal().getReviews());
+        assertEquals(rebuilt.getTotal().getRegistrations(), incremental.getTotal().getRegistrations());
+        assertEquals(rebuilt.getByType(), incremental.getByType());
+        assertEquals(rebuilt.getByKeynote(), incremental.getByKeynote());
+        assertEquals(rebuilt.getByMonth(), incremental.getByMonth());
+    }
+}
@@ -0,0 +1,210 @@
+package org.example.conferenceservice.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.example.conferenceservice.dto.BulkResultDTO;
+import org.example.conferenceservice.dto.ConferenceFilterDTO;
+import org.example.conferenceservice.dto.ConferenceRequestDTO;
+import org.example.conferenceservice.dto.ConferenceResponseDTO;
+import org.example.conferenceservice.dto.ConferenceSummaryDTO;
+import org.example.conferenceservice.dto.DataFormat;
+import org.example.conferenceservice.dto.PageResponseDTO;
+import org.example.conferenceservice.dto.ReviewRequestDTO;
+import org.example.conferenceservice.entity.Conference;
+import org.example.conferenceservice.entity.Review;
+import org.example.conferenceservice.entity.TypeConference;
+import org.example.conferenceservice.repository.ConferenceRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.when;
+
+/**
+ * Compte les requêtes SQL émises par les lectures de conférences (statistiques Hibernate),
+ * pour qu'un retour au chargement EAGER des reviews ou un N+1 se voie immédiatement.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "eureka.client.enabled=false"
+})
+@DisplayName("Nombre de requêtes SQL de IConferenceServiceImpl")
+class IConferenceServiceImplQueryCountTest {
+
+    private static final int CONFERENCES = 12;
+    private static final int REVIEWS_PER_CONFERENCE = 4;
+
+    @Autowired
+    private IConferenceService conferenceService;
+
+    @Autowired
+    private ConferenceRepository conferenceRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockitoBean
+    private KeynoteCache keynoteCache;
+
+    // L'index de recherche relit les conférences modifiées après le commit : hors du périmètre compté ici
+    @MockitoBean
+    private ConferenceSearch conferenceSearch;
+
+    // Une ligne d'outbox par changement, écrite au commit : comptée dans ChangeOutboxTest
+    @MockitoBean
+    private ChangeOutbox changeOutbox;
+
+    private final List<Long> createdIds = new ArrayList<>();
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < CONFERENCES; i++) {
+            Conference conference = Conference.builder()
+                    .titre("Conference " + i)
+                    .type(TypeConference.Academic)
+                    .date(new Date())
+                    .duree(60.0)
+                    .keynoteId(1L)
+                    .reviews(new ArrayList<>())
+                    .build();
+            for (int r = 0; r < REVIEWS_PER_CONFERENCE; r++) {
+                conference.addReview(Review.builder().commentaire("Review " + r).date(new Date()).build());
+            }
+            createdIds.add(conferenceRepository.save(conference).getId());
+        }
+        when(keynoteCache.getAll(anyCollection())).thenReturn(new KeynoteLookup(Map.of(), false));
+        when(keynoteCache.get(any())).thenReturn(new KeynoteLookup(Map.of(), false));
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        conferenceRepository.deleteAllById(createdIds);
+        createdIds.clear();
+    }
+
+    @Test
+    @DisplayName("getConferences : page + comptage + copies des keynotes + nombre de reviews, sans charger les reviews")
+    void getConferences_issuesConstantNumberOfStatements() {
+        // Act
+        PageResponseDTO<ConferenceSummaryDTO> page = conferenceService.getConferences(
+                new ConferenceFilterDTO(), PageRequest.of(0, 5, Sort.by("id")));
+
+        // Assert
+        assertEquals(5, page.getContent().size());
+        assertTrue(page.getContent().stream().allMatch(summary -> summary.getReviewCount() >= 0));
+        assertEquals(4, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getCollectionFetchCount());
+    }
+
+    @Test
+    @DisplayName("getConferences : le nombre de requêtes ne dépend pas de la taille de page")
+    void getConferences_statementCountIndependentOfPageSize() {
+        // Act
+        conferenceService.getConferences(new ConferenceFilterDTO(), PageRequest.of(0, 5, Sort.by("id")));
+        long smallPage = statistics.getPrepareStatementCount();
+        statistics.clear();
+        conferenceService.getConferences(new ConferenceFilterDTO(), PageRequest.of(0, 10, Sort.by("id")));
+        long largePage = statistics.getPrepareStatementCount();
+
+        // Assert
+        assertEquals(smallPage, largePage);
+    }
+
+    @Test
+    @DisplayName("getConferenceById : conférence et reviews en une seule requête, puis la copie de la keynote")
+    void getConferenceById_issuesSingleStatementPlusKeynoteSnapshot() {
+        // Act
+        ConferenceResponseDTO conference = conferenceService.getConferenceById(createdIds.get(0));
+
+        // Assert
+        assertEquals(REVIEWS_PER_CONFERENCE, conference.getReviews().size());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("addReview : le nombre de requêtes ne dépend pas du nombre de reviews existantes")
+    void addReview_doesNotLoadExistingReviews() {
+        // Arrange
+        ReviewRequestDTO review = new ReviewRequestDTO();
+        review.setCommentaire("Nouvelle review");
+        review.setDate(new Date());
+
+        // Act
+        conferenceService.addReview(createdIds.get(0), review);
+
+        // Assert
+        assertEquals(0, statistics.getCollectionFetchCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        // version + insert, puis statistiques au commit : buckets de la conférence, lignes existantes, mise à jour
+        assertEquals(5, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("createConferences : INSERT groupés par batch JDBC et identifiants pré-alloués par séquence")
+    void createConferences_batchesInserts() {
+        // Arrange
+        int count = 120;
+        List<ConferenceRequestDTO> requests = IntStream.range(0, count).mapToObj(i -> {
+            ConferenceRequestDTO request = new ConferenceRequestDTO();
+            request.setTitre("Bulk " + i);
+            request.setType(TypeConference.Academic);
+            request.setDate(new Date());
+            request.setReviews(List.of(new ReviewRequestDTO(new Date(), "Review " + i)));
+            return request;
+        }).toList();
+
+        // Act
+        BulkResultDTO result = conferenceService.createConferences(requests.iterator());
+        long statements = statistics.getPrepareStatementCount();
+        long inserts = statistics.getEntityInsertCount();
+        conferenceRepository.findAll().stream()
+                .filter(conference -> conference.getTitre().startsWith("Bulk "))
+                .forEach(conference -> createdIds.add(conference.getId()));
+
+        // Assert
+        assertEquals(count, result.getCreated());
+        assertEquals(2L * count, inserts);
+        // 240 lignes : quelques appels de séquence et un statement par batch de 50, au lieu d'un aller-retour par ligne
+        assertTrue(statements < 20, "statements: " + statements);
+    }
+
+    @Test
+    @DisplayName("exportConferences : un curseur, puis copies des keynotes et comptage de reviews par lot, sans charger les reviews")
+    void exportConferences_streamsWithConstantStatements() throws Exception {
+        // Arrange
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long total = conferenceRepository.count();
+        statistics.clear();
+
+        // Act
+        long exported = conferenceService.exportConferences(DataFormat.NDJSON, out);
+
+        // Assert
+        assertEquals(total, exported);
+        assertEquals(total, out.toString(StandardCharsets.UTF_8).lines().count());
+        assertTrue(out.toString(StandardCharsets.UTF_8).lines().allMatch(line -> line.startsWith("{\"id\":")));
+        assertEquals(3, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getCollectionFetchCount());
+    }
+}
@@ -0,0 +1,519 @@
+package org.example.conferenceservice.service;
+
+import org.example.conferenceservice.dto.BulkResultDTO;
+import org.example.conferenceservice.dto.ConferenceFilterDTO;
+import org.example.conferenceservice.dto.ConferenceRequestDTO;
+import org.example.conferenceservice.dto.ConferenceSummaryDTO;
+import org.example.conferenceservice.dto.DataFormat;
+import org.example.conferenceservice.dto.ImportErrorDTO;
+import org.example.conferenceservice.dto.ImportResultDTO;
+import org.example.conferenceservice.dto.PageResponseDTO;
+import org.example.conferenceservice.dto.ReviewRequestDTO;
+import org.example.conferenceservice.dto.ReviewResponseDTO;
+import org.example.conferenceservice.entity.Conference;
+import org.example.conferenceservice.entity.Review;
+import org.example.conferenceservice.entity.TypeConference;
+import org.example.conferenceservice.mapper.ConferenceMapper;
+import org.example.conferenceservice.mapper.ReviewMapper;
+import org.example.conferenceservice.metrics.RowMetrics;
+import org.example.conferenceservice.model.Keynote;
+import org.example.conferenceservice.repository.ConferenceRepository;
+import org.example.conferenceservice.repository.ReviewCount;
+import org.example.conferenceservice.repository.ReviewRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests unitaires pour IConferenceServiceImpl")
+class IConferenceServiceImplTest {
+
+    @Mock
+    private ConferenceRepository conferenceRepository;
+
+    @Mock
+    private ReviewRepository reviewRepository;
+
+    @Mock
+    private KeynoteCache keynoteCache;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private ConferenceStatistics conferenceStatistics;
+
+    @Mock
+    private ConferenceSearch conferenceSearch;
+
+    @Mock
+    private ChangeOutbox changeOutbox;
+
+    @Mock
+    private KeynoteSnapshots keynoteSnapshots;
+
+    @InjectMocks
+    private IConferenceServiceImpl conferenceService;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        ReviewMapper reviewMapper = new ReviewMapper();
+        ConferenceMapper conferenceMapper = new ConferenceMapper();
+        ReflectionTestUtils.setField(conferenceMapper, "reviewMapper", reviewMapper);
+        ReflectionTestUtils.setField(conferenceService, "conferenceMapper", conferenceMapper);
+        ReflectionTestUtils.setField(conferenceService, "reviewMapper", reviewMapper);
+        ReflectionTestUtils.setField(conferenceService, "objectMapper", new ObjectMapper());
+        meterRegistry = new SimpleMeterRegistry();
+        ReflectionTestUtils.setField(conferenceService, "rowMetrics", new RowMetrics(meterRegistry));
+    }
+
+    private Conference conference(long id, Long keynoteId) {
+        return Conference.builder()
+                .id(id)
+                .titre("Conference " + id)
+                .type(TypeConference.Academic)
+                .date(new Date())
+                .keynoteId(keynoteId)
+                .build();
+    }
+
+    private Keynote keynote(long id) {
+        Keynote keynote = new Keynote();
+        keynote.setId(id);
+        keynote.setNom("Nom" + id);
+        return keynote;
+    }
+
+    private KeynoteLookup lookup(Map<Long, Keynote> keynotes) {
+        return new KeynoteLookup(keynotes, false);
+    }
+
+    private ReviewCount reviewCount(Long conferenceId, long count) {
+        return new ReviewCount() {
+            @Override
+            public Long getConferenceId() {
+                return conferenceId;
+            }
+
+            @Override
+            public long getReviewCount() {
+                return count;
+            }
+        };
+    }
+
+    @Test
+    @DisplayName("Devrait résoudre les keynotes en un seul appel groupé sur les ids distincts")
+    void testGetConferences_BatchesKeynoteLookups() {
+        // Arrange
+        List<Conference> conferences = List.of(
+                conference(1L, 10L),
+                conference(2L, 10L),
+                conference(3L, 20L),
+                conference(4L, 30L),
+                conference(5L, null));
+        when(conferenceRepository.findAll(any(Specification.class), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(conferences, PageRequest.of(0, 20), 5));
+        when(keynoteCache.getAll(List.of(10L, 20L, 30L)))
+                .thenReturn(lookup(Map.of(10L, keynote(10L), 20L, keynote(20L), 30L, keynote(30L))));
+        when(reviewRepository.countByConferenceIds(anyList())).thenReturn(List.of(reviewCount(1L, 3L)));
+
+        // Act
+        List<ConferenceSummaryDTO> result = conferenceService.getConferences(new ConferenceFilterDTO(), PageRequest.of(0, 20)).getContent();
+
+        // Assert
+        assertEquals(5, result.size());
+        assertEquals(10L, result.get(0).getKeynote().getId());
+        assertEquals(10L, result.get(1).getKeynote().getId());
+        assertEquals(20L, result.get(2).getKeynote().getId());
+        assertEquals(30L, result.get(3).getKeynote().getId());
+        assertNull(result.get(4).getKeynote());
+        assertEquals(3L, result.get(0).getReviewCount());
+        assertEquals(0L, result.get(1).getReviewCount());
+        verify(keynoteCache, times(1)).getAll(anyList());
+        verify(reviewRepository, times(1)).countByConferenceIds(List.of(1L, 2L, 3L, 4L, 5L));
+        verify(keynoteCache, never()).get(anyLong());
+    }
+
+    @Test
+    @DisplayName("Devrait compter les lignes chargées par getConferences, par entité")
+    void testGetConferences_RecordsRowsLoaded() {
+        // Arrange
+        when(conferenceRepository.findAll(any(Specification.class), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(conference(1L, 10L), conference(2L, 10L)), PageRequest.of(0, 20), 2));
+        when(keynoteCache.getAll(List.of(10L))).thenReturn(lookup(Map.of(10L, keynote(10L))));
+        when(reviewRepository.countByConferenceIds(anyList())).thenReturn(List.of(reviewCount(1L, 3L)));
+
+        // Act
+        conferenceService.getConferences(new ConferenceFilterDTO(), PageRequest.of(0, 20));
+
+        // Assert
+        assertEquals(2.0, rowsLoaded("getConferences", "conference"));
+        assertEquals(1.0, rowsLoaded("getConferences", "keynote"));
+        assertEquals(1.0, rowsLoaded("getConferences", "review_count"));
+    }
+
+    private double rowsLoaded(String operation, String entity) {
+        return meterRegistry.get("rows.loaded").tag("operation", operation).tag("entity", entity).summary().totalAmount();
+    }
+
+    @Test
+    @DisplayName("Devrait retourner une liste vide quand aucune conférence n'existe")
+    void testGetConferences_EmptyList() {
+        // Arrange
+        when(conferenceRepository.findAll(any(Specification.class), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(), PageRequest.of(0, 20), 0));
+        when(keynoteCache.getAll(List.of())).thenReturn(lookup(Map.of()));
+
+        // Act
+        PageResponseDTO<ConferenceSummaryDTO> result = conferenceService.getConferences(new ConferenceFilterDTO(), PageRequest.of(0, 20));
+
+        // Assert
+        assertTrue(result.getContent().isEmpty());
+        assertEquals(0L, result.getTotalElements());
+        assertFalse(result.isHasNext());
+    }
+
+    @Test
+    @DisplayName("Devrait laisser keynote à null quand keynote-service ne la renvoie pas")
+    void testGetConferences_MissingKeynote() {
+        // Arrange
+        when(conferenceRepository.findAll(any(Specification.class), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(conference(1L, 99L)), PageRequest.of(0, 20), 1));
+        when(keynoteCache.getAll(List.of(99L))).thenReturn(lookup(Map.of()));
+        when(reviewRepository.countByConferenceIds(anyList())).thenReturn(List.of());
+
+        // Act
+        List<ConferenceSummaryDTO> result = conferenceService.getConferences(new ConferenceFilterDTO(), PageRequest.of(0, 20)).getContent();
+
+        // Assert
+        assertEquals(1, result.size());
+        assertEquals(99L, result.get(0).getKeynoteId());
+        assertNull(result.get(0).getKeynote());
+    }
+
+    @Test
+    @DisplayName("Devrait renvoyer le curseur de la page suivante en pagination par offset")
+    void testGetConferences_ReturnsNextCursor() {
+        // Arrange
+        when(conferenceRepository.findAll(any(Specification.class), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(conference(1L, null), conference(2L, null)), PageRequest.of(0, 2), 5));
+        when(keynoteCache.getAll(List.of())).thenReturn(lookup(Map.of()));
+        when(reviewRepository.countByConferenceIds(anyList())).thenReturn(List.of());
+
+        // Act
+        PageResponseDTO<ConferenceSummaryDTO> result = conferenceService.getConferences(new ConferenceFilterDTO(), PageRequest.of(0, 2, Sort.by("id")));
+
+        // Assert
+        assertEquals(0, result.getPage());
+        assertEquals(3, result.getTotalPages());
+        assertTrue(result.isHasNext());
+        assertEquals(2L, result.getNextAfterId());
+    }
+
+    @Test
+    @DisplayName("Devrait lire une page par clé sans requête de comptage")
+    void testGetConferencesAfter_KeysetPage() {
+        // Arrange
+        doReturn(List.of(conference(11L, null), conference(12L, null), conference(13L, null)))
+                .when(conferenceRepository).findBy(any(Specification.class), any());
+        when(keynoteCache.getAll(List.of())).thenReturn(lookup(Map.of()));
+        when(reviewRepository.countByConferenceIds(anyList())).thenReturn(List.of());
+
+        // Act
+        PageResponseDTO<ConferenceSummaryDTO> result = conferenceService.getConferencesAfter(
+                new ConferenceFilterDTO(), 10L, null, PageRequest.of(0, 2, Sort.by("id")));
+
+        // Assert
+        assertEquals(2, result.getContent().size());
+        assertTrue(result.isHasNext());
+        assertEquals(12L, result.getNextAfterId());
+        assertNull(result.getTotalElements());
+        verify(conferenceRepository, never()).count(any(Specification.class));
+        verify(conferenceRepository, never()).findAll(any(Specification.class), any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("Devrait refuser la pagination par clé sur une autre propriété que id ou date")
+    void testGetConferencesAfter_UnsupportedSort() {
+        assertThrows(IllegalArgumentException.class, () -> conferenceService.getConferencesAfter(
+                new ConferenceFilterDTO(), 10L, null, PageRequest.of(0, 2, Sort.by("titre"))));
+    }
+
+    @Test
+    @DisplayName("Devrait refuser un curseur sans date quand la page est triée par date")
+    void testGetConferencesAfter_DateSortWithoutAfterDate() {
+        assertThrows(IllegalArgumentException.class, () -> conferenceService.getConferencesAfter(
+                new ConferenceFilterDTO(), 10L, null, PageRequest.of(0, 2, Sort.by("date"))));
+        verify(conferenceRepository, never()).findBy(any(Specification.class), any());
+    }
+
+    @Test
+    @DisplayName("Devrait ajouter une review sans charger la conférence ni ses reviews")
+    void testAddReview_DoesNotLoadConference() {
+        // Arrange
+        Conference reference = conference(1L, null);
+        ReviewRequestDTO request = new ReviewRequestDTO();
+        request.setCommentaire("Très bien");
+        request.setDate(new Date());
+        when(conferenceRepository.incrementVersion(1L)).thenReturn(1);
+        when(conferenceRepository.getReferenceById(1L)).thenReturn(reference);
+        when(reviewRepository.save(any(Review.class))).thenAnswer(invocation -> {
+            Review review = invocation.getArgument(0);
+            review.setId(7L);
+            return review;
+        });
+
+        // Act
+        ReviewResponseDTO result = conferenceService.addReview(1L, request);
+
+        // Assert
+        assertEquals(7L, result.getId());
+        assertEquals("Très bien", result.getCommentaire());
+        verify(reviewRepository).save(argThat(review -> review.getConference() == reference));
+        verify(conferenceRepository).incrementVersion(1L);
+        verify(conferenceRepository, never()).findById(anyLong());
+        verify(conferenceRepository, never()).save(any(Conference.class));
+    }
+
+    @Test
+    @DisplayName("Devrait lever une exception en ajoutant une review à une conférence inexistante")
+    void testAddReview_ConferenceNotFound() {
+        // Arrange
+        when(conferenceRepository.incrementVersion(99L)).thenReturn(0);
+
+        // Act & Assert
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> conferenceService.addReview(99L, new ReviewRequestDTO()));
+        assertEquals("Conference not found", exception.getMessage());
+        verify(reviewRepository, never()).save(any(Review.class));
+    }
+
+    @Test
+    @DisplayName("Devrait paginer les reviews d'une conférence")
+    void testGetReviews_Paged() {
+        // Arrange
+        Review review = Review.builder().id(3L).commentaire("Bien").date(new Date()).build();
+        when(conferenceRepository.existsById(1L)).thenReturn(true);
+        when(reviewRepository.findByConferenceId(1L, PageRequest.of(1, 1)))
+                .thenReturn(new PageImpl<>(List.of(review), PageRequest.of(1, 1), 3));
+
+        // Act
+        PageResponseDTO<ReviewResponseDTO> result = conferenceService.getReviews(1L, PageRequest.of(1, 1));
+
+        // Assert
+        assertEquals(1, result.getContent().size());
+        assertEquals(3L, result.getContent().get(0).getId());
+        assertEquals(3L, result.getTotalElements());
+        assertTrue(result.isHasNext());
+    }
+
+    @Test
+    @DisplayName("Devrait supprimer une review par une seule requête ciblée")
+    void testDeleteReviewFromConference_Success() {
+        // Arrange
+        when(reviewRepository.deleteByIdAndConferenceId(5L, 1L)).thenReturn(1);
+
+        // Act
+        conferenceService.deleteReviewFromConference(1L, 5L);
+
+        // Assert
+        verify(reviewRepository).deleteByIdAndConferenceId(5L, 1L);
+        verify(conferenceRepository).incrementVersion(1L);
+        verify(conferenceRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    @DisplayName("Devrait lever une exception quand la review n'appartient pas à la conférence")
+    void testDeleteReviewFromConference_NotFound() {
+        // Arrange
+        when(reviewRepository.deleteByIdAndConferenceId(5L, 2L)).thenReturn(0);
+
+        // Act & Assert
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> conferenceService.deleteReviewFromConference(2L, 5L));
+        assertEquals("Review not found in this conference", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Devrait créer les conférences en masse par lots, une transaction par lot, reviews rattachées")
+    void testCreateConferences_PersistsInChunks() {
+        // Arrange
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        ReflectionTestUtils.setField(conferenceService, "transactionTemplate", new TransactionTemplate(transactionManager));
+        ReflectionTestUtils.setField(conferenceService, "bulkChunkSize", 2);
+        ConferenceRequestDTO request = new ConferenceRequestDTO();
+        request.setTitre("Bulk");
+        request.setType(TypeConference.Academic);
+        request.setReviews(List.of(new ReviewRequestDTO(new Date(), "Bien")));
+        List<List<Conference>> chunks = new ArrayList<>();
+        when(conferenceRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            chunks.add(invocation.getArgument(0));
+            return invocation.getArgument(0);
+        });
+
+        // Act
+        BulkResultDTO result = conferenceService.createConferences(Collections.nCopies(3, request).iterator());
+
+        // Assert
+        assertEquals(3L, result.getCreated());
+        assertEquals(2, result.getChunks());
+        assertEquals(List.of(2, 1), chunks.stream().map(List::size).toList());
+        Conference created = chunks.get(0).get(0);
+        assertSame(created, created.getReviews().get(0).getConference());
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    @Test
+    @DisplayName("Devrait exporter en CSV avec en-tête, échappement et keynote résolue par lot")
+    void testExportConferences_Csv() throws Exception {
+        // Arrange
+        Conference conference = conference(1L, 10L);
+        conference.setTitre("Java, \"moderne\"");
+        when(conferenceRepository.streamAll()).thenReturn(Stream.of(conference, conference(2L, null)));
+        when(keynoteCache.getAll(List.of(10L))).thenReturn(lookup(Map.of(10L, keynote(10L))));
+        when(reviewRepository.countByConferenceIds(List.of(1L, 2L))).thenReturn(List.of(reviewCount(1L, 2L)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        long exported = conferenceService.exportConferences(DataFormat.CSV, out);
+
+        // Assert
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2L, exported);
+        assertEquals(3, lines.length);
+        assertTrue(lines[0].startsWith("id,titre,type"));
+        assertTrue(lines[1].startsWith("1,\"Java, \"\"moderne\"\"\",Academic,"));
+        assertTrue(lines[1].endsWith(",2,10,Nom10,,"));
+        assertTrue(lines[2].endsWith(",0,,,,"));
+        verify(entityManager, times(1)).clear();
+    }
+
+    @Test
+    @DisplayName("Devrait importer du NDJSON en rejetant les enregistrements invalides sans s'arrêter")
+    void testImportConferences_Ndjson() throws Exception {
+        // Arrange
+        ReflectionTestUtils.setField(conferenceService, "transactionTemplate", new TransactionTemplate(mock(PlatformTransactionManager.class)));
+        ReflectionTestUtils.setField(conferenceService, "bulkChunkSize", 2);
+        String body = """
+                {"titre":"A","type":"Academic","date":"2025-03-01T09:00:00Z","keynoteId":10}
+                {"titre":"B","type":"Inconnu","date":"2025-03-01T09:00:00Z"}
+                {"type":"Academic","date":"2025-03-01T09:00:00Z"}
+                {"titre":"C","type":"commercial","date":"2025-03-02T09:00:00Z","keynoteId":99}
+                {"titre":"D","type":"commercial","date":"2025-03-03T09:00:00Z"}
+                """;
+        when(keynoteCache.getAll(List.of(10L, 99L))).thenReturn(lookup(Map.of(10L, keynote(10L))));
+        when(keynoteCache.getAll(List.of())).thenReturn(lookup(Map.of()));
+        List<List<Conference>> saved = new ArrayList<>();
+        when(conferenceRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            saved.add(invocation.getArgument(0));
+            return invocation.getArgument(0);
+        });
+
+        // Act
+        ImportResultDTO result = conferenceService.importConferences(DataFormat.NDJSON,
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+
+        // Assert
+        assertEquals(2L, result.getAccepted());
+        assertEquals(3L, result.getRejected());
+        assertEquals(2, result.getChunks());
+        assertEquals(List.of(2L, 3L, 4L), result.getErrors().stream().map(ImportErrorDTO::getRecord).toList());
+        assertEquals("titre is required", result.getErrors().get(1).getMessage());
+        assertEquals("Unknown keynoteId: 99", result.getErrors().get(2).getMessage());
+        assertEquals(List.of("A", "D"), saved.stream().flatMap(List::stream).map(Conference::getTitre).toList());
+    }
+
+    @Test
+    @DisplayName("Devrait importer du CSV avec en-tête et colonnes vides")
+    void testImportConferences_Csv() throws Exception {
+        // Arrange
+        ReflectionTestUtils.setField(conferenceService, "transactionTemplate", new TransactionTemplate(mock(PlatformTransactionManager.class)));
+        ReflectionTestUtils.setField(conferenceService, "bulkChunkSize", 100);
+        String body = """
+                titre,type,date,duree,nombreInscrits,score,keynoteId
+                Spring,Academic,2025-03-01T09:00:00Z,90,40,4.5,
+                Kafka,commercial,2025-03-02T09:00:00Z,,,,
+                """;
+        when(keynoteCache.getAll(List.of())).thenReturn(lookup(Map.of()));
+        when(conferenceRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        ImportResultDTO result = conferenceService.importConferences(DataFormat.CSV,
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+
+        // Assert
+        assertEquals(2L, result.getAccepted());
+        assertEquals(0L, result.getRejected());
+        verify(conferenceRepository).saveAll(argThat(conferences -> ((List<Conference>) conferences).get(0).getDuree() == 90.0
+                && ((List<Conference>) conferences).get(1).getDuree() == null));
+    }
+
+    @Test
+    @DisplayName("Devrait marquer les conférences dégradées quand keynote-service ne répond pas")
+    void testGetConferences_DegradedKeynotes() {
+        // Arrange
+        when(conferenceRepository.findAll(any(Specification.class), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(conference(1L, 10L), conference(2L, 20L), conference(3L, null)), PageRequest.of(0, 20), 3));
+        when(keynoteCache.getAll(List.of(10L, 20L))).thenReturn(new KeynoteLookup(Map.of(10L, keynote(10L)), true));
+        when(reviewRepository.countByConferenceIds(anyList())).thenReturn(List.of());
+
+        // Act
+        List<ConferenceSummaryDTO> result = conferenceService.getConferences(new ConferenceFilterDTO(), PageRequest.of(0, 20)).getContent();
+
+        // Assert
+        assertEquals(10L, result.get(0).getKeynote().getId());
+        assertTrue(result.get(0).isKeynoteDegraded());
+        assertNull(result.get(1).getKeynote());
+        assertTrue(result.get(1).isKeynoteDegraded());
+        assertFalse(result.get(2).isKeynoteDegraded());
+    }
+
+    @Test
+    @DisplayName("Devrait refuser une mise à jour dont la version attendue (If-Match) est périmée")
+    void testUpdateConference_StaleVersion() {
+        // Arrange
+        Conference existing = conference(1L, null);
+        existing.setVersion(3L);
+        when(conferenceRepository.findById(1L)).thenReturn(Optional.of(existing));
+
+        // Act & Assert
+        assertThrows(OptimisticLockingFailureException.class,
+                () -> conferenceService.updateConference(1L, new ConferenceRequestDTO(), 2L));
+        verify(conferenceRepository, never()).save(any(Conference.class));
+    }
+}
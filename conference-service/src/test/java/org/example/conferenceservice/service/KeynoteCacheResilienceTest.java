@@ -0,0 +1,143 @@
+package org.example.conferenceservice.service;
+
+import com.sun.net.httpserver.HttpServer;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * KeynoteCache face à un faux keynote-service local dont la latence est réglable :
+ * délai par appel, ouverture du circuit et lecture dégradée sans appel réseau une fois le circuit ouvert.
+ */
+@SpringBootTest(properties = {
+        "eureka.client.enabled=false",
+        "spring.cloud.openfeign.client.config.keynote-service.connect-timeout=200",
+        "spring.cloud.openfeign.client.config.keynote-service.read-timeout=200",
+        "resilience4j.circuitbreaker.instances.keynote-service.sliding-window-size=4",
+        "resilience4j.circuitbreaker.instances.keynote-service.minimum-number-of-calls=4",
+        "resilience4j.circuitbreaker.instances.keynote-service.failure-rate-threshold=50",
+        "resilience4j.circuitbreaker.instances.keynote-service.wait-duration-in-open-state=1m"
+})
+@DisplayName("KeynoteCache face à un keynote-service lent")
+class KeynoteCacheResilienceTest {
+
+    private static final AtomicLong latencyMillis = new AtomicLong();
+    private static final AtomicInteger requests = new AtomicInteger();
+    private static final HttpServer stub = startStub();
+
+    @Autowired
+    private KeynoteCache keynoteCache;
+
+    @Autowired
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private static HttpServer startStub() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            server.createContext("/api/keynotes/", exchange -> {
+                requests.incrementAndGet();
+                try {
+                    Thread.sleep(latencyMillis.get());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                String id = exchange.getRequestURI().getPath().substring("/api/keynotes/".length());
+                byte[] body = ("{\"id\":" + id + ",\"nom\":\"Stub\"}").getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                } catch (IOException ignored) {
+                    // le client a abandonné après son délai
+                }
+            });
+            server.setExecutor(Executors.newCachedThreadPool());
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @DynamicPropertySource
+    static void keynoteServiceUrl(DynamicPropertyRegistry registry) {
+        registry.add("spring.cloud.openfeign.client.config.keynote-service.url",
+                () -> "http://localhost:" + stub.getAddress().getPort());
+    }
+
+    @AfterAll
+    static void stopStub() {
+        stub.stop(0);
+    }
+
+    @BeforeEach
+    void setUp() {
+        circuitBreakerRegistry.circuitBreaker(KeynoteCache.KEYNOTE_SERVICE).reset();
+        requests.set(0);
+    }
+
+    @Test
+    @DisplayName("Devrait résoudre la keynote quand keynote-service répond dans le délai")
+    void fastKeynoteService_notDegraded() {
+        // Arrange
+        latencyMillis.set(0);
+
+        // Act
+        KeynoteLookup lookup = keynoteCache.get(1L);
+
+        // Assert
+        assertFalse(lookup.isDegraded());
+        assertEquals("Stub", lookup.get(1L).getNom());
+        assertEquals(1, requests.get());
+    }
+
+    @Test
+    @DisplayName("Devrait couper les appels après des délais dépassés et répondre dégradé sans attendre")
+    void slowKeynoteService_opensCircuit() {
+        // Arrange
+        latencyMillis.set(1_000);
+        CircuitBreaker circuitBreaker = circuitBreakerRegistry.circuitBreaker(KeynoteCache.KEYNOTE_SERVICE);
+
+        // Act : quatre appels qui dépassent le délai de lecture de 200 ms
+        for (long id = 100; id < 104; id++) {
+            long start = System.nanoTime();
+            KeynoteLookup lookup = keynoteCache.get(id);
+            assertTrue(lookup.isDegraded());
+            assertNull(lookup.get(id));
+            assertTrue((System.nanoTime() - start) / 1_000_000 < 900, "l'appel doit être coupé par le délai de lecture");
+        }
+        long start = System.nanoTime();
+        KeynoteLookup afterOpen = keynoteCache.get(104L);
+        long afterOpenMillis = (System.nanoTime() - start) / 1_000_000;
+
+        // Assert
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertTrue(afterOpen.isDegraded());
+        assertTrue(afterOpenMillis < 100, "circuit ouvert : réponse immédiate, " + afterOpenMillis + " ms");
+        assertEquals(4, requests.get());
+        assertEquals(4, meterRegistry.get("keynote.client.latency").tag("operation", "byId").tag("outcome", "error").timer().count());
+        assertEquals(1, meterRegistry.get("keynote.client.latency").tag("operation", "byId").tag("outcome", "circuit_open").timer().count());
+        assertFalse(meterRegistry.find("resilience4j.circuitbreaker.state").tag("name", KeynoteCache.KEYNOTE_SERVICE).gauges().isEmpty());
+    }
+}
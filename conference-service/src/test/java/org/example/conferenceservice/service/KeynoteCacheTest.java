@@ -0,0 +1,295 @@
+package org.example.conferenceservice.service;
+
+import feign.FeignException;
+import feign.Request;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.conferenceservice.model.Keynote;
+import org.example.conferenceservice.web.KeynoteClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests unitaires pour KeynoteCache")
+class KeynoteCacheTest {
+
+    @Mock
+    private KeynoteClient keynoteClient;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+    private KeynoteCache keynoteCache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        circuitBreakerRegistry = CircuitBreakerRegistry.ofDefaults();
+        keynoteCache = keynoteCache(2, Duration.ofSeconds(3));
+    }
+
+    private KeynoteCache keynoteCache(int maxConcurrency, Duration deadline) {
+        return new KeynoteCache(keynoteClient, meterRegistry, circuitBreakerRegistry, BulkheadRegistry.ofDefaults(),
+                Executors.newVirtualThreadPerTaskExecutor(), 100, Duration.ofMinutes(10), Duration.ofMinutes(5), 2,
+                maxConcurrency, deadline, Duration.ZERO);
+    }
+
+    // Lance les lectures en même temps sur des threads virtuels et attend qu'elles soient toutes terminées
+    private List<KeynoteLookup> concurrently(List<Long> keynoteIds) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        try (ExecutorService readers = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<KeynoteLookup>> lookups = new ArrayList<>();
+            for (Long keynoteId : keynoteIds) {
+                lookups.add(readers.submit(() -> {
+                    start.await();
+                    return keynoteCache.get(keynoteId);
+                }));
+            }
+            start.countDown();
+            List<KeynoteLookup> results = new ArrayList<>();
+            for (Future<KeynoteLookup> lookup : lookups) {
+                results.add(lookup.get(5, TimeUnit.SECONDS));
+            }
+            return results;
+        }
+    }
+
+    private Keynote keynote(long id) {
+        Keynote keynote = new Keynote();
+        keynote.setId(id);
+        keynote.setNom("Nom" + id);
+        return keynote;
+    }
+
+    @Test
+    @DisplayName("Devrait servir la deuxième lecture depuis le cache")
+    void testGet_CachesKeynote() {
+        // Arrange
+        when(keynoteClient.getKeynoteById(1L)).thenReturn(keynote(1L));
+
+        // Act
+        Keynote first = keynoteCache.get(1L).get(1L);
+        Keynote second = keynoteCache.get(1L).get(1L);
+
+        // Assert
+        assertEquals(1L, first.getId());
+        assertSame(first, second);
+        verify(keynoteClient, times(1)).getKeynoteById(1L);
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "keynotes").tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "keynotes").tag("result", "miss").functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("Devrait partager un seul appel entre les lectures simultanées d'une même keynote")
+    void testGet_ConcurrentLookupsShareOneCall() throws Exception {
+        // Arrange
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(keynoteClient.getKeynoteById(1L)).thenAnswer(invocation -> {
+            loading.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return keynote(1L);
+        });
+
+        // Act
+        List<KeynoteLookup> results = new ArrayList<>();
+        try (ExecutorService readers = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<KeynoteLookup>> lookups = new ArrayList<>();
+            lookups.add(readers.submit(() -> keynoteCache.get(1L)));
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+            for (int i = 0; i < 7; i++) {
+                lookups.add(readers.submit(() -> keynoteCache.get(1L)));
+            }
+            Thread.sleep(100);
+            release.countDown();
+            for (Future<KeynoteLookup> lookup : lookups) {
+                results.add(lookup.get(5, TimeUnit.SECONDS));
+            }
+        }
+
+        // Assert
+        assertTrue(results.stream().allMatch(lookup -> lookup.get(1L) != null && !lookup.isDegraded()));
+        verify(keynoteClient, times(1)).getKeynoteById(1L);
+        assertEquals(1.0, meterRegistry.get("keynote.lookup.loads").tag("mode", "single").counter().count());
+        assertEquals(7.0, meterRegistry.get("keynote.lookup.coalesced").counter().count());
+    }
+
+    @Test
+    @DisplayName("Devrait regrouper les lectures unitaires de la fenêtre de micro-batching en un appel groupé")
+    void testGet_MicroBatchesLookups() throws Exception {
+        // Arrange
+        keynoteCache = new KeynoteCache(keynoteClient, meterRegistry, circuitBreakerRegistry, BulkheadRegistry.ofDefaults(),
+                Executors.newVirtualThreadPerTaskExecutor(), 100, Duration.ofMinutes(10), Duration.ofMinutes(5), 10,
+                2, Duration.ofSeconds(3), Duration.ofMillis(50));
+        when(keynoteClient.getKeynotesByIds(anyList())).thenAnswer(invocation -> {
+            List<Long> ids = invocation.getArgument(0);
+            return ids.stream().filter(id -> id != 99L).map(this::keynote).toList();
+        });
+
+        // Act
+        List<KeynoteLookup> results = concurrently(List.of(1L, 2L, 99L));
+
+        // Assert
+        assertEquals(1L, results.get(0).get(1L).getId());
+        assertEquals(2L, results.get(1).get(2L).getId());
+        assertNull(results.get(2).get(99L));
+        assertFalse(results.get(2).isDegraded());
+        verify(keynoteClient, times(1)).getKeynotesByIds(argThat(ids -> ids.containsAll(List.of(1L, 2L, 99L))));
+        verify(keynoteClient, never()).getKeynoteById(anyLong());
+        assertEquals(3.0, meterRegistry.get("keynote.batch.size").summary().totalAmount());
+    }
+
+    @Test
+    @DisplayName("Devrait charger les clés manquantes par lots de batch-size ids")
+    void testGetAll_LoadsMissingKeysInChunks() {
+        // Arrange
+        when(keynoteClient.getKeynoteById(1L)).thenReturn(keynote(1L));
+        keynoteCache.get(1L);
+        when(keynoteClient.getKeynotesByIds(anyList())).thenAnswer(invocation -> {
+            List<Long> ids = invocation.getArgument(0);
+            return ids.stream().map(this::keynote).toList();
+        });
+
+        // Act
+        KeynoteLookup result = keynoteCache.getAll(List.of(1L, 2L, 3L, 4L));
+
+        // Assert
+        assertEquals(4, result.getKeynotes().size());
+        assertFalse(result.isDegraded());
+        verify(keynoteClient, times(2)).getKeynotesByIds(anyList());
+        verify(keynoteClient, never()).getKeynotesByIds(argThat(ids -> ids.contains(1L)));
+    }
+
+    @Test
+    @DisplayName("Devrait recharger une keynote après invalidation")
+    void testEvict_ForcesReload() {
+        // Arrange
+        when(keynoteClient.getKeynoteById(1L)).thenReturn(keynote(1L));
+        keynoteCache.get(1L);
+
+        // Act
+        keynoteCache.evict(1L);
+        keynoteCache.get(1L);
+
+        // Assert
+        verify(keynoteClient, times(2)).getKeynoteById(1L);
+    }
+
+    @Test
+    @DisplayName("Devrait retourner null pour une keynote inconnue de keynote-service")
+    void testGet_NotFound() {
+        // Arrange
+        Request request = Request.create(Request.HttpMethod.GET, "/api/keynotes/99", new HashMap<>(), null, StandardCharsets.UTF_8, null);
+        when(keynoteClient.getKeynoteById(99L))
+                .thenThrow(new FeignException.NotFound("Not Found", request, null, null));
+
+        // Act & Assert
+        assertNull(keynoteCache.get(99L).get(99L));
+        assertFalse(keynoteCache.get(99L).isDegraded());
+        assertNull(keynoteCache.get(null).get(null));
+        // Une absence n'est pas mise en cache : deux appels, tous deux comptés comme not_found
+        assertEquals(2L, meterRegistry.get("keynote.client.latency").tag("operation", "byId").tag("outcome", "not_found").timer().count());
+    }
+
+    @Test
+    @DisplayName("Devrait servir le cache sans appeler keynote-service quand le circuit est ouvert")
+    void testGetAll_CircuitOpen() {
+        // Arrange
+        when(keynoteClient.getKeynoteById(1L)).thenReturn(keynote(1L));
+        keynoteCache.get(1L);
+        circuitBreakerRegistry.circuitBreaker(KeynoteCache.KEYNOTE_SERVICE).transitionToForcedOpenState();
+
+        // Act
+        KeynoteLookup result = keynoteCache.getAll(List.of(1L, 2L));
+
+        // Assert
+        assertTrue(result.isDegraded());
+        assertEquals(1L, result.get(1L).getId());
+        assertNull(result.get(2L));
+        verify(keynoteClient, never()).getKeynotesByIds(anyList());
+    }
+
+    @Test
+    @DisplayName("Devrait marquer la lecture dégradée quand keynote-service est en erreur")
+    void testGet_ClientFailure() {
+        // Arrange
+        Request request = Request.create(Request.HttpMethod.GET, "/api/keynotes/5", new HashMap<>(), null, StandardCharsets.UTF_8, null);
+        when(keynoteClient.getKeynoteById(5L))
+                .thenThrow(new FeignException.ServiceUnavailable("Service Unavailable", request, null, null));
+
+        // Act
+        KeynoteLookup result = keynoteCache.get(5L);
+
+        // Assert
+        assertTrue(result.isDegraded());
+        assertNull(result.get(5L));
+        assertEquals(1L, meterRegistry.get("keynote.client.latency").tag("operation", "byId").tag("outcome", "error").timer().count());
+    }
+
+    @Test
+    @DisplayName("Devrait lancer les lots en parallèle sans dépasser max-concurrency")
+    void testGetAll_CapsConcurrentChunks() {
+        // Arrange
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        when(keynoteClient.getKeynotesByIds(anyList())).thenAnswer(invocation -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            Thread.sleep(50);
+            inFlight.decrementAndGet();
+            List<Long> ids = invocation.getArgument(0);
+            return ids.stream().map(this::keynote).toList();
+        });
+
+        // Act
+        KeynoteLookup result = keynoteCache.getAll(List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L, 11L, 12L));
+
+        // Assert
+        assertFalse(result.isDegraded());
+        assertEquals(12, result.getKeynotes().size());
+        verify(keynoteClient, times(6)).getKeynotesByIds(anyList());
+        assertEquals(2, maxInFlight.get());
+    }
+
+    @Test
+    @DisplayName("Devrait abandonner les lots en retard à l'échéance commune et répondre dégradé")
+    void testGetAll_DeadlineExceeded() {
+        // Arrange
+        keynoteCache = keynoteCache(4, Duration.ofMillis(200));
+        when(keynoteClient.getKeynotesByIds(anyList())).thenAnswer(invocation -> {
+            List<Long> ids = invocation.getArgument(0);
+            if (ids.contains(3L)) Thread.sleep(5_000);
+            return ids.stream().map(this::keynote).toList();
+        });
+
+        // Act
+        long start = System.nanoTime();
+        KeynoteLookup result = keynoteCache.getAll(List.of(1L, 2L, 3L, 4L));
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        // Assert
+        assertTrue(result.isDegraded());
+        assertTrue(elapsedMillis < 2_000, "elapsed: " + elapsedMillis + " ms");
+    }
+}
@@ -0,0 +1,289 @@
+package org.example.conferenceservice.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.conferenceservice.dto.ConferenceResponseDTO;
+import org.example.conferenceservice.dto.ConferenceSummaryDTO;
+import org.example.conferenceservice.entity.Conference;
+import org.example.conferenceservice.entity.KeynoteSnapshot;
+import org.example.conferenceservice.entity.TypeConference;
+import org.example.conferenceservice.dto.DataFormat;
+import org.example.conferenceservice.model.Keynote;
+import org.example.conferenceservice.model.KeynoteChange;
+import org.example.conferenceservice.model.KeynoteChanges;
+import org.example.conferenceservice.repository.ConferenceRepository;
+import org.example.conferenceservice.repository.KeynoteSnapshotRepository;
+import org.example.conferenceservice.web.ETags;
+import org.example.conferenceservice.web.KeynoteClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Copie locale des keynotes. La synchronisation automatique est désactivée : chaque test appelle poll() lui-même,
+ * face à un keynote-service simulé (flux de changements et état courant des keynotes).
+ */
+@SpringBootTest(properties = {
+        "eureka.client.enabled=false",
+        "keynote.snapshots.batch-size=2"
+})
+@DisplayName("Copie locale des keynotes")
+class KeynoteSnapshotsTest {
+
+    @Autowired
+    private IConferenceService conferenceService;
+
+    @Autowired
+    private KeynoteSnapshots keynoteSnapshots;
+
+    @Autowired
+    private KeynoteSnapshotRepository keynoteSnapshotRepository;
+
+    @Autowired
+    private ConferenceRepository conferenceRepository;
+
+    @Autowired
+    private KeynoteCache keynoteCache;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockitoBean
+    private KeynoteClient keynoteClient;
+
+    // État de keynote-service, partagé comme le curseur en base : son flux (position = rang + 1) et ses keynotes,
+    // dont celles des conférences créées au démarrage
+    private static final List<KeynoteChange> feed = new ArrayList<>();
+    private static final Map<Long, Keynote> remote = new ConcurrentHashMap<>(Map.of(
+            1L, keynote(1L, "Initiale", 0), 2L, keynote(2L, "Seconde", 0)));
+    private static boolean purged;
+    private final List<Long> conferenceIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        when(keynoteClient.getKeynoteChanges(anyLong(), anyInt()))
+                .thenAnswer(invocation -> page(invocation.getArgument(0), invocation.getArgument(1)));
+        when(keynoteClient.getKeynotesByIds(anyList())).thenAnswer(invocation -> invocation.<Collection<Long>>getArgument(0)
+                .stream().map(remote::get).filter(Objects::nonNull).toList());
+        when(keynoteClient.getKeynoteById(anyLong())).thenAnswer(invocation -> remote.get(invocation.<Long>getArgument(0)));
+        // Curseur créé et keynotes déjà référencées copiées avant chaque test
+        keynoteSnapshots.poll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        conferenceRepository.deleteAllById(conferenceIds);
+    }
+
+    // Un flux purgé répond une fois par un reset, repris après son dernier événement, comme keynote-service
+    private KeynoteChanges page(long after, int limit) {
+        KeynoteChanges page = new KeynoteChanges();
+        page.setReset(purged);
+        long from = purged ? feed.size() : after;
+        purged = false;
+        List<KeynoteChange> events = feed.subList((int) from, (int) Math.min(feed.size(), from + limit));
+        page.setAfter(from);
+        page.setEvents(List.copyOf(events));
+        page.setLastPosition(from + events.size());
+        return page;
+    }
+
+    private void publish(String type, Keynote keynote) {
+        KeynoteChange change = new KeynoteChange();
+        change.setPosition((long) feed.size() + 1);
+        change.setAggregate("keynote");
+        change.setAggregateId(keynote.getId());
+        change.setType(type);
+        change.setPayload(keynote);
+        feed.add(change);
+        if (type.equals("DELETED")) remote.remove(keynote.getId());
+        else remote.merge(keynote.getId(), keynote, (current, next) -> next.getVersion() < current.getVersion() ? current : next);
+    }
+
+    private static Keynote keynote(long id, String nom, long version) {
+        Keynote keynote = new Keynote();
+        keynote.setId(id);
+        keynote.setNom(nom);
+        keynote.setPrenom("Ada");
+        keynote.setEmail(nom.toLowerCase() + "@example.com");
+        keynote.setFonction("Speaker");
+        keynote.setVersion(version);
+        return keynote;
+    }
+
+    private Long conference(String titre, Long keynoteId) {
+        Long id = conferenceRepository.save(Conference.builder()
+                .titre(titre)
+                .type(TypeConference.Academic)
+                .date(new Date())
+                .duree(60.0)
+                .keynoteId(keynoteId)
+                .reviews(new ArrayList<>())
+                .build()).getId();
+        conferenceIds.add(id);
+        return id;
+    }
+
+    @Test
+    @DisplayName("Devrait servir la keynote depuis sa copie locale, sans appeler keynote-service, avec son âge")
+    void reads_joinSnapshotWithoutCallingKeynoteService() {
+        // Arrange
+        publish("CREATED", keynote(9101L, "Lovelace", 3));
+        keynoteSnapshots.poll();
+        Long id = conference("Copie locale", 9101L);
+        clearInvocations(keynoteClient);
+
+        // Act
+        ConferenceResponseDTO detail = conferenceService.getConferenceById(id);
+        ConferenceSummaryDTO summary = conferenceService.getConferences(null, PageRequest.of(0, 1_000)).getContent().stream()
+                .filter(conference -> conference.getId().equals(id))
+                .findFirst().orElseThrow();
+
+        // Assert
+        assertEquals("Lovelace", detail.getKeynote().getNom());
+        assertEquals(3L, detail.getKeynote().getVersion());
+        assertNotNull(detail.getKeynoteSnapshotAgeSeconds());
+        assertFalse(detail.isKeynoteDegraded());
+        assertEquals("Lovelace", summary.getKeynote().getNom());
+        assertNotNull(summary.getKeynoteSnapshotAgeSeconds());
+        assertEquals(ETags.of(0, 3), conferenceService.getConferenceETag(id));
+        verify(keynoteClient, never()).getKeynoteById(anyLong());
+        verify(keynoteClient, never()).getKeynotesByIds(anyList());
+    }
+
+    @Test
+    @DisplayName("Devrait exporter l'âge de la copie locale dans chaque ligne")
+    void export_carriesSnapshotAge() throws Exception {
+        // Arrange
+        publish("CREATED", keynote(9151L, "Hamilton", 0));
+        keynoteSnapshots.poll();
+        Long id = conference("Export", 9151L);
+        ByteArrayOutputStream ndjson = new ByteArrayOutputStream();
+        ByteArrayOutputStream csv = new ByteArrayOutputStream();
+
+        // Act
+        conferenceService.exportConferences(DataFormat.NDJSON, ndjson);
+        conferenceService.exportConferences(DataFormat.CSV, csv);
+
+        // Assert
+        JsonNode line = ndjson.toString(StandardCharsets.UTF_8).lines()
+                .map(this::readTree)
+                .filter(node -> node.get("id").asLong() == id)
+                .findFirst().orElseThrow();
+        assertTrue(line.get("keynoteSnapshotAgeSeconds").isNumber());
+        String row = csv.toString(StandardCharsets.UTF_8).lines()
+                .filter(csvLine -> csvLine.startsWith(id + ","))
+                .findFirst().orElseThrow();
+        assertTrue(row.matches(".*,Hamilton,Ada,\\d+"));
+    }
+
+    private JsonNode readTree(String json) {
+        try {
+            return objectMapper.readTree(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Test
+    @DisplayName("Devrait se rabattre sur keynote-service pour une keynote sans copie locale")
+    void reads_fallBackToKeynoteServiceWithoutSnapshot() {
+        // Arrange : keynote connue de keynote-service, pas encore copiée
+        remote.put(9201L, keynote(9201L, "Hopper", 1));
+        Long id = conference("Sans copie", 9201L);
+
+        // Act
+        ConferenceResponseDTO detail = conferenceService.getConferenceById(id);
+
+        // Assert
+        assertEquals("Hopper", detail.getKeynote().getNom());
+        assertNull(detail.getKeynoteSnapshotAgeSeconds());
+        assertFalse(keynoteSnapshotRepository.existsById(9201L));
+    }
+
+    @Test
+    @DisplayName("Devrait appliquer les changements dans l'ordre, sans revenir à une version plus ancienne")
+    void poll_appliesChangesInOrderAndIgnoresOlderVersions() {
+        // Arrange
+        long generation = keynoteSnapshots.generation();
+        publish("CREATED", keynote(9301L, "Turing", 0));
+        publish("UPDATED", keynote(9301L, "Turing-Renommé", 2));
+        publish("UPDATED", keynote(9301L, "Turing-Ancien", 1));
+        publish("CREATED", keynote(9302L, "Shannon", 0));
+        publish("DELETED", keynote(9302L, "Shannon", 0));
+
+        // Act
+        int changed = keynoteSnapshots.poll();
+
+        // Assert : trois pages de deux événements au plus
+        assertEquals(4, changed);
+        KeynoteSnapshot snapshot = keynoteSnapshotRepository.findById(9301L).orElseThrow();
+        assertEquals("Turing-Renommé", snapshot.getNom());
+        assertEquals(2L, snapshot.getVersion());
+        assertFalse(keynoteSnapshotRepository.existsById(9302L));
+        assertTrue(keynoteSnapshots.generation() > generation);
+        assertEquals(0, keynoteSnapshots.poll());
+    }
+
+    @Test
+    @DisplayName("Devrait retirer du cache les keynotes lues dans le flux de changements")
+    void poll_evictsChangedKeynotesFromCache() {
+        // Arrange : keynote sans copie, mise en cache par une lecture
+        remote.put(9351L, keynote(9351L, "Liskov", 0));
+        Long id = conference("En cache", 9351L);
+        conferenceService.getConferenceById(id);
+        assertNotNull(keynoteCache.peek(9351L));
+        publish("UPDATED", keynote(9351L, "Liskov-Renommée", 1));
+
+        // Act
+        keynoteSnapshots.poll();
+
+        // Assert
+        assertNull(keynoteCache.peek(9351L));
+        assertEquals("Liskov-Renommée", keynoteSnapshotRepository.findById(9351L).orElseThrow().getNom());
+    }
+
+    @Test
+    @DisplayName("Devrait réconcilier les copies avec keynote-service quand le curseur n'est plus lisible")
+    void poll_reconcilesOnReset() {
+        // Arrange : copies à jour, puis changements manqués et purgés du flux
+        publish("CREATED", keynote(9401L, "Knuth", 0));
+        publish("CREATED", keynote(9402L, "Dijkstra", 0));
+        keynoteSnapshots.poll();
+        remote.put(9401L, keynote(9401L, "Knuth-Modifié", 1));
+        remote.remove(9402L);
+        remote.put(9403L, keynote(9403L, "Liskov", 0));
+        conference("Keynote jamais copiée", 9403L);
+        purged = true;
+
+        // Act
+        int changed = keynoteSnapshots.poll();
+
+        // Assert
+        assertEquals(3, changed);
+        assertEquals("Knuth-Modifié", keynoteSnapshotRepository.findById(9401L).orElseThrow().getNom());
+        assertFalse(keynoteSnapshotRepository.existsById(9402L));
+        assertEquals("Liskov", keynoteSnapshotRepository.findById(9403L).orElseThrow().getNom());
+    }
+}
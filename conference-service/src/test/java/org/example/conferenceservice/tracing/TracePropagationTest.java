@@ -0,0 +1,151 @@
+package org.example.conferenceservice.tracing;
+
+import com.sun.net.httpserver.HttpServer;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import org.example.conferenceservice.entity.Conference;
+import org.example.conferenceservice.entity.TypeConference;
+import org.example.conferenceservice.repository.ConferenceRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Une lecture de conférence produit une seule trace : span serveur HTTP, spans JDBC des requêtes JPA
+ * et span client Feign, dont le contexte (en-tête traceparent) arrive jusqu'à un faux keynote-service local.
+ */
+@SpringBootTest(properties = {
+        "eureka.client.enabled=false",
+        "management.tracing.sampling.probability=1.0"
+})
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@DisplayName("Propagation des traces HTTP, JPA et Feign")
+class TracePropagationTest {
+
+    private static final Queue<String> traceparents = new ConcurrentLinkedQueue<>();
+    private static final HttpServer stub = startStub();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ConferenceRepository conferenceRepository;
+
+    @Autowired
+    private InMemorySpanExporter spanExporter;
+
+    @Autowired
+    private SdkTracerProvider tracerProvider;
+
+    private final List<Long> createdIds = new ArrayList<>();
+
+    @TestConfiguration
+    static class InMemoryExporterConfig {
+        @Bean
+        InMemorySpanExporter inMemorySpanExporter() {
+            return InMemorySpanExporter.create();
+        }
+    }
+
+    private static HttpServer startStub() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            server.createContext("/api/keynotes/", exchange -> {
+                traceparents.add(String.valueOf(exchange.getRequestHeaders().getFirst("traceparent")));
+                String id = exchange.getRequestURI().getPath().substring("/api/keynotes/".length());
+                byte[] body = ("{\"id\":" + id + ",\"nom\":\"Stub\"}").getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            });
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @DynamicPropertySource
+    static void keynoteServiceUrl(DynamicPropertyRegistry registry) {
+        registry.add("spring.cloud.openfeign.client.config.keynote-service.url",
+                () -> "http://localhost:" + stub.getAddress().getPort());
+    }
+
+    @AfterAll
+    static void stopStub() {
+        stub.stop(0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        conferenceRepository.deleteAllById(createdIds);
+        createdIds.clear();
+    }
+
+    @Test
+    @DisplayName("Devrait rattacher les spans JDBC et Feign à la trace de la requête et propager traceparent")
+    void getConferenceById_singleTraceAcrossJpaAndFeign() throws Exception {
+        // Arrange
+        Conference conference = conferenceRepository.save(Conference.builder()
+                .titre("Tracée")
+                .type(TypeConference.Academic)
+                .date(new Date())
+                .duree(60.0)
+                .keynoteId(4242L)
+                .reviews(new ArrayList<>())
+                .build());
+        createdIds.add(conference.getId());
+        traceparents.clear();
+        tracerProvider.forceFlush().join(5, TimeUnit.SECONDS);
+        spanExporter.reset();
+
+        // Act
+        mockMvc.perform(get("/api/conferences/{id}", conference.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.keynote.nom").value("Stub"));
+        tracerProvider.forceFlush().join(5, TimeUnit.SECONDS);
+
+        // Assert
+        List<SpanData> spans = spanExporter.getFinishedSpanItems();
+        SpanData server = spans.stream().filter(span -> span.getKind() == SpanKind.SERVER).findFirst().orElseThrow();
+        List<SpanData> trace = spans.stream().filter(span -> span.getTraceId().equals(server.getTraceId())).toList();
+        assertTrue(trace.stream().anyMatch(span -> span.getName().equals("query")), "span JDBC attendu : " + trace);
+        assertEquals(1, traceparents.size());
+        // traceparent = version-traceId-parentSpanId-flags : le faux keynote-service continue la trace d'un span client
+        String[] traceparent = traceparents.peek().split("-");
+        assertEquals(server.getTraceId(), traceparent[1]);
+        assertTrue(trace.stream().anyMatch(span -> span.getSpanId().equals(traceparent[2]) && span.getKind() == SpanKind.CLIENT),
+                "span client Feign attendu : " + trace);
+    }
+}
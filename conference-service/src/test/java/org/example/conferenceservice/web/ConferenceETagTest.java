@@ -0,0 +1,213 @@
+package org.example.conferenceservice.web;
+
+import org.example.conferenceservice.entity.Conference;
+import org.example.conferenceservice.entity.KeynoteSnapshot;
+import org.example.conferenceservice.entity.TypeConference;
+import org.example.conferenceservice.mapper.ConferenceMapper;
+import org.example.conferenceservice.model.Keynote;
+import org.example.conferenceservice.repository.ConferenceRepository;
+import org.example.conferenceservice.repository.KeynoteSnapshotRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "eureka.client.enabled=false")
+@AutoConfigureMockMvc
+@DisplayName("ETags et requêtes conditionnelles sur /api/conferences")
+class ConferenceETagTest {
+
+    private static final long KEYNOTE_ID = 7001L;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ConferenceRepository conferenceRepository;
+
+    @Autowired
+    private KeynoteSnapshotRepository keynoteSnapshotRepository;
+
+    @MockitoBean
+    private KeynoteClient keynoteClient;
+
+    @MockitoSpyBean
+    private ConferenceMapper conferenceMapper;
+
+    private Long conferenceId;
+
+    @BeforeEach
+    void setUp() {
+        conferenceId = conferenceRepository.save(Conference.builder()
+                .titre("Conditionnelle")
+                .type(TypeConference.Academic)
+                .date(new Date())
+                .duree(60.0)
+                .keynoteId(KEYNOTE_ID)
+                .reviews(new ArrayList<>())
+                .build()).getId();
+        Keynote keynote = new Keynote();
+        keynote.setId(KEYNOTE_ID);
+        keynote.setNom("Stub");
+        keynote.setVersion(4L);
+        when(keynoteClient.getKeynoteById(KEYNOTE_ID)).thenReturn(keynote);
+    }
+
+    @AfterEach
+    void tearDown() {
+        conferenceRepository.deleteById(conferenceId);
+    }
+
+    private String etagOf(String url) throws Exception {
+        return mockMvc.perform(get(url)).andExpect(status().isOk()).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    @Test
+    @DisplayName("Devrait répondre 304 à un If-None-Match à jour sans mapper ni appel Feign")
+    void getConferenceById_notModified() throws Exception {
+        // Arrange
+        String etag = etagOf("/api/conferences/" + conferenceId);
+        clearInvocations(conferenceMapper, keynoteClient);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/conferences/{id}", conferenceId).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+        assertEquals("\"0.4\"", etag);
+        verifyNoInteractions(conferenceMapper, keynoteClient);
+    }
+
+    @Test
+    @DisplayName("Devrait changer l'ETag de la conférence quand une review est ajoutée")
+    void addReview_changesConferenceETag() throws Exception {
+        // Arrange
+        String before = etagOf("/api/conferences/" + conferenceId);
+
+        // Act
+        mockMvc.perform(post("/api/conferences/{id}/reviews", conferenceId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"commentaire\":\"Bien\"}"))
+                .andExpect(status().isOk());
+
+        // Assert
+        mockMvc.perform(get("/api/conferences/{id}", conferenceId).header(HttpHeaders.IF_NONE_MATCH, before))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1.4\""));
+    }
+
+    @Test
+    @DisplayName("Devrait appliquer un PATCH avec If-Match à jour et refuser (412) celui qui porte une version périmée")
+    void patchConference_ifMatch() throws Exception {
+        // Arrange
+        String etag = etagOf("/api/conferences/" + conferenceId);
+
+        // Act & Assert
+        mockMvc.perform(patch("/api/conferences/{id}", conferenceId)
+                        .header(HttpHeaders.IF_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"titre\":\"Renommée\"}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(patch("/api/conferences/{id}", conferenceId)
+                        .header(HttpHeaders.IF_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"titre\":\"Écrasée\"}"))
+                .andExpect(status().isPreconditionFailed());
+        assertEquals("Renommée", conferenceRepository.findById(conferenceId).orElseThrow().getTitre());
+    }
+
+    @Test
+    @DisplayName("Devrait répondre 304 sur la liste tant qu'aucune conférence filtrée ne change")
+    void getConferences_aggregateETag() throws Exception {
+        // Arrange
+        String etag = etagOf("/api/conferences?type=Academic");
+        clearInvocations(conferenceMapper);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/conferences").param("type", "Academic").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        verify(conferenceMapper, never()).toSummaryDTO(any(), anyLong());
+        mockMvc.perform(patch("/api/conferences/{id}", conferenceId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"score\":4.5}"))
+                .andExpect(status().isOk());
+        String after = mockMvc.perform(get("/api/conferences").param("type", "Academic").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(etag, after);
+    }
+
+    @Test
+    @DisplayName("Devrait renvoyer la liste sans ETag quand une écriture est validée pendant la lecture de la page")
+    void getConferences_writeDuringRead_noETag() throws Exception {
+        // Arrange : pendant la construction de la page, une autre transaction modifie la conférence et valide
+        doAnswer(invocation -> {
+            CompletableFuture.runAsync(() -> {
+                Conference conference = conferenceRepository.findById(conferenceId).orElseThrow();
+                conference.setScore(1.5);
+                conferenceRepository.save(conference);
+            }).join();
+            return invocation.callRealMethod();
+        }).when(conferenceMapper).toSummaryDTO(argThat(conference -> conference.getId().equals(conferenceId)), anyLong());
+
+        // Act
+        MockHttpServletResponse response = mockMvc.perform(get("/api/conferences").param("type", "Academic").param("sort", "id,desc"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+
+        // Assert
+        assertNull(response.getHeader(HttpHeaders.ETAG));
+        reset(conferenceMapper);
+        assertNotNull(etagOf("/api/conferences?type=Academic"));
+    }
+
+    @Test
+    @DisplayName("Devrait envoyer l'âge de la copie locale de la keynote en en-tête, hors du corps protégé par l'ETag")
+    void getConferenceById_snapshotAgeOutsideETaggedBody() throws Exception {
+        // Arrange
+        keynoteSnapshotRepository.save(KeynoteSnapshot.builder()
+                .id(7002L).nom("Copie").version(6L).syncedAt(Instant.now().minusSeconds(120)).build());
+        Conference conference = conferenceRepository.findById(conferenceId).orElseThrow();
+        conference.setKeynoteId(7002L);
+        conferenceRepository.save(conference);
+
+        try {
+            // Act
+            MockHttpServletResponse response = mockMvc.perform(get("/api/conferences/{id}", conferenceId))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse();
+
+            // Assert
+            assertTrue(Long.parseLong(response.getHeader(ConferenceController.SNAPSHOT_AGE)) >= 120);
+            assertFalse(response.getContentAsString().contains("keynoteSnapshotAge"));
+            String etag = response.getHeader(HttpHeaders.ETAG);
+            assertEquals("\"1.6\"", etag);
+            mockMvc.perform(get("/api/conferences/{id}", conferenceId).header(HttpHeaders.IF_NONE_MATCH, etag))
+                    .andExpect(status().isNotModified());
+        } finally {
+            keynoteSnapshotRepository.deleteById(7002L);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package org.example.conferenceservice.web;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Utilisateur transmis par le gateway")
+class VerifiedPrincipalFilterTest {
+
+    private final VerifiedPrincipalFilter filter = new VerifiedPrincipalFilter();
+
+    @Test
+    @DisplayName("Devrait exposer l'utilisateur et ses rôles vérifiés par le gateway")
+    void verifiedHeaders_exposePrincipal() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/conferences");
+        request.addHeader(VerifiedPrincipalFilter.USER_HEADER, "alice");
+        request.addHeader(VerifiedPrincipalFilter.ROLES_HEADER, "ROLE_USER,SCOPE_profile");
+        MockFilterChain chain = new MockFilterChain();
+
+        // Act
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        // Assert
+        HttpServletRequest forwarded = (HttpServletRequest) chain.getRequest();
+        assertNotNull(forwarded);
+        assertEquals("alice", forwarded.getUserPrincipal().getName());
+        assertEquals("alice", forwarded.getRemoteUser());
+        assertTrue(forwarded.isUserInRole("USER"));
+        assertFalse(forwarded.isUserInRole("ADMIN"));
+    }
+
+    @Test
+    @DisplayName("Devrait laisser la requête anonyme sans utilisateur")
+    void noHeader_keepsRequestAnonymous() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/conferences");
+        MockFilterChain chain = new MockFilterChain();
+
+        // Act
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        // Assert
+        assertSame(request, chain.getRequest());
+        assertNull(((HttpServletRequest) chain.getRequest()).getUserPrincipal());
+    }
+}
@@ -0,0 +1,25 @@
+package org.example.gatewayservice.cache;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+
+/**
+ * Réponse amont conservée par {@link ResponseCacheFilter} : fraîche jusqu'à expiresAt,
+ * puis revalidable par If-None-Match tant qu'elle a un ETag.
+ */
+record CachedResponse(HttpStatusCode status, HttpHeaders headers, byte[] body, String etag,
+                      long storedAt, long expiresAt) {
+
+    boolean isFresh(long now) {
+        return now < expiresAt;
+    }
+
+    long ageSeconds(long now) {
+        return Math.max(0, (now - storedAt) / 1000);
+    }
+
+    // Confirmée par un 304 du service : même contenu, nouvelle période de fraîcheur
+    CachedResponse refreshed(long now, long ttlMillis) {
+        return new CachedResponse(status, headers, body, etag, now, now + ttlMillis);
+    }
+}
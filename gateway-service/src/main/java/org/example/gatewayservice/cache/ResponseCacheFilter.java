@@ -0,0 +1,374 @@
+package org.example.gatewayservice.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Cache en mémoire, borné en octets, des réponses aux GET des routes de gateway.response-cache.routes.
+ * <ul>
+ *   <li>une réponse 200 reste fraîche pendant le ttl de sa route, réduit par le s-maxage/max-age du service ;
+ *   no-store, private, Set-Cookie et Vary: * l'excluent, no-cache impose une revalidation à chaque lecture ;</li>
+ *   <li>expirée, une réponse avec ETag est revalidée par If-None-Match : un 304 du service la reconduit sans retransférer le corps ;</li>
+ *   <li>les GET identiques simultanés sur une entrée absente ou expirée ne font qu'une requête au service (single-flight) ;</li>
+ *   <li>une requête d'une autre méthode sur la route invalide les entrées du même chemin, de ses parents, de ses enfants
+ *   et celles qui partagent un de ses identifiants numériques (DELETE /keynotes/delete/5 invalide /keynotes/5).</li>
+ * </ul>
+ * La clé ne contient ni Authorization ni cookies : seules des routes dont la réponse ne dépend pas de l'appelant
+ * doivent être configurées. Le client reçoit X-Cache (HIT, COALESCED, REVALIDATED, MISS) et Age ; son propre
+ * If-None-Match est traité ici. Chaque GET est compté par gateway.cache.requests (route, result).
+ */
+public class ResponseCacheFilter implements GlobalFilter, Ordered {
+
+    static final String CACHE_NAME = "gateway.responses";
+    static final String X_CACHE = "X-Cache";
+    // Propres à une connexion, à un client ou à une réponse donnée : jamais rejoués depuis le cache
+    private static final Set<String> UNCACHED_HEADERS = Set.of(
+            "content-length", "transfer-encoding", "connection", "keep-alive", "set-cookie", "age", "x-cache");
+
+    private final List<CacheRoute> routes;
+    private final Cache<CacheKey, CachedResponse> cache;
+    private final Map<CacheKey, Sinks.One<CachedResponse>> inFlight = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final long maxEntryBytes;
+
+    record CacheKey(String route, String path, String query, String accept) {
+    }
+
+    // generation change à chaque modification passant par la route : une lecture commencée avant n'est pas mise en cache
+    private record CacheRoute(String id, PathPattern pattern, Duration ttl, AtomicLong generation) {
+    }
+
+    public ResponseCacheFilter(ResponseCacheProperties properties, MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.maxEntryBytes = properties.maxEntrySize().toBytes();
+        this.routes = properties.routes().stream()
+                .map(route -> new CacheRoute(route.id(), PathPatternParser.defaultInstance.parse(route.path()),
+                        route.ttl(), new AtomicLong()))
+                .toList();
+        long staleRetention = properties.staleRetention().toMillis();
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(properties.maxSize().toBytes())
+                .weigher((CacheKey key, CachedResponse response) -> response.body().length)
+                .expireAfter(Expiry.writing((CacheKey key, CachedResponse response) -> Duration.ofMillis(
+                        Math.max(0, response.expiresAt() - System.currentTimeMillis())
+                                + (response.etag() != null ? staleRetention : 0))))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    @Override
+    public int getOrder() {
+        // Avant NettyWriteResponseFilter, pour que le corps renvoyé par le service passe par la réponse décorée
+        return NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        PathContainer path = request.getPath().pathWithinApplication();
+        CacheRoute route = route(path);
+        if (route == null) return chain.filter(exchange);
+        HttpMethod method = request.getMethod();
+        if (method == HttpMethod.HEAD || method == HttpMethod.OPTIONS || method == HttpMethod.TRACE) return chain.filter(exchange);
+        if (method != HttpMethod.GET) return invalidating(exchange, chain, route, path.value());
+
+        Map<String, String> requestDirectives = directives(request.getHeaders().getCacheControl());
+        if (requestDirectives.containsKey("no-cache") || requestDirectives.containsKey("no-store")) {
+            count(route, "bypass");
+            return chain.filter(exchange);
+        }
+        CacheKey key = new CacheKey(route.id(), path.value(), request.getURI().getRawQuery(),
+                request.getHeaders().getFirst(HttpHeaders.ACCEPT));
+        String ifNoneMatch = request.getHeaders().getFirst(HttpHeaders.IF_NONE_MATCH);
+        CachedResponse cached = cache.getIfPresent(key);
+        if (cached != null && cached.isFresh(System.currentTimeMillis())) {
+            count(route, "hit");
+            return write(exchange.getResponse(), ifNoneMatch, cached, "HIT");
+        }
+
+        Sinks.One<CachedResponse> flight = Sinks.one();
+        Sinks.One<CachedResponse> leader = inFlight.putIfAbsent(key, flight);
+        if (leader != null) {
+            // Une requête identique est déjà en route vers le service : on attend sa réponse,
+            // ou on y va soi-même si elle n'était pas cacheable
+            count(route, "coalesced");
+            return leader.asMono()
+                    .map(Optional::of)
+                    .defaultIfEmpty(Optional.empty())
+                    .flatMap(response -> {
+                        if (response.isPresent()) return write(exchange.getResponse(), ifNoneMatch, response.get(), "COALESCED");
+                        exchange.getResponse().getHeaders().set(X_CACHE, "MISS");
+                        return chain.filter(exchange);
+                    });
+        }
+        // Le service reçoit notre propre If-None-Match (celui de l'entrée expirée), jamais celui du client :
+        // une réponse complète est nécessaire pour remplir le cache
+        ServerHttpRequest upstream = request.mutate().headers(headers -> {
+            headers.remove(HttpHeaders.IF_NONE_MATCH);
+            headers.remove(HttpHeaders.IF_MODIFIED_SINCE);
+            if (cached != null && cached.etag() != null) headers.setIfNoneMatch(cached.etag());
+        }).build();
+        CachingResponse response = new CachingResponse(exchange.getResponse(), route, key, cached, ifNoneMatch, flight);
+        return chain.filter(exchange.mutate().request(upstream).response(response).build())
+                .doFinally(signal -> {
+                    land(key, flight, null);
+                    count(route, response.result);
+                });
+    }
+
+    // Libère la clé dès que la réponse est connue : les GET suivants lisent le cache au lieu de rejoindre ce vol,
+    // et ceux qui l'attendaient repartent vers le service si la réponse n'est pas gardée (response null)
+    private void land(CacheKey key, Sinks.One<CachedResponse> flight, CachedResponse response) {
+        inFlight.remove(key, flight);
+        if (response != null) flight.tryEmitValue(response);
+        else flight.tryEmitEmpty();
+    }
+
+    private CacheRoute route(PathContainer path) {
+        for (CacheRoute route : routes) {
+            if (route.pattern().matches(path)) return route;
+        }
+        return null;
+    }
+
+    private Mono<Void> invalidating(ServerWebExchange exchange, GatewayFilterChain chain, CacheRoute route, String path) {
+        invalidate(route, path);
+        // Une seconde fois après la réponse : un GET concurrent a pu remettre en cache l'état d'avant la modification
+        return chain.filter(exchange).doFinally(signal -> invalidate(route, path));
+    }
+
+    private void invalidate(CacheRoute route, String path) {
+        route.generation().incrementAndGet();
+        Set<String> ids = Arrays.stream(path.split("/"))
+                .filter(segment -> !segment.isEmpty() && segment.chars().allMatch(Character::isDigit))
+                .collect(Collectors.toSet());
+        AtomicInteger removed = new AtomicInteger();
+        cache.asMap().keySet().removeIf(key -> {
+            boolean related = key.route().equals(route.id()) && related(key.path(), path, ids);
+            if (related) removed.incrementAndGet();
+            return related;
+        });
+        meterRegistry.counter("gateway.cache.invalidations", "route", route.id()).increment(removed.get());
+    }
+
+    // Même chemin, parent (la collection) ou enfant du chemin modifié, ou chemin qui contient un de ses identifiants
+    private static boolean related(String cachedPath, String path, Set<String> ids) {
+        if (cachedPath.equals(path) || path.startsWith(cachedPath + "/") || cachedPath.startsWith(path + "/")) return true;
+        for (String segment : cachedPath.split("/")) {
+            if (ids.contains(segment)) return true;
+        }
+        return false;
+    }
+
+    private void store(CacheRoute route, long generation, CacheKey key, CachedResponse response) {
+        if (route.generation().get() == generation) cache.put(key, response);
+    }
+
+    private void count(CacheRoute route, String result) {
+        meterRegistry.counter("gateway.cache.requests", "route", route.id(), "result", result).increment();
+    }
+
+    private static Mono<Void> write(ServerHttpResponse response, String ifNoneMatch, CachedResponse cached, String result) {
+        HttpHeaders headers = response.getHeaders();
+        headers.putAll(cached.headers());
+        headers.set(X_CACHE, result);
+        headers.set(HttpHeaders.AGE, String.valueOf(cached.ageSeconds(System.currentTimeMillis())));
+        headers.remove(HttpHeaders.TRANSFER_ENCODING);
+        if (matches(ifNoneMatch, cached.etag())) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            headers.remove(HttpHeaders.CONTENT_LENGTH);
+            return response.setComplete();
+        }
+        response.setStatusCode(cached.status());
+        headers.setContentLength(cached.body().length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(cached.body())));
+    }
+
+    // Durée de fraîcheur en ms selon la route et le Cache-Control du service, null si la réponse ne doit pas être gardée
+    private static Long ttl(CacheRoute route, HttpHeaders headers) {
+        Map<String, String> directives = directives(headers.getCacheControl());
+        if (directives.containsKey("no-store") || directives.containsKey("private")
+                || headers.containsKey(HttpHeaders.SET_COOKIE) || headers.getVary().contains("*")) {
+            return null;
+        }
+        if (directives.containsKey("no-cache")) return 0L;
+        long ttl = route.ttl().toMillis();
+        String maxAge = directives.getOrDefault("s-maxage", directives.get("max-age"));
+        if (maxAge != null) {
+            try {
+                ttl = Math.min(ttl, Long.parseLong(maxAge) * 1000);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        return ttl;
+    }
+
+    private static Map<String, String> directives(String cacheControl) {
+        Map<String, String> directives = new HashMap<>();
+        if (cacheControl == null) return directives;
+        for (String directive : cacheControl.split(",")) {
+            String[] parts = directive.trim().toLowerCase(Locale.ROOT).split("=", 2);
+            directives.put(parts[0], parts.length > 1 ? parts[1].replace("\"", "") : "");
+        }
+        return directives;
+    }
+
+    private static HttpHeaders cacheableHeaders(HttpHeaders headers) {
+        HttpHeaders cacheable = new HttpHeaders();
+        headers.forEach((name, values) -> {
+            String lower = name.toLowerCase(Locale.ROOT);
+            if (!UNCACHED_HEADERS.contains(lower) && !lower.startsWith("access-control-")) {
+                cacheable.put(name, List.copyOf(values));
+            }
+        });
+        return cacheable;
+    }
+
+    // If-None-Match : * ou liste d'ETags, comparés en mode faible
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || etag == null) return false;
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || opaque(tag).equals(opaque(etag))) return true;
+        }
+        return false;
+    }
+
+    private static String opaque(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+
+    /**
+     * Réponse du service au premier GET d'une clé : le corps est transmis au client au fil de l'eau
+     * et copié pour le cache tant qu'il ne dépasse pas gateway.response-cache.max-entry-size.
+     */
+    private class CachingResponse extends ServerHttpResponseDecorator {
+
+        private final CacheRoute route;
+        private final CacheKey key;
+        private final CachedResponse stale;
+        private final String ifNoneMatch;
+        private final Sinks.One<CachedResponse> flight;
+        private final long generation;
+        private ByteArrayOutputStream captured = new ByteArrayOutputStream();
+        private boolean landed;
+        private String result;
+
+        CachingResponse(ServerHttpResponse delegate, CacheRoute route, CacheKey key, CachedResponse stale,
+                        String ifNoneMatch, Sinks.One<CachedResponse> flight) {
+            super(delegate);
+            this.route = route;
+            this.key = key;
+            this.stale = stale;
+            this.ifNoneMatch = ifNoneMatch;
+            this.flight = flight;
+            this.generation = route.generation().get();
+            this.result = stale == null ? "miss" : "expired";
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            long now = System.currentTimeMillis();
+            if (stale != null && HttpStatus.NOT_MODIFIED.equals(getStatusCode())) {
+                result = "revalidated";
+                Long ttl = ttl(route, getHeaders());
+                CachedResponse refreshed = stale.refreshed(now, ttl != null ? ttl : 0);
+                if (ttl != null) store(route, generation, key, refreshed);
+                land(key, flight, refreshed);
+                return Flux.from(body).doOnNext(DataBufferUtils::release)
+                        .then(Mono.defer(() -> write(getDelegate(), ifNoneMatch, refreshed, "REVALIDATED")));
+            }
+            getHeaders().set(X_CACHE, "MISS");
+            Long ttl = HttpStatus.OK.equals(getStatusCode()) ? ttl(route, getHeaders()) : null;
+            String etag = getHeaders().getETag();
+            if (ttl == null || (ttl == 0 && etag == null)) {
+                land(key, flight, null);
+                return super.writeWith(body);
+            }
+
+            HttpHeaders headers = cacheableHeaders(getHeaders());
+            long contentLength = getHeaders().getContentLength();
+            Runnable complete = () -> {
+                if (landed) return;
+                landed = true;
+                if (captured == null) {
+                    land(key, flight, null);
+                    return;
+                }
+                CachedResponse response = new CachedResponse(getStatusCode(), headers, captured.toByteArray(),
+                        etag, now, now + ttl);
+                store(route, generation, key, response);
+                land(key, flight, response);
+            };
+            // Avec Content-Length, le dernier octet suffit : le client peut avoir tout reçu avant le signal de fin
+            Flux<? extends DataBuffer> teed = Flux.from(body)
+                    .doOnNext(buffer -> {
+                        capture(buffer);
+                        if (captured != null && captured.size() == contentLength) complete.run();
+                    })
+                    .doOnComplete(complete);
+            if (matches(ifNoneMatch, etag)) {
+                // Le client a déjà cette version : le corps n'est lu que pour le cache
+                return teed.doOnNext(DataBufferUtils::release).then(Mono.defer(() -> {
+                    setStatusCode(HttpStatus.NOT_MODIFIED);
+                    getHeaders().remove(HttpHeaders.CONTENT_LENGTH);
+                    getHeaders().remove(HttpHeaders.TRANSFER_ENCODING);
+                    return getDelegate().setComplete();
+                }));
+            }
+            return super.writeWith(teed);
+        }
+
+        private void capture(DataBuffer buffer) {
+            if (captured == null) return;
+            int length = buffer.readableByteCount();
+            if (captured.size() + length > maxEntryBytes) {
+                captured = null;
+                return;
+            }
+            byte[] bytes = new byte[length];
+            buffer.toByteBuffer(buffer.readPosition(), ByteBuffer.wrap(bytes), 0, length);
+            captured.write(bytes, 0, length);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package org.example.gatewayservice.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Configuration du cache de réponses du gateway (gateway.response-cache.*).
+ *
+ * @param maxSize        taille totale des corps en cache
+ * @param maxEntrySize   au-delà, la réponse est transmise sans être mise en cache
+ * @param staleRetention durée pendant laquelle une réponse expirée avec ETag est gardée pour être revalidée (304)
+ * @param routes         routes mises en cache : la première dont le motif correspond au chemin s'applique
+ */
+@ConfigurationProperties("gateway.response-cache")
+public record ResponseCacheProperties(@DefaultValue("64MB") DataSize maxSize,
+                                      @DefaultValue("1MB") DataSize maxEntrySize,
+                                      @DefaultValue("5m") Duration staleRetention,
+                                      @DefaultValue List<Route> routes) {
+
+    /**
+     * @param id   nom de la route, étiquette des métriques
+     * @param path motif de chemin (PathPattern) vu par le gateway, préfixe du service compris
+     * @param ttl  durée de fraîcheur, réduite par un max-age plus court renvoyé par le service
+     */
+    public record Route(String id, String path, Duration ttl) {
+    }
+}
@@ -0,0 +1,51 @@
+package org.example.gatewayservice.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.gatewayservice.security.CachingJwtAuthenticationManager;
+import org.example.gatewayservice.security.JwksCache;
+import org.example.gatewayservice.security.JwtCacheProperties;
+import org.example.gatewayservice.security.VerifiedPrincipalFilter;
+import org.springframework.boot.autoconfigure.security.oauth2.resource.OAuth2ResourceServerProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusReactiveJwtDecoder;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+import org.springframework.web.reactive.function.client.WebClient;
+
+/**
+ * Vérification des JWT par le gateway : clés du realm en cache ({@link JwksCache}), jetons vérifiés en cache
+ * ({@link CachingJwtAuthenticationManager}), et utilisateur vérifié transmis aux services ({@link VerifiedPrincipalFilter}).
+ * Remplace le décodeur auto-configuré à partir de spring.security.oauth2.resourceserver.jwt.* (mêmes propriétés).
+ */
+@Configuration
+@EnableConfigurationProperties({JwtCacheProperties.class, OAuth2ResourceServerProperties.class})
+public class JwtCacheConfig {
+
+    @Bean
+    public JwksCache jwksCache(OAuth2ResourceServerProperties resourceServer, JwtCacheProperties properties,
+                               WebClient.Builder webClientBuilder, MeterRegistry meterRegistry) {
+        return new JwksCache(webClientBuilder.build(), resourceServer.getJwt().getJwkSetUri(),
+                properties.jwksRefreshInterval(), properties.jwksMinRefreshInterval(), meterRegistry);
+    }
+
+    @Bean
+    public ReactiveJwtDecoder jwtDecoder(JwksCache jwksCache, OAuth2ResourceServerProperties resourceServer) {
+        NimbusReactiveJwtDecoder decoder = NimbusReactiveJwtDecoder.withJwkSource(jwksCache::keys).build();
+        String issuer = resourceServer.getJwt().getIssuerUri();
+        decoder.setJwtValidator(issuer != null ? JwtValidators.createDefaultWithIssuer(issuer) : JwtValidators.createDefault());
+        return decoder;
+    }
+
+    @Bean
+    public CachingJwtAuthenticationManager jwtAuthenticationManager(ReactiveJwtDecoder jwtDecoder, JwtAuthConverter jwtAuthConverter,
+                                                                    JwtCacheProperties properties, MeterRegistry meterRegistry) {
+        return new CachingJwtAuthenticationManager(jwtDecoder, jwtAuthConverter, properties, meterRegistry);
+    }
+
+    @Bean
+    public VerifiedPrincipalFilter verifiedPrincipalFilter() {
+        return new VerifiedPrincipalFilter();
+    }
+}
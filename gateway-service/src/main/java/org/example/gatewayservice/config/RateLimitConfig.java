@@ -0,0 +1,41 @@
+package org.example.gatewayservice.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.gatewayservice.ratelimit.RateLimitFilter;
+import org.example.gatewayservice.ratelimit.RateLimitProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Limitation de débit du gateway, active par défaut ; gateway.rate-limit.enabled=false la retire.
+ * Les limites par route peuvent venir de config-service : après un POST /actuator/refresh qui modifie
+ * gateway.rate-limit.*, la configuration est relue et appliquée sans redémarrage.
+ */
+@Configuration
+@EnableConfigurationProperties(RateLimitProperties.class)
+@ConditionalOnProperty(name = "gateway.rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitConfig {
+
+    private static final String PREFIX = "gateway.rate-limit";
+
+    @Bean
+    public RateLimitFilter rateLimitFilter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        return new RateLimitFilter(properties, meterRegistry);
+    }
+
+    // RateLimitProperties est un record, que le rebinder de Spring Cloud ne sait pas mettre à jour : on relie nous-mêmes
+    @Bean
+    public ApplicationListener<EnvironmentChangeEvent> rateLimitReloader(RateLimitFilter rateLimitFilter, Environment environment) {
+        return event -> {
+            if (event.getKeys().stream().anyMatch(key -> key.startsWith(PREFIX + "."))) {
+                rateLimitFilter.reload(Binder.get(environment).bindOrCreate(PREFIX, RateLimitProperties.class));
+            }
+        };
+    }
+}
@@ -0,0 +1,23 @@
+package org.example.gatewayservice.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.gatewayservice.cache.ResponseCacheFilter;
+import org.example.gatewayservice.cache.ResponseCacheProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Cache de réponses du gateway, actif par défaut ; gateway.response-cache.enabled=false le retire.
+ */
+@Configuration
+@EnableConfigurationProperties(ResponseCacheProperties.class)
+public class ResponseCacheConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "gateway.response-cache.enabled", havingValue = "true", matchIfMissing = true)
+    public ResponseCacheFilter responseCacheFilter(ResponseCacheProperties properties, MeterRegistry meterRegistry) {
+        return new ResponseCacheFilter(properties, meterRegistry);
+    }
+}
@@ -1,5 +1,6 @@
 package org.example.gatewayservice.config;
 
+import org.example.gatewayservice.security.CachingJwtAuthenticationManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
@@ -15,10 +16,10 @@ import java.util.List;
 @EnableWebFluxSecurity
 public class SecurityConfig {
 
-    private final JwtAuthConverter jwtAuthConverter;
+    private final CachingJwtAuthenticationManager jwtAuthenticationManager;
 
-    public SecurityConfig(JwtAuthConverter jwtAuthConverter) {
-        this.jwtAuthConverter = jwtAuthConverter;
+    public SecurityConfig(CachingJwtAuthenticationManager jwtAuthenticationManager) {
+        this.jwtAuthenticationManager = jwtAuthenticationManager;
     }
 
     @Bean
@@ -45,7 +46,7 @@ public class SecurityConfig {
 //                        .pathMatchers("/conference-service/api/conferences").hasAuthority("ROLE_USER")
                         .anyExchange().authenticated()
                 )
-                .oauth2ResourceServer(ors -> ors.jwt(jwt -> jwt.jwtAuthenticationConverter(jwtAuthConverter)))
+                .oauth2ResourceServer(ors -> ors.jwt(jwt -> jwt.authenticationManager(jwtAuthenticationManager)))
                 .build();
     }
 
@@ -0,0 +1,128 @@
+package org.example.gatewayservice.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limitation de débit par client sur les routes de gateway.rate-limit.routes, par seau à jetons local
+ * ({@link TokenBuckets}) : chaque client dispose de burstCapacity requêtes d'affilée, rendues au rythme
+ * de replenishRate par seconde.
+ * <ul>
+ *   <li>le client est l'utilisateur du JWT (preferred_username extrait par JwtAuthConverter),
+ *   ou l'adresse IP de l'appelant pour les requêtes anonymes des routes ouvertes ;</li>
+ *   <li>une requête acceptée reçoit X-RateLimit-Remaining, une requête refusée répond 429 avec Retry-After
+ *   (secondes arrondies au supérieur) sans atteindre le service ;</li>
+ *   <li>les seaux sont propres à chaque instance du gateway : le quota global est multiplié par le nombre d'instances.</li>
+ * </ul>
+ * Chaque décision est comptée par gateway.ratelimit.requests (route, result).
+ */
+public class RateLimitFilter implements GlobalFilter, Ordered {
+
+    static final String REMAINING = "X-RateLimit-Remaining";
+
+    private final MeterRegistry meterRegistry;
+    private volatile TokenBuckets buckets;
+    private volatile List<LimitedRoute> routes;
+
+    private record LimitedRoute(String id, PathPattern pattern, double replenishRate, int burstCapacity,
+                                Counter allowed, Counter rejected) {
+    }
+
+    public RateLimitFilter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        reload(properties);
+        Gauge.builder("gateway.ratelimit.keys", this, filter -> filter.buckets.size())
+                .description("Seaux à jetons conservés en mémoire (route x client)")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Applique une nouvelle configuration. Les seaux des clients sont conservés tant que le découpage
+     * en segments ne change pas : les nouvelles limites s'appliquent dès leur prochaine requête.
+     */
+    public void reload(RateLimitProperties properties) {
+        TokenBuckets current = buckets;
+        if (current == null || current.stripes() != properties.stripes() || current.maxKeys() != properties.maxKeys()) {
+            buckets = new TokenBuckets(properties.stripes(), properties.maxKeys());
+        }
+        routes = properties.routes().stream()
+                .map(route -> new LimitedRoute(route.id(), PathPatternParser.defaultInstance.parse(route.path()),
+                        route.replenishRate(), route.burstCapacity(),
+                        meterRegistry.counter("gateway.ratelimit.requests", "route", route.id(), "result", "allowed"),
+                        meterRegistry.counter("gateway.ratelimit.requests", "route", route.id(), "result", "rejected")))
+                .toList();
+    }
+
+    @Override
+    public int getOrder() {
+        // Avant le cache de réponses : une réponse servie depuis le cache compte aussi dans le quota
+        return NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 2;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        LimitedRoute route = route(exchange.getRequest().getPath().pathWithinApplication());
+        if (route == null) return chain.filter(exchange);
+        return exchange.getPrincipal()
+                .ofType(JwtAuthenticationToken.class)
+                .map(RateLimitFilter::user)
+                .switchIfEmpty(Mono.fromSupplier(() -> "ip:" + clientIp(exchange)))
+                .flatMap(client -> {
+                    TokenBuckets.Decision decision = buckets.tryAcquire(route.id() + '|' + client,
+                            route.replenishRate(), route.burstCapacity(), System.nanoTime());
+                    ServerHttpResponse response = exchange.getResponse();
+                    response.getHeaders().set(REMAINING, Long.toString(decision.remaining()));
+                    if (decision.allowed()) {
+                        route.allowed().increment();
+                        return chain.filter(exchange);
+                    }
+                    route.rejected().increment();
+                    response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+                    response.getHeaders().set(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds(decision)));
+                    return response.setComplete();
+                });
+    }
+
+    private LimitedRoute route(PathContainer path) {
+        for (LimitedRoute route : routes) {
+            if (route.pattern().matches(path)) return route;
+        }
+        return null;
+    }
+
+    private static long retryAfterSeconds(TokenBuckets.Decision decision) {
+        // Une route à replenishRate=0 ne rend jamais de jeton : on renvoie un délai long plutôt qu'un nombre absurde
+        if (decision.retryAfterNanos() == Long.MAX_VALUE) return TimeUnit.HOURS.toSeconds(1);
+        return Math.max(1, (decision.retryAfterNanos() + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+
+    // preferred_username, ou le sujet du jeton quand le realm ne fournit pas ce claim
+    private static String user(JwtAuthenticationToken token) {
+        String name = token.getName();
+        return "user:" + (name != null ? name : token.getToken().getSubject());
+    }
+
+    private static String clientIp(ServerWebExchange exchange) {
+        InetSocketAddress remoteAddress = exchange.getRequest().getRemoteAddress();
+        if (remoteAddress == null) return "unknown";
+        return remoteAddress.getAddress() != null ? remoteAddress.getAddress().getHostAddress() : remoteAddress.getHostString();
+    }
+}
@@ -0,0 +1,29 @@
+package org.example.gatewayservice.ratelimit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.List;
+
+/**
+ * Configuration du limiteur de débit du gateway (gateway.rate-limit.*), rechargée à chaud
+ * quand config-service publie de nouvelles valeurs (POST /actuator/refresh).
+ *
+ * @param stripes nombre de segments verrouillés indépendamment qui se partagent les seaux (arrondi à une puissance de 2)
+ * @param maxKeys nombre maximal de seaux conservés ; au-delà, les clients les moins récents sont oubliés
+ * @param routes  routes limitées : la première dont le motif correspond au chemin s'applique
+ */
+@ConfigurationProperties("gateway.rate-limit")
+public record RateLimitProperties(@DefaultValue("16") int stripes,
+                                  @DefaultValue("100000") int maxKeys,
+                                  @DefaultValue List<Route> routes) {
+
+    /**
+     * @param id            nom de la route, étiquette des métriques ; les seaux sont propres à chaque route
+     * @param path          motif de chemin (PathPattern) vu par le gateway, préfixe du service compris
+     * @param replenishRate jetons rendus par seconde à chaque client (débit soutenu)
+     * @param burstCapacity taille du seau : nombre de requêtes acceptées d'affilée après une période calme
+     */
+    public record Route(String id, String path, double replenishRate, int burstCapacity) {
+    }
+}
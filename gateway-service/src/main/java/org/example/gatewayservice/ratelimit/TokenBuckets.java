@@ -0,0 +1,109 @@
+package org.example.gatewayservice.ratelimit;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Seaux à jetons en mémoire, un par clé (route + client), répartis en segments verrouillés séparément :
+ * deux clients de segments différents ne se bloquent jamais. Chaque segment est un LRU borné à
+ * maxKeys / stripes seaux ; un client oublié repart avec un seau plein.
+ * Les jetons sont rendus paresseusement, au prochain passage du client, selon le temps écoulé.
+ */
+final class TokenBuckets {
+
+    private static final double NANOS_PER_SECOND = 1_000_000_000d;
+
+    private final Stripe[] stripes;
+    private final int requestedStripes;
+    private final int maxKeys;
+
+    /**
+     * @param allowed   la requête peut passer
+     * @param remaining jetons restants après cette requête
+     * @param retryAfterNanos délai avant le prochain jeton si la requête est refusée, 0 sinon
+     */
+    record Decision(boolean allowed, long remaining, long retryAfterNanos) {
+    }
+
+    private static final class Bucket {
+        private double tokens;
+        private long refilledAt;
+
+        private Bucket(double tokens, long refilledAt) {
+            this.tokens = tokens;
+            this.refilledAt = refilledAt;
+        }
+    }
+
+    private static final class Stripe extends LinkedHashMap<String, Bucket> {
+        private final int capacity;
+
+        private Stripe(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Bucket> eldest) {
+            return size() > capacity;
+        }
+    }
+
+    TokenBuckets(int stripes, int maxKeys) {
+        this.requestedStripes = stripes;
+        this.maxKeys = maxKeys;
+        // Puissance de 2 pour choisir le segment par masque
+        int count = stripes <= 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+        this.stripes = new Stripe[count];
+        int capacity = Math.max(1, maxKeys / count);
+        for (int i = 0; i < count; i++) {
+            this.stripes[i] = new Stripe(capacity);
+        }
+    }
+
+    Decision tryAcquire(String key, double replenishRate, int burstCapacity, long now) {
+        Stripe stripe = stripe(key);
+        synchronized (stripe) {
+            Bucket bucket = stripe.get(key);
+            if (bucket == null) {
+                bucket = new Bucket(burstCapacity, now);
+                stripe.put(key, bucket);
+            } else {
+                double refill = (now - bucket.refilledAt) * replenishRate / NANOS_PER_SECOND;
+                bucket.tokens = Math.min(burstCapacity, bucket.tokens + refill);
+                bucket.refilledAt = now;
+            }
+            if (bucket.tokens >= 1) {
+                bucket.tokens -= 1;
+                return new Decision(true, (long) bucket.tokens, 0);
+            }
+            long wait = replenishRate > 0
+                    ? (long) Math.ceil((1 - bucket.tokens) * NANOS_PER_SECOND / replenishRate)
+                    : Long.MAX_VALUE;
+            return new Decision(false, 0, wait);
+        }
+    }
+
+    int stripes() {
+        return requestedStripes;
+    }
+
+    int maxKeys() {
+        return maxKeys;
+    }
+
+    int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size();
+            }
+        }
+        return size;
+    }
+
+    private Stripe stripe(String key) {
+        int hash = key.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & (stripes.length - 1)];
+    }
+}
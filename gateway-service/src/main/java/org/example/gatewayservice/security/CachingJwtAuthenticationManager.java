@@ -0,0 +1,95 @@
+package org.example.gatewayservice.security;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+import org.springframework.security.oauth2.server.resource.authentication.BearerTokenAuthenticationToken;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.security.oauth2.server.resource.authentication.JwtReactiveAuthenticationManager;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Authentification des jetons Bearer avec cache des jetons déjà vérifiés : signature, claims et autorités
+ * (JwtAuthConverter) ne sont calculés qu'une fois par jeton, puis l'authentification est resservie
+ * jusqu'à l'exp du jeton (au plus maxTtl).
+ * La clé est l'empreinte SHA-256 du jeton ; les vérifications simultanées d'un même jeton n'en font qu'une.
+ * Un jeton refusé n'est pas mis en cache. Statistiques du cache sous le nom gateway.jwt.authentications.
+ */
+public class CachingJwtAuthenticationManager implements ReactiveAuthenticationManager {
+
+    static final String CACHE_NAME = "gateway.jwt.authentications";
+
+    private final ReactiveAuthenticationManager delegate;
+    private final AsyncCache<String, Authentication> cache;
+
+    public CachingJwtAuthenticationManager(ReactiveJwtDecoder jwtDecoder,
+                                           Converter<Jwt, ? extends Mono<? extends AbstractAuthenticationToken>> jwtAuthenticationConverter,
+                                           JwtCacheProperties properties, MeterRegistry meterRegistry) {
+        JwtReactiveAuthenticationManager manager = new JwtReactiveAuthenticationManager(jwtDecoder);
+        manager.setJwtAuthenticationConverter(jwtAuthenticationConverter);
+        this.delegate = manager;
+        long maxTtl = properties.maxTtl().toNanos();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.maxTokens())
+                .expireAfter(new Expiry<String, Authentication>() {
+                    @Override
+                    public long expireAfterCreate(String key, Authentication authentication, long currentTime) {
+                        return untilExpiry(authentication, maxTtl);
+                    }
+
+                    // Une entrée asynchrone est « mise à jour » quand son futur se termine : l'exp n'est connu qu'à ce moment
+                    @Override
+                    public long expireAfterUpdate(String key, Authentication authentication, long currentTime, long currentDuration) {
+                        return untilExpiry(authentication, maxTtl);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Authentication authentication, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    @Override
+    public Mono<Authentication> authenticate(Authentication authentication) {
+        if (!(authentication instanceof BearerTokenAuthenticationToken bearer)) return Mono.empty();
+        // suppressCancel : une requête abandonnée n'annule pas la vérification attendue par les autres
+        return Mono.fromFuture(() -> cache.get(fingerprint(bearer.getToken()),
+                (key, executor) -> delegate.authenticate(bearer).toFuture()), true);
+    }
+
+    private static long untilExpiry(Authentication authentication, long maxTtl) {
+        if (authentication instanceof JwtAuthenticationToken token && token.getToken().getExpiresAt() != null) {
+            long remaining = Duration.between(Instant.now(), token.getToken().getExpiresAt()).toNanos();
+            return Math.max(0, Math.min(remaining, maxTtl));
+        }
+        return maxTtl;
+    }
+
+    private static String fingerprint(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
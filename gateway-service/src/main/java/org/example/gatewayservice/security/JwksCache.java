@@ -0,0 +1,113 @@
+package org.example.gatewayservice.security;
+
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKMatcher;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jwt.SignedJWT;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Clés publiques du realm (JWKS), chargées au premier jeton puis rechargées en tâche de fond toutes les
+ * jwksRefreshInterval : la vérification d'une signature n'attend jamais Keycloak une fois les clés connues.
+ * <ul>
+ *   <li>un kid inconnu (rotation des clés) provoque un rechargement immédiat, au plus une fois par jwksMinRefreshInterval,
+ *   pour qu'un flot de jetons forgés ne se transforme pas en flot de requêtes vers Keycloak ;</li>
+ *   <li>les requêtes simultanées partagent le même rechargement ;</li>
+ *   <li>si Keycloak ne répond pas, les dernières clés connues restent utilisées.</li>
+ * </ul>
+ * Chaque rechargement est compté par gateway.jwks.refresh (result).
+ */
+public class JwksCache implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(JwksCache.class);
+
+    private final WebClient webClient;
+    private final String jwkSetUri;
+    private final long minRefreshNanos;
+    private final MeterRegistry meterRegistry;
+    private final Disposable refresher;
+    private volatile JWKSet jwkSet;
+    // Rechargement en cours et date du dernier lancé, protégés par this
+    private Mono<JWKSet> pending;
+    private long lastRefresh;
+
+    public JwksCache(WebClient webClient, String jwkSetUri, Duration refreshInterval, Duration minRefreshInterval,
+                     MeterRegistry meterRegistry) {
+        this.webClient = webClient;
+        this.jwkSetUri = jwkSetUri;
+        this.minRefreshNanos = minRefreshInterval.toNanos();
+        this.meterRegistry = meterRegistry;
+        this.lastRefresh = System.nanoTime() - minRefreshNanos;
+        this.refresher = Flux.interval(refreshInterval, refreshInterval)
+                .concatMap(tick -> refresh().onErrorResume(e -> Mono.empty()))
+                .subscribe();
+    }
+
+    /**
+     * Clés candidates pour vérifier la signature du jeton (même kid et même algorithme).
+     */
+    public Flux<JWK> keys(SignedJWT jwt) {
+        JWKSelector selector = new JWKSelector(JWKMatcher.forJWSHeader(jwt.getHeader()));
+        JWKSet known = jwkSet;
+        if (known == null) return refresh().flatMapIterable(selector::select);
+        List<JWK> keys = selector.select(known);
+        if (!keys.isEmpty() || !refreshAllowed()) return Flux.fromIterable(keys);
+        return refresh()
+                .onErrorResume(e -> Mono.just(known))
+                .flatMapIterable(selector::select);
+    }
+
+    private synchronized boolean refreshAllowed() {
+        return pending != null || System.nanoTime() - lastRefresh >= minRefreshNanos;
+    }
+
+    private synchronized Mono<JWKSet> refresh() {
+        if (pending != null) return pending;
+        lastRefresh = System.nanoTime();
+        Mono<JWKSet> fetch = webClient.get().uri(jwkSetUri)
+                .retrieve()
+                .bodyToMono(String.class)
+                .map(JwksCache::parse)
+                .doOnNext(keys -> {
+                    jwkSet = keys;
+                    meterRegistry.counter("gateway.jwks.refresh", "result", "success").increment();
+                })
+                .doOnError(e -> {
+                    meterRegistry.counter("gateway.jwks.refresh", "result", "failure").increment();
+                    log.warn("Cannot refresh JWKS from {}: {}", jwkSetUri, e.toString());
+                })
+                .doFinally(signal -> clearPending())
+                .cache();
+        pending = fetch;
+        return fetch;
+    }
+
+    private synchronized void clearPending() {
+        pending = null;
+    }
+
+    private static JWKSet parse(String body) {
+        try {
+            return JWKSet.parse(body);
+        } catch (ParseException e) {
+            throw new IllegalStateException("Invalid JWKS document", e);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        refresher.dispose();
+    }
+}
@@ -0,0 +1,21 @@
+package org.example.gatewayservice.security;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuration de la vérification des JWT par le gateway (gateway.jwt.*).
+ *
+ * @param maxTokens              nombre maximal de jetons vérifiés gardés en cache
+ * @param maxTtl                 durée maximale de conservation d'un jeton vérifié, même si son exp est plus lointain
+ * @param jwksRefreshInterval    rechargement périodique, en tâche de fond, des clés publiques du realm
+ * @param jwksMinRefreshInterval délai minimal entre deux rechargements provoqués par un kid inconnu
+ */
+@ConfigurationProperties("gateway.jwt")
+public record JwtCacheProperties(@DefaultValue("10000") long maxTokens,
+                                 @DefaultValue("10m") Duration maxTtl,
+                                 @DefaultValue("5m") Duration jwksRefreshInterval,
+                                 @DefaultValue("30s") Duration jwksMinRefreshInterval) {
+}
@@ -0,0 +1,53 @@
+package org.example.gatewayservice.security;
+
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Transmet aux services l'utilisateur vérifié par le gateway : X-Authenticated-User (preferred_username)
+ * et X-Authenticated-Roles (autorités séparées par des virgules, ROLE_USER, SCOPE_profile…).
+ * Les services, joignables seulement depuis le réseau interne, s'y fient sans redécoder le JWT.
+ * Ces en-têtes envoyés par un client sont toujours retirés, y compris sur les routes ouvertes aux anonymes.
+ */
+public class VerifiedPrincipalFilter implements GlobalFilter, Ordered {
+
+    public static final String USER_HEADER = "X-Authenticated-User";
+    public static final String ROLES_HEADER = "X-Authenticated-Roles";
+
+    @Override
+    public int getOrder() {
+        // Avant tout filtre qui transmet la requête ou répond à sa place
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        return exchange.getPrincipal()
+                .ofType(JwtAuthenticationToken.class)
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(token -> {
+                    ServerHttpRequest request = exchange.getRequest().mutate().headers(headers -> {
+                        headers.remove(USER_HEADER);
+                        headers.remove(ROLES_HEADER);
+                        token.ifPresent(verified -> {
+                            headers.set(USER_HEADER, verified.getName() != null ? verified.getName() : verified.getToken().getSubject());
+                            headers.set(ROLES_HEADER, verified.getAuthorities().stream()
+                                    .map(GrantedAuthority::getAuthority)
+                                    .sorted()
+                                    .collect(Collectors.joining(",")));
+                        });
+                    }).build();
+                    return chain.filter(exchange.mutate().request(request).build());
+                });
+    }
+}
@@ -0,0 +1,227 @@
+package org.example.gatewayservice.cache;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Cache de réponses du gateway devant un faux keynote-service local qui compte les requêtes reçues par chemin.
+ * Chaque test utilise ses propres chemins : le cache est partagé par tout le contexte.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "eureka.client.enabled=false",
+        "gateway.response-cache.routes[0].id=keynotes",
+        "gateway.response-cache.routes[0].path=/keynote-service/api/keynotes/**",
+        "gateway.response-cache.routes[0].ttl=60s"
+})
+@DisplayName("Cache de réponses du gateway")
+class ResponseCacheFilterTest {
+
+    private static final Map<String, AtomicInteger> requests = new ConcurrentHashMap<>();
+    private static final Map<String, AtomicInteger> versions = new ConcurrentHashMap<>();
+    private static final Map<String, String> receivedIfNoneMatch = new ConcurrentHashMap<>();
+    private static final HttpServer stub = startStub();
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /**
+     * /api/keynotes/{id} : ETag "version", 304 si If-None-Match correspond, PATCH incrémente la version.
+     * Préfixes spéciaux : slow- (répond après 300 ms), nostore- (Cache-Control: no-store), nocache- (no-cache).
+     */
+    private static HttpServer startStub() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            server.setExecutor(Executors.newCachedThreadPool());
+            server.createContext("/api/keynotes/", ResponseCacheFilterTest::handle);
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void handle(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        String id = path.substring(path.lastIndexOf('/') + 1);
+        AtomicInteger version = versions.computeIfAbsent(id, key -> new AtomicInteger(1));
+        if (!exchange.getRequestMethod().equals("GET")) {
+            version.incrementAndGet();
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+            return;
+        }
+        requests.computeIfAbsent(path, key -> new AtomicInteger()).incrementAndGet();
+        String ifNoneMatch = exchange.getRequestHeaders().getFirst(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null) receivedIfNoneMatch.put(path, ifNoneMatch);
+        if (id.startsWith("slow-")) sleep(300);
+        String etag = "\"" + version.get() + "\"";
+        exchange.getResponseHeaders().add(HttpHeaders.ETAG, etag);
+        if (id.startsWith("nostore-")) exchange.getResponseHeaders().add(HttpHeaders.CACHE_CONTROL, "no-store");
+        if (id.startsWith("nocache-")) exchange.getResponseHeaders().add(HttpHeaders.CACHE_CONTROL, "no-cache");
+        if (etag.equals(ifNoneMatch)) {
+            exchange.sendResponseHeaders(304, -1);
+            exchange.close();
+            return;
+        }
+        byte[] body = ("{\"id\":\"" + id + "\",\"version\":" + version.get() + "}").getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add(HttpHeaders.CONTENT_TYPE, "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @DynamicPropertySource
+    static void stubRoute(DynamicPropertyRegistry registry) {
+        // Route entière dans une seule source de propriétés : une liste indexée n'est pas fusionnée entre sources
+        registry.add("spring.cloud.gateway.server.webflux.routes[0].id", () -> "keynote-stub");
+        registry.add("spring.cloud.gateway.server.webflux.routes[0].uri", () -> "http://localhost:" + stub.getAddress().getPort());
+        registry.add("spring.cloud.gateway.server.webflux.routes[0].predicates[0]", () -> "Path=/keynote-service/**");
+        registry.add("spring.cloud.gateway.server.webflux.routes[0].filters[0]", () -> "StripPrefix=1");
+    }
+
+    @AfterAll
+    static void stopStub() {
+        stub.stop(0);
+    }
+
+    private int upstreamRequests(String id) {
+        return requests.getOrDefault("/api/keynotes/" + id, new AtomicInteger()).get();
+    }
+
+    private double cacheRequests(String result) {
+        return meterRegistry.counter("gateway.cache.requests", "route", "keynotes", "result", result).count();
+    }
+
+    @Test
+    @DisplayName("Devrait servir le second GET depuis le cache et répondre 304 au client qui a déjà l'ETag")
+    void repeatedGet_isServedFromCache() {
+        // Arrange
+        double hits = cacheRequests("hit");
+
+        // Act
+        webTestClient.get().uri("/keynote-service/api/keynotes/1").exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("X-Cache", "MISS");
+        webTestClient.get().uri("/keynote-service/api/keynotes/1").exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("X-Cache", "HIT")
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"1\"")
+                .expectBody().jsonPath("$.version").isEqualTo(1);
+        webTestClient.get().uri("/keynote-service/api/keynotes/1")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"1\"")
+                .exchange()
+                .expectStatus().isNotModified();
+
+        // Assert
+        assertEquals(1, upstreamRequests("1"));
+        assertEquals(hits + 2, cacheRequests("hit"));
+    }
+
+    @Test
+    @DisplayName("Devrait regrouper les GET simultanés en une seule requête au service")
+    void concurrentGets_areCoalesced() throws Exception {
+        // Arrange
+        ExecutorService clients = Executors.newFixedThreadPool(8);
+
+        // Act
+        List<Future<String>> responses = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            responses.add(clients.submit(() -> webTestClient.get().uri("/keynote-service/api/keynotes/slow-1").exchange()
+                    .expectStatus().isOk()
+                    .expectBody(String.class).returnResult().getResponseBody()));
+        }
+        List<String> bodies = new ArrayList<>();
+        for (Future<String> response : responses) {
+            bodies.add(response.get(10, TimeUnit.SECONDS));
+        }
+        clients.shutdown();
+
+        // Assert
+        assertTrue(bodies.stream().allMatch(body -> body.contains("\"version\":1")), bodies.toString());
+        assertEquals(1, upstreamRequests("slow-1"));
+        assertTrue(cacheRequests("coalesced") > 0);
+    }
+
+    @Test
+    @DisplayName("Devrait invalider l'entrée quand une écriture passe par le gateway pour la même ressource")
+    void write_invalidatesCachedResource() {
+        // Arrange
+        webTestClient.get().uri("/keynote-service/api/keynotes/3").exchange().expectStatus().isOk();
+
+        // Act
+        webTestClient.patch().uri("/keynote-service/api/keynotes/3").exchange().expectStatus().isOk();
+
+        // Assert
+        webTestClient.get().uri("/keynote-service/api/keynotes/3").exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("X-Cache", "MISS")
+                .expectBody().jsonPath("$.version").isEqualTo(2);
+        assertEquals(2, upstreamRequests("3"));
+    }
+
+    @Test
+    @DisplayName("Devrait respecter Cache-Control: no-store du service")
+    void noStore_isNotCached() {
+        // Act
+        webTestClient.get().uri("/keynote-service/api/keynotes/nostore-1").exchange().expectStatus().isOk();
+        webTestClient.get().uri("/keynote-service/api/keynotes/nostore-1").exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("X-Cache", "MISS");
+
+        // Assert
+        assertEquals(2, upstreamRequests("nostore-1"));
+    }
+
+    @Test
+    @DisplayName("Devrait revalider par If-None-Match une réponse no-cache et la resservir sur 304 du service")
+    void noCache_isRevalidatedWithETag() {
+        // Act
+        webTestClient.get().uri("/keynote-service/api/keynotes/nocache-1").exchange().expectStatus().isOk();
+        webTestClient.get().uri("/keynote-service/api/keynotes/nocache-1").exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("X-Cache", "REVALIDATED")
+                .expectBody().jsonPath("$.version").isEqualTo(1);
+
+        // Assert
+        assertEquals(2, upstreamRequests("nocache-1"));
+        assertEquals("\"1\"", receivedIfNoneMatch.get("/api/keynotes/nocache-1"));
+    }
+}
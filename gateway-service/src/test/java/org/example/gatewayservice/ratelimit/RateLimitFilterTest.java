@@ -0,0 +1,184 @@
+package org.example.gatewayservice.ratelimit;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Date;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Limitation de débit du gateway devant un faux service local qui répond 200 à tout GET,
+ * avec un émetteur JWT local (JWKS) à la place de Keycloak. Chaque test utilise sa propre route :
+ * les seaux sont partagés par tout le contexte.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "eureka.client.enabled=false",
+        "gateway.response-cache.enabled=false",
+        "gateway.rate-limit.routes[0].id=anonymous",
+        "gateway.rate-limit.routes[0].path=/keynote-service/anonymous/**",
+        "gateway.rate-limit.routes[0].replenish-rate=0.5",
+        "gateway.rate-limit.routes[0].burst-capacity=2",
+        "gateway.rate-limit.routes[1].id=users",
+        "gateway.rate-limit.routes[1].path=/keynote-service/users/**",
+        "gateway.rate-limit.routes[1].replenish-rate=0.5",
+        "gateway.rate-limit.routes[1].burst-capacity=2"
+})
+@DisplayName("Limitation de débit du gateway")
+class RateLimitFilterTest {
+
+    private static final String JWKS_PATH = "/certs";
+    private static final RSAKey signingKey = generateKey();
+    private static final HttpServer stub = startStub();
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private static RSAKey generateKey() {
+        try {
+            return new RSAKeyGenerator(2048).keyID("test").generate();
+        } catch (JOSEException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static HttpServer startStub() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            server.setExecutor(Executors.newCachedThreadPool());
+            server.createContext(JWKS_PATH, exchange -> respond(exchange, new JWKSet(signingKey.toPublicJWK()).toString()));
+            server.createContext("/", exchange -> respond(exchange, "{}"));
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void respond(HttpExchange exchange, String json) throws IOException {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add(HttpHeaders.CONTENT_TYPE, "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static String issuer() {
+        return "http://localhost:" + stub.getAddress().getPort();
+    }
+
+    private static String token(String username) throws JOSEException {
+        Instant now = Instant.now();
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .issuer(issuer())
+                .subject(username)
+                .claim("preferred_username", username)
+                .issueTime(Date.from(now))
+                .expirationTime(Date.from(now.plusSeconds(300)))
+                .build();
+        SignedJWT jwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(signingKey.getKeyID()).build(), claims);
+        jwt.sign(new RSASSASigner(signingKey));
+        return jwt.serialize();
+    }
+
+    @DynamicPropertySource
+    static void stubRoute(DynamicPropertyRegistry registry) {
+        // Route entière dans une seule source de propriétés : une liste indexée n'est pas fusionnée entre sources
+        registry.add("spring.cloud.gateway.server.webflux.routes[0].id", () -> "stub");
+        registry.add("spring.cloud.gateway.server.webflux.routes[0].uri", RateLimitFilterTest::issuer);
+        registry.add("spring.cloud.gateway.server.webflux.routes[0].predicates[0]", () -> "Path=/keynote-service/**");
+        registry.add("spring.cloud.gateway.server.webflux.routes[0].filters[0]", () -> "StripPrefix=1");
+        registry.add("spring.security.oauth2.resourceserver.jwt.issuer-uri", RateLimitFilterTest::issuer);
+        registry.add("spring.security.oauth2.resourceserver.jwt.jwk-set-uri", () -> issuer() + JWKS_PATH);
+    }
+
+    @AfterAll
+    static void stopStub() {
+        stub.stop(0);
+    }
+
+    private WebTestClient.ResponseSpec get(String uri, String bearerToken) {
+        WebTestClient.RequestHeadersSpec<?> request = webTestClient.get().uri(uri);
+        if (bearerToken != null) request = request.headers(headers -> headers.setBearerAuth(bearerToken));
+        return request.exchange();
+    }
+
+    @Test
+    @DisplayName("Devrait répondre 429 avec Retry-After une fois la capacité du seau épuisée")
+    void exhaustedBucket_isRejectedWithRetryAfter() {
+        // Arrange
+        double rejected = meterRegistry.counter("gateway.ratelimit.requests", "route", "anonymous", "result", "rejected").count();
+
+        // Act
+        get("/keynote-service/anonymous/1", null).expectStatus().isOk()
+                .expectHeader().valueEquals(RateLimitFilter.REMAINING, "1");
+        get("/keynote-service/anonymous/2", null).expectStatus().isOk()
+                .expectHeader().valueEquals(RateLimitFilter.REMAINING, "0");
+
+        // Assert
+        // 0,5 jeton par seconde : le prochain jeton arrive dans 2 s au plus
+        String retryAfter = get("/keynote-service/anonymous/3", null)
+                .expectStatus().isEqualTo(429)
+                .returnResult(Void.class).getResponseHeaders().getFirst(HttpHeaders.RETRY_AFTER);
+        assertNotNull(retryAfter);
+        long seconds = Long.parseLong(retryAfter);
+        assertTrue(seconds >= 1 && seconds <= 2, retryAfter);
+        assertEquals(rejected + 1, meterRegistry.counter("gateway.ratelimit.requests", "route", "anonymous", "result", "rejected").count());
+    }
+
+    @Test
+    @DisplayName("Devrait tenir un seau par utilisateur JWT, distinct de celui des appels anonymes")
+    void authenticatedUsers_haveTheirOwnBucket() throws JOSEException {
+        // Arrange
+        String alice = token("alice");
+        String bob = token("bob");
+        get("/keynote-service/users/1", alice).expectStatus().isOk();
+        get("/keynote-service/users/1", alice).expectStatus().isOk();
+
+        // Act & Assert
+        get("/keynote-service/users/1", alice).expectStatus().isEqualTo(429);
+        get("/keynote-service/users/1", bob).expectStatus().isOk()
+                .expectHeader().valueEquals(RateLimitFilter.REMAINING, "1");
+        get("/keynote-service/users/1", null).expectStatus().isOk()
+                .expectHeader().valueEquals(RateLimitFilter.REMAINING, "1");
+    }
+
+    @Test
+    @DisplayName("Ne devrait pas limiter un chemin hors des routes configurées")
+    void unlimitedPath_hasNoRateLimitHeader() {
+        // Act & Assert
+        for (int i = 0; i < 5; i++) {
+            get("/keynote-service/other/1", null).expectStatus().isOk()
+                    .expectHeader().doesNotExist(RateLimitFilter.REMAINING);
+        }
+    }
+}
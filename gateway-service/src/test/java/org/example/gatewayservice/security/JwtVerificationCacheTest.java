@@ -0,0 +1,206 @@
+package org.example.gatewayservice.security;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Vérification des JWT par le gateway devant un faux émetteur (JWKS) qui compte ses lectures de clés,
+ * et un faux service qui renvoie les en-têtes d'identité qu'il a reçus.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "eureka.client.enabled=false",
+        "gateway.response-cache.enabled=false",
+        "gateway.rate-limit.enabled=false",
+        "gateway.jwt.jwks-min-refresh-interval=0s"
+})
+@DisplayName("Vérification des JWT par le gateway")
+class JwtVerificationCacheTest {
+
+    private static final String JWKS_PATH = "/certs";
+    private static final RSAKey firstKey = generateKey("first");
+    private static final RSAKey rotatedKey = generateKey("rotated");
+    // Clés publiées par le faux realm : la rotation ajoute rotatedKey
+    private static final List<RSAKey> publishedKeys = new CopyOnWriteArrayList<>(List.of(firstKey));
+    private static final AtomicInteger jwksRequests = new AtomicInteger();
+    private static final HttpServer stub = startStub();
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private static RSAKey generateKey(String keyId) {
+        try {
+            return new RSAKeyGenerator(2048).keyID(keyId).generate();
+        } catch (JOSEException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static HttpServer startStub() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            server.setExecutor(Executors.newCachedThreadPool());
+            server.createContext(JWKS_PATH, exchange -> {
+                jwksRequests.incrementAndGet();
+                respond(exchange, new JWKSet(publishedKeys.stream().map(key -> (JWK) key.toPublicJWK()).toList()).toString());
+            });
+            server.createContext("/", exchange -> {
+                String user = exchange.getRequestHeaders().getFirst(VerifiedPrincipalFilter.USER_HEADER);
+                String roles = exchange.getRequestHeaders().getFirst(VerifiedPrincipalFilter.ROLES_HEADER);
+                respond(exchange, "{\"user\":" + quote(user) + ",\"roles\":" + quote(roles) + "}");
+            });
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String quote(String value) {
+        return value == null ? "null" : "\"" + value + "\"";
+    }
+
+    private static void respond(HttpExchange exchange, String json) throws IOException {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add(HttpHeaders.CONTENT_TYPE, "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static String issuer() {
+        return "http://localhost:" + stub.getAddress().getPort();
+    }
+
+    private static String token(RSAKey key, String username) throws JOSEException {
+        Instant now = Instant.now();
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .issuer(issuer())
+                .subject(username)
+                .claim("preferred_username", username)
+                .claim("realm_access", Map.of("roles", List.of("USER")))
+                .issueTime(Date.from(now))
+                .expirationTime(Date.from(now.plusSeconds(300)))
+                .build();
+        SignedJWT jwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(key.getKeyID()).build(), claims);
+        jwt.sign(new RSASSASigner(key));
+        return jwt.serialize();
+    }
+
+    @DynamicPropertySource
+    static void stubRoute(DynamicPropertyRegistry registry) {
+        // Route entière dans une seule source de propriétés : une liste indexée n'est pas fusionnée entre sources
+        registry.add("spring.cloud.gateway.server.webflux.routes[0].id", () -> "stub");
+        registry.add("spring.cloud.gateway.server.webflux.routes[0].uri", JwtVerificationCacheTest::issuer);
+        registry.add("spring.cloud.gateway.server.webflux.routes[0].predicates[0]", () -> "Path=/keynote-service/**");
+        registry.add("spring.cloud.gateway.server.webflux.routes[0].filters[0]", () -> "StripPrefix=1");
+        registry.add("spring.security.oauth2.resourceserver.jwt.issuer-uri", JwtVerificationCacheTest::issuer);
+        registry.add("spring.security.oauth2.resourceserver.jwt.jwk-set-uri", () -> issuer() + JWKS_PATH);
+    }
+
+    @AfterAll
+    static void stopStub() {
+        stub.stop(0);
+    }
+
+    private double cacheGets(String result) {
+        return meterRegistry.get("cache.gets").tag("cache", CachingJwtAuthenticationManager.CACHE_NAME)
+                .tag("result", result).functionCounter().count();
+    }
+
+    @Test
+    @DisplayName("Devrait vérifier un jeton une seule fois et transmettre l'utilisateur vérifié au service")
+    void repeatedToken_isVerifiedOnce() throws JOSEException {
+        // Arrange
+        String alice = token(firstKey, "alice");
+        double hits = cacheGets("hit");
+        double misses = cacheGets("miss");
+
+        // Act
+        for (int i = 0; i < 3; i++) {
+            webTestClient.get().uri("/keynote-service/api/keynotes/1")
+                    .headers(headers -> headers.setBearerAuth(alice))
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectBody()
+                    .jsonPath("$.user").isEqualTo("alice")
+                    .jsonPath("$.roles").value(roles -> assertTrue(roles.toString().contains("ROLE_USER"), roles.toString()));
+        }
+
+        // Assert
+        assertEquals(misses + 1, cacheGets("miss"));
+        assertEquals(hits + 2, cacheGets("hit"));
+    }
+
+    @Test
+    @DisplayName("Devrait retirer les en-têtes d'identité envoyés par un client anonyme")
+    void spoofedIdentityHeaders_areRemoved() {
+        // Act & Assert
+        webTestClient.get().uri("/keynote-service/api/keynotes/1")
+                .header(VerifiedPrincipalFilter.USER_HEADER, "admin")
+                .header(VerifiedPrincipalFilter.ROLES_HEADER, "ROLE_ADMIN")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.user").doesNotExist()
+                .jsonPath("$.roles").doesNotExist();
+    }
+
+    @Test
+    @DisplayName("Devrait recharger les clés du realm quand un jeton est signé par une nouvelle clé")
+    void unknownKeyId_reloadsJwks() throws JOSEException {
+        // Arrange
+        String bob = token(firstKey, "bob");
+        String carol = token(rotatedKey, "carol");
+        webTestClient.get().uri("/keynote-service/api/keynotes/1")
+                .headers(headers -> headers.setBearerAuth(bob))
+                .exchange().expectStatus().isOk();
+        int requestsBefore = jwksRequests.get();
+        publishedKeys.add(rotatedKey);
+
+        // Act & Assert
+        webTestClient.get().uri("/keynote-service/api/keynotes/1")
+                .headers(headers -> headers.setBearerAuth(carol))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.user").isEqualTo("carol");
+        assertEquals(requestsBefore + 1, jwksRequests.get());
+    }
+}
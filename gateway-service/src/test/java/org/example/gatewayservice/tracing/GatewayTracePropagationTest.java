@@ -0,0 +1,134 @@
+package org.example.gatewayservice.tracing;
+
+import com.sun.net.httpserver.HttpServer;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Une requête routée par le gateway ouvre une trace dont le contexte (en-tête traceparent)
+ * est transmis au service appelé, ici un faux keynote-service local.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "eureka.client.enabled=false",
+        "management.tracing.sampling.probability=1.0"
+})
+@AutoConfigureObservability
+@DisplayName("Propagation des traces à travers le gateway")
+class GatewayTracePropagationTest {
+
+    private static final Queue<String> traceparents = new ConcurrentLinkedQueue<>();
+    private static final HttpServer stub = startStub();
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private InMemorySpanExporter spanExporter;
+
+    @Autowired
+    private SdkTracerProvider tracerProvider;
+
+    @TestConfiguration
+    static class InMemoryExporterConfig {
+        @Bean
+        InMemorySpanExporter inMemorySpanExporter() {
+            return InMemorySpanExporter.create();
+        }
+    }
+
+    private static HttpServer startStub() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            server.createContext("/api/keynotes/", exchange -> {
+                traceparents.add(String.valueOf(exchange.getRequestHeaders().getFirst("traceparent")));
+                byte[] body = "{\"id\":1,\"nom\":\"Stub\"}".getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            });
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @DynamicPropertySource
+    static void stubRoute(DynamicPropertyRegistry registry) {
+        // Route entière dans une seule source de propriétés : une liste indexée n'est pas fusionnée entre sources
+        registry.add("spring.cloud.gateway.server.webflux.routes[0].id", () -> "keynote-stub");
+        registry.add("spring.cloud.gateway.server.webflux.routes[0].uri", () -> "http://localhost:" + stub.getAddress().getPort());
+        registry.add("spring.cloud.gateway.server.webflux.routes[0].predicates[0]", () -> "Path=/keynote-service/**");
+        registry.add("spring.cloud.gateway.server.webflux.routes[0].filters[0]", () -> "StripPrefix=1");
+    }
+
+    @AfterAll
+    static void stopStub() {
+        stub.stop(0);
+    }
+
+    @Test
+    @DisplayName("Devrait transmettre traceparent au service routé, rattaché à la trace du gateway")
+    void routedRequest_propagatesTraceContext() {
+        // Arrange
+        traceparents.clear();
+        tracerProvider.forceFlush().join(5, TimeUnit.SECONDS);
+        spanExporter.reset();
+
+        // Act
+        webTestClient.get().uri("/keynote-service/api/keynotes/1")
+                .exchange()
+                .expectStatus().isOk();
+        // Le span SERVER se termine après l'envoi de la réponse : on l'attend
+        SpanData server = awaitServerSpan();
+
+        // Assert
+        List<SpanData> spans = spanExporter.getFinishedSpanItems();
+        assertEquals(1, traceparents.size());
+        String[] traceparent = traceparents.peek().split("-");
+        assertEquals(server.getTraceId(), traceparent[1]);
+        assertTrue(spans.stream().anyMatch(span -> span.getSpanId().equals(traceparent[2])
+                        && span.getTraceId().equals(server.getTraceId())),
+                "span du gateway attendu comme parent : " + spans);
+    }
+
+    private SpanData awaitServerSpan() {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (true) {
+            tracerProvider.forceFlush().join(5, TimeUnit.SECONDS);
+            Optional<SpanData> server = spanExporter.getFinishedSpanItems().stream()
+                    .filter(span -> span.getKind() == SpanKind.SERVER)
+                    .findFirst();
+            if (server.isPresent() || System.nanoTime() > deadline) return server.orElseThrow();
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(20));
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package org.example.keynoteservice.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.observation.boot.autoconfigure.DataSourceObservationBeanPostProcessor;
+import org.example.keynoteservice.datasource.ReplicaDataSource;
+import org.example.keynoteservice.datasource.ReplicaProperties;
+import org.example.keynoteservice.datasource.RoutingDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Routage lecture/écriture (datasource.replicas.enabled=true) : les transactions {@code @Transactional(readOnly = true)}
+ * lisent sur un réplica ({@link ReplicaDataSource}), le reste passe par le primaire décrit par spring.datasource.*
+ * et spring.datasource.hikari.*. Sans cette propriété, la DataSource auto-configurée de Spring Boot est inchangée.
+ */
+@Configuration
+@EnableConfigurationProperties({ReplicaProperties.class, DataSourceProperties.class})
+@ConditionalOnProperty(name = "datasource.replicas.enabled", havingValue = "true")
+public class ReplicaRoutingConfig {
+
+    // Seule DataSource du contexte : les pools du primaire et des réplicas n'en sont pas des beans, pour n'être
+    // instrumentés (traces JDBC, hikaricp.*) qu'une fois. Le bean lui-même est exclu des traces JDBC
+    // (jdbc.excluded-data-source-bean-names=routingDataSource), qui sont posées pool par pool
+    @Bean
+    public RoutingDataSource routingDataSource(ReplicaProperties replicaProperties, DataSourceProperties dataSourceProperties,
+                                               Environment environment, MeterRegistry meterRegistry,
+                                               ObjectProvider<DataSourceObservationBeanPostProcessor> observation) {
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        primary.setPoolName(ReplicaDataSource.PRIMARY);
+        primary.setMetricRegistry(meterRegistry);
+        List<HikariDataSource> replicas = replicaProperties.instances().stream()
+                .map(instance -> replicaPool(instance, replicaProperties.maximumPoolSize(), meterRegistry))
+                .toList();
+        Function<HikariDataSource, DataSource> instrument = pool -> {
+            DataSourceObservationBeanPostProcessor tracing = observation.getIfAvailable();
+            return tracing == null ? pool : (DataSource) tracing.postProcessAfterInitialization(pool, pool.getPoolName());
+        };
+        DataSource primaryConnections = instrument.apply(primary);
+        return new RoutingDataSource(primary, primaryConnections, new ReplicaDataSource(primaryConnections, replicas,
+                instrument, replicaProperties.lagQuery(), replicaProperties.maxLag(), replicaProperties.checkInterval(),
+                meterRegistry));
+    }
+
+    private static HikariDataSource replicaPool(ReplicaProperties.Instance instance, int maximumPoolSize, MeterRegistry meterRegistry) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setPoolName(instance.name());
+        pool.setJdbcUrl(instance.url());
+        pool.setUsername(instance.username());
+        pool.setPassword(instance.password());
+        pool.setMaximumPoolSize(maximumPoolSize);
+        pool.setReadOnly(true);
+        // Un réplica injoignable ne bloque ni le démarrage ni une lecture plus d'une seconde : le primaire prend le relais
+        pool.setInitializationFailTimeout(-1);
+        pool.setConnectionTimeout(1000);
+        pool.setMetricRegistry(meterRegistry);
+        return pool;
+    }
+}
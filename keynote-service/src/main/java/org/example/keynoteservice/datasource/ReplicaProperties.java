@@ -0,0 +1,35 @@
+package org.example.keynoteservice.datasource;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Réplicas en lecture (datasource.replicas.*) : les transactions read-only y sont envoyées,
+ * les écritures restent sur spring.datasource.*.
+ *
+ * @param enabled         active le routage ; sans réplica disponible, tout passe par le primaire
+ * @param maxLag          retard de réplication au-delà duquel un réplica n'est plus utilisé
+ * @param checkInterval   fréquence de la mesure du retard et de la disponibilité de chaque réplica
+ * @param lagQuery        requête renvoyant le retard du réplica en secondes (ex. PostgreSQL :
+ *                        {@code SELECT COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0)}) ;
+ *                        vide, seule la connexion est vérifiée
+ * @param maximumPoolSize taille du pool de connexions de chaque réplica
+ * @param instances       réplicas utilisés à tour de rôle
+ */
+@ConfigurationProperties("datasource.replicas")
+public record ReplicaProperties(@DefaultValue("false") boolean enabled,
+                                @DefaultValue("5s") Duration maxLag,
+                                @DefaultValue("2s") Duration checkInterval,
+                                String lagQuery,
+                                @DefaultValue("10") int maximumPoolSize,
+                                @DefaultValue List<Instance> instances) {
+
+    /**
+     * @param name nom du réplica, nom de son pool et étiquette des métriques
+     */
+    public record Instance(String name, String url, String username, String password) {
+    }
+}
@@ -0,0 +1,28 @@
+package org.example.keynoteservice.dto;
+
+import lombok.*;
+
+/**
+ * Bilan d'une création en masse : lignes persistées, nombre de lots (un commit par lot) et débit obtenu.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+public class BulkResultDTO {
+    private long created;
+    private int chunks;
+    private long durationMillis;
+    private double rowsPerSecond;
+
+    public static BulkResultDTO of(long created, int chunks, long elapsedNanos) {
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        return BulkResultDTO.builder()
+                .created(created)
+                .chunks(chunks)
+                .durationMillis(elapsedNanos / 1_000_000)
+                .rowsPerSecond(seconds > 0 ? created / seconds : 0)
+                .build();
+    }
+}
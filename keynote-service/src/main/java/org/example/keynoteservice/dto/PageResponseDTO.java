@@ -0,0 +1,24 @@
+package org.example.keynoteservice.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Page de résultats. En pagination par offset, page/totalElements/totalPages sont renseignés ;
+ * en pagination par clé (afterId), ils restent nuls et seul le curseur suivant est fourni.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+public class PageResponseDTO<T> {
+    private List<T> content;
+    private Integer page;
+    private int size;
+    private Long totalElements;
+    private Integer totalPages;
+    private boolean hasNext;
+    private Long nextAfterId;
+}
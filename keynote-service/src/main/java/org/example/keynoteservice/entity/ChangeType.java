@@ -0,0 +1,5 @@
+package org.example.keynoteservice.entity;
+
+public enum ChangeType {
+    CREATED, UPDATED, DELETED
+}
@@ -12,10 +12,15 @@ import lombok.NoArgsConstructor;
 @Builder
 @Data
 public class Keynote {
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "keynote_seq")
+    @SequenceGenerator(name = "keynote_seq", sequenceName = "keynote_seq", allocationSize = 50)
     private Long id;
     private String nom;
     private String prenom;
     private String email;
     private String fonction;
+    // Source des ETags ; reprise dans les réponses pour que conference-service compose les siens
+    @Version
+    private Long version;
 }
@@ -0,0 +1,41 @@
+package org.example.keynoteservice.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Événement de changement écrit dans la transaction de l'écriture qu'il décrit : il existe si et seulement si
+ * l'écriture a été validée. La position, attribuée après le commit par OutboxRelay, est continue et croissante :
+ * c'est le curseur des consommateurs.
+ */
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Data
+@Table(name = "outbox_event", indexes = {
+        @Index(name = "ux_outbox_event_position", columnList = "position", unique = true),
+        @Index(name = "idx_outbox_event_published_at", columnList = "publishedAt")
+})
+public class OutboxEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_event_seq")
+    @SequenceGenerator(name = "outbox_event_seq", sequenceName = "outbox_event_seq", allocationSize = 50)
+    private Long id;
+    // Nulle tant que le relais n'a pas vu l'événement
+    private Long position;
+    private String aggregate;
+    private Long aggregateId;
+    @Enumerated(EnumType.STRING)
+    private ChangeType type;
+    // État de l'agrégat après l'écriture (avant, pour une suppression), en JSON
+    @Column(length = 8000)
+    private String payload;
+    private Instant occurredAt;
+    private Instant publishedAt;
+}
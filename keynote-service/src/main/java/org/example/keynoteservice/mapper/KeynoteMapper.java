@@ -23,6 +23,7 @@ public class KeynoteMapper {
                 .prenom(keynote.getPrenom())
                 .email(keynote.getEmail())
                 .fonction(keynote.getFonction())
+                .version(keynote.getVersion())
                 .build();
     }
 }
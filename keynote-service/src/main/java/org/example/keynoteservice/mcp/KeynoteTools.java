@@ -2,14 +2,18 @@ package org.example.keynoteservice.mcp;
 
 import org.example.keynoteservice.dto.KeynoteRequestDTO;
 import org.example.keynoteservice.dto.KeynoteResponseDTO;
+import org.example.keynoteservice.dto.PageResponseDTO;
 import org.example.keynoteservice.service.IKeynoteService;
 import org.springaicommunity.mcp.annotation.McpTool;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Component;
 
-import java.util.List;
-
 @Component
 public class KeynoteTools {
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+
     private IKeynoteService iKeynoteService;
 
 
@@ -18,9 +22,11 @@ public class KeynoteTools {
     }
 
     @McpTool(description = """
-            Récupère la liste de tous les keynote speakers enregistrés.
-            Input: Aucun paramètre
-            Output: Liste de KeynoteResponseDTO [
+            Récupère une page de keynote speakers enregistrés, triés par identifiant.
+            Input: Integer page (numéro de page à partir de 0, 0 par défaut),
+                   Integer size (taille de page, 20 par défaut, 100 au maximum)
+            Output: PageResponseDTO {
+                content: Liste de KeynoteResponseDTO [
                 {
                     id: number,
                     nom: string,
@@ -29,10 +35,18 @@ public class KeynoteTools {
                     fonction: string
                 },
                 ...
-            ]
+                ],
+                page: number,
+                size: number,
+                totalElements: number,
+                totalPages: number,
+                hasNext: boolean
+            }
             """)
-    public List<KeynoteResponseDTO> getAllKeynotes() {
-        return iKeynoteService.getAllKeynotes();
+    public PageResponseDTO<KeynoteResponseDTO> getAllKeynotes(Integer page, Integer size) {
+        int pageNumber = page == null ? 0 : Math.max(page, 0);
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        return iKeynoteService.getAllKeynotes(PageRequest.of(pageNumber, pageSize, Sort.by("id")));
     }
 
     @McpTool(description = """
@@ -75,7 +89,7 @@ public class KeynoteTools {
             Output: Aucun
             """)
     public void updateKeynote(Long keynoteId, KeynoteRequestDTO keynoteRequestDTO) {
-        iKeynoteService.updateKeynote(keynoteId, keynoteRequestDTO);
+        iKeynoteService.updateKeynote(keynoteId, keynoteRequestDTO, null);
     }
 
     @McpTool(description = """
@@ -89,7 +103,7 @@ public class KeynoteTools {
             Output: Aucun
             """)
     public void patchKeynote(Long keynoteId, KeynoteRequestDTO keynoteRequestDTO) {
-        iKeynoteService.patchKeynote(keynoteId, keynoteRequestDTO);
+        iKeynoteService.patchKeynote(keynoteId, keynoteRequestDTO, null);
     }
 
     @McpTool(description = """
@@ -0,0 +1,35 @@
+package org.example.keynoteservice.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Lignes chargées par requête, par opération et par entité (métrique rows.loaded), sous le même nom
+ * que dans conference-service pour comparer les deux services sur un même tableau de bord.
+ */
+@Component
+public class RowMetrics {
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, DistributionSummary> summaries = new ConcurrentHashMap<>();
+
+    public RowMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public void record(String operation, String entity, long rows) {
+        summaries.computeIfAbsent(operation + '/' + entity, key -> DistributionSummary.builder("rows.loaded")
+                        .description("Lignes chargées par requête")
+                        .baseUnit("rows")
+                        .tag("operation", operation)
+                        .tag("entity", entity)
+                        .publishPercentileHistogram()
+                        .register(meterRegistry))
+                .record(rows);
+        WorkSummary.recordRows(rows);
+    }
+}
@@ -0,0 +1,52 @@
+package org.example.keynoteservice.metrics;
+
+/**
+ * Travail effectué par la requête HTTP en cours : requêtes SQL préparées et lignes chargées.
+ * Tenu dans un ThreadLocal du thread de la requête, seulement quand work-summary.enabled est vrai ;
+ * sinon les enregistrements sont sans effet.
+ */
+public final class WorkSummary {
+
+    public static final String HEADER = "X-Work-Summary";
+
+    private static final ThreadLocal<WorkSummary> CURRENT = new ThreadLocal<>();
+
+    private long sqlStatements;
+    private long rows;
+
+    private WorkSummary() {
+    }
+
+    static WorkSummary start() {
+        WorkSummary summary = new WorkSummary();
+        CURRENT.set(summary);
+        return summary;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    public static void recordSqlStatement() {
+        WorkSummary summary = CURRENT.get();
+        if (summary != null) summary.sqlStatements++;
+    }
+
+    public static void recordRows(long count) {
+        WorkSummary summary = CURRENT.get();
+        if (summary != null) summary.rows += count;
+    }
+
+    public long getSqlStatements() {
+        return sqlStatements;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    @Override
+    public String toString() {
+        return "sql=" + sqlStatements + ", rows=" + rows;
+    }
+}
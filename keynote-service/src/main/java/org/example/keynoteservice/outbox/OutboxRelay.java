@@ -0,0 +1,130 @@
+package org.example.keynoteservice.outbox;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.keynoteservice.dto.ChangeEventDTO;
+import org.example.keynoteservice.entity.OutboxEvent;
+import org.example.keynoteservice.repository.OutboxEventRepository;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Relais de l'outbox vers le ChangeBroker, sur un thread dédié : réveillé après chaque commit qui écrit des
+ * événements, et toutes les outbox.poll-interval pour rattraper un réveil perdu ou une publication en échec.
+ * <ul>
+ *   <li>les événements validés reçoivent une position à la suite de la dernière (unique en base : deux relais
+ *   concurrents ne peuvent pas attribuer la même) ; l'ordre des positions est celui dans lequel le relais les voit ;</li>
+ *   <li>ils sont ensuite publiés par lots dans l'ordre des positions, puis marqués publiés : un échec entre les deux
+ *   fait republier le lot, avec les mêmes positions ;</li>
+ *   <li>les événements publiés depuis plus de outbox.retention sont purgés, sauf le dernier.</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+public class OutboxRelay implements DisposableBean {
+
+    private static final Duration PURGE_INTERVAL = Duration.ofMinutes(10);
+
+    @Autowired
+    OutboxEventRepository outboxEventRepository;
+    @Autowired
+    ChangeBroker changeBroker;
+    @Autowired
+    OutboxProperties outboxProperties;
+
+    private TransactionTemplate transaction;
+    private final AtomicBoolean wakeUpPending = new AtomicBoolean();
+    private Instant lastPurge = Instant.EPOCH;
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "outbox-relay");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Réveillé depuis afterCommit, mais exécuté sur son propre thread : transactions séparées, sur la base principale
+    @Autowired
+    void setTransactionManager(PlatformTransactionManager transactionManager) {
+        transaction = new TransactionTemplate(transactionManager);
+        transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!outboxProperties.relayEnabled()) return;
+        long interval = outboxProperties.pollInterval().toMillis();
+        executor.scheduleWithFixedDelay(this::relayQuietly, 0, interval, TimeUnit.MILLISECONDS);
+    }
+
+    // Plusieurs commits rapprochés ne demandent qu'un passage
+    public void wakeUp() {
+        if (!outboxProperties.relayEnabled() || !wakeUpPending.compareAndSet(false, true)) return;
+        executor.execute(() -> {
+            wakeUpPending.set(false);
+            relayQuietly();
+        });
+    }
+
+    private void relayQuietly() {
+        try {
+            relay();
+            if (Instant.now().isAfter(lastPurge.plus(PURGE_INTERVAL))) {
+                lastPurge = Instant.now();
+                purge();
+            }
+        } catch (RuntimeException e) {
+            log.warn("Cannot relay outbox events, retrying in {}: {}", outboxProperties.pollInterval(), e.getMessage());
+        }
+    }
+
+    /**
+     * Numérote et publie tous les événements en attente.
+     * @return nombre d'événements publiés
+     */
+    public synchronized int relay() {
+        int batchSize = outboxProperties.batchSize();
+        int published = 0;
+        while (true) {
+            transaction.executeWithoutResult(status -> assignPositions(batchSize));
+            List<OutboxEvent> batch = transaction.execute(status -> outboxEventRepository
+                    .findByPositionIsNotNullAndPublishedAtIsNullOrderByPositionAsc(Limit.of(batchSize)));
+            if (batch.isEmpty()) return published;
+            changeBroker.publish(batch.stream().map(ChangeEventDTO::of).toList());
+            transaction.executeWithoutResult(status -> outboxEventRepository.markPublished(
+                    batch.stream().map(OutboxEvent::getId).toList(), Instant.now()));
+            published += batch.size();
+        }
+    }
+
+    private void assignPositions(int batchSize) {
+        List<OutboxEvent> events = outboxEventRepository.findByPositionIsNullOrderByIdAsc(Limit.of(batchSize));
+        if (events.isEmpty()) return;
+        long position = outboxEventRepository.findMaxPosition();
+        for (OutboxEvent event : events) event.setPosition(++position);
+    }
+
+    public int purge() {
+        Instant before = Instant.now().minus(outboxProperties.retention());
+        Integer purged = transaction.execute(status -> outboxEventRepository.deletePublishedBefore(before));
+        if (purged != null && purged > 0) log.info("Purged {} outbox events published before {}", purged, before);
+        return purged == null ? 0 : purged;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,13 @@
+package org.example.keynoteservice.repository;
+
+import org.example.keynoteservice.entity.Keynote;
+
+/**
+ * Champs d'une keynote indexés pour l'autocomplétion, lus sans charger d'entité.
+ */
+public record KeynoteNames(Long id, String nom, String prenom, String email, String fonction) {
+
+    public static KeynoteNames of(Keynote keynote) {
+        return new KeynoteNames(keynote.getId(), keynote.getNom(), keynote.getPrenom(), keynote.getEmail(), keynote.getFonction());
+    }
+}
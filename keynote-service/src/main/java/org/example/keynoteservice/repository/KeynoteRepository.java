@@ -1,7 +1,29 @@
 package org.example.keynoteservice.repository;
 
+import jakarta.persistence.QueryHint;
 import org.example.keynoteservice.entity.Keynote;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface KeynoteRepository extends JpaRepository<Keynote, Long> {
+    List<Keynote> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+
+    @Query("select k.version from Keynote k where k.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    @Query("select count(k) as count, coalesce(sum(k.version), 0) as versionSum, coalesce(max(k.id), 0) as maxId from Keynote k")
+    KeynotesVersion aggregateVersion();
+
+    // Parcours curseur de toute la table pour reconstruire l'index d'autocomplétion : à consommer dans une transaction
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select new org.example.keynoteservice.repository.KeynoteNames(k.id, k.nom, k.prenom, k.email, k.fonction) from Keynote k")
+    Stream<KeynoteNames> streamNames();
 }
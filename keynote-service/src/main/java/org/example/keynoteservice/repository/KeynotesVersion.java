@@ -0,0 +1,11 @@
+package org.example.keynoteservice.repository;
+
+/**
+ * Agrégat des versions de toutes les keynotes, pour l'ETag des listes : une modification augmente la somme,
+ * un ajout le plus grand id, une suppression diminue le nombre.
+ */
+public interface KeynotesVersion {
+    long getCount();
+    long getVersionSum();
+    long getMaxId();
+}
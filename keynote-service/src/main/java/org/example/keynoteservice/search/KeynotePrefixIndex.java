@@ -0,0 +1,308 @@
+package org.example.keynoteservice.search;
+
+import org.example.keynoteservice.repository.KeynoteNames;
+
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.regex.Pattern;
+
+/**
+ * Index de préfixes des keynotes pour l'autocomplétion, en mémoire.
+ * <ul>
+ *   <li>clés normalisées (minuscules, accents retirés) : « prénom nom », « nom prénom » et la fonction, à partir de
+ *   chacun de leurs mots, et l'email ; une recherche est un intervalle de clés trouvé par dichotomie, en
+ *   O(log n + limit) ;</li>
+ *   <li>la base est un tableau trié et compact (octets UTF-8 des clés bout à bout, offsets et ids), sans objet par
+ *   entrée ; les écritures vont dans un delta trié et rendent périmées les entrées de la base pour leur id ;</li>
+ *   <li>le delta est fusionné dans une nouvelle base quand il atteint le quart de celle-ci : coût amorti constant par
+ *   écriture ;</li>
+ *   <li>les lectures ne prennent aucun verrou : elles lisent un état dont seuls le delta et les ids périmés changent,
+ *   au pire une keynote modifiée à l'instant apparaît sous son ancienne et sa nouvelle clé, une seule fois.</li>
+ * </ul>
+ */
+public class KeynotePrefixIndex {
+
+    private static final int MIN_MERGE = 1_024;
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SPACES = Pattern.compile("\\s+");
+    // Lettres que la décomposition Unicode ne sépare pas de leur accent
+    private static final Map<String, String> LIGATURES = Map.of(
+            "œ", "oe", "æ", "ae", "ß", "ss", "ø", "o", "ł", "l", "đ", "d");
+
+    private volatile State state = new State(Segment.EMPTY);
+
+    /**
+     * @param base    entrées triées au dernier rebuild ou à la dernière fusion
+     * @param added   entrées écrites depuis, triées comme la base
+     * @param addedBy entrées du delta par keynote, pour les retirer à la modification suivante (sous verrou)
+     * @param stale   keynotes dont les entrées de la base ne comptent plus
+     */
+    private record State(Segment base, NavigableSet<Entry> added, Map<Long, List<Entry>> addedBy, Set<Long> stale) {
+        State(Segment base) {
+            this(base, new ConcurrentSkipListSet<>(), new HashMap<>(), ConcurrentHashMap.newKeySet());
+        }
+    }
+
+    /**
+     * Keynotes dont une clé commence par le préfixe (normalisé), dans l'ordre alphabétique de la clé trouvée.
+     * Un espace final est gardé : « jean » trouve aussi « Jeanne », « jean » suivi d'un espace seulement « Jean … ».
+     */
+    public List<Long> suggest(String prefix, int limit) {
+        String normalized = normalize(prefix);
+        if (normalized.isEmpty() || limit <= 0) return List.of();
+        if (Character.isWhitespace(prefix.charAt(prefix.length() - 1))) normalized += " ";
+        byte[] key = utf8(normalized);
+        State current = state;
+        Segment base = current.base();
+        Set<Long> ids = new LinkedHashSet<>();
+        int position = base.lowerBound(key);
+        Iterator<Entry> added = current.added().tailSet(new Entry(key, Long.MIN_VALUE)).iterator();
+        Entry next = nextMatch(added, key);
+        while (ids.size() < limit) {
+            boolean inBase = position < base.size() && base.startsWith(position, key);
+            if (!inBase && next == null) break;
+            if (inBase && (next == null || base.compare(position, next.key()) <= 0)) {
+                long id = base.ids[position++];
+                if (!current.stale().contains(id)) ids.add(id);
+            } else {
+                ids.add(next.id());
+                next = nextMatch(added, key);
+            }
+        }
+        return new ArrayList<>(ids);
+    }
+
+    private static Entry nextMatch(Iterator<Entry> entries, byte[] prefix) {
+        if (!entries.hasNext()) return null;
+        Entry entry = entries.next();
+        return entry.startsWith(prefix) ? entry : null;
+    }
+
+    public synchronized void put(KeynoteNames keynote) {
+        State current = state;
+        List<Entry> entries = keys(keynote).stream().map(key -> new Entry(utf8(key), keynote.id())).toList();
+        // Nouvelles clés visibles avant le retrait des anciennes : une lecture concurrente trouve toujours la keynote
+        current.added().addAll(entries);
+        current.stale().add(keynote.id());
+        List<Entry> previous = current.addedBy().put(keynote.id(), entries);
+        if (previous != null) previous.stream().filter(entry -> !entries.contains(entry)).forEach(current.added()::remove);
+        mergeIfLarge(current);
+    }
+
+    public synchronized void remove(long id) {
+        State current = state;
+        current.stale().add(id);
+        List<Entry> previous = current.addedBy().remove(id);
+        if (previous != null) previous.forEach(current.added()::remove);
+        mergeIfLarge(current);
+    }
+
+    /**
+     * Remplace tout l'index par les keynotes données ; les écritures concurrentes appliquées à l'ancien état sont
+     * perdues, à l'appelant de les rejouer.
+     */
+    public void rebuild(Iterator<KeynoteNames> keynotes) {
+        List<Entry> entries = new ArrayList<>();
+        while (keynotes.hasNext()) {
+            KeynoteNames keynote = keynotes.next();
+            for (String key : keys(keynote)) entries.add(new Entry(utf8(key), keynote.id()));
+        }
+        entries.sort(null);
+        Segment base = Segment.of(entries.size(), entries.iterator());
+        synchronized (this) {
+            state = new State(base);
+        }
+    }
+
+    public int size() {
+        State current = state;
+        return current.base().size() + current.added().size();
+    }
+
+    // Fusion linéaire de la base (sans les entrées périmées) et du delta, tous deux triés
+    private void mergeIfLarge(State current) {
+        int pending = current.added().size() + current.stale().size();
+        if (pending < Math.max(MIN_MERGE, current.base().size() / 4)) return;
+        Segment base = current.base();
+        int size = current.added().size();
+        for (long id : base.ids) if (!current.stale().contains(id)) size++;
+        Iterator<Entry> merged = new Iterator<>() {
+            int position = skipStale(0);
+            final Iterator<Entry> added = current.added().iterator();
+            Entry next = added.hasNext() ? added.next() : null;
+
+            private int skipStale(int from) {
+                while (from < base.size() && current.stale().contains(base.ids[from])) from++;
+                return from;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return position < base.size() || next != null;
+            }
+
+            @Override
+            public Entry next() {
+                if (next == null || position < base.size() && base.compare(position, next.key()) <= 0) {
+                    Entry entry = base.entry(position);
+                    position = skipStale(position + 1);
+                    return entry;
+                }
+                Entry entry = next;
+                next = added.hasNext() ? added.next() : null;
+                return entry;
+            }
+        };
+        state = new State(Segment.of(size, merged));
+    }
+
+    /**
+     * Clés d'une keynote : chaque suite de mots de « prénom nom », de « nom prénom » et de la fonction, et l'email.
+     * Une clé préfixe d'une autre clé de la même keynote ne trouverait rien de plus et n'est pas gardée.
+     */
+    static List<String> keys(KeynoteNames keynote) {
+        List<String> prenom = words(keynote.prenom());
+        List<String> nom = words(keynote.nom());
+        List<String> keys = new ArrayList<>();
+        addSuffixes(keys, concat(prenom, nom));
+        addSuffixes(keys, concat(nom, prenom));
+        addSuffixes(keys, words(keynote.fonction()));
+        String email = normalize(keynote.email());
+        if (!email.isEmpty()) keys.add(email);
+        Collections.sort(keys);
+        List<String> kept = new ArrayList<>(keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+            if (i + 1 < keys.size() && keys.get(i + 1).startsWith(keys.get(i))) continue;
+            kept.add(keys.get(i));
+        }
+        return kept;
+    }
+
+    private static void addSuffixes(List<String> keys, List<String> words) {
+        for (int i = 0; i < words.size(); i++) keys.add(String.join(" ", words.subList(i, words.size())));
+    }
+
+    private static List<String> concat(List<String> first, List<String> second) {
+        List<String> words = new ArrayList<>(first);
+        words.addAll(second);
+        return words;
+    }
+
+    private static List<String> words(String text) {
+        String normalized = normalize(text);
+        return normalized.isEmpty() ? List.of() : List.of(normalized.split(" "));
+    }
+
+    // Minuscules, accents retirés, espaces réduits : « Émile  Zoë » devient « emile zoe »
+    static String normalize(String text) {
+        if (text == null) return "";
+        String folded = MARKS.matcher(Normalizer.normalize(text.toLowerCase(Locale.ROOT), Normalizer.Form.NFD)).replaceAll("");
+        for (Map.Entry<String, String> ligature : LIGATURES.entrySet()) {
+            if (folded.contains(ligature.getKey())) folded = folded.replace(ligature.getKey(), ligature.getValue());
+        }
+        return SPACES.matcher(folded).replaceAll(" ").trim();
+    }
+
+    private static byte[] utf8(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    // Ordre des octets non signés : celui des points de code, le même pour la base et le delta
+    private record Entry(byte[] key, long id) implements Comparable<Entry> {
+        private static final Comparator<Entry> ORDER = Comparator
+                .<Entry, byte[]>comparing(Entry::key, Arrays::compareUnsigned)
+                .thenComparingLong(Entry::id);
+
+        boolean startsWith(byte[] prefix) {
+            return key.length >= prefix.length && Arrays.equals(key, 0, prefix.length, prefix, 0, prefix.length);
+        }
+
+        @Override
+        public int compareTo(Entry other) {
+            return ORDER.compare(this, other);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Entry entry && id == entry.id && Arrays.equals(key, entry.key);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Arrays.hashCode(key) + Long.hashCode(id);
+        }
+    }
+
+    // Entrées triées : la clé i occupe keys[offsets[i], offsets[i + 1])
+    private static final class Segment {
+        static final Segment EMPTY = new Segment(new byte[0], new int[1], new long[0]);
+
+        final byte[] keys;
+        final int[] offsets;
+        final long[] ids;
+
+        private Segment(byte[] keys, int[] offsets, long[] ids) {
+            this.keys = keys;
+            this.offsets = offsets;
+            this.ids = ids;
+        }
+
+        static Segment of(int size, Iterator<Entry> sorted) {
+            int[] offsets = new int[size + 1];
+            long[] ids = new long[size];
+            byte[] keys = new byte[Math.max(16, size * 16)];
+            for (int i = 0; i < size; i++) {
+                Entry entry = sorted.next();
+                int end = offsets[i] + entry.key().length;
+                if (end > keys.length) keys = Arrays.copyOf(keys, Math.max(end, keys.length * 2));
+                System.arraycopy(entry.key(), 0, keys, offsets[i], entry.key().length);
+                ids[i] = entry.id();
+                offsets[i + 1] = end;
+            }
+            return new Segment(Arrays.copyOf(keys, offsets[size]), offsets, ids);
+        }
+
+        int size() {
+            return ids.length;
+        }
+
+        Entry entry(int i) {
+            return new Entry(Arrays.copyOfRange(keys, offsets[i], offsets[i + 1]), ids[i]);
+        }
+
+        int compare(int i, byte[] key) {
+            return Arrays.compareUnsigned(keys, offsets[i], offsets[i + 1], key, 0, key.length);
+        }
+
+        boolean startsWith(int i, byte[] prefix) {
+            return offsets[i + 1] - offsets[i] >= prefix.length
+                    && Arrays.equals(keys, offsets[i], offsets[i] + prefix.length, prefix, 0, prefix.length);
+        }
+
+        // Première entrée dont la clé n'est pas inférieure à key
+        int lowerBound(byte[] key) {
+            int low = 0;
+            int high = size();
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (compare(middle, key) < 0) low = middle + 1;
+                else high = middle;
+            }
+            return low;
+        }
+    }
+}
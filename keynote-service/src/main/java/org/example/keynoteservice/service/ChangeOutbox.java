@@ -0,0 +1,164 @@
+package org.example.keynoteservice.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.example.keynoteservice.dto.ChangeEventDTO;
+import org.example.keynoteservice.dto.ChangesPageDTO;
+import org.example.keynoteservice.dto.KeynoteResponseDTO;
+import org.example.keynoteservice.entity.ChangeType;
+import org.example.keynoteservice.entity.Keynote;
+import org.example.keynoteservice.entity.OutboxEvent;
+import org.example.keynoteservice.mapper.KeynoteMapper;
+import org.example.keynoteservice.outbox.OutboxRelay;
+import org.example.keynoteservice.repository.OutboxEventRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Outbox des changements de keynotes (table outbox_event) : un événement par keynote créée, modifiée ou supprimée,
+ * avec la keynote telle que la renvoie l'API.
+ * <ul>
+ *   <li>une transaction note ses changements ; juste avant son commit, ils sont écrits dans l'outbox par la même
+ *   transaction : un changement est publié si et seulement si l'écriture est validée ;</li>
+ *   <li>plusieurs changements d'une même keynote dans une transaction n'en font qu'un, avec son état au commit ;</li>
+ *   <li>après le commit, OutboxRelay est réveillé pour numéroter et publier les nouveaux événements.</li>
+ * </ul>
+ */
+@Service
+public class ChangeOutbox {
+
+    public static final String KEYNOTE = "keynote";
+
+    @Autowired
+    OutboxEventRepository outboxEventRepository;
+    @Autowired
+    OutboxRelay outboxRelay;
+    @Autowired
+    KeynoteMapper keynoteMapper;
+    @Autowired
+    ObjectMapper objectMapper;
+    @PersistenceContext
+    EntityManager entityManager;
+
+    // Payload calculé au commit, après le flush : la version est alors définitive
+    private record Change(Long aggregateId, ChangeType type, Supplier<Object> payload, Instant occurredAt) {
+        Change mergedWith(Change next) {
+            if (type == ChangeType.CREATED && next.type == ChangeType.DELETED) return null;
+            if (type == ChangeType.CREATED) return new Change(aggregateId, type, next.payload, next.occurredAt);
+            return next;
+        }
+    }
+
+    public void created(Keynote keynote) {
+        record(keynote.getId(), ChangeType.CREATED, () -> keynoteMapper.toKeynoteResponseDTO(keynote));
+    }
+
+    public void created(Collection<Keynote> keynotes) {
+        keynotes.forEach(this::created);
+    }
+
+    public void updated(Keynote keynote) {
+        record(keynote.getId(), ChangeType.UPDATED, () -> keynoteMapper.toKeynoteResponseDTO(keynote));
+    }
+
+    public void deleted(Long id) {
+        record(id, ChangeType.DELETED, () -> KeynoteResponseDTO.builder().id(id).build());
+    }
+
+    private void record(Long aggregateId, ChangeType type, Supplier<Object> payload) {
+        pending().merge(aggregateId, new Change(aggregateId, type, payload, Instant.now()), Change::mergedWith);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<Long, Change> pending() {
+        Map<Long, Change> pending = (Map<Long, Change>) TransactionSynchronizationManager.getResource(this);
+        if (pending != null) return pending;
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Changes must be recorded inside the writing transaction");
+        }
+        Map<Long, Change> created = new LinkedHashMap<>();
+        TransactionSynchronizationManager.bindResource(this, created);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                write(created.values());
+            }
+
+            @Override
+            public void afterCommit() {
+                if (!created.isEmpty()) outboxRelay.wakeUp();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(ChangeOutbox.this);
+            }
+        });
+        return created;
+    }
+
+    private void write(Collection<Change> changes) {
+        if (changes.isEmpty()) return;
+        entityManager.flush();
+        outboxEventRepository.saveAll(changes.stream()
+                .map(change -> OutboxEvent.builder()
+                        .aggregate(KEYNOTE)
+                        .aggregateId(change.aggregateId())
+                        .type(change.type())
+                        .payload(json(change.payload().get()))
+                        .occurredAt(change.occurredAt())
+                        .build())
+                .toList());
+    }
+
+    private String json(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize change payload", e);
+        }
+    }
+
+    /**
+     * Événements numérotés après la position after, au plus limit, publiés ou sur le point de l'être. Si after n'est
+     * plus lisible (purgé, ou au-delà de la dernière position après une réinitialisation de la base), la page le
+     * signale et repart de la plus ancienne position disponible.
+     * Lu sur la base principale : un réplica en retard ferait sauter au client les événements entre sa relecture
+     * et le flux en direct.
+     */
+    @Transactional
+    public ChangesPageDTO changesAfter(long after, int limit) {
+        long last = outboxEventRepository.findMaxPosition();
+        Long first = outboxEventRepository.findMinPosition();
+        boolean reset = after > last || first != null && after < first - 1;
+        long from = !reset ? after : after > last ? 0 : first - 1;
+        List<ChangeEventDTO> events = outboxEventRepository
+                .findByPositionGreaterThanOrderByPositionAsc(from, Limit.of(limit)).stream()
+                .map(ChangeEventDTO::of)
+                .toList();
+        return ChangesPageDTO.builder()
+                .reset(reset)
+                .after(from)
+                .events(events)
+                .lastPosition(events.isEmpty() ? from : events.get(events.size() - 1).getPosition())
+                .build();
+    }
+
+    @Transactional
+    public long lastPosition() {
+        return outboxEventRepository.findMaxPosition();
+    }
+}
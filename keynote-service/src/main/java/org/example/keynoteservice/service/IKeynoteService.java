@@ -1,16 +1,26 @@
 package org.example.keynoteservice.service;
 
+import org.example.keynoteservice.dto.BulkResultDTO;
 import org.example.keynoteservice.dto.KeynoteRequestDTO;
 import org.example.keynoteservice.dto.KeynoteResponseDTO;
+import org.example.keynoteservice.dto.PageResponseDTO;
 import org.example.keynoteservice.entity.Keynote;
+import org.springframework.data.domain.Pageable;
 
+import java.util.Iterator;
 import java.util.List;
 
 public interface IKeynoteService {
-    List<KeynoteResponseDTO> getAllKeynotes();
+    PageResponseDTO<KeynoteResponseDTO> getAllKeynotes(Pageable pageable);
+    PageResponseDTO<KeynoteResponseDTO> getKeynotesAfter(Long afterId, int size);
     KeynoteResponseDTO getKeynoteById(Long id);
+    String getKeynoteETag(Long id);
+    String getKeynotesETag();
+    List<KeynoteResponseDTO> getKeynotesByIds(List<Long> ids);
+    List<KeynoteResponseDTO> suggestKeynotes(String prefix, int limit);
     void createKeynote(KeynoteRequestDTO keynote);
-    void updateKeynote(Long id, KeynoteRequestDTO keynote);
-    void patchKeynote(Long id, KeynoteRequestDTO keynote);
+    BulkResultDTO createKeynotes(Iterator<KeynoteRequestDTO> keynotes);
+    void updateKeynote(Long id, KeynoteRequestDTO keynote, Long expectedVersion);
+    void patchKeynote(Long id, KeynoteRequestDTO keynote, Long expectedVersion);
     void deleteKeynote(Long id);
 }
@@ -1,13 +1,30 @@
 package org.example.keynoteservice.service;
 
+import org.example.keynoteservice.dto.BulkResultDTO;
 import org.example.keynoteservice.dto.KeynoteRequestDTO;
 import org.example.keynoteservice.dto.KeynoteResponseDTO;
+import org.example.keynoteservice.dto.PageResponseDTO;
 import org.example.keynoteservice.entity.Keynote;
 import org.example.keynoteservice.mapper.KeynoteMapper;
+import org.example.keynoteservice.metrics.RowMetrics;
 import org.example.keynoteservice.repository.KeynoteRepository;
+import org.example.keynoteservice.repository.KeynotesVersion;
+import org.example.keynoteservice.web.ETags;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
 
 @Service
@@ -16,46 +33,180 @@ public class IKeynoteServiceImpl implements IKeynoteService {
     private KeynoteRepository keynoteRepository;
     @Autowired
     private KeynoteMapper keynoteMapper;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private RowMetrics rowMetrics;
+    @Autowired
+    private KeynoteSuggestions keynoteSuggestions;
+    @Autowired
+    private ChangeOutbox changeOutbox;
+    @Value("${bulk.chunk-size:1000}")
+    private int bulkChunkSize;
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageResponseDTO<KeynoteResponseDTO> getAllKeynotes(Pageable pageable) {
+        Page<Keynote> page = keynoteRepository.findAll(pageable);
+        List<Keynote> keynotes = page.getContent();
+        rowMetrics.record("getAllKeynotes", "keynote", keynotes.size());
+        return PageResponseDTO.<KeynoteResponseDTO>builder()
+                .content(keynotes.stream().map(keynoteMapper::toKeynoteResponseDTO).toList())
+                .page(page.getNumber())
+                .size(page.getSize())
+                .totalElements(page.getTotalElements())
+                .totalPages(page.getTotalPages())
+                .hasNext(page.hasNext())
+                .nextAfterId(page.hasNext() && !keynotes.isEmpty() ? keynotes.get(keynotes.size() - 1).getId() : null)
+                .build();
+    }
 
     @Override
-    public List<KeynoteResponseDTO> getAllKeynotes() {
-        return keynoteRepository.findAll().stream().map(keynoteMapper::toKeynoteResponseDTO).toList();
+    @Transactional(readOnly = true)
+    public PageResponseDTO<KeynoteResponseDTO> getKeynotesAfter(Long afterId, int size) {
+        // Une ligne de plus que la page demandée pour savoir s'il existe une suite, sans requête de comptage
+        List<Keynote> rows = keynoteRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(size + 1));
+        boolean hasNext = rows.size() > size;
+        List<Keynote> keynotes = hasNext ? rows.subList(0, size) : rows;
+        rowMetrics.record("getKeynotesAfter", "keynote", rows.size());
+        return PageResponseDTO.<KeynoteResponseDTO>builder()
+                .content(keynotes.stream().map(keynoteMapper::toKeynoteResponseDTO).toList())
+                .size(size)
+                .hasNext(hasNext)
+                .nextAfterId(hasNext ? keynotes.get(keynotes.size() - 1).getId() : null)
+                .build();
     }
 
     @Override
+    @Transactional(readOnly = true)
     public KeynoteResponseDTO getKeynoteById(Long id) {
         Keynote keynote = keynoteRepository.findById(id).orElseThrow(() -> new RuntimeException("Keynote not found"));
+        rowMetrics.record("getKeynoteById", "keynote", 1);
         return keynoteMapper.toKeynoteResponseDTO(keynote);
     }
 
+    // ETag d'une keynote lu par une projection de sa version, sans charger l'entité ; null si elle n'existe pas
+    @Override
+    @Transactional(readOnly = true)
+    public String getKeynoteETag(Long id) {
+        return keynoteRepository.findVersionById(id).map(ETags::of).orElse(null);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public String getKeynotesETag() {
+        KeynotesVersion aggregate = keynoteRepository.aggregateVersion();
+        return ETags.of(aggregate.getCount(), aggregate.getVersionSum(), aggregate.getMaxId());
+    }
+
     @Override
+    @Transactional(readOnly = true)
+    public List<KeynoteResponseDTO> getKeynotesByIds(List<Long> ids) {
+        List<Keynote> keynotes = keynoteRepository.findAllById(ids);
+        rowMetrics.record("getKeynotesByIds", "keynote", keynotes.size());
+        return keynotes.stream().map(keynoteMapper::toKeynoteResponseDTO).toList();
+    }
+
+    // Ids trouvés en mémoire par l'index, puis une lecture par clé primaire des keynotes, dans l'ordre de l'index
+    @Override
+    @Transactional(readOnly = true)
+    public List<KeynoteResponseDTO> suggestKeynotes(String prefix, int limit) {
+        List<Long> ids = keynoteSuggestions.suggest(prefix, limit);
+        if (ids.isEmpty()) return List.of();
+        List<Keynote> keynotes = new ArrayList<>(keynoteRepository.findAllById(ids));
+        keynotes.sort(Comparator.comparingInt(keynote -> ids.indexOf(keynote.getId())));
+        rowMetrics.record("suggestKeynotes", "keynote", keynotes.size());
+        return keynotes.stream().map(keynoteMapper::toKeynoteResponseDTO).toList();
+    }
+
+    // L'événement d'outbox est écrit dans la transaction de la keynote ; index de suggestions et caches de
+    // conference-service ne voient la keynote qu'une fois validée
+    @Override
+    @Transactional
     public void createKeynote(KeynoteRequestDTO keynote) {
-        keynoteRepository.save(keynoteMapper.toEntity(keynote));
+        Keynote saved = keynoteRepository.save(keynoteMapper.toEntity(keynote));
+        changeOutbox.created(saved);
+        afterCommit(() -> keynoteSuggestions.changed(saved));
     }
 
     @Override
-    public void updateKeynote(Long id, KeynoteRequestDTO keynote) {
+    public BulkResultDTO createKeynotes(Iterator<KeynoteRequestDTO> keynotes) {
+        long start = System.nanoTime();
+        long created = 0;
+        int chunks = 0;
+        while (keynotes.hasNext()) {
+            List<Keynote> chunk = new ArrayList<>(bulkChunkSize);
+            while (keynotes.hasNext() && chunk.size() < bulkChunkSize) {
+                chunk.add(keynoteMapper.toEntity(keynotes.next()));
+            }
+            // Une transaction par lot : les INSERT partent par batch JDBC et le contexte de persistance est libéré à chaque commit
+            transactionTemplate.executeWithoutResult(status -> {
+                keynoteRepository.saveAll(chunk);
+                changeOutbox.created(chunk);
+            });
+            keynoteSuggestions.changed(chunk);
+            created += chunk.size();
+            chunks++;
+        }
+        return BulkResultDTO.of(created, chunks, System.nanoTime() - start);
+    }
+
+    @Override
+    @Transactional
+    public void updateKeynote(Long id, KeynoteRequestDTO keynote, Long expectedVersion) {
     Keynote existingKeynote = keynoteRepository.findById(id).orElseThrow(() -> new RuntimeException("Keynote not found"));
+    checkVersion(existingKeynote, expectedVersion);
     existingKeynote.setNom(keynote.getNom());
     existingKeynote.setPrenom(keynote.getPrenom());
     existingKeynote.setEmail(keynote.getEmail());
     existingKeynote.setFonction(keynote.getFonction());
-    keynoteRepository.save(existingKeynote);
+    Keynote saved = keynoteRepository.save(existingKeynote);
+    changeOutbox.updated(saved);
+    afterCommit(() -> keynoteSuggestions.changed(saved));
     }
 
     @Override
-    public void patchKeynote(Long id, KeynoteRequestDTO keynote) {
+    @Transactional
+    public void patchKeynote(Long id, KeynoteRequestDTO keynote, Long expectedVersion) {
         Keynote existingKeynote = keynoteRepository.findById(id).orElseThrow(() -> new RuntimeException("Keynote not found"));
+        checkVersion(existingKeynote, expectedVersion);
         //if(keynote.getConferences() != null) existingKeynote.setConferences(keynote.getConferences());
         if(keynote.getNom() != null) existingKeynote.setNom(keynote.getNom());
         if(keynote.getPrenom() != null) existingKeynote.setPrenom(keynote.getPrenom());
         if(keynote.getEmail() != null) existingKeynote.setEmail(keynote.getEmail());
         if(keynote.getFonction() != null) existingKeynote.setFonction(keynote.getFonction());
-        keynoteRepository.save(existingKeynote);
+        Keynote saved = keynoteRepository.save(existingKeynote);
+        changeOutbox.updated(saved);
+        afterCommit(() -> keynoteSuggestions.changed(saved));
+    }
+
+    // If-Match : la modification ne s'applique qu'à la version que le client a lue
+    private void checkVersion(Keynote keynote, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(keynote.getVersion())) {
+            throw new OptimisticLockingFailureException("Keynote " + keynote.getId() + " has changed");
+        }
     }
 
+    // Suppression idempotente : l'événement est écrit même si la keynote n'existait plus
     @Override
+    @Transactional
     public void deleteKeynote(Long id) {
     keynoteRepository.deleteById(id);
+    changeOutbox.deleted(id);
+    afterCommit(() -> keynoteSuggestions.deleted(id));
+    }
+
+    // Après le commit de la transaction courante, ou tout de suite hors transaction
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
     }
 }
@@ -0,0 +1,98 @@
+package org.example.keynoteservice.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.keynoteservice.entity.Keynote;
+import org.example.keynoteservice.repository.KeynoteNames;
+import org.example.keynoteservice.repository.KeynoteRepository;
+import org.example.keynoteservice.search.KeynotePrefixIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * Autocomplétion des keynotes, tenue à jour par les écritures de IKeynoteServiceImpl une fois validées.
+ * {@link #rebuild()} relit toute la table (au démarrage) ; les keynotes modifiées pendant la relecture sont relues
+ * à nouveau une fois le nouvel index en place.
+ */
+@Slf4j
+@Service
+public class KeynoteSuggestions {
+
+    @Autowired
+    KeynoteRepository keynoteRepository;
+
+    private final KeynotePrefixIndex index = new KeynotePrefixIndex();
+    private TransactionTemplate readTransaction;
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private final Set<Long> changedDuringRebuild = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    void setTransactionManager(PlatformTransactionManager transactionManager) {
+        readTransaction = new TransactionTemplate(transactionManager);
+        readTransaction.setReadOnly(true);
+    }
+
+    public List<Long> suggest(String prefix, int limit) {
+        return index.suggest(prefix, limit);
+    }
+
+    public void changed(Keynote keynote) {
+        if (rebuilding.get()) changedDuringRebuild.add(keynote.getId());
+        index.put(KeynoteNames.of(keynote));
+    }
+
+    public void changed(Collection<Keynote> keynotes) {
+        keynotes.forEach(this::changed);
+    }
+
+    public void deleted(Long id) {
+        if (rebuilding.get()) changedDuringRebuild.add(id);
+        index.remove(id);
+    }
+
+    /**
+     * Reconstruit l'index depuis la table, lue par curseur sans charger d'entité.
+     * @return nombre de clés indexées
+     */
+    public int rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) throw new IllegalStateException("Suggestion index rebuild already running");
+        try {
+            changedDuringRebuild.clear();
+            readTransaction.executeWithoutResult(status -> {
+                try (Stream<KeynoteNames> keynotes = keynoteRepository.streamNames()) {
+                    index.rebuild(keynotes.iterator());
+                }
+            });
+            // Écritures appliquées à l'ancien index pendant la relecture : rejouées depuis la base
+            Set<Long> changed = new HashSet<>(changedDuringRebuild);
+            rebuilding.set(false);
+            if (!changed.isEmpty()) {
+                List<Keynote> keynotes = keynoteRepository.findAllById(changed);
+                keynotes.forEach(keynote -> changed.remove(keynote.getId()));
+                keynotes.forEach(keynote -> index.put(KeynoteNames.of(keynote)));
+                changed.forEach(index::remove);
+            }
+            return index.size();
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        long start = System.nanoTime();
+        int keys = rebuild();
+        log.info("Keynote suggestion index built: {} keys in {} ms", keys, (System.nanoTime() - start) / 1_000_000);
+    }
+}
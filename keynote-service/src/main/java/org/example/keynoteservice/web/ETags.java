@@ -0,0 +1,44 @@
+package org.example.keynoteservice.web;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * ETags forts construits à partir des versions (@Version) des entités : "composant.composant…",
+ * dont le premier composant est toujours la version de la ressource elle-même.
+ */
+public final class ETags {
+
+    private ETags() {
+    }
+
+    public static String of(Object... parts) {
+        return Arrays.stream(parts).map(String::valueOf).collect(Collectors.joining(".", "\"", "\""));
+    }
+
+    // If-None-Match : * ou liste d'ETags, comparés en mode faible comme le veut la RFC 9110
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || etag == null) return false;
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || (tag.startsWith("W/") ? tag.substring(2) : tag).equals(etag)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Version attendue par un If-Match, lue dans le premier composant de l'ETag : null sans en-tête ou avec *,
+     * -1 pour un ETag faible ou illisible, qui ne peut correspondre à aucune version.
+     */
+    public static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) return null;
+        String tag = ifMatch.split(",")[0].trim();
+        if (!tag.startsWith("\"") || !tag.endsWith("\"") || tag.length() < 3) return -1L;
+        String version = tag.substring(1, tag.length() - 1).split("\\.")[0];
+        try {
+            return Long.parseLong(version);
+        } catch (NumberFormatException e) {
+            return -1L;
+        }
+    }
+}
@@ -1,42 +1,141 @@
 package org.example.keynoteservice.web;
 
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.keynoteservice.dto.BulkResultDTO;
 import org.example.keynoteservice.dto.KeynoteRequestDTO;
 import org.example.keynoteservice.dto.KeynoteResponseDTO;
+import org.example.keynoteservice.dto.PageResponseDTO;
 import org.example.keynoteservice.entity.Keynote;
+import jakarta.servlet.http.HttpServletRequest;
 import org.example.keynoteservice.service.IKeynoteService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/keynotes")
 public class KeynoteController {
     @Autowired
     private IKeynoteService keynoteService;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private static final Set<String> SORTABLE_PROPERTIES = Set.of("id", "nom", "prenom", "email", "fonction");
+    private static final int MAX_SUGGESTIONS = 50;
+    // Taille des lots de conference-service (keynote.batch-size, keynote.snapshots.batch-size)
+    private static final int MAX_IDS = 100;
 
+    /**
+     * Liste paginée (page, size, sort) des keynotes.
+     * Avec afterId, la page est lue par clé (tri par id) à partir du curseur renvoyé par la page précédente.
+     * L'ETag agrégé des keynotes est calculé avant la page : si le client l'a déjà, 304 sans lire la page.
+     */
     @GetMapping()
-    public List<KeynoteResponseDTO> getKeynotes() {
-       return keynoteService.getAllKeynotes();
+    public ResponseEntity<PageResponseDTO<KeynoteResponseDTO>> getKeynotes(@RequestParam(required = false) Long afterId,
+                                                                           @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                                                           @PageableDefault(size = 20, sort = "id") Pageable pageable) {
+       if (afterId == null) {
+           for (Sort.Order order : pageable.getSort()) {
+               if (!SORTABLE_PROPERTIES.contains(order.getProperty())) {
+                   throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unsupported sort property: " + order.getProperty());
+               }
+           }
+       }
+       String etag = keynoteService.getKeynotesETag();
+       if (ETags.matches(ifNoneMatch, etag)) return notModified(etag);
+       PageResponseDTO<KeynoteResponseDTO> page = afterId != null
+               ? keynoteService.getKeynotesAfter(afterId, pageable.getPageSize())
+               : keynoteService.getAllKeynotes(pageable);
+       return ResponseEntity.ok().eTag(etag).body(page);
+    }
+
+    private static <T> ResponseEntity<T> notModified(String etag) {
+       return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+    }
+
+    /**
+     * Autocomplétion : keynotes dont le nom, le prénom (« prénom nom » ou « nom prénom »), la fonction ou l'email
+     * commence par le préfixe, sans tenir compte de la casse ni des accents.
+     */
+    @GetMapping("suggest")
+    public List<KeynoteResponseDTO> suggestKeynotes(@RequestParam String prefix,
+                                                    @RequestParam(defaultValue = "10") int limit) {
+       return keynoteService.suggestKeynotes(prefix, Math.min(Math.max(limit, 1), MAX_SUGGESTIONS));
     }
+
+    /**
+     * Keynotes demandées en une requête, au plus MAX_IDS ids par appel : au-delà, 400 plutôt qu'une requête IN
+     * et une réponse de taille non bornée.
+     */
+    @GetMapping(params = "ids")
+    public List<KeynoteResponseDTO> getKeynotesByIds(@RequestParam List<Long> ids) {
+       if (ids.size() > MAX_IDS) {
+           throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At most " + MAX_IDS + " ids per request, got " + ids.size());
+       }
+       return keynoteService.getKeynotesByIds(ids);
+    }
+    /**
+     * Détail d'une keynote avec ETag (sa version) : si le client a déjà cette version, 304 sans charger l'entité.
+     */
     @GetMapping("{id}")
-    public KeynoteResponseDTO getKeynoteById(@PathVariable Long id) {
-       return keynoteService.getKeynoteById(id);
+    public ResponseEntity<KeynoteResponseDTO> getKeynoteById(@PathVariable Long id,
+                                                             @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+       String current = keynoteService.getKeynoteETag(id);
+       if (ETags.matches(ifNoneMatch, current)) return notModified(current);
+       KeynoteResponseDTO keynote = keynoteService.getKeynoteById(id);
+       return ResponseEntity.ok().eTag(keynote != null ? ETags.of(keynote.getVersion()) : null).body(keynote);
     }
     @PostMapping("create")
     public void createKeynote(@RequestBody KeynoteRequestDTO keynote) {
        keynoteService.createKeynote(keynote);
     }
+    /**
+     * Création en masse à partir d'un tableau JSON lu élément par élément :
+     * le corps n'est jamais chargé en entier et les keynotes sont persistées par lots de bulk.chunk-size.
+     */
+    @PostMapping(value = "bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public BulkResultDTO createKeynotes(InputStream body) throws IOException {
+       try (MappingIterator<KeynoteRequestDTO> keynotes = objectMapper.readerFor(KeynoteRequestDTO.class).readValues(body)) {
+           return keynoteService.createKeynotes(keynotes);
+       }
+    }
+    /**
+     * Avec If-Match, la modification n'est appliquée que si la keynote est toujours dans la version lue (sinon 412).
+     */
     @PutMapping("{id}")
-    public void updateKeynote(@PathVariable Long id, @RequestBody KeynoteRequestDTO keynote) {
-       keynoteService.updateKeynote(id, keynote);
+    public void updateKeynote(@PathVariable Long id, @RequestBody KeynoteRequestDTO keynote,
+                              @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+       keynoteService.updateKeynote(id, keynote, ETags.expectedVersion(ifMatch));
     }
     @PatchMapping("{id}")
-    public void patchKeynote(@PathVariable Long id, @RequestBody KeynoteRequestDTO keynote) {
-       keynoteService.patchKeynote(id, keynote);
+    public void patchKeynote(@PathVariable Long id, @RequestBody KeynoteRequestDTO keynote,
+                             @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+       keynoteService.patchKeynote(id, keynote, ETags.expectedVersion(ifMatch));
     }
     @DeleteMapping("delete/{id}")
     public void deleteKeynote(@PathVariable Long id) {
        keynoteService.deleteKeynote(id);
     }
+
+    // Version lue périmée (If-Match) : 412 ; modification concurrente détectée par @Version sans If-Match : 409
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Void> versionConflict(HttpServletRequest request) {
+       return ResponseEntity.status(request.getHeader(HttpHeaders.IF_MATCH) != null
+               ? HttpStatus.PRECONDITION_FAILED
+               : HttpStatus.CONFLICT).build();
+    }
 }
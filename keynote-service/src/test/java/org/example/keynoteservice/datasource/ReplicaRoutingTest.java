@@ -0,0 +1,163 @@
+package org.example.keynoteservice.datasource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.keynoteservice.dto.KeynoteRequestDTO;
+import org.example.keynoteservice.service.IKeynoteService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.data.domain.PageRequest;
+
+import javax.sql.DataSource;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Routage lecture/écriture sur deux bases H2 en mémoire : le « réplica » est une copie du primaire
+ * faite par SCRIPT / RUNSCRIPT quand le test simule une réplication, et son retard est lu dans la table replica_status.
+ */
+@SpringBootTest(properties = {
+        "eureka.client.enabled=false",
+        "spring.datasource.url=jdbc:h2:mem:keynote-primary;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "datasource.replicas.enabled=true",
+        "jdbc.excluded-data-source-bean-names=routingDataSource",
+        "datasource.replicas.instances[0].name=replica-1",
+        "datasource.replicas.instances[0].url=" + ReplicaRoutingTest.REPLICA_URL,
+        "datasource.replicas.instances[0].username=sa",
+        "datasource.replicas.lag-query=SELECT lag_seconds FROM replica_status",
+        "datasource.replicas.max-lag=5s",
+        // Mesures déclenchées par le test
+        "datasource.replicas.check-interval=1h"
+})
+@DisplayName("Routage des lectures vers les réplicas")
+class ReplicaRoutingTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:keynote-replica-1;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private IKeynoteService keynoteService;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final JdbcTemplate primary = new JdbcTemplate(new DriverManagerDataSource("jdbc:h2:mem:keynote-primary;DB_CLOSE_DELAY=-1", "sa", ""));
+    private final JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+
+    private ReplicaDataSource replicas() throws Exception {
+        return dataSource.unwrap(RoutingDataSource.class).replicas();
+    }
+
+    // Copie complète du primaire vers le réplica, qui annonce ensuite le retard donné
+    private void replicate(double lagSeconds) throws Exception {
+        Path script = Files.createTempFile("keynote-replica", ".sql");
+        primary.execute("SCRIPT TO '" + script + "'");
+        replica.execute("DROP ALL OBJECTS");
+        replica.execute("RUNSCRIPT FROM '" + script + "'");
+        replica.execute("CREATE TABLE replica_status (lag_seconds DOUBLE)");
+        replica.update("INSERT INTO replica_status VALUES (?)", lagSeconds);
+        Files.delete(script);
+        replicas().checkReplicas();
+    }
+
+    private double reads(String target, String reason) {
+        return meterRegistry.counter("datasource.reads", "target", target, "reason", reason).count();
+    }
+
+    private Long createKeynote(String nom) {
+        keynoteService.createKeynote(KeynoteRequestDTO.builder().nom(nom).prenom("Ada").email(nom + "@example.com").fonction("CTO").build());
+        return primary.queryForObject("SELECT MAX(id) FROM keynote WHERE nom = ?", Long.class, nom);
+    }
+
+    @BeforeEach
+    void setUp() throws Exception {
+        replicate(0);
+    }
+
+    @Test
+    @DisplayName("Devrait écrire sur le primaire et lire les transactions read-only sur le réplica")
+    void readOnlyTransactions_readFromReplica() throws Exception {
+        // Arrange
+        Long id = createKeynote("Lovelace");
+        assertEquals(0, replica.queryForObject("SELECT COUNT(*) FROM keynote WHERE id = ?", Integer.class, id));
+        replicate(0);
+        // Modifiée sur le réplica seulement : la lecture dit d'où elle vient
+        replica.update("UPDATE keynote SET fonction = 'replica' WHERE id = ?", id);
+        double replicaReads = reads("replica-1", "replica");
+
+        // Act
+        String fonction = keynoteService.getKeynoteById(id).getFonction();
+        long total = keynoteService.getAllKeynotes(PageRequest.of(0, 10)).getTotalElements();
+
+        // Assert
+        assertEquals("replica", fonction);
+        assertTrue(total >= 1);
+        assertEquals(replicaReads + 2, reads("replica-1", "replica"));
+    }
+
+    @Test
+    @DisplayName("Devrait revenir au primaire quand le réplica dépasse le retard maximal")
+    void laggingReplica_fallsBackToPrimary() throws Exception {
+        // Arrange
+        Long id = createKeynote("Hopper");
+        replicate(60);
+        replica.update("UPDATE keynote SET fonction = 'replica' WHERE id = ?", id);
+        double fallbacks = reads(ReplicaDataSource.PRIMARY, "no-replica");
+
+        // Act
+        String fonction = keynoteService.getKeynoteById(id).getFonction();
+
+        // Assert
+        assertEquals("CTO", fonction);
+        assertEquals(fallbacks + 1, reads(ReplicaDataSource.PRIMARY, "no-replica"));
+        assertEquals(0, meterRegistry.get("datasource.replica.available").tag("replica", "replica-1").gauge().value());
+        assertEquals(60, meterRegistry.get("datasource.replica.lag").tag("replica", "replica-1").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Devrait servir une connexion avec identifiants explicites depuis le réplica qui les partage")
+    void explicitCredentials_useMatchingReplica() throws Exception {
+        // Arrange
+        double replicaReads = reads("replica-1", "replica");
+
+        // Act
+        try (Connection connection = replicas().getConnection("sa", "")) {
+            // Assert
+            assertTrue(connection.getMetaData().getURL().startsWith("jdbc:h2:mem:keynote-replica-1"));
+        }
+        assertEquals(replicaReads + 1, reads("replica-1", "replica"));
+    }
+
+    @Test
+    @DisplayName("Devrait transmettre au primaire des identifiants que le réplica ne connaît pas")
+    void otherCredentials_goToPrimary() throws Exception {
+        // Arrange
+        double fallbacks = reads(ReplicaDataSource.PRIMARY, "no-replica");
+
+        // Act & Assert : le pool du primaire n'ouvre de connexions qu'avec ses propres identifiants
+        assertThrows(SQLException.class, () -> replicas().getConnection("reporting", "secret"));
+        assertEquals(fallbacks + 1, reads(ReplicaDataSource.PRIMARY, "no-replica"));
+    }
+
+    @Test
+    @DisplayName("Devrait exposer les métriques de pool du primaire et du réplica")
+    void pools_exposeHikariMetrics() {
+        // Act
+        keynoteService.getAllKeynotes(PageRequest.of(0, 10));
+
+        // Assert
+        assertNotNull(meterRegistry.find("hikaricp.connections").tag("pool", ReplicaDataSource.PRIMARY).gauge());
+        assertNotNull(meterRegistry.find("hikaricp.connections").tag("pool", "replica-1").gauge());
+    }
+}
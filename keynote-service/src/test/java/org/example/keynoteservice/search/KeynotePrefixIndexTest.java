@@ -0,0 +1,94 @@
+package org.example.keynoteservice.search;
+
+import org.example.keynoteservice.repository.KeynoteNames;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Index de préfixes des keynotes")
+class KeynotePrefixIndexTest {
+
+    private KeynotePrefixIndex index;
+
+    private static KeynoteNames keynote(long id, String prenom, String nom, String fonction, String email) {
+        return new KeynoteNames(id, nom, prenom, email, fonction);
+    }
+
+    @BeforeEach
+    void setUp() {
+        index = new KeynotePrefixIndex();
+        index.rebuild(List.of(
+                keynote(1L, "Éloïse", "Dupont", "Architecte Logiciel", "eloise.dupont@example.com"),
+                keynote(2L, "Jean", "Durand", "Lead Developer", "jd@example.com"),
+                keynote(3L, "Jeanne", "de La Fontaine", "Professeure", null)).iterator());
+    }
+
+    @Test
+    @DisplayName("Devrait ignorer casse et accents, dans la requête comme dans les noms")
+    void suggest_foldsCaseAndAccents() {
+        // Act & Assert
+        assertEquals(List.of(1L), index.suggest("elo", 10));
+        assertEquals(List.of(1L), index.suggest("ÉLOÏSE", 10));
+        assertEquals(List.of(1L, 2L), index.suggest("du", 10));
+    }
+
+    @Test
+    @DisplayName("Devrait trouver « prénom nom », « nom prénom », chaque mot du nom, la fonction et l'email")
+    void suggest_matchesEveryField() {
+        // Act & Assert
+        assertEquals(List.of(2L), index.suggest("jean du", 10));
+        assertEquals(List.of(2L), index.suggest("durand  je", 10));
+        assertEquals(List.of(3L), index.suggest("fontaine", 10));
+        assertEquals(List.of(1L), index.suggest("logiciel", 10));
+        assertEquals(List.of(2L), index.suggest("jd@", 10));
+        assertEquals(List.of(), index.suggest("   ", 10));
+    }
+
+    @Test
+    @DisplayName("Devrait renvoyer chaque keynote une fois, dans l'ordre des clés, au plus limit")
+    void suggest_distinctOrderedAndLimited() {
+        // Act & Assert
+        assertEquals(List.of(2L, 3L), index.suggest("jean", 10));
+        assertEquals(List.of(2L), index.suggest("jean", 1));
+    }
+
+    @Test
+    @DisplayName("Devrait refléter créations, modifications et suppressions sans reconstruction")
+    void putAndRemove_updateSuggestions() {
+        // Act
+        index.put(keynote(4L, "Zoé", "Zimmer", "Speaker", "zz@example.com"));
+        index.put(keynote(2L, "Jean", "Martin", "Lead Developer", "jd@example.com"));
+        index.remove(1L);
+
+        // Assert
+        assertEquals(List.of(4L), index.suggest("zoe", 10));
+        assertEquals(List.of(), index.suggest("durand", 10));
+        assertEquals(List.of(2L), index.suggest("martin", 10));
+        assertEquals(List.of(), index.suggest("eloise", 10));
+        assertEquals(List.of(2L, 3L), index.suggest("jean", 10));
+    }
+
+    @Test
+    @DisplayName("Devrait donner les mêmes résultats après la fusion du delta dans la base")
+    void manyWrites_mergeIntoBase() {
+        // Act : assez d'écritures pour déclencher plusieurs fusions
+        LongStream.rangeClosed(100, 5_099).forEach(id ->
+                index.put(keynote(id, "Prenom" + id, "Nom" + id, "Speaker", "k" + id + "@example.com")));
+        LongStream.rangeClosed(100, 5_099).filter(id -> id % 2 == 0).forEach(index::remove);
+        index.put(keynote(3L, "Jeanne", "Moreau", "Professeure", null));
+
+        // Assert
+        assertEquals(List.of(), index.suggest("prenom100 ", 10));
+        assertEquals(List.of(101L), index.suggest("prenom101 ", 10));
+        assertEquals(List.of(5099L), index.suggest("nom5099", 10));
+        assertEquals(2_500, index.suggest("nom", 10_000).size());
+        assertEquals(List.of(3L), index.suggest("moreau", 10));
+        assertEquals(List.of(), index.suggest("fontaine", 10));
+        assertEquals(List.of(1L, 2L), index.suggest("du", 10));
+    }
+}
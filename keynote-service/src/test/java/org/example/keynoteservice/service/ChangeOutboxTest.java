@@ -0,0 +1,173 @@
+package org.example.keynoteservice.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.keynoteservice.dto.ChangeEventDTO;
+import org.example.keynoteservice.dto.ChangesPageDTO;
+import org.example.keynoteservice.dto.KeynoteRequestDTO;
+import org.example.keynoteservice.entity.Keynote;
+import org.example.keynoteservice.outbox.ChangeBroker;
+import org.example.keynoteservice.outbox.OutboxRelay;
+import org.example.keynoteservice.repository.KeynoteRepository;
+import org.example.keynoteservice.repository.OutboxEventRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+/**
+ * Outbox, relais et flux /api/changes. Le relais automatique est désactivé : chaque test le déclenche lui-même
+ * et ne regarde que les événements postérieurs à la position de départ.
+ */
+@SpringBootTest(properties = {
+        "eureka.client.enabled=false",
+        "outbox.relay-enabled=false",
+        "outbox.stream-timeout=3s",
+        "outbox.heartbeat=200ms"
+})
+@AutoConfigureMockMvc
+@DisplayName("Outbox et flux des changements de keynotes")
+class ChangeOutboxTest {
+
+    @Autowired
+    private IKeynoteService keynoteService;
+
+    @Autowired
+    private ChangeOutbox changeOutbox;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private ChangeBroker changeBroker;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private KeynoteRepository keynoteRepository;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockitoBean
+    private KeynoteSuggestions keynoteSuggestions;
+
+    private final List<ChangeEventDTO> published = new CopyOnWriteArrayList<>();
+    private ChangeBroker.Subscription subscription;
+    private long start;
+
+    @BeforeEach
+    void setUp() {
+        outboxRelay.relay();
+        start = changeOutbox.lastPosition();
+        subscription = changeBroker.subscribe(published::addAll);
+    }
+
+    @AfterEach
+    void tearDown() {
+        subscription.close();
+    }
+
+    private Long create(String email) {
+        keynoteService.createKeynote(new KeynoteRequestDTO("Outbox", "Keynote", email, "Speaker"));
+        return keynoteRepository.findAll().stream()
+                .filter(keynote -> email.equals(keynote.getEmail()))
+                .map(Keynote::getId)
+                .findFirst().orElseThrow();
+    }
+
+    @Test
+    @DisplayName("Devrait publier chaque écriture validée, avec la keynote au commit, sous des positions continues")
+    void writes_arePublishedInOrderWithContiguousPositions() throws Exception {
+        // Arrange
+        Long id = create("ordre@outbox.test");
+        clearInvocations(keynoteSuggestions);
+
+        // Act
+        keynoteService.patchKeynote(id, new KeynoteRequestDTO(null, null, null, "Architecte"), null);
+        keynoteService.deleteKeynote(id);
+        int relayed = outboxRelay.relay();
+
+        // Assert
+        assertEquals(3, relayed);
+        assertEquals(List.of(start + 1, start + 2, start + 3), published.stream().map(ChangeEventDTO::getPosition).toList());
+        assertEquals(List.of("CREATED", "UPDATED", "DELETED"), published.stream().map(event -> event.getType().name()).toList());
+        JsonNode updated = objectMapper.readTree(published.get(1).getPayload());
+        assertEquals("Architecte", updated.get("fonction").asText());
+        assertEquals(1, updated.get("version").asLong());
+        verify(keynoteSuggestions).changed(argThat((Keynote keynote) -> keynote.getId().equals(id)));
+        verify(keynoteSuggestions).deleted(id);
+    }
+
+    @Test
+    @DisplayName("Devrait n'écrire aucun événement ni mettre à jour l'index quand l'écriture est annulée")
+    void rolledBackWrite_leavesNoEvent() {
+        // Arrange
+        Long id = create("annulee@outbox.test");
+        clearInvocations(keynoteSuggestions);
+        long events = outboxEventRepository.count();
+
+        // Act
+        assertThrows(OptimisticLockingFailureException.class,
+                () -> keynoteService.patchKeynote(id, new KeynoteRequestDTO("Jamais", null, null, null), 42L));
+
+        // Assert
+        assertEquals(events, outboxEventRepository.count());
+        verify(keynoteSuggestions, never()).changed(any(Keynote.class));
+    }
+
+    @Test
+    @DisplayName("Devrait servir une page depuis un curseur, puis suivre les nouveaux changements sur le flux SSE")
+    void pageAndStream_fromCursor() throws Exception {
+        // Arrange
+        create("page@outbox.test");
+        outboxRelay.relay();
+
+        // Act
+        ChangesPageDTO page = changeOutbox.changesAfter(start, 10);
+        MvcResult result = mockMvc.perform(get("/api/changes").param("after", String.valueOf(start)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        awaitContent(result, "id:" + (start + 1));
+        create("direct@outbox.test");
+        outboxRelay.relay();
+        String content = awaitContent(result, "id:" + (start + 2));
+
+        // Assert
+        assertEquals(List.of(start + 1), page.getEvents().stream().map(ChangeEventDTO::getPosition).toList());
+        assertEquals(start + 1, page.getLastPosition());
+        assertTrue(content.contains("page@outbox.test"), content);
+        assertTrue(content.contains("direct@outbox.test"), content);
+    }
+
+    private static String awaitContent(MvcResult result, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 2_000;
+        String content = result.getResponse().getContentAsString(StandardCharsets.UTF_8);
+        while (!content.contains(expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            content = result.getResponse().getContentAsString(StandardCharsets.UTF_8);
+        }
+        assertTrue(content.contains(expected), content);
+        return content;
+    }
+}
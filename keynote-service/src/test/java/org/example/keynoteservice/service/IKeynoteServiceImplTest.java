@@ -1,10 +1,14 @@
 package org.example.keynoteservice.service;
 
+import org.example.keynoteservice.dto.BulkResultDTO;
 import org.example.keynoteservice.dto.KeynoteRequestDTO;
 import org.example.keynoteservice.dto.KeynoteResponseDTO;
+import org.example.keynoteservice.dto.PageResponseDTO;
 import org.example.keynoteservice.entity.Keynote;
 import org.example.keynoteservice.mapper.KeynoteMapper;
+import org.example.keynoteservice.metrics.RowMetrics;
 import org.example.keynoteservice.repository.KeynoteRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -12,13 +16,23 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
@@ -32,12 +46,19 @@ class IKeynoteServiceImplTest {
     @Mock
     private KeynoteMapper keynoteMapper;
 
+    @Mock
+    private KeynoteSuggestions keynoteSuggestions;
+
+    @Mock
+    private ChangeOutbox changeOutbox;
+
     @InjectMocks
     private IKeynoteServiceImpl keynoteService;
 
     private Keynote keynote;
     private KeynoteRequestDTO keynoteRequestDTO;
     private KeynoteResponseDTO keynoteResponseDTO;
+    private SimpleMeterRegistry meterRegistry;
 
     @BeforeEach
     void setUp() {
@@ -64,6 +85,9 @@ class IKeynoteServiceImplTest {
                 .email("jean.dupont@example.com")
                 .fonction("Architecte Logiciel")
                 .build();
+
+        meterRegistry = new SimpleMeterRegistry();
+        ReflectionTestUtils.setField(keynoteService, "rowMetrics", new RowMetrics(meterRegistry));
     }
 
     @Test
@@ -88,19 +112,23 @@ class IKeynoteServiceImplTest {
 
         List<Keynote> keynoteList = Arrays.asList(keynote, keynote2);
 
-        when(keynoteRepository.findAll()).thenReturn(keynoteList);
+        Pageable pageable = PageRequest.of(0, 20);
+        when(keynoteRepository.findAll(pageable)).thenReturn(new PageImpl<>(keynoteList, pageable, 2));
         when(keynoteMapper.toKeynoteResponseDTO(keynote)).thenReturn(keynoteResponseDTO);
         when(keynoteMapper.toKeynoteResponseDTO(keynote2)).thenReturn(keynoteResponseDTO2);
 
         // Act
-        List<KeynoteResponseDTO> result = keynoteService.getAllKeynotes();
+        PageResponseDTO<KeynoteResponseDTO> page = keynoteService.getAllKeynotes(pageable);
+        List<KeynoteResponseDTO> result = page.getContent();
 
         // Assert
         assertNotNull(result);
         assertEquals(2, result.size());
         assertEquals("Dupont", result.get(0).getNom());
         assertEquals("Martin", result.get(1).getNom());
-        verify(keynoteRepository, times(1)).findAll();
+        assertEquals(2L, page.getTotalElements());
+        assertFalse(page.isHasNext());
+        verify(keynoteRepository, times(1)).findAll(pageable);
         verify(keynoteMapper, times(2)).toKeynoteResponseDTO(any());
     }
 
@@ -108,15 +136,37 @@ class IKeynoteServiceImplTest {
     @DisplayName("Devrait retourner une liste vide quand aucun keynote n'existe")
     void testGetAllKeynotes_EmptyList() {
         // Arrange
-        when(keynoteRepository.findAll()).thenReturn(Arrays.asList());
+        Pageable pageable = PageRequest.of(0, 20);
+        when(keynoteRepository.findAll(pageable)).thenReturn(new PageImpl<>(Arrays.asList(), pageable, 0));
 
         // Act
-        List<KeynoteResponseDTO> result = keynoteService.getAllKeynotes();
+        List<KeynoteResponseDTO> result = keynoteService.getAllKeynotes(pageable).getContent();
 
         // Assert
         assertNotNull(result);
         assertTrue(result.isEmpty());
-        verify(keynoteRepository, times(1)).findAll();
+        verify(keynoteRepository, times(1)).findAll(pageable);
+    }
+
+    @Test
+    @DisplayName("Devrait lire une page par clé et renvoyer le curseur suivant")
+    void testGetKeynotesAfter_Success() {
+        // Arrange
+        Keynote keynote2 = Keynote.builder().id(2L).nom("Martin").build();
+        Keynote keynote3 = Keynote.builder().id(3L).nom("Durand").build();
+        when(keynoteRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(3)))
+                .thenReturn(Arrays.asList(keynote, keynote2, keynote3));
+        when(keynoteMapper.toKeynoteResponseDTO(any())).thenReturn(keynoteResponseDTO);
+
+        // Act
+        PageResponseDTO<KeynoteResponseDTO> page = keynoteService.getKeynotesAfter(0L, 2);
+
+        // Assert
+        assertEquals(2, page.getContent().size());
+        assertTrue(page.isHasNext());
+        assertEquals(2L, page.getNextAfterId());
+        assertNull(page.getTotalElements());
+        verify(keynoteRepository, never()).count();
     }
 
     @Test
@@ -149,6 +199,26 @@ class IKeynoteServiceImplTest {
         verify(keynoteRepository, times(1)).findById(999L);
     }
 
+    @Test
+    @DisplayName("Devrait récupérer plusieurs keynotes par IDs en une seule requête")
+    void testGetKeynotesByIds_Success() {
+        // Arrange
+        List<Long> ids = List.of(1L, 999L);
+        when(keynoteRepository.findAllById(ids)).thenReturn(List.of(keynote));
+        when(keynoteMapper.toKeynoteResponseDTO(keynote)).thenReturn(keynoteResponseDTO);
+
+        // Act
+        List<KeynoteResponseDTO> result = keynoteService.getKeynotesByIds(ids);
+
+        // Assert
+        assertEquals(1, result.size());
+        assertEquals(1L, result.get(0).getId());
+        verify(keynoteRepository, times(1)).findAllById(ids);
+        verify(keynoteRepository, never()).findById(anyLong());
+        assertEquals(1.0, meterRegistry.get("rows.loaded")
+                .tag("operation", "getKeynotesByIds").tag("entity", "keynote").summary().totalAmount());
+    }
+
     @Test
     @DisplayName("Devrait créer un keynote avec succès")
     void testCreateKeynote_Success() {
@@ -179,7 +249,7 @@ class IKeynoteServiceImplTest {
         when(keynoteRepository.save(any(Keynote.class))).thenReturn(keynote);
 
         // Act
-        keynoteService.updateKeynote(1L, updateRequest);
+        keynoteService.updateKeynote(1L, updateRequest, null);
 
         // Assert
         verify(keynoteRepository, times(1)).findById(1L);
@@ -188,6 +258,7 @@ class IKeynoteServiceImplTest {
         assertEquals("JeanMaj", keynote.getPrenom());
         assertEquals("jean.maj@example.com", keynote.getEmail());
         assertEquals("Senior Architect", keynote.getFonction());
+        verify(keynoteSuggestions, times(1)).changed(any(Keynote.class));
     }
 
     @Test
@@ -197,9 +268,23 @@ class IKeynoteServiceImplTest {
         when(keynoteRepository.findById(999L)).thenReturn(Optional.empty());
 
         // Act & Assert
-        assertThrows(RuntimeException.class, () -> keynoteService.updateKeynote(999L, keynoteRequestDTO));
+        assertThrows(RuntimeException.class, () -> keynoteService.updateKeynote(999L, keynoteRequestDTO, null));
         verify(keynoteRepository, times(1)).findById(999L);
         verify(keynoteRepository, never()).save(any());
+        verify(keynoteSuggestions, never()).changed(any(Keynote.class));
+    }
+
+    @Test
+    @DisplayName("Devrait refuser la mise à jour d'un keynote modifié depuis la version lue (If-Match)")
+    void testUpdateKeynote_StaleVersion() {
+        // Arrange
+        keynote.setVersion(3L);
+        when(keynoteRepository.findById(1L)).thenReturn(Optional.of(keynote));
+
+        // Act & Assert
+        assertThrows(OptimisticLockingFailureException.class, () -> keynoteService.updateKeynote(1L, keynoteRequestDTO, 2L));
+        verify(keynoteRepository, never()).save(any());
+        verify(keynoteSuggestions, never()).changed(any(Keynote.class));
     }
 
     @Test
@@ -217,7 +302,7 @@ class IKeynoteServiceImplTest {
         when(keynoteRepository.save(any(Keynote.class))).thenReturn(keynote);
 
         // Act
-        keynoteService.patchKeynote(1L, patchRequest);
+        keynoteService.patchKeynote(1L, patchRequest, null);
 
         // Assert
         verify(keynoteRepository, times(1)).findById(1L);
@@ -226,6 +311,7 @@ class IKeynoteServiceImplTest {
         assertEquals("NouveauPrenom", keynote.getPrenom());
         assertEquals("nouveau@example.com", keynote.getEmail());
         assertEquals("Nouvelle Fonction", keynote.getFonction());
+        verify(keynoteSuggestions, times(1)).changed(any(Keynote.class));
     }
 
     @Test
@@ -247,7 +333,7 @@ class IKeynoteServiceImplTest {
         when(keynoteRepository.save(any(Keynote.class))).thenReturn(keynote);
 
         // Act
-        keynoteService.patchKeynote(1L, patchRequest);
+        keynoteService.patchKeynote(1L, patchRequest, null);
 
         // Assert
         verify(keynoteRepository, times(1)).findById(1L);
@@ -265,7 +351,7 @@ class IKeynoteServiceImplTest {
         when(keynoteRepository.findById(999L)).thenReturn(Optional.empty());
 
         // Act & Assert
-        assertThrows(RuntimeException.class, () -> keynoteService.patchKeynote(999L, keynoteRequestDTO));
+        assertThrows(RuntimeException.class, () -> keynoteService.patchKeynote(999L, keynoteRequestDTO, null));
         verify(keynoteRepository, times(1)).findById(999L);
         verify(keynoteRepository, never()).save(any());
     }
@@ -281,6 +367,7 @@ class IKeynoteServiceImplTest {
 
         // Assert
         verify(keynoteRepository, times(1)).deleteById(1L);
+        verify(keynoteSuggestions, times(1)).deleted(1L);
     }
 
     @Test
@@ -293,5 +380,57 @@ class IKeynoteServiceImplTest {
         assertDoesNotThrow(() -> keynoteService.deleteKeynote(999L));
         verify(keynoteRepository, times(1)).deleteById(999L);
     }
-}
 
+    @Test
+    @DisplayName("Devrait créer les keynotes en masse par lots de bulk.chunk-size, une transaction par lot")
+    void testCreateKeynotes_PersistsInChunks() {
+        // Arrange
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        ReflectionTestUtils.setField(keynoteService, "transactionTemplate", new TransactionTemplate(transactionManager));
+        ReflectionTestUtils.setField(keynoteService, "bulkChunkSize", 2);
+        when(keynoteMapper.toEntity(any(KeynoteRequestDTO.class))).thenReturn(keynote);
+
+        // Act
+        BulkResultDTO result = keynoteService.createKeynotes(Collections.nCopies(5, keynoteRequestDTO).iterator());
+
+        // Assert
+        assertEquals(5L, result.getCreated());
+        assertEquals(3, result.getChunks());
+        assertTrue(result.getRowsPerSecond() >= 0);
+        verify(keynoteRepository, times(2)).saveAll(argThat(chunk -> ((List<?>) chunk).size() == 2));
+        verify(keynoteRepository, times(1)).saveAll(argThat(chunk -> ((List<?>) chunk).size() == 1));
+        verify(transactionManager, times(3)).commit(any());
+    }
+
+    @Test
+    @DisplayName("Devrait renvoyer les suggestions dans l'ordre de l'index, lues par clé primaire")
+    void testSuggestKeynotes_KeepsIndexOrder() {
+        // Arrange
+        Keynote keynote2 = Keynote.builder().id(2L).nom("Durand").prenom("Julie").build();
+        KeynoteResponseDTO keynoteResponseDTO2 = KeynoteResponseDTO.builder().id(2L).nom("Durand").prenom("Julie").build();
+        when(keynoteSuggestions.suggest("du", 10)).thenReturn(List.of(2L, 1L));
+        when(keynoteRepository.findAllById(List.of(2L, 1L))).thenReturn(List.of(keynote, keynote2));
+        when(keynoteMapper.toKeynoteResponseDTO(keynote)).thenReturn(keynoteResponseDTO);
+        when(keynoteMapper.toKeynoteResponseDTO(keynote2)).thenReturn(keynoteResponseDTO2);
+
+        // Act
+        List<KeynoteResponseDTO> result = keynoteService.suggestKeynotes("du", 10);
+
+        // Assert
+        assertEquals(List.of(keynoteResponseDTO2, keynoteResponseDTO), result);
+    }
+
+    @Test
+    @DisplayName("Ne devrait pas interroger la base quand aucune keynote ne correspond")
+    void testSuggestKeynotes_NoMatch() {
+        // Arrange
+        when(keynoteSuggestions.suggest("zz", 10)).thenReturn(List.of());
+
+        // Act
+        List<KeynoteResponseDTO> result = keynoteService.suggestKeynotes("zz", 10);
+
+        // Assert
+        assertTrue(result.isEmpty());
+        verifyNoInteractions(keynoteRepository);
+    }
+}
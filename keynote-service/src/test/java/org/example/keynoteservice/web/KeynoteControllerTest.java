@@ -1,22 +1,32 @@
 package org.example.keynoteservice.web;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.keynoteservice.dto.BulkResultDTO;
 import org.example.keynoteservice.dto.KeynoteRequestDTO;
 import org.example.keynoteservice.dto.KeynoteResponseDTO;
+import org.example.keynoteservice.dto.PageResponseDTO;
 import org.example.keynoteservice.service.IKeynoteService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
+import java.util.stream.LongStream;
 import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
@@ -72,6 +82,16 @@ class KeynoteControllerTest {
                 .build();
     }
 
+    private PageResponseDTO<KeynoteResponseDTO> page(List<KeynoteResponseDTO> content, long totalElements) {
+        return PageResponseDTO.<KeynoteResponseDTO>builder()
+                .content(content)
+                .page(0)
+                .size(20)
+                .totalElements(totalElements)
+                .totalPages(totalElements == 0 ? 0 : 1)
+                .build();
+    }
+
     // ========== Tests GET /api/keynotes ==========
 
     @Test
@@ -79,40 +99,94 @@ class KeynoteControllerTest {
     void getAllKeynotes_shouldReturnListOfKeynotes() throws Exception {
         // ARRANGE
         List<KeynoteResponseDTO> keynotes = Arrays.asList(keynoteResponseDTO1, keynoteResponseDTO2);
-        when(keynoteService.getAllKeynotes()).thenReturn(keynotes);
+        when(keynoteService.getAllKeynotes(any(Pageable.class))).thenReturn(page(keynotes, 2L));
 
         // ACT & ASSERT
         mockMvc.perform(get("/api/keynotes")
                 .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
-                .andExpect(jsonPath("$", hasSize(2)))
-                .andExpect(jsonPath("$[0].id", is(1)))
-                .andExpect(jsonPath("$[0].nom", is("Dupont")))
-                .andExpect(jsonPath("$[0].prenom", is("Jean")))
-                .andExpect(jsonPath("$[0].email", is("jean.dupont@example.com")))
-                .andExpect(jsonPath("$[0].fonction", is("Architecte Logiciel")))
-                .andExpect(jsonPath("$[1].id", is(2)))
-                .andExpect(jsonPath("$[1].nom", is("Smith")))
-                .andExpect(jsonPath("$[1].prenom", is("Alice")));
-
-        verify(keynoteService, times(1)).getAllKeynotes();
+                .andExpect(jsonPath("$.content", hasSize(2)))
+                .andExpect(jsonPath("$.content[0].id", is(1)))
+                .andExpect(jsonPath("$.content[0].nom", is("Dupont")))
+                .andExpect(jsonPath("$.content[0].prenom", is("Jean")))
+                .andExpect(jsonPath("$.content[0].email", is("jean.dupont@example.com")))
+                .andExpect(jsonPath("$.content[0].fonction", is("Architecte Logiciel")))
+                .andExpect(jsonPath("$.content[1].id", is(2)))
+                .andExpect(jsonPath("$.content[1].nom", is("Smith")))
+                .andExpect(jsonPath("$.content[1].prenom", is("Alice")))
+                .andExpect(jsonPath("$.totalElements", is(2)));
+
+        verify(keynoteService, times(1)).getAllKeynotes(any(Pageable.class));
     }
 
     @Test
     @DisplayName("GET /api/keynotes - Doit retourner une liste vide")
     void getAllKeynotes_shouldReturnEmptyList() throws Exception {
         // ARRANGE
-        when(keynoteService.getAllKeynotes()).thenReturn(Arrays.asList());
+        when(keynoteService.getAllKeynotes(any(Pageable.class))).thenReturn(page(Arrays.asList(), 0L));
 
         // ACT & ASSERT
         mockMvc.perform(get("/api/keynotes")
                 .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
-                .andExpect(jsonPath("$", hasSize(0)));
+                .andExpect(jsonPath("$.content", hasSize(0)));
 
-        verify(keynoteService, times(1)).getAllKeynotes();
+        verify(keynoteService, times(1)).getAllKeynotes(any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("GET /api/keynotes?page=&size=&sort= - Doit transmettre la pagination au service")
+    void getAllKeynotes_withPagingParameters_shouldForwardPageable() throws Exception {
+        // ARRANGE
+        when(keynoteService.getAllKeynotes(any(Pageable.class))).thenReturn(page(Arrays.asList(keynoteResponseDTO2), 3L));
+
+        // ACT & ASSERT
+        mockMvc.perform(get("/api/keynotes")
+                .param("page", "2")
+                .param("size", "1")
+                .param("sort", "nom,desc")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)));
+
+        verify(keynoteService).getAllKeynotes(argThat(pageable ->
+                pageable.getPageNumber() == 2
+                        && pageable.getPageSize() == 1
+                        && pageable.getSort().equals(Sort.by(Sort.Direction.DESC, "nom"))));
+    }
+
+    @Test
+    @DisplayName("GET /api/keynotes?sort= - Doit refuser un tri sur une propriété inconnue")
+    void getAllKeynotes_withUnknownSortProperty_shouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/keynotes")
+                .param("sort", "password")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+
+        verify(keynoteService, never()).getAllKeynotes(any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("GET /api/keynotes?afterId= - Doit lire la page par clé")
+    void getAllKeynotes_withAfterId_shouldUseKeysetPagination() throws Exception {
+        // ARRANGE
+        when(keynoteService.getKeynotesAfter(1L, 20)).thenReturn(PageResponseDTO.<KeynoteResponseDTO>builder()
+                .content(Arrays.asList(keynoteResponseDTO2))
+                .size(20)
+                .build());
+
+        // ACT & ASSERT
+        mockMvc.perform(get("/api/keynotes")
+                .param("afterId", "1")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id", is(2)))
+                .andExpect(jsonPath("$.hasNext", is(false)));
+
+        verify(keynoteService, times(1)).getKeynotesAfter(1L, 20);
+        verify(keynoteService, never()).getAllKeynotes(any(Pageable.class));
     }
 
     // ========== Tests GET /api/keynotes/{id} ==========
@@ -153,6 +227,109 @@ class KeynoteControllerTest {
         verify(keynoteService, times(1)).getKeynoteById(999L);
     }
 
+    @Test
+    @DisplayName("GET /api/keynotes/{id} - Doit retourner 304 sans charger la keynote si l'ETag est inchangé")
+    void getKeynoteById_withMatchingETag_shouldReturnNotModified() throws Exception {
+        // ARRANGE
+        when(keynoteService.getKeynoteETag(1L)).thenReturn("\"4\"");
+
+        // ACT & ASSERT
+        mockMvc.perform(get("/api/keynotes/{id}", 1L)
+                .header(HttpHeaders.IF_NONE_MATCH, "\"4\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"4\""));
+
+        verify(keynoteService, never()).getKeynoteById(anyLong());
+    }
+
+    @Test
+    @DisplayName("GET /api/keynotes - Doit retourner l'ETag agrégé puis 304 sans lire la page")
+    void getAllKeynotes_withMatchingETag_shouldReturnNotModified() throws Exception {
+        // ARRANGE
+        when(keynoteService.getKeynotesETag()).thenReturn("\"2.7.2\"");
+        when(keynoteService.getAllKeynotes(any(Pageable.class))).thenReturn(page(Arrays.asList(keynoteResponseDTO1), 1L));
+
+        // ACT & ASSERT
+        mockMvc.perform(get("/api/keynotes"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"2.7.2\""));
+        mockMvc.perform(get("/api/keynotes")
+                .header(HttpHeaders.IF_NONE_MATCH, "W/\"2.7.2\""))
+                .andExpect(status().isNotModified());
+
+        verify(keynoteService, times(1)).getAllKeynotes(any(Pageable.class));
+    }
+
+    // ========== Tests GET /api/keynotes?ids= ==========
+
+    @Test
+    @DisplayName("GET /api/keynotes?ids= - Doit retourner les keynotes demandées en un seul appel")
+    void getKeynotesByIds_shouldReturnRequestedKeynotes() throws Exception {
+        // ARRANGE
+        when(keynoteService.getKeynotesByIds(List.of(1L, 2L)))
+                .thenReturn(Arrays.asList(keynoteResponseDTO1, keynoteResponseDTO2));
+
+        // ACT & ASSERT
+        mockMvc.perform(get("/api/keynotes")
+                .param("ids", "1", "2")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].id", is(1)))
+                .andExpect(jsonPath("$[1].id", is(2)));
+
+        verify(keynoteService, times(1)).getKeynotesByIds(List.of(1L, 2L));
+        verify(keynoteService, never()).getAllKeynotes(any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("GET /api/keynotes?ids= - Doit refuser plus de 100 ids par appel")
+    void getKeynotesByIds_withTooManyIds_shouldReturnBadRequest() throws Exception {
+        // ARRANGE
+        String[] ids = LongStream.rangeClosed(1, 101).mapToObj(Long::toString).toArray(String[]::new);
+
+        // ACT & ASSERT
+        mockMvc.perform(get("/api/keynotes")
+                .param("ids", ids)
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+
+        verify(keynoteService, never()).getKeynotesByIds(anyList());
+    }
+
+    // ========== Tests GET /api/keynotes/suggest ==========
+
+    @Test
+    @DisplayName("GET /api/keynotes/suggest - Doit retourner les keynotes suggérées, 10 par défaut")
+    void suggestKeynotes_shouldReturnSuggestions() throws Exception {
+        // ARRANGE
+        when(keynoteService.suggestKeynotes("dup", 10)).thenReturn(List.of(keynoteResponseDTO1));
+
+        // ACT & ASSERT
+        mockMvc.perform(get("/api/keynotes/suggest")
+                .param("prefix", "dup")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].nom", is("Dupont")));
+    }
+
+    @Test
+    @DisplayName("GET /api/keynotes/suggest - Doit borner limit à 50")
+    void suggestKeynotes_shouldCapLimit() throws Exception {
+        // ARRANGE
+        when(keynoteService.suggestKeynotes("a", 50)).thenReturn(List.of());
+
+        // ACT & ASSERT
+        mockMvc.perform(get("/api/keynotes/suggest")
+                .param("prefix", "a")
+                .param("limit", "10000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+
+        verify(keynoteService, times(1)).suggestKeynotes("a", 50);
+    }
+
     // ========== Tests POST /api/keynotes/create ==========
 
     @Test
@@ -212,6 +389,31 @@ class KeynoteControllerTest {
         verify(keynoteService, times(1)).createKeynote(any(KeynoteRequestDTO.class));
     }
 
+    // ========== Tests POST /api/keynotes/bulk ==========
+
+    @Test
+    @DisplayName("POST /api/keynotes/bulk - Doit transmettre le tableau au service élément par élément")
+    void createKeynotes_withJsonArray_shouldStreamToService() throws Exception {
+        // ARRANGE
+        List<String> received = new ArrayList<>();
+        when(keynoteService.createKeynotes(any())).thenAnswer(invocation -> {
+            Iterator<KeynoteRequestDTO> keynotes = invocation.getArgument(0);
+            keynotes.forEachRemaining(keynote -> received.add(keynote.getNom()));
+            return BulkResultDTO.builder().created(received.size()).chunks(1).durationMillis(4).rowsPerSecond(500.0).build();
+        });
+
+        // ACT & ASSERT
+        mockMvc.perform(post("/api/keynotes/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(keynoteRequestDTO, keynoteRequestDTO))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created", is(2)))
+                .andExpect(jsonPath("$.chunks", is(1)))
+                .andExpect(jsonPath("$.rowsPerSecond", is(500.0)));
+
+        assertEquals(List.of("Martin", "Martin"), received);
+    }
+
     // ========== Tests PUT /api/keynotes/{id} ==========
 
     @Test
@@ -219,7 +421,7 @@ class KeynoteControllerTest {
     void updateKeynote_withValidIdAndRequest_shouldUpdateKeynote() throws Exception {
         // ARRANGE
         Long id = 1L;
-        doNothing().when(keynoteService).updateKeynote(eq(id), any(KeynoteRequestDTO.class));
+        doNothing().when(keynoteService).updateKeynote(eq(id), any(KeynoteRequestDTO.class), any());
 
         // ACT & ASSERT
         mockMvc.perform(put("/api/keynotes/{id}", id)
@@ -227,7 +429,7 @@ class KeynoteControllerTest {
                 .content(objectMapper.writeValueAsString(keynoteRequestDTO)))
                 .andExpect(status().isOk());
 
-        verify(keynoteService, times(1)).updateKeynote(eq(1L), any(KeynoteRequestDTO.class));
+        verify(keynoteService, times(1)).updateKeynote(eq(1L), any(KeynoteRequestDTO.class), any());
     }
 
     @Test
@@ -241,7 +443,7 @@ class KeynoteControllerTest {
                 .email("new.email@example.com")
                 .fonction("New Fonction")
                 .build();
-        doNothing().when(keynoteService).updateKeynote(eq(id), any(KeynoteRequestDTO.class));
+        doNothing().when(keynoteService).updateKeynote(eq(id), any(KeynoteRequestDTO.class), any());
 
         // ACT & ASSERT
         mockMvc.perform(put("/api/keynotes/{id}", id)
@@ -249,7 +451,7 @@ class KeynoteControllerTest {
                 .content(objectMapper.writeValueAsString(updateDTO)))
                 .andExpect(status().isOk());
 
-        verify(keynoteService, times(1)).updateKeynote(eq(2L), any(KeynoteRequestDTO.class));
+        verify(keynoteService, times(1)).updateKeynote(eq(2L), any(KeynoteRequestDTO.class), any());
     }
 
     // ========== Tests PATCH /api/keynotes/{id} ==========
@@ -265,7 +467,7 @@ class KeynoteControllerTest {
                 .email(null)
                 .fonction(null)
                 .build();
-        doNothing().when(keynoteService).patchKeynote(eq(id), any(KeynoteRequestDTO.class));
+        doNothing().when(keynoteService).patchKeynote(eq(id), any(KeynoteRequestDTO.class), any());
 
         // ACT & ASSERT
         mockMvc.perform(patch("/api/keynotes/{id}", id)
@@ -273,7 +475,7 @@ class KeynoteControllerTest {
                 .content(objectMapper.writeValueAsString(patchDTO)))
                 .andExpect(status().isOk());
 
-        verify(keynoteService, times(1)).patchKeynote(eq(1L), any(KeynoteRequestDTO.class));
+        verify(keynoteService, times(1)).patchKeynote(eq(1L), any(KeynoteRequestDTO.class), any());
     }
 
     @Test
@@ -287,7 +489,7 @@ class KeynoteControllerTest {
                 .email("updated@example.com")
                 .fonction(null)
                 .build();
-        doNothing().when(keynoteService).patchKeynote(eq(id), any(KeynoteRequestDTO.class));
+        doNothing().when(keynoteService).patchKeynote(eq(id), any(KeynoteRequestDTO.class), any());
 
         // ACT & ASSERT
         mockMvc.perform(patch("/api/keynotes/{id}", id)
@@ -295,7 +497,22 @@ class KeynoteControllerTest {
                 .content(objectMapper.writeValueAsString(patchDTO)))
                 .andExpect(status().isOk());
 
-        verify(keynoteService, times(1)).patchKeynote(eq(2L), any(KeynoteRequestDTO.class));
+        verify(keynoteService, times(1)).patchKeynote(eq(2L), any(KeynoteRequestDTO.class), any());
+    }
+
+    @Test
+    @DisplayName("PATCH /api/keynotes/{id} - Doit transmettre la version de If-Match et retourner 412 si elle est périmée")
+    void patchKeynote_withStaleIfMatch_shouldReturnPreconditionFailed() throws Exception {
+        // ARRANGE
+        doThrow(new OptimisticLockingFailureException("Keynote 1 has changed"))
+                .when(keynoteService).patchKeynote(eq(1L), any(KeynoteRequestDTO.class), eq(3L));
+
+        // ACT & ASSERT
+        mockMvc.perform(patch("/api/keynotes/{id}", 1L)
+                .header(HttpHeaders.IF_MATCH, "\"3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(keynoteRequestDTO)))
+                .andExpect(status().isPreconditionFailed());
     }
 
     // ========== Tests DELETE /api/keynotes/delete/{id} ==========
@@ -376,7 +593,7 @@ class KeynoteControllerTest {
         // ARRANGE
         Long id = 1L;
         String jsonContent = "{\"nom\": \"TestNom\", \"prenom\": \"TestPrenom\", \"email\": \"test@example.com\", \"fonction\": \"TestFonction\"}";
-        doNothing().when(keynoteService).updateKeynote(eq(id), any(KeynoteRequestDTO.class));
+        doNothing().when(keynoteService).updateKeynote(eq(id), any(KeynoteRequestDTO.class), any());
 
         // ACT & ASSERT
         mockMvc.perform(put("/api/keynotes/{id}", id)
@@ -384,18 +601,18 @@ class KeynoteControllerTest {
                 .content(jsonContent))
                 .andExpect(status().isOk());
 
-        verify(keynoteService, times(1)).updateKeynote(eq(1L), any(KeynoteRequestDTO.class));
+        verify(keynoteService, times(1)).updateKeynote(eq(1L), any(KeynoteRequestDTO.class), any());
     }
 
     @Test
     @DisplayName("Tous les endpoints - Doit retourner du JSON valide")
     void allEndpoints_shouldReturnValidJson() throws Exception {
         // ARRANGE
-        when(keynoteService.getAllKeynotes()).thenReturn(Arrays.asList(keynoteResponseDTO1));
+        when(keynoteService.getAllKeynotes(any(Pageable.class))).thenReturn(page(Arrays.asList(keynoteResponseDTO1), 1L));
         when(keynoteService.getKeynoteById(1L)).thenReturn(keynoteResponseDTO1);
         doNothing().when(keynoteService).createKeynote(any(KeynoteRequestDTO.class));
-        doNothing().when(keynoteService).updateKeynote(anyLong(), any(KeynoteRequestDTO.class));
-        doNothing().when(keynoteService).patchKeynote(anyLong(), any(KeynoteRequestDTO.class));
+        doNothing().when(keynoteService).updateKeynote(anyLong(), any(KeynoteRequestDTO.class), any());
+        doNothing().when(keynoteService).patchKeynote(anyLong(), any(KeynoteRequestDTO.class), any());
         doNothing().when(keynoteService).deleteKeynote(anyLong());
 
         // ACT & ASSERT
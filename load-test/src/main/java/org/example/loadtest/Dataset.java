@@ -0,0 +1,18 @@
+package org.example.loadtest;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Identifiants des données générées, tirés au hasard par les routes.
+ */
+record Dataset(List<Long> keynoteIds, List<Long> conferenceIds) {
+
+    long randomConferenceId() {
+        return conferenceIds.get(ThreadLocalRandom.current().nextInt(conferenceIds.size()));
+    }
+
+    long randomKeynoteId() {
+        return keynoteIds.get(ThreadLocalRandom.current().nextInt(keynoteIds.size()));
+    }
+}
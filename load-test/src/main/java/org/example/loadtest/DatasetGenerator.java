@@ -0,0 +1,93 @@
+package org.example.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Génère le jeu de données H2 des services par leurs endpoints bulk (un seul appel par service),
+ * puis relit les identifiants par pagination par clé.
+ */
+final class DatasetGenerator {
+
+    private static final int PAGE_SIZE = 100;
+    private static final String[] TYPES = {"Academic", "commercial"};
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    // Graine fixe : deux exécutions avec les mêmes options chargent les mêmes données
+    private final Random random = new Random(42);
+
+    DatasetGenerator(HttpClient httpClient) {
+        this.httpClient = httpClient;
+    }
+
+    Dataset generate(URI keynoteService, URI conferenceService, int keynotes, int conferences, int reviews)
+            throws IOException, InterruptedException {
+        ArrayNode keynoteRequests = objectMapper.createArrayNode();
+        for (int i = 0; i < keynotes; i++) {
+            keynoteRequests.addObject()
+                    .put("nom", "Nom" + i)
+                    .put("prenom", "Prenom" + i)
+                    .put("email", "keynote" + i + "@example.org")
+                    .put("fonction", "Speaker");
+        }
+        post(keynoteService.resolve("api/keynotes/bulk"), keynoteRequests);
+        List<Long> keynoteIds = ids(keynoteService.resolve("api/keynotes"));
+
+        ArrayNode conferenceRequests = objectMapper.createArrayNode();
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < conferences; i++) {
+            ObjectNode conference = conferenceRequests.addObject()
+                    .put("titre", "Conference " + i)
+                    .put("type", TYPES[random.nextInt(TYPES.length)])
+                    .put("date", now - random.nextInt(365) * 86_400_000L)
+                    .put("duree", 30.0 + random.nextInt(150))
+                    .put("nombreInscrits", random.nextInt(500))
+                    .put("score", random.nextInt(50) / 10.0)
+                    .put("keynoteId", keynoteIds.get(random.nextInt(keynoteIds.size())));
+            ArrayNode conferenceReviews = conference.putArray("reviews");
+            for (int r = 0; r < reviews; r++) {
+                conferenceReviews.addObject().put("commentaire", "Review " + r).put("date", now);
+            }
+        }
+        post(conferenceService.resolve("api/conferences/bulk"), conferenceRequests);
+        return new Dataset(keynoteIds, ids(conferenceService.resolve("api/conferences")));
+    }
+
+    private void post(URI uri, ArrayNode body) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                .build();
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("POST " + uri + " failed with " + response.statusCode() + ": " + response.body());
+        }
+        System.out.println("  " + uri.getPath() + " -> " + response.body());
+    }
+
+    private List<Long> ids(URI collection) throws IOException, InterruptedException {
+        List<Long> ids = new ArrayList<>();
+        long afterId = 0;
+        boolean hasNext = true;
+        while (hasNext) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(collection + "?afterId=" + afterId + "&size=" + PAGE_SIZE)).GET().build();
+            JsonNode page = objectMapper.readTree(httpClient.send(request, HttpResponse.BodyHandlers.ofString()).body());
+            page.get("content").forEach(item -> ids.add(item.get("id").asLong()));
+            hasNext = page.path("hasNext").asBoolean() && page.hasNonNull("nextAfterId");
+            afterId = page.path("nextAfterId").asLong();
+        }
+        return ids;
+    }
+}
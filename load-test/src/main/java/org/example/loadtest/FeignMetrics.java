@@ -0,0 +1,56 @@
+package org.example.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+/**
+ * Lit le timer keynote.client.latency de conference-service (appels Feign vers keynote-service, circuit breaker
+ * et bulkhead compris) : la différence entre deux relevés donne la part Feign d'une phase du test.
+ */
+final class FeignMetrics {
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final URI metric;
+
+    FeignMetrics(HttpClient httpClient, URI conferenceService) {
+        this.httpClient = httpClient;
+        this.metric = conferenceService.resolve("actuator/metrics/keynote.client.latency");
+    }
+
+    Snapshot snapshot() throws IOException, InterruptedException {
+        HttpResponse<String> response = httpClient.send(HttpRequest.newBuilder(metric).GET().build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() == 404) {
+            // Le timer n'existe qu'après le premier appel Feign
+            return new Snapshot(0, 0);
+        }
+        long count = 0;
+        double totalSeconds = 0;
+        for (JsonNode measurement : objectMapper.readTree(response.body()).path("measurements")) {
+            switch (measurement.path("statistic").asText()) {
+                case "COUNT" -> count = measurement.path("value").asLong();
+                case "TOTAL_TIME" -> totalSeconds = measurement.path("value").asDouble();
+                default -> {
+                }
+            }
+        }
+        return new Snapshot(count, totalSeconds);
+    }
+
+    record Snapshot(long calls, double totalSeconds) {
+
+        Snapshot since(Snapshot previous) {
+            return new Snapshot(calls - previous.calls, totalSeconds - previous.totalSeconds);
+        }
+
+        double meanMillis() {
+            return calls == 0 ? 0 : totalSeconds * 1_000 / calls;
+        }
+    }
+}
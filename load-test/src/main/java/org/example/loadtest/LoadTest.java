@@ -0,0 +1,109 @@
+package org.example.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+/**
+ * Test de charge de bout en bout gateway → conference-service → keynote-service.
+ * Démarre Eureka, keynote-service, conference-service et le gateway sur leurs ports habituels, génère les
+ * données H2, puis envoie le mélange de routes par le gateway et directement à conference-service.
+ *
+ * mvn -pl load-test -am install -DskipTests
+ * mvn -pl load-test exec:exec -Dloadtest.args="--clients=32 --duration=60s --mix=list:50,get:30,patch:10,review:10"
+ */
+public final class LoadTest {
+
+    private static final int DISCOVERY_PORT = 8761;
+    private static final int GATEWAY_PORT = 8888;
+    private static final int CONFERENCE_PORT = 8081;
+    private static final int KEYNOTE_PORT = 8083;
+    private static final Duration ENRICHMENT_TIMEOUT = Duration.ofMinutes(2);
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        Files.createDirectories(options.outputDir());
+        try (ExecutorService httpExecutor = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient httpClient = HttpClient.newBuilder()
+                     .version(HttpClient.Version.HTTP_1_1)
+                     .connectTimeout(Duration.ofSeconds(5))
+                     .executor(httpExecutor)
+                     .build();
+             StubInfrastructure infrastructure = new StubInfrastructure();
+             ServiceLauncher launcher = new ServiceLauncher(options.servicesDir(), options.outputDir(), options.jvmArgs())) {
+            Runtime.getRuntime().addShutdownHook(new Thread(launcher::close));
+
+            System.out.println("Démarrage des services (journaux dans " + options.outputDir().resolve("logs").toAbsolutePath() + ")");
+            String eureka = "--eureka.client.service-url.defaultZone=http://localhost:" + DISCOVERY_PORT + "/eureka/";
+            launcher.start("discovery-service", DISCOVERY_PORT, "eureka/apps");
+            URI keynoteService = launcher.start("keynote-service", KEYNOTE_PORT, "actuator/health", eureka);
+            URI conferenceService = launcher.start("conference-service", CONFERENCE_PORT, "actuator/health", eureka);
+            // Les clients anonymes partagent une IP : sans cela le limiteur du gateway mesurerait ses propres 429
+            URI gateway = launcher.start("gateway-service", GATEWAY_PORT, "actuator/health", eureka,
+                    "--gateway.rate-limit.enabled=false");
+
+            List<String> tokens = IntStream.range(0, options.clients())
+                    .mapToObj(client -> options.authenticated() ? infrastructure.issueToken("load-test-user-" + client) : null)
+                    .toList();
+            String probeToken = options.authenticated() ? infrastructure.issueToken("load-test-probe") : null;
+            launcher.awaitReady("gateway route to keynote-service", gateway.resolve("keynote-service/api/keynotes?size=1"), probeToken);
+            launcher.awaitReady("gateway route to conference-service", gateway.resolve("conference-service/api/conferences?size=1"), probeToken);
+
+            System.out.printf("Génération des données : %d keynotes, %d conférences x %d reviews%n",
+                    options.keynotes(), options.conferences(), options.reviews());
+            Dataset dataset = new DatasetGenerator(httpClient)
+                    .generate(keynoteService, conferenceService, options.keynotes(), options.conferences(), options.reviews());
+            awaitKeynoteEnrichment(httpClient, conferenceService, dataset);
+
+            TrafficDriver driver = new TrafficDriver(httpClient);
+            FeignMetrics feignMetrics = new FeignMetrics(httpClient, conferenceService);
+            Report report = new Report(options.outputDir());
+            for (Target target : options.targets()) {
+                URI base = target == Target.GATEWAY ? gateway.resolve("conference-service/") : conferenceService;
+                List<String> clientTokens = target == Target.GATEWAY ? tokens : Collections.nCopies(options.clients(), null);
+                System.out.printf("%s : chauffe %s puis mesure %s, %d clients, mélange %s%n",
+                        target.name().toLowerCase(), options.warmup(), options.duration(), options.clients(), options.mix());
+                driver.run(base, dataset, options.mix(), clientTokens, options.warmup());
+                FeignMetrics.Snapshot before = feignMetrics.snapshot();
+                Map<Route, TrafficDriver.RouteResult> results = driver.run(base, dataset, options.mix(), clientTokens, options.duration());
+                report.add(target, results, feignMetrics.snapshot().since(before));
+            }
+            report.print(System.out);
+        }
+    }
+
+    // conference-service découvre keynote-service par Eureka : on attend que l'enrichissement ne soit plus dégradé
+    private static void awaitKeynoteEnrichment(HttpClient httpClient, URI conferenceService, Dataset dataset)
+            throws IOException, InterruptedException {
+        ObjectMapper objectMapper = new ObjectMapper();
+        URI probe = conferenceService.resolve("api/conferences/" + dataset.conferenceIds().get(0));
+        long deadline = System.nanoTime() + ENRICHMENT_TIMEOUT.toNanos();
+        while (true) {
+            JsonNode conference = objectMapper.readTree(
+                    httpClient.send(HttpRequest.newBuilder(probe).GET().build(), HttpResponse.BodyHandlers.ofString()).body());
+            if (!conference.path("keynoteDegraded").asBoolean() && conference.hasNonNull("keynote")) {
+                return;
+            }
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("conference-service still cannot reach keynote-service after " + ENRICHMENT_TIMEOUT);
+            }
+            Thread.sleep(1_000);
+        }
+    }
+}
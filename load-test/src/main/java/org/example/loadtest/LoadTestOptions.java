@@ -0,0 +1,101 @@
+package org.example.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Options du test de charge, lues sous la forme --nom=valeur.
+ *
+ * @param clients       nombre de clients simultanés (boucle fermée : chaque client enchaîne ses requêtes)
+ * @param warmup        durée de chauffe par cible, non mesurée
+ * @param duration      durée de mesure par cible
+ * @param mix           poids relatifs des routes, ex. list:50,get:30,patch:10,review:10
+ * @param targets       cibles mesurées : gateway (via le gateway) et/ou direct (conference-service sans gateway)
+ * @param keynotes      nombre de keynotes générées
+ * @param conferences   nombre de conférences générées
+ * @param reviews       nombre de reviews par conférence générée
+ * @param authenticated envoie un JWT signé par l'émetteur local, validé par le gateway
+ * @param jvmArgs       options JVM de chaque service
+ * @param servicesDir   répertoire des jars exécutables des services
+ * @param outputDir     répertoire des journaux des services et des histogrammes HDR
+ */
+record LoadTestOptions(int clients,
+                       Duration warmup,
+                       Duration duration,
+                       Map<Route, Integer> mix,
+                       List<Target> targets,
+                       int keynotes,
+                       int conferences,
+                       int reviews,
+                       boolean authenticated,
+                       List<String> jvmArgs,
+                       Path servicesDir,
+                       Path outputDir) {
+
+    private static final Pattern DURATION = Pattern.compile("(\\d+)(ms|s|m)");
+
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value, got: " + arg);
+            }
+            values.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        return new LoadTestOptions(
+                Integer.parseInt(values.getOrDefault("clients", "32")),
+                duration(values.getOrDefault("warmup", "20s")),
+                duration(values.getOrDefault("duration", "60s")),
+                mix(values.getOrDefault("mix", "list:50,get:30,patch:10,review:10")),
+                Arrays.stream(values.getOrDefault("targets", "gateway,direct").split(","))
+                        .map(target -> Target.valueOf(target.trim().toUpperCase()))
+                        .toList(),
+                Integer.parseInt(values.getOrDefault("keynotes", "200")),
+                Integer.parseInt(values.getOrDefault("conferences", "5000")),
+                Integer.parseInt(values.getOrDefault("reviews", "3")),
+                Boolean.parseBoolean(values.getOrDefault("authenticated", "true")),
+                Arrays.stream(values.getOrDefault("jvm-args", "-Xms256m -Xmx512m").split(" "))
+                        .filter(arg -> !arg.isBlank())
+                        .toList(),
+                Path.of(values.getOrDefault("services-dir", "target/services")),
+                Path.of(values.getOrDefault("output-dir", "target/load-test")));
+    }
+
+    private static Duration duration(String value) {
+        Matcher matcher = DURATION.matcher(value);
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException("Invalid duration: " + value);
+        }
+        long amount = Long.parseLong(matcher.group(1));
+        return switch (matcher.group(2)) {
+            case "ms" -> Duration.ofMillis(amount);
+            case "s" -> Duration.ofSeconds(amount);
+            default -> Duration.ofMinutes(amount);
+        };
+    }
+
+    private static Map<Route, Integer> mix(String value) {
+        Map<Route, Integer> mix = new EnumMap<>(Route.class);
+        for (String entry : value.split(",")) {
+            String[] parts = entry.split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid mix entry: " + entry);
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight > 0) {
+                mix.put(Route.valueOf(parts[0].trim().toUpperCase()), weight);
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("Empty traffic mix: " + value);
+        }
+        return mix;
+    }
+}
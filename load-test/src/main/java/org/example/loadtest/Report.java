@@ -0,0 +1,78 @@
+package org.example.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Résultats par cible et par route : débit et percentiles de latence (ms), écart gateway/direct,
+ * et part Feign relevée dans conference-service. Chaque histogramme est aussi écrit au format .hgrm
+ * (&lt;cible&gt;-&lt;route&gt;.hgrm, en ms) pour HdrHistogram Plotter.
+ */
+final class Report {
+
+    private static final double MICROS_PER_MILLI = 1_000.0;
+
+    private final Path outputDir;
+    private final Map<Target, Map<Route, TrafficDriver.RouteResult>> results = new EnumMap<>(Target.class);
+    private final Map<Target, FeignMetrics.Snapshot> feign = new EnumMap<>(Target.class);
+
+    Report(Path outputDir) {
+        this.outputDir = outputDir;
+    }
+
+    void add(Target target, Map<Route, TrafficDriver.RouteResult> routeResults, FeignMetrics.Snapshot feignCalls) throws IOException {
+        results.put(target, routeResults);
+        feign.put(target, feignCalls);
+        for (Map.Entry<Route, TrafficDriver.RouteResult> entry : routeResults.entrySet()) {
+            Path file = outputDir.resolve(target.name().toLowerCase() + "-" + entry.getKey().name().toLowerCase() + ".hgrm");
+            try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+                entry.getValue().histogram().outputPercentileDistribution(out, MICROS_PER_MILLI);
+            }
+        }
+    }
+
+    void print(PrintStream out) {
+        out.printf("%n%-8s %-7s %9s %7s %9s %9s %9s %9s %9s %9s%n",
+                "cible", "route", "requêtes", "erreurs", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        results.forEach((target, routes) -> routes.forEach((route, result) -> {
+            Histogram histogram = result.histogram();
+            out.printf("%-8s %-7s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    target.name().toLowerCase(), route.name().toLowerCase(),
+                    histogram.getTotalCount(), result.errors(), result.throughput(),
+                    millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(90)),
+                    millis(histogram.getValueAtPercentile(99)), millis(histogram.getValueAtPercentile(99.9)),
+                    millis(histogram.getMaxValue()));
+        }));
+
+        Map<Route, TrafficDriver.RouteResult> gateway = results.get(Target.GATEWAY);
+        Map<Route, TrafficDriver.RouteResult> direct = results.get(Target.DIRECT);
+        if (gateway != null && direct != null) {
+            out.printf("%nCoût du gateway (gateway - direct)%n%-7s %9s %9s%n", "route", "p50 ms", "p99 ms");
+            gateway.forEach((route, result) -> {
+                TrafficDriver.RouteResult baseline = direct.get(route);
+                out.printf("%-7s %+9.2f %+9.2f%n", route.name().toLowerCase(),
+                        millis(result.histogram().getValueAtPercentile(50) - baseline.histogram().getValueAtPercentile(50)),
+                        millis(result.histogram().getValueAtPercentile(99) - baseline.histogram().getValueAtPercentile(99)));
+            });
+        }
+
+        out.printf("%nAppels Feign conference-service → keynote-service (keynote.client.latency)%n%-8s %9s %12s %12s%n",
+                "cible", "appels", "appels/req", "moyenne ms");
+        feign.forEach((target, calls) -> {
+            long requests = results.get(target).values().stream().mapToLong(result -> result.histogram().getTotalCount()).sum();
+            out.printf("%-8s %9d %12.2f %12.2f%n", target.name().toLowerCase(), calls.calls(),
+                    requests == 0 ? 0 : (double) calls.calls() / requests, calls.meanMillis());
+        });
+        out.printf("%nHistogrammes HDR : %s%n", outputDir.toAbsolutePath());
+    }
+
+    private static double millis(long micros) {
+        return micros / MICROS_PER_MILLI;
+    }
+}
@@ -0,0 +1,48 @@
+package org.example.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Routes de conference-service exercées par le test de charge, relatives à la base de la cible
+ * (http://gateway/conference-service ou http://conference-service).
+ */
+enum Route {
+    LIST {
+        @Override
+        HttpRequest.Builder request(URI base, Dataset dataset) {
+            int pages = Math.max(1, dataset.conferenceIds().size() / PAGE_SIZE);
+            int page = ThreadLocalRandom.current().nextInt(pages);
+            return HttpRequest.newBuilder(base.resolve("api/conferences?page=" + page + "&size=" + PAGE_SIZE)).GET();
+        }
+    },
+    GET {
+        @Override
+        HttpRequest.Builder request(URI base, Dataset dataset) {
+            return HttpRequest.newBuilder(base.resolve("api/conferences/" + dataset.randomConferenceId())).GET();
+        }
+    },
+    PATCH {
+        @Override
+        HttpRequest.Builder request(URI base, Dataset dataset) {
+            String body = "{\"nombreInscrits\":" + ThreadLocalRandom.current().nextInt(1, 500) + "}";
+            return HttpRequest.newBuilder(base.resolve("api/conferences/" + dataset.randomConferenceId()))
+                    .header("Content-Type", "application/json")
+                    .method("PATCH", HttpRequest.BodyPublishers.ofString(body));
+        }
+    },
+    REVIEW {
+        @Override
+        HttpRequest.Builder request(URI base, Dataset dataset) {
+            String body = "{\"commentaire\":\"Load test review\",\"date\":" + System.currentTimeMillis() + "}";
+            return HttpRequest.newBuilder(base.resolve("api/conferences/" + dataset.randomConferenceId() + "/reviews"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body));
+        }
+    };
+
+    static final int PAGE_SIZE = 20;
+
+    abstract HttpRequest.Builder request(URI base, Dataset dataset);
+}
@@ -0,0 +1,134 @@
+package org.example.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Démarre chaque service depuis son jar exécutable dans son propre processus, sur un port local,
+ * avec le fichier services/&lt;nom&gt;.properties du test de charge en configuration additionnelle.
+ * Les sorties des services sont écrites dans &lt;output-dir&gt;/logs.
+ */
+final class ServiceLauncher implements AutoCloseable {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(3);
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(500);
+
+    private final Path servicesDir;
+    private final Path configDir;
+    private final Path logsDir;
+    private final List<String> jvmArgs;
+    private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+    private final List<Process> processes = new ArrayList<>();
+
+    ServiceLauncher(Path servicesDir, Path outputDir, List<String> jvmArgs) throws IOException {
+        this.servicesDir = servicesDir;
+        this.configDir = Files.createDirectories(outputDir.resolve("config"));
+        this.logsDir = Files.createDirectories(outputDir.resolve("logs"));
+        this.jvmArgs = jvmArgs;
+    }
+
+    /**
+     * Lance le service et attend que readinessPath réponde 200.
+     *
+     * @return l'URL de base du service, terminée par /
+     */
+    URI start(String name, int port, String readinessPath, String... args) throws IOException, InterruptedException {
+        Path jar = servicesDir.resolve(name + "-exec.jar");
+        if (!Files.exists(jar)) {
+            throw new IllegalStateException(jar + " not found: run mvn -pl load-test -am install -DskipTests first");
+        }
+        List<String> command = new ArrayList<>();
+        command.add(ProcessHandle.current().info().command().orElse("java"));
+        command.addAll(jvmArgs);
+        command.add("-jar");
+        command.add(jar.toAbsolutePath().toString());
+        command.add("--server.port=" + port);
+        command.add("--spring.config.additional-location=file:" + extractConfig(name).toAbsolutePath());
+        command.addAll(List.of(args));
+        Path log = logsDir.resolve(name + ".log");
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        processes.add(process);
+
+        URI baseUrl = URI.create("http://localhost:" + port + "/");
+        awaitReady(name, process, baseUrl.resolve(readinessPath), log);
+        return baseUrl;
+    }
+
+    /**
+     * Attend que l'URL réponde 200, par exemple une route du gateway dont le service cible doit être découvert.
+     */
+    void awaitReady(String description, URI uri, String bearerToken) throws InterruptedException {
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (!isOk(uri, bearerToken)) {
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException(description + " not ready after " + STARTUP_TIMEOUT + ": " + uri);
+            }
+            Thread.sleep(POLL_INTERVAL);
+        }
+    }
+
+    private void awaitReady(String name, Process process, URI uri, Path log) throws InterruptedException {
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (!isOk(uri, null)) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException(name + " exited with code " + process.exitValue() + ", see " + log);
+            }
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException(name + " not ready after " + STARTUP_TIMEOUT + ", see " + log);
+            }
+            Thread.sleep(POLL_INTERVAL);
+        }
+    }
+
+    private boolean isOk(URI uri, String bearerToken) throws InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(5)).GET();
+        if (bearerToken != null) {
+            request.header("Authorization", "Bearer " + bearerToken);
+        }
+        try {
+            return httpClient.send(request.build(), HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private Path extractConfig(String name) throws IOException {
+        Path config = configDir.resolve(name + ".properties");
+        try (InputStream in = ServiceLauncher.class.getResourceAsStream("/services/" + name + ".properties")) {
+            if (in == null) {
+                throw new IllegalStateException("Missing load-test configuration services/" + name + ".properties");
+            }
+            Files.copy(in, config, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return config;
+    }
+
+    // Arrêt dans l'ordre inverse du démarrage : le gateway et les services avant Eureka
+    @Override
+    public void close() {
+        for (int i = processes.size() - 1; i >= 0; i--) {
+            processes.get(i).destroy();
+        }
+        for (Process process : processes) {
+            try {
+                process.waitFor();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                process.destroyForcibly();
+            }
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package org.example.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+
+/**
+ * Remplace l'infrastructure externe sur le port du config server (9999, importé en dur par les services) :
+ * un config server qui ne renvoie aucune propriété, et un émetteur JWT à la place de Keycloak
+ * (clés publiques JWKS + jetons RS256 signés localement, avec preferred_username et realm_access).
+ */
+final class StubInfrastructure implements AutoCloseable {
+
+    static final int PORT = 9999;
+    static final String ISSUER = "http://localhost:" + PORT + "/realms/load-test";
+    static final String JWKS_PATH = "/realms/load-test/protocol/openid-connect/certs";
+
+    private static final Duration TOKEN_TTL = Duration.ofHours(2);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final RSAKey signingKey;
+    private final HttpServer server;
+
+    StubInfrastructure() throws IOException, JOSEException {
+        signingKey = new RSAKeyGenerator(2048).keyID("load-test").generate();
+        server = HttpServer.create(new InetSocketAddress("localhost", PORT), 0);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext(JWKS_PATH, exchange ->
+                respond(exchange, new JWKSet(signingKey.toPublicJWK()).toString()));
+        server.createContext("/", this::configEnvironment);
+        server.start();
+    }
+
+    String issueToken(String username) {
+        Instant now = Instant.now();
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .issuer(ISSUER)
+                .subject(username)
+                .claim("preferred_username", username)
+                .claim("realm_access", Map.of("roles", List.of("USER")))
+                .issueTime(Date.from(now))
+                .expirationTime(Date.from(now.plus(TOKEN_TTL)))
+                .build();
+        SignedJWT jwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(signingKey.getKeyID()).build(), claims);
+        try {
+            jwt.sign(new RSASSASigner(signingKey));
+        } catch (JOSEException e) {
+            throw new IllegalStateException("Cannot sign token for " + username, e);
+        }
+        return jwt.serialize();
+    }
+
+    // GET /{application}/{profile}[/{label}] : environnement vide, les services gardent leur application.properties
+    private void configEnvironment(HttpExchange exchange) throws IOException {
+        String[] segments = exchange.getRequestURI().getPath().substring(1).split("/");
+        Map<String, Object> environment = Map.of(
+                "name", segments[0],
+                "profiles", List.of(segments.length > 1 ? segments[1] : "default"),
+                "propertySources", List.of());
+        respond(exchange, objectMapper.writeValueAsString(environment));
+    }
+
+    private static void respond(HttpExchange exchange, String json) throws IOException {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
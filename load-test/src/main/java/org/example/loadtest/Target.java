@@ -0,0 +1,10 @@
+package org.example.loadtest;
+
+/**
+ * Point d'entrée mesuré. La même charge passe par le gateway puis directement par conference-service :
+ * l'écart entre les deux histogrammes d'une route est le coût du gateway (JWT, routage, proxy).
+ */
+enum Target {
+    GATEWAY,
+    DIRECT
+}
@@ -0,0 +1,117 @@
+package org.example.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Envoie le mélange de routes pendant une durée donnée avec N clients en boucle fermée, un thread virtuel
+ * par client, et enregistre la latence de chaque réponse réussie dans l'histogramme HDR de sa route
+ * (en microsecondes). En boucle fermée, une réponse lente retarde la requête suivante du même client :
+ * les percentiles décrivent le temps de service, pas l'attente qu'aurait un trafic à débit imposé.
+ */
+final class TrafficDriver {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient httpClient;
+
+    TrafficDriver(HttpClient httpClient) {
+        this.httpClient = httpClient;
+    }
+
+    Map<Route, RouteResult> run(URI base, Dataset dataset, Map<Route, Integer> mix, List<String> tokens, Duration duration)
+            throws InterruptedException {
+        Map<Route, Histogram> histograms = new EnumMap<>(Route.class);
+        Map<Route, LongAdder> errors = new EnumMap<>(Route.class);
+        mix.keySet().forEach(route -> {
+            histograms.put(route, new ConcurrentHistogram(3));
+            errors.put(route, new LongAdder());
+        });
+        Route[] routes = mix.keySet().toArray(Route[]::new);
+        int[] cumulativeWeights = new int[routes.length];
+        int totalWeight = 0;
+        for (int i = 0; i < routes.length; i++) {
+            totalWeight += mix.get(routes[i]);
+            cumulativeWeights[i] = totalWeight;
+        }
+        int weights = totalWeight;
+
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> running = new ArrayList<>();
+            for (String token : tokens) {
+                running.add(clients.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        Route route = pick(routes, cumulativeWeights, weights);
+                        HttpRequest.Builder request = route.request(base, dataset).timeout(REQUEST_TIMEOUT);
+                        if (token != null) {
+                            request.header("Authorization", "Bearer " + token);
+                        }
+                        long sent = System.nanoTime();
+                        try {
+                            int status = httpClient.send(request.build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+                            if (status < 400) {
+                                histograms.get(route).recordValue((System.nanoTime() - sent) / 1_000);
+                            } else {
+                                errors.get(route).increment();
+                            }
+                        } catch (IOException e) {
+                            errors.get(route).increment();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> client : running) {
+                try {
+                    client.get();
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("Load client failed", e.getCause());
+                }
+            }
+        }
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        Map<Route, RouteResult> results = new EnumMap<>(Route.class);
+        histograms.forEach((route, histogram) -> results.put(route, new RouteResult(histogram, errors.get(route).sum(), elapsed)));
+        return results;
+    }
+
+    private static Route pick(Route[] routes, int[] cumulativeWeights, int totalWeight) {
+        int draw = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (int i = 0; i < routes.length; i++) {
+            if (draw < cumulativeWeights[i]) {
+                return routes[i];
+            }
+        }
+        return routes[routes.length - 1];
+    }
+
+    /**
+     * Latences en microsecondes des réponses réussies d'une route, et nombre d'erreurs (statut ≥ 400 ou I/O).
+     */
+    record RouteResult(Histogram histogram, long errors, Duration elapsed) {
+
+        double throughput() {
+            return histogram.getTotalCount() / (elapsed.toNanos() / 1e9);
+        }
+    }
+}